@@ -10,6 +10,7 @@ import com.yarolegovich.wellsql.core.TableClass;
 import org.wordpress.android.fluxc.model.AccountModel;
 import org.wordpress.android.fluxc.model.PostModel;
 import org.wordpress.android.fluxc.model.SiteModel;
+import org.wordpress.android.fluxc.persistence.ModelCache;
 import org.wordpress.android.fluxc.persistence.WellSqlConfig;
 
 public class TestWellSqlConfig extends WellSqlConfig {
@@ -45,5 +46,6 @@ public class TestWellSqlConfig extends WellSqlConfig {
             db.execSQL("DROP TABLE IF EXISTS " + table.getTableName());
             db.execSQL(table.createStatement());
         }
+        ModelCache.invalidateAllCaches();
     }
 }
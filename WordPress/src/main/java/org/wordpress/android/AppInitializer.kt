@@ -67,6 +67,8 @@ import org.wordpress.android.fluxc.tools.FluxCImageLoader
 import org.wordpress.android.fluxc.utils.ErrorUtils.OnUnexpectedError
 import org.wordpress.android.modules.APPLICATION_SCOPE
 import org.wordpress.android.networking.ConnectionChangeReceiver
+import org.wordpress.android.networking.FetchScheduler
+import org.wordpress.android.networking.FetchScheduler.FetchRequest
 import org.wordpress.android.networking.OAuthAuthenticator
 import org.wordpress.android.networking.RestClientUtils
 import org.wordpress.android.push.GCMRegistrationScheduler
@@ -84,6 +86,7 @@ import org.wordpress.android.ui.posts.editor.ImageEditorFileUtils
 import org.wordpress.android.ui.posts.editor.ImageEditorInitializer
 import org.wordpress.android.ui.posts.editor.ImageEditorTracker
 import org.wordpress.android.ui.prefs.AppPrefs
+import org.wordpress.android.ui.reader.ReaderPostHtmlCache
 import org.wordpress.android.ui.reader.tracker.ReaderTracker
 import org.wordpress.android.ui.stats.refresh.lists.widget.WidgetUpdater.StatsWidgetUpdaters
 import org.wordpress.android.ui.uploads.UploadService
@@ -104,6 +107,7 @@ import org.wordpress.android.util.ProfilingUtils
 import org.wordpress.android.util.QuickStartUtils
 import org.wordpress.android.util.RateLimitedTask
 import org.wordpress.android.util.SiteUtils
+import org.wordpress.android.util.StartupTracer
 import org.wordpress.android.util.VolleyUtils
 import org.wordpress.android.util.analytics.AnalyticsUtils
 import org.wordpress.android.util.config.AppConfig
@@ -159,6 +163,9 @@ class AppInitializer @Inject constructor(
     @Inject
     lateinit var readerTracker: ReaderTracker
 
+    @Inject
+    lateinit var readerPostHtmlCache: ReaderPostHtmlCache
+
     @Inject
     lateinit var imageManager: ImageManager
 
@@ -215,6 +222,12 @@ class AppInitializer @Inject constructor(
     @Inject
     lateinit var imageLoader: FluxCImageLoader
 
+    @Inject
+    lateinit var fetchScheduler: FetchScheduler
+
+    @Inject
+    lateinit var startupTracer: StartupTracer
+
     @Inject
     lateinit var oAuthAuthenticator: OAuthAuthenticator
 
@@ -244,7 +257,7 @@ class AppInitializer @Inject constructor(
     var updateSiteList = object : RateLimitedTask(SECONDS_BETWEEN_BLOGLIST_UPDATE) {
         override fun run(): Boolean {
             if (accountStore.hasAccessToken()) {
-                dispatcher.dispatch(SiteActionBuilder.newFetchSitesAction(SiteUtils.getFetchSitesPayload()))
+                fetchScheduler.schedule(FetchRequest.Sites)
                 dispatcher.dispatch(AccountActionBuilder.newFetchSubscriptionsAction())
             }
             return true
@@ -259,7 +272,7 @@ class AppInitializer @Inject constructor(
             val selectedSiteLocalId = selectedSiteRepository.getSelectedSiteLocalId(true)
             val site = siteStore.getSiteByLocalId(selectedSiteLocalId)
             site?.let {
-                dispatcher.dispatch(SiteActionBuilder.newFetchSiteAction(site))
+                fetchScheduler.schedule(FetchRequest.Site(site))
                 // Reload editor details from the remote backend
                 if (!AppPrefs.isDefaultAppWideEditorPreferenceSet()) {
                     // Check if the migration from app-wide to per-site setting has already happened - v12.9->13.0
@@ -566,11 +579,12 @@ class AppInitializer @Inject constructor(
      */
     fun deferredInit() {
         AppLog.i(T.UTILS, "Deferred Initialisation")
+        startupTracer.onStartup()
 
         // Refresh account informations
         if (accountStore.hasAccessToken()) {
-            dispatcher.dispatch(AccountActionBuilder.newFetchAccountAction())
-            dispatcher.dispatch(AccountActionBuilder.newFetchSettingsAction())
+            fetchScheduler.schedule(FetchRequest.Account)
+            fetchScheduler.schedule(FetchRequest.AccountSettings)
             NotificationsUpdateServiceStarter.startService(context)
         }
     }
@@ -636,6 +650,7 @@ class AppInitializer @Inject constructor(
                     AppPrefs.setLastUsedUserId(thisUserId)
                     AppLog.i(T.READER, "User changed, resetting reader db")
                     ReaderDatabase.reset(false)
+                    readerPostHtmlCache.clear()
                 }
             } else if (event.causeOfChange == AccountAction.FETCH_SETTINGS) {
                 val prefs = PreferenceManager.getDefaultSharedPreferences(WordPress.getContext())
@@ -703,6 +718,7 @@ class AppInitializer @Inject constructor(
 
         // reset the reader database, but retain bookmarked posts
         ReaderDatabase.reset(true)
+        readerPostHtmlCache.clear()
 
         // Reset Stats Data
         statsStore.deleteAllData()
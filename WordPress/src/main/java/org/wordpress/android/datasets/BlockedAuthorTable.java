@@ -1,11 +1,15 @@
 package org.wordpress.android.datasets;
 
+import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
 
 import org.wordpress.android.models.ReaderPost;
 import org.wordpress.android.util.SqlUtils;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class BlockedAuthorTable {
     protected static final String BLOCKED_AUTHORS_TABLE = "tbl_blocked_authors";
     private static final String AUTHOR_ID = "author_id";
@@ -39,6 +43,20 @@ public class BlockedAuthorTable {
         }
     }
 
+    public static Set<Long> getBlockedAuthorIds() {
+        Set<Long> ids = new HashSet<>();
+        Cursor c = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT " + AUTHOR_ID + " FROM " + BLOCKED_AUTHORS_TABLE, null);
+        try {
+            while (c.moveToNext()) {
+                ids.add(c.getLong(0));
+            }
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+        return ids;
+    }
+
     public static boolean isBlockedAuthor(long authorId) {
         if (authorId == 0) {
             return false;
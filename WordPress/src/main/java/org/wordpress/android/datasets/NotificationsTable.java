@@ -15,8 +15,11 @@ import org.wordpress.android.WordPress;
 import org.wordpress.android.models.Note;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.SqlUtils;
+import org.wordpress.android.util.StringUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -29,6 +32,27 @@ public class NotificationsTable {
     }
 
     public static final int NOTES_TO_RETRIEVE = 200;
+    public static final int NOTES_PAGE_SIZE = 50;
+
+    private static final String ICON_URLS_SEPARATOR = "\n";
+
+    // columns read by the notifications list, which don't require parsing raw_note_data
+    private static final String[] LIST_COLUMNS = {
+            "note_id",
+            "type",
+            "timestamp",
+            "site_id",
+            "post_id",
+            "comment_id",
+            "title",
+            "url",
+            "icon",
+            "icon_urls",
+            "is_unread",
+            "subject",
+            "actions"
+    };
+    private static final String LIST_ORDER = "timestamp DESC, note_id DESC";
 
     private static final Pattern STAT_ATTR_PATTERN = Pattern.compile(
             "\"type\":\"stat\"",
@@ -47,8 +71,21 @@ public class NotificationsTable {
                    + "type TEXT,"
                    + "raw_note_data TEXT,"
                    + "timestamp INTEGER,"
+                   + "site_id INTEGER,"
+                   + "post_id INTEGER,"
+                   + "comment_id INTEGER,"
+                   + "title TEXT,"
+                   + "url TEXT,"
+                   + "icon TEXT,"
+                   + "icon_urls TEXT,"
+                   + "is_unread INTEGER,"
+                   + "subject TEXT,"
+                   + "actions INTEGER,"
                    + " UNIQUE (note_id) ON CONFLICT REPLACE"
                    + ")");
+        // the list is ordered (and paged) by timestamp
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_notifications_timestamp ON " + NOTIFICATIONS_TABLE
+                   + " (timestamp, note_id)");
     }
 
     private static void dropTables(SQLiteDatabase db) {
@@ -59,31 +96,92 @@ public class NotificationsTable {
         return getLatestNotes(NOTES_TO_RETRIEVE);
     }
 
+    /**
+     * Returns the latest notes, built from the list columns - their JSON is only loaded and parsed when a field which
+     * isn't stored in its own column is read.
+     */
     public static ArrayList<Note> getLatestNotes(int limit) {
-        Cursor cursor = getDb().query(NOTIFICATIONS_TABLE, new String[]{"note_id", "raw_note_data"},
-                                      null, null, null, null, "timestamp DESC", "" + limit);
-        ArrayList<Note> notes = new ArrayList<Note>();
-        while (cursor.moveToNext()) {
-            String noteId = cursor.getString(0);
-            String rawNoteData = cursor.getString(1);
-            try {
-                Note note = new Note(noteId, new JSONObject(rawNoteData));
-                notes.add(note);
-            } catch (JSONException e) {
-                AppLog.e(AppLog.T.DB, "Can't parse notification with noteId:" + noteId + ", exception:" + e);
+        return getNotes(null, null, limit);
+    }
+
+    /**
+     * Returns the page of notes following the given note in the order of {@link #getLatestNotes()}, or the first page
+     * if the note is null. Pages are selected by the timestamp and id of the previous page's last note rather than by
+     * an offset, so every page is a lookup in the timestamp index wherever it starts.
+     */
+    public static ArrayList<Note> getNotesPage(@Nullable Note after, int pageSize) {
+        if (after == null) {
+            return getNotes(null, null, pageSize);
+        }
+        String timestamp = Long.toString(after.getTimestamp());
+        return getNotes("timestamp < ?1 OR (timestamp = ?1 AND note_id < ?2)",
+                new String[]{timestamp, after.getId()}, pageSize);
+    }
+
+    private static ArrayList<Note> getNotes(@Nullable String selection, @Nullable String[] args, int limit) {
+        ArrayList<Note> notes = new ArrayList<>();
+        try (Cursor cursor = getDb().query(NOTIFICATIONS_TABLE, LIST_COLUMNS, selection, args, null, null,
+                LIST_ORDER, Integer.toString(limit))) {
+            while (cursor.moveToNext()) {
+                String noteId = cursor.getString(0);
+                notes.add(new Note(noteId, getListFields(cursor), () -> getNoteJSON(noteId)));
             }
         }
-        cursor.close();
         return notes;
     }
 
+    private static Note.ListFields getListFields(Cursor cursor) {
+        String iconUrls = cursor.getString(9);
+        return new Note.ListFields(
+                StringUtils.notNullStr(cursor.getString(1)),
+                cursor.getLong(2),
+                cursor.getInt(3),
+                cursor.getInt(4),
+                cursor.isNull(5) ? null : cursor.getLong(5),
+                StringUtils.notNullStr(cursor.getString(6)),
+                StringUtils.notNullStr(cursor.getString(7)),
+                StringUtils.notNullStr(cursor.getString(8)),
+                TextUtils.isEmpty(iconUrls)
+                        ? Collections.emptyList() : Arrays.asList(TextUtils.split(iconUrls, ICON_URLS_SEPARATOR)),
+                SqlUtils.sqlToBool(cursor.getInt(10)),
+                cursor.getString(11),
+                cursor.getInt(12));
+    }
+
+    @Nullable
+    private static JSONObject getNoteJSON(@NonNull String noteId) {
+        String[] args = {noteId};
+        try (Cursor cursor = getDb().query(NOTIFICATIONS_TABLE, new String[]{"raw_note_data"}, "note_id=?", args,
+                null, null, null)) {
+            if (cursor.moveToFirst()) {
+                return new JSONObject(cursor.getString(0));
+            }
+            AppLog.w(AppLog.T.DB, "The note was deleted before its JSON was loaded, noteId:" + noteId);
+        } catch (JSONException e) {
+            AppLog.e(AppLog.T.DB, "Can't parse notification with noteId:" + noteId + ", exception:" + e);
+        }
+        return null;
+    }
+
     private static boolean putNote(Note note, boolean checkBeforeInsert) {
-        String rawNote = prepareNote(note.getId(), note.getJson().toString());
+        String json = note.getJson().toString();
+        String rawNote = prepareNote(note.getId(), json);
+        Note.ListFields listFields = getListFields(note, json, rawNote);
 
         ContentValues values = new ContentValues();
-        values.put("type", note.getRawType());
-        values.put("timestamp", note.getTimestamp());
+        values.put("type", listFields.getRawType());
+        values.put("timestamp", listFields.getTimestamp());
         values.put("raw_note_data", rawNote);
+        values.put("site_id", listFields.getSiteId());
+        values.put("post_id", listFields.getPostId());
+        values.put("comment_id", listFields.getCommentId());
+        values.put("title", listFields.getTitle());
+        values.put("url", listFields.getUrl());
+        values.put("icon", listFields.getIconURL());
+        values.put("icon_urls", TextUtils.join(ICON_URLS_SEPARATOR, listFields.getIconURLs()));
+        values.put("is_unread", SqlUtils.boolToSql(listFields.isUnread()));
+        values.put("subject", listFields.getSubject());
+        values.put("actions", listFields.getActions());
 
         long result;
         if (checkBeforeInsert && isNoteAvailable(note.getId())) {
@@ -106,6 +204,20 @@ public class NotificationsTable {
         }
     }
 
+    /*
+     * the list columns must match the stored JSON, which prepareNote() may have changed
+     */
+    private static Note.ListFields getListFields(Note note, String json, String rawNote) {
+        if (!json.equals(rawNote)) {
+            try {
+                return new Note(note.getId(), new JSONObject(rawNote)).toListFields();
+            } catch (JSONException e) {
+                AppLog.e(AppLog.T.DB, "Can't parse prepared notification with noteId:" + note.getId(), e);
+            }
+        }
+        return note.toListFields();
+    }
+
     /***
      * PrepareNote is used as a stop gap for handling rewind_download_ready notifications. As of this comment,
      * rewind download ready notifications have a deep link to stats and until the API changes, we are going to
@@ -219,7 +331,10 @@ public class NotificationsTable {
      * drop & recreate notifications table
      */
     public static void reset() {
-        SQLiteDatabase db = getDb();
+        reset(getDb());
+    }
+
+    public static void reset(SQLiteDatabase db) {
         db.beginTransaction();
         try {
             dropTables(db);
@@ -1,11 +1,15 @@
 package org.wordpress.android.datasets;
 
+import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteStatement;
 
 import org.wordpress.android.models.ReaderPost;
 import org.wordpress.android.util.SqlUtils;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class ReaderBlockedBlogTable {
     protected static final String BLOCKED_BLOGS_TABLE = "tbl_blocked_blogs";
     private static final String BLOG_ID = "blog_id";
@@ -39,6 +43,19 @@ public class ReaderBlockedBlogTable {
         }
     }
 
+    public static Set<Long> getBlockedBlogIds() {
+        Set<Long> ids = new HashSet<>();
+        Cursor c = ReaderDatabase.getReadableDb().rawQuery("SELECT " + BLOG_ID + " FROM " + BLOCKED_BLOGS_TABLE, null);
+        try {
+            while (c.moveToNext()) {
+                ids.add(c.getLong(0));
+            }
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+        return ids;
+    }
+
     public static boolean isBlockedBlog(long blogId) {
         if (blogId == 0) {
             return false;
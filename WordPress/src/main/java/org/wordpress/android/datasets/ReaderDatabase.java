@@ -29,7 +29,7 @@ import java.util.Locale;
  */
 public class ReaderDatabase extends SQLiteOpenHelper {
     protected static final String DB_NAME = "wpreader.db";
-    private static final int DB_VERSION = 155;
+    private static final int DB_VERSION = 156;
     private static final int DB_LAST_VERSION_WITHOUT_MIGRATION_SCRIPT = 136; // do not change this value
 
     /*
@@ -118,6 +118,7 @@ public class ReaderDatabase extends SQLiteOpenHelper {
      * 153 - added author_email to tbl_comments
      * 154 - added tbl_blocked_authors table
      * 155 - added tbl_blocked_blogs table
+     * 156 - added ReaderPostSearchTable (full-text index of tbl_posts)
      */
 
     /*
@@ -148,6 +149,16 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         return getDatabase().getWritableDatabase();
     }
 
+    /*
+     * write-ahead logging lets the UI read the reader tables on the pool of read connections while the
+     * feeds are being updated in the background on the single write connection
+     */
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        db.enableWriteAheadLogging();
+    }
+
     @Override
     public void onOpen(SQLiteDatabase db) {
         super.onOpen(db);
@@ -273,6 +284,10 @@ public class ReaderDatabase extends SQLiteOpenHelper {
             case 154:
                 ReaderBlockedBlogTable.createTables(db);
                 currentVersion++;
+            case 155:
+                ReaderPostSearchTable.createTables(db);
+                ReaderPostSearchTable.populate(db);
+                currentVersion++;
         }
         if (currentVersion != newVersion) {
             throw new RuntimeException(
@@ -293,6 +308,7 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         ReaderCommentTable.createTables(db);
         ReaderLikeTable.createTables(db);
         ReaderPostTable.createTables(db);
+        ReaderPostSearchTable.createTables(db);
         BlockedAuthorTable.createTables(db);
         ReaderTagTable.createTables(db);
         ReaderUserTable.createTables(db);
@@ -307,6 +323,7 @@ public class ReaderDatabase extends SQLiteOpenHelper {
         ReaderCommentTable.dropTables(db);
         ReaderLikeTable.dropTables(db);
         ReaderPostTable.dropTables(db);
+        ReaderPostSearchTable.dropTables(db);
         BlockedAuthorTable.dropTables(db);
         ReaderTagTable.dropTables(db);
         ReaderUserTable.dropTables(db);
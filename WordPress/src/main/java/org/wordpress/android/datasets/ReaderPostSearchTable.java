@@ -0,0 +1,239 @@
+package org.wordpress.android.datasets;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.wordpress.android.models.ReaderPost;
+import org.wordpress.android.util.SqlUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * full-text index over the posts in tbl_posts, used to search cached posts while offline or while
+ * a network search is still running. tbl_posts stores the same post once per stream it appears in,
+ * so the index stores a single row per pseudo_id - tbl_posts_fts_ids maps each pseudo_id to the
+ * docid of its row in the FTS4 table. the index is written by ReaderPostTable.addOrUpdatePosts()
+ * and rows for posts which no longer exist in tbl_posts are removed by purgeOrphans()
+ */
+public class ReaderPostSearchTable {
+    // columns of tbl_posts_fts, in the order they're reported by matchinfo()
+    private static final double[] COLUMN_WEIGHTS = {
+            4.0, // title
+            2.0, // excerpt
+            1.0, // text
+            3.0  // author_name
+    };
+
+    private static final int MAX_QUERY_TERMS = 8;
+
+    // post text is stripped of html before it's indexed, and only the start of long posts is indexed
+    private static final int MAX_INDEXED_TEXT_LEN = 32 * 1024;
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+
+    protected static void createTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE tbl_posts_fts_ids ("
+                   + " docid INTEGER PRIMARY KEY,"
+                   + " pseudo_id TEXT NOT NULL UNIQUE)");
+        db.execSQL("CREATE VIRTUAL TABLE tbl_posts_fts USING fts4("
+                   + "title, excerpt, text, author_name, tokenize=unicode61)");
+    }
+
+    protected static void dropTables(SQLiteDatabase db) {
+        db.execSQL("DROP TABLE IF EXISTS tbl_posts_fts");
+        db.execSQL("DROP TABLE IF EXISTS tbl_posts_fts_ids");
+    }
+
+    /*
+     * indexes the posts that already exist in tbl_posts - used when upgrading from a db version that
+     * didn't have the index. the text column isn't indexed here since html can't be stripped in sql,
+     * it will be indexed the next time each post is updated
+     */
+    protected static void populate(SQLiteDatabase db) {
+        db.execSQL("INSERT OR IGNORE INTO tbl_posts_fts_ids (pseudo_id) SELECT DISTINCT pseudo_id FROM tbl_posts");
+        db.execSQL("INSERT INTO tbl_posts_fts (docid, title, excerpt, text, author_name)"
+                   + " SELECT ids.docid, p.title, p.excerpt, '', p.author_name"
+                   + " FROM tbl_posts_fts_ids ids"
+                   + " JOIN tbl_posts p ON p.pseudo_id = ids.pseudo_id"
+                   + " GROUP BY ids.docid");
+    }
+
+    /*
+     * adds or replaces the index rows for the passed posts - should be called from within the
+     * transaction that writes the posts to tbl_posts
+     */
+    static void addOrUpdatePosts(SQLiteDatabase db, List<ReaderPost> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+
+        SQLiteStatement stmtAddId = db.compileStatement(
+                "INSERT OR IGNORE INTO tbl_posts_fts_ids (pseudo_id) VALUES (?1)");
+        SQLiteStatement stmtGetId = db.compileStatement(
+                "SELECT docid FROM tbl_posts_fts_ids WHERE pseudo_id=?1");
+        SQLiteStatement stmtIndex = db.compileStatement(
+                "INSERT OR REPLACE INTO tbl_posts_fts (docid, title, excerpt, text, author_name)"
+                + " VALUES (?1,?2,?3,?4,?5)");
+        try {
+            for (ReaderPost post : posts) {
+                stmtAddId.bindString(1, post.getPseudoId());
+                stmtAddId.execute();
+
+                stmtGetId.bindString(1, post.getPseudoId());
+                long docId = stmtGetId.simpleQueryForLong();
+
+                stmtIndex.bindLong(1, docId);
+                stmtIndex.bindString(2, post.getTitle());
+                stmtIndex.bindString(3, post.getExcerpt());
+                stmtIndex.bindString(4, getIndexableText(post.getText()));
+                stmtIndex.bindString(5, post.getAuthorName());
+                stmtIndex.execute();
+            }
+        } finally {
+            SqlUtils.closeStatement(stmtAddId);
+            SqlUtils.closeStatement(stmtGetId);
+            SqlUtils.closeStatement(stmtIndex);
+        }
+    }
+
+    /*
+     * removes index rows for posts that no longer exist in tbl_posts - called after posts are deleted
+     */
+    static int purgeOrphans(SQLiteDatabase db) {
+        String orphans = "pseudo_id NOT IN (SELECT pseudo_id FROM tbl_posts)";
+        db.execSQL("DELETE FROM tbl_posts_fts WHERE docid IN (SELECT docid FROM tbl_posts_fts_ids WHERE "
+                   + orphans + ")");
+        return db.delete("tbl_posts_fts_ids", orphans, null);
+    }
+
+    /*
+     * returns the pseudo_ids of the cached posts matching the passed query, most relevant first
+     */
+    @NonNull
+    static List<String> search(@NonNull String query, int maxResults) {
+        String matchQuery = buildMatchQuery(query);
+        if (matchQuery == null || maxResults <= 0) {
+            return Collections.emptyList();
+        }
+
+        List<RankedPost> ranked = new ArrayList<>();
+        Cursor c = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT ids.pseudo_id, matchinfo(tbl_posts_fts, 'pcnx')"
+                + " FROM tbl_posts_fts"
+                + " JOIN tbl_posts_fts_ids ids ON ids.docid = tbl_posts_fts.docid"
+                + " WHERE tbl_posts_fts MATCH ?",
+                new String[]{matchQuery});
+        try {
+            while (c.moveToNext()) {
+                ranked.add(new RankedPost(c.getString(0), getScore(c.getBlob(1))));
+            }
+        } finally {
+            SqlUtils.closeCursor(c);
+        }
+
+        Collections.sort(ranked, (post1, post2) -> Double.compare(post2.mScore, post1.mScore));
+
+        int numResults = Math.min(maxResults, ranked.size());
+        List<String> pseudoIds = new ArrayList<>(numResults);
+        for (int i = 0; i < numResults; i++) {
+            pseudoIds.add(ranked.get(i).mPseudoId);
+        }
+        return pseudoIds;
+    }
+
+    /*
+     * turns the user's query into an FTS MATCH expression: every word must match, and the last
+     * characters of each word may be missing so results show up while the user is typing. words are
+     * reduced to letters and digits and quoted so they can't be read as FTS operators
+     */
+    @Nullable
+    @VisibleForTesting
+    static String buildMatchQuery(@NonNull String query) {
+        StringBuilder match = new StringBuilder();
+        StringBuilder term = new StringBuilder();
+        int numTerms = 0;
+        int length = query.length();
+        for (int i = 0; i <= length && numTerms < MAX_QUERY_TERMS; i++) {
+            char ch = i < length ? query.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(ch)) {
+                term.append(ch);
+            } else if (term.length() > 0) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append('"').append(term).append("*\"");
+                term.setLength(0);
+                numTerms++;
+            }
+        }
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    /*
+     * computes a bm25-style score from the output of matchinfo(tbl_posts_fts, 'pcnx'): for every
+     * phrase and column the hit count is saturated and weighted by how rare the phrase is across
+     * all indexed posts and by how important the column is (a hit in the title counts more than a
+     * hit in the text)
+     */
+    @VisibleForTesting
+    static double getScore(@Nullable byte[] matchInfo) {
+        if (matchInfo == null || matchInfo.length < 3 * 4) {
+            return 0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int numPhrases = buffer.getInt();
+        int numColumns = buffer.getInt();
+        int numRows = buffer.getInt();
+        if (matchInfo.length < (3 + 3 * numPhrases * numColumns) * 4) {
+            return 0;
+        }
+
+        double score = 0;
+        for (int phrase = 0; phrase < numPhrases; phrase++) {
+            for (int column = 0; column < numColumns; column++) {
+                int hitsInRow = buffer.getInt();
+                buffer.getInt(); // hits in all rows
+                int rowsWithHits = buffer.getInt();
+                if (hitsInRow == 0) {
+                    continue;
+                }
+                double idf = Math.log(1 + (numRows - rowsWithHits + 0.5) / (rowsWithHits + 0.5));
+                double tf = hitsInRow / (hitsInRow + 1.2);
+                double weight = column < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[column] : 1.0;
+                score += weight * tf * idf;
+            }
+        }
+        return score;
+    }
+
+    @NonNull
+    private static String getIndexableText(@Nullable String html) {
+        if (TextUtils.isEmpty(html)) {
+            return "";
+        }
+        String text = StringEscapeUtils.unescapeHtml4(HTML_TAG.matcher(html).replaceAll(" "));
+        return text.length() > MAX_INDEXED_TEXT_LEN ? text.substring(0, MAX_INDEXED_TEXT_LEN) : text;
+    }
+
+    private static class RankedPost {
+        private final String mPseudoId;
+        private final double mScore;
+
+        RankedPost(String pseudoId, double score) {
+            mPseudoId = pseudoId;
+            mScore = score;
+        }
+    }
+}
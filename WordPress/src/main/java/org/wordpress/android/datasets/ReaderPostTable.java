@@ -28,10 +28,16 @@ import org.wordpress.android.ui.reader.utils.ReaderUtils;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.SqlUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * tbl_posts contains all reader posts - the primary key is pseudo_id + tag_name + tag_type,
@@ -221,6 +227,7 @@ public class ReaderPostTable {
     protected static void reset(SQLiteDatabase db) {
         dropTables(db);
         createTables(db);
+        ReaderPostSearchTable.purgeOrphans(db);
     }
 
     /*
@@ -241,6 +248,10 @@ public class ReaderPostTable {
 
         // delete search results
         numDeleted += purgeSearchResults(db);
+
+        if (numDeleted > 0) {
+            ReaderPostSearchTable.purgeOrphans(db);
+        }
         return numDeleted;
     }
 
@@ -260,6 +271,7 @@ public class ReaderPostTable {
             }
         }
         if (numDeleted > 0) {
+            ReaderPostSearchTable.purgeOrphans(ReaderDatabase.getWritableDb());
             EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
         }
         return numDeleted;
@@ -405,14 +417,6 @@ public class ReaderPostTable {
                 args);
     }
 
-    private static boolean postExistsForReaderTag(long blogId, long postId, ReaderTag readerTag) {
-        String[] args = {Long.toString(blogId), Long.toString(postId), readerTag.getTagSlug(),
-                Integer.toString(readerTag.tagType.toInt())};
-        return SqlUtils.boolForQuery(ReaderDatabase.getReadableDb(),
-                "SELECT 1 FROM tbl_posts WHERE blog_id=? AND post_id=? AND tag_name=? AND tag_type=?",
-                args);
-    }
-
     /*
      * returns whether any of the passed posts are new or changed - used after posts are retrieved
      */
@@ -421,9 +425,10 @@ public class ReaderPostTable {
             return ReaderActions.UpdateResult.UNCHANGED;
         }
 
+        Map<Pair<Long, Long>, ReaderPost> existingPosts = getExistingPostsForCompare(posts);
         boolean hasChanges = false;
         for (ReaderPost post : posts) {
-            ReaderPost existingPost = getBlogPost(post.blogId, post.postId, true);
+            ReaderPost existingPost = existingPosts.get(new Pair<>(post.blogId, post.postId));
             if (existingPost == null) {
                 return ReaderActions.UpdateResult.HAS_NEW;
             } else if (!hasChanges && !post.isSamePost(existingPost)) {
@@ -438,14 +443,108 @@ public class ReaderPostTable {
      * returns true if any posts in the passed list exist in this list for the given tag
      */
     public static boolean hasOverlap(ReaderPostList posts, ReaderTag tag) {
-        for (ReaderPost post : posts) {
-            if (postExistsForReaderTag(post.blogId, post.postId, tag)) {
-                return true;
+        if (posts == null || posts.size() == 0) {
+            return false;
+        }
+        String where = "tag_name=? AND tag_type=?";
+        String[] args = {tag.getTagSlug(), Integer.toString(tag.tagType.toInt())};
+        for (ReaderPostList chunk : getChunks(posts)) {
+            Cursor c = queryByPostIds(ReaderDatabase.getReadableDb(), "blog_id, post_id", where, args, chunk);
+            try {
+                Set<Pair<Long, Long>> ids = getBlogIdPostIds(chunk);
+                while (c.moveToNext()) {
+                    if (ids.contains(new Pair<>(c.getLong(0), c.getLong(1)))) {
+                        return true;
+                    }
+                }
+            } finally {
+                SqlUtils.closeCursor(c);
             }
         }
         return false;
     }
 
+    // columns compared by ReaderPost.isSamePost() - text is left out, as it was when comparing posts one by one
+    private static final String COLUMN_NAMES_FOR_COMPARE =
+            "post_id, blog_id, feed_id, feed_item_id, num_likes, num_replies, is_followed, is_liked,"
+            + " is_comments_open, use_excerpt, title, excerpt";
+
+    // stay well below SQLITE_MAX_VARIABLE_NUMBER (999) when binding post ids
+    private static final int MAX_POST_IDS_PER_QUERY = 500;
+
+    /*
+     * returns the stored version of the passed posts (whatever their tag) keyed by blog id/post id, using a single
+     * indexed query per chunk of posts instead of one query per post
+     */
+    private static Map<Pair<Long, Long>, ReaderPost> getExistingPostsForCompare(ReaderPostList posts) {
+        Map<Pair<Long, Long>, ReaderPost> existingPosts = new HashMap<>();
+        for (ReaderPostList chunk : getChunks(posts)) {
+            Set<Pair<Long, Long>> ids = getBlogIdPostIds(chunk);
+            Cursor c = queryByPostIds(ReaderDatabase.getReadableDb(), COLUMN_NAMES_FOR_COMPARE, null, null, chunk);
+            try {
+                while (c.moveToNext()) {
+                    Pair<Long, Long> key = new Pair<>(c.getLong(1), c.getLong(0));
+                    if (!ids.contains(key) || existingPosts.containsKey(key)) {
+                        continue;
+                    }
+                    ReaderPost post = new ReaderPost();
+                    post.postId = c.getLong(0);
+                    post.blogId = c.getLong(1);
+                    post.feedId = c.getLong(2);
+                    post.feedItemId = c.getLong(3);
+                    post.numLikes = c.getInt(4);
+                    post.numReplies = c.getInt(5);
+                    post.isFollowedByCurrentUser = SqlUtils.sqlToBool(c.getInt(6));
+                    post.isLikedByCurrentUser = SqlUtils.sqlToBool(c.getInt(7));
+                    post.isCommentsOpen = SqlUtils.sqlToBool(c.getInt(8));
+                    post.useExcerpt = SqlUtils.sqlToBool(c.getInt(9));
+                    post.setTitle(c.getString(10));
+                    post.setExcerpt(c.getString(11));
+                    existingPosts.put(key, post);
+                }
+            } finally {
+                SqlUtils.closeCursor(c);
+            }
+        }
+        return existingPosts;
+    }
+
+    private static Cursor queryByPostIds(SQLiteDatabase db, String columns, @Nullable String where,
+                                         @Nullable String[] whereArgs, ReaderPostList posts) {
+        int numWhereArgs = whereArgs != null ? whereArgs.length : 0;
+        String[] args = new String[numWhereArgs + posts.size()];
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM tbl_posts WHERE ");
+        if (where != null) {
+            sql.append(where).append(" AND ");
+            System.arraycopy(whereArgs, 0, args, 0, numWhereArgs);
+        }
+        sql.append("post_id IN (");
+        for (int i = 0; i < posts.size(); i++) {
+            sql.append(i == 0 ? "?" : ",?");
+            args[numWhereArgs + i] = Long.toString(posts.get(i).postId);
+        }
+        sql.append(")");
+        return db.rawQuery(sql.toString(), args);
+    }
+
+    private static List<ReaderPostList> getChunks(ReaderPostList posts) {
+        List<ReaderPostList> chunks = new ArrayList<>();
+        for (int start = 0; start < posts.size(); start += MAX_POST_IDS_PER_QUERY) {
+            ReaderPostList chunk = new ReaderPostList();
+            chunk.addAll(posts.subList(start, Math.min(start + MAX_POST_IDS_PER_QUERY, posts.size())));
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static Set<Pair<Long, Long>> getBlogIdPostIds(ReaderPostList posts) {
+        Set<Pair<Long, Long>> ids = new HashSet<>(posts.size());
+        for (ReaderPost post : posts) {
+            ids.add(new Pair<>(post.blogId, post.postId));
+        }
+        return ids;
+    }
+
     /*
      * returns the #comments known to exist for this post (ie: #comments the server says this post has), which
      * may differ from ReaderCommentTable.getNumCommentsForPost (which returns # local comments for this post)
@@ -579,6 +678,22 @@ public class ReaderPostTable {
         }
     }
 
+    /*
+     * replaces the posts stored with the passed tag in a single transaction, so the tag is never
+     * seen empty in between
+     */
+    public static void replacePostsWithTag(final ReaderTag tag, final ReaderPostList posts) {
+        SQLiteDatabase db = ReaderDatabase.getWritableDb();
+        db.beginTransaction();
+        try {
+            deletePostsWithTag(tag);
+            addOrUpdatePosts(tag, posts);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
     public static int deletePostsWithTag(final ReaderTag tag) {
         if (tag == null) {
             return 0;
@@ -591,6 +706,7 @@ public class ReaderPostTable {
                 args);
 
         if (rowsDeleted > 0) {
+            ReaderPostSearchTable.purgeOrphans(ReaderDatabase.getWritableDb());
             EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
         }
         return rowsDeleted;
@@ -600,6 +716,7 @@ public class ReaderPostTable {
         String[] args = {Long.toString(blogId)};
         int rowsDeleted = ReaderDatabase.getWritableDb().delete("tbl_posts", "blog_id = ?", args);
         if (rowsDeleted > 0) {
+            ReaderPostSearchTable.purgeOrphans(ReaderDatabase.getWritableDb());
             EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
         }
         return rowsDeleted;
@@ -609,6 +726,7 @@ public class ReaderPostTable {
         String[] args = {Long.toString(authorId)};
         int rowsDeleted = ReaderDatabase.getWritableDb().delete("tbl_posts", "author_id = ?", args);
         if (rowsDeleted > 0) {
+            ReaderPostSearchTable.purgeOrphans(ReaderDatabase.getWritableDb());
             EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
         }
         return rowsDeleted;
@@ -772,6 +890,7 @@ public class ReaderPostTable {
         int numDeleted = ReaderDatabase.getWritableDb().delete("tbl_posts", where, args);
         if (numDeleted > 0) {
             AppLog.d(AppLog.T.READER, "removed " + numDeleted + " posts older than gap marker");
+            ReaderPostSearchTable.purgeOrphans(ReaderDatabase.getWritableDb());
             EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
         }
     }
@@ -814,6 +933,7 @@ public class ReaderPostTable {
                             new String[]{Long.toString(feedId), ReaderTag.TAG_TITLE_FOLLOWED_SITES,
                                     ReaderTag.TAG_SLUG_P2});
                 }
+                ReaderPostSearchTable.purgeOrphans(db);
             }
 
             db.setTransactionSuccessful();
@@ -872,11 +992,15 @@ public class ReaderPostTable {
             int tagType = (tag != null ? tag.tagType.toInt() : 0);
 
             ReaderBlogIdPostId postWithGapMarker = getGapMarkerIdsForTag(tag);
+            // load the (small) blocked tables once rather than querying them for every post
+            Set<Long> blockedAuthorIds = BlockedAuthorTable.getBlockedAuthorIds();
+            Set<Long> blockedBlogIds = ReaderBlockedBlogTable.getBlockedBlogIds();
+            List<ReaderPost> addedPosts = new ArrayList<>(posts.size());
 
             for (ReaderPost post : posts) {
                 // Skip blocked content
-                if (BlockedAuthorTable.isBlockedAuthor(post)) continue;
-                if (ReaderBlockedBlogTable.isBlockedBlog(post)) continue;
+                if (post.authorId != 0 && blockedAuthorIds.contains(post.authorId)) continue;
+                if (post.blogId != 0 && blockedBlogIds.contains(post.blogId)) continue;
 
                 // keep the gapMarker flag
                 boolean hasGapMarker = postWithGapMarker != null && postWithGapMarker.getPostId() == post.postId
@@ -935,8 +1059,11 @@ public class ReaderPostTable {
                 stmtPosts.bindLong(52, post.authorBlogId);
                 stmtPosts.bindString(53, post.getAuthorBlogUrl());
                 stmtPosts.execute();
+                addedPosts.add(post);
             }
 
+            ReaderPostSearchTable.addOrUpdatePosts(db, addedPosts);
+
             db.setTransactionSuccessful();
             EventBus.getDefault().post(ReaderPostTableActionEnded.INSTANCE);
         } finally {
@@ -978,6 +1105,40 @@ public class ReaderPostTable {
         }
     }
 
+    /*
+     * returns cached posts matching the passed search query, most relevant first - uses the full-text
+     * index in ReaderPostSearchTable so it doesn't require a network connection
+     */
+    public static ReaderPostList searchCachedPosts(@NonNull String query, int maxPosts) {
+        List<String> pseudoIds = ReaderPostSearchTable.search(query, maxPosts);
+        ReaderPostList posts = new ReaderPostList();
+        if (pseudoIds.isEmpty()) {
+            return posts;
+        }
+
+        // a post may be stored once per tag, any of its rows will do
+        String placeholders = TextUtils.join(",", Collections.nCopies(pseudoIds.size(), "?"));
+        Cursor cursor = ReaderDatabase.getReadableDb().rawQuery(
+                "SELECT * FROM tbl_posts WHERE pseudo_id IN (" + placeholders + ") GROUP BY pseudo_id",
+                pseudoIds.toArray(new String[0]));
+        Map<String, ReaderPost> postsById = new HashMap<>();
+        try {
+            for (ReaderPost post : getPostListFromCursor(cursor)) {
+                postsById.put(post.getPseudoId(), post);
+            }
+        } finally {
+            SqlUtils.closeCursor(cursor);
+        }
+
+        for (String pseudoId : pseudoIds) {
+            ReaderPost post = postsById.get(pseudoId);
+            if (post != null) {
+                posts.add(post);
+            }
+        }
+        return posts;
+    }
+
     public static ReaderPostList getPostsInBlog(long blogId, int maxPosts, boolean excludeTextColumn) {
         String columns = (excludeTextColumn ? COLUMN_NAMES_NO_TEXT : "*");
         String sql =
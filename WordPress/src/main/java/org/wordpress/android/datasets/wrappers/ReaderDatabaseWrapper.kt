@@ -2,9 +2,13 @@ package org.wordpress.android.datasets.wrappers
 
 import dagger.Reusable
 import org.wordpress.android.datasets.ReaderDatabase
+import org.wordpress.android.ui.reader.ReaderPostHtmlCache
 import javax.inject.Inject
 
 @Reusable
-class ReaderDatabaseWrapper @Inject constructor() {
-    fun reset(retainBookmarkedPosts: Boolean) = ReaderDatabase.reset(retainBookmarkedPosts)
+class ReaderDatabaseWrapper @Inject constructor(private val readerPostHtmlCache: ReaderPostHtmlCache) {
+    fun reset(retainBookmarkedPosts: Boolean) {
+        ReaderDatabase.reset(retainBookmarkedPosts)
+        readerPostHtmlCache.clear()
+    }
 }
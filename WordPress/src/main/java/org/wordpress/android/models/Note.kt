@@ -12,6 +12,7 @@ import org.json.JSONException
 import org.json.JSONObject
 import org.wordpress.android.fluxc.model.CommentModel
 import org.wordpress.android.fluxc.model.CommentStatus
+import org.wordpress.android.fluxc.tools.JsonPath
 import org.wordpress.android.ui.notifications.utils.NotificationsUtilsWrapper
 import org.wordpress.android.util.AppLog
 import org.wordpress.android.util.DateTimeUtils
@@ -19,7 +20,6 @@ import org.wordpress.android.util.DateUtils.addDays
 import org.wordpress.android.util.DateUtils.addMonths
 import org.wordpress.android.util.DateUtils.addWeeks
 import org.wordpress.android.util.DateUtils.isSameDay
-import org.wordpress.android.util.JSONUtils
 import org.wordpress.android.util.StringUtils
 import java.io.UnsupportedEncodingException
 import java.util.Date
@@ -34,6 +34,8 @@ class Note {
         get() = StringUtils.notNullStr(field)
 
     private var mNoteJSON: JSONObject? = null
+    private var mNoteJSONLoader: (() -> JSONObject?)? = null
+    private var mListFields: ListFields? = null
 
     constructor(key: String, noteJSON: JSONObject?) {
         id = key
@@ -45,6 +47,56 @@ class Note {
         id = mNoteJSON?.optString("id", "") ?: ""
     }
 
+    /**
+     * Creates a note from the fields the notifications list needs, the JSON is only loaded and parsed once another
+     * field is read (e.g. by the detail screen).
+     */
+    constructor(key: String, listFields: ListFields, noteJSONLoader: () -> JSONObject?) {
+        id = key
+        mListFields = listFields
+        mNoteJSONLoader = noteJSONLoader
+    }
+
+    @get:Synchronized
+    private val noteJSON: JSONObject?
+        get() {
+            mNoteJSONLoader?.let { loader ->
+                mNoteJSON = loader()
+                mNoteJSONLoader = null
+            }
+            return mNoteJSON
+        }
+
+    /**
+     * The fields of a note the notifications list needs, stored in their own columns by NotificationsTable so
+     * loading the list doesn't parse the JSON of every note.
+     *
+     * @param timestamp in seconds, like [Note.timestamp]
+     * @param commentId null if the note doesn't reference a comment
+     * @param subject the JSON array of the subject blocks
+     * @param actions the [ACTION_CAN_LIKE_COMMENT], [ACTION_LIKED_COMMENT], [ACTION_CAN_LIKE_POST] and
+     * [ACTION_LIKED_POST] flags
+     */
+    data class ListFields(
+        val rawType: String,
+        val timestamp: Long,
+        val siteId: Int,
+        val postId: Int,
+        val commentId: Long?,
+        val title: String,
+        val url: String,
+        val iconURL: String,
+        val iconURLs: List<String>,
+        val isUnread: Boolean,
+        val subject: String?,
+        val actions: Int
+    ) {
+        fun hasAction(action: Int) = (actions and action) != 0
+
+        fun withAction(action: Int, enabled: Boolean) =
+            copy(actions = if (enabled) actions or action else actions and action.inv())
+    }
+
     enum class EnabledActions {
         ACTION_REPLY,
         ACTION_APPROVE,
@@ -66,36 +118,47 @@ class Note {
      * Immutable lazily initialised properties from the note JSON
      */
 
-    val siteId: Int by lazy { queryJSON("meta.ids.site", 0) }
-    val postId: Int by lazy { queryJSON("meta.ids.post", 0) }
-    val rawType: String by lazy { queryJSON("type", NOTE_UNKNOWN_TYPE) }
-    val commentId: Long by lazy { queryJSON("meta.ids.comment", 0).toLong() }
-    val parentCommentId: Long by lazy { queryJSON("meta.ids.parent_comment", 0).toLong() }
-    val url: String by lazy { queryJSON("url", "") }
-    val header: JSONArray? by lazy { mNoteJSON?.optJSONArray("header") }
-    val commentReplyId: Long by lazy { queryJSON("meta.ids.reply_comment", 0).toLong() }
-    val title: String by lazy { queryJSON("title", "") }
-    val iconURL: String by lazy { queryJSON("icon", "") }
+    val siteId: Int by lazy { mListFields?.siteId ?: META_IDS_SITE.getInt(noteJSON, 0) }
+    val postId: Int by lazy { mListFields?.postId ?: META_IDS_POST.getInt(noteJSON, 0) }
+    val rawType: String by lazy { mListFields?.rawType ?: (TYPE.getString(noteJSON) ?: NOTE_UNKNOWN_TYPE) }
+    val commentId: Long by lazy {
+        mListFields?.let { it.commentId ?: 0L } ?: META_IDS_COMMENT.getLong(noteJSON, 0L)
+    }
+    val parentCommentId: Long by lazy { META_IDS_PARENT_COMMENT.getLong(noteJSON, 0L) }
+    val url: String by lazy { mListFields?.url ?: (URL.getString(noteJSON) ?: "") }
+    val header: JSONArray? by lazy { noteJSON?.optJSONArray("header") }
+    val commentReplyId: Long by lazy { META_IDS_REPLY_COMMENT.getLong(noteJSON, 0L) }
+    val title: String by lazy { mListFields?.title ?: (TITLE.getString(noteJSON) ?: "") }
+    val iconURL: String by lazy { mListFields?.iconURL ?: (ICON.getString(noteJSON) ?: "") }
     val enabledCommentActions: EnumSet<EnabledActions> by lazy { getEnabledActions(commentActions) }
     private val enabledPostActions: EnumSet<EnabledActions> by lazy { getEnabledActions(postActions) }
-    private val timestampString: String by lazy { queryJSON("timestamp", "") }
-    private val commentText: String by lazy { queryJSON("body[last].text", "") }
+    private val timestampString: String by lazy { TIMESTAMP.getString(noteJSON) ?: "" }
+    private val commentText: String by lazy { BODY_LAST_TEXT.getString(noteJSON) ?: "" }
     private val commentActions: JSONObject by lazy { getActions(commentId, "comment") }
     private val postActions: JSONObject by lazy { getActions(postId.toLong(), "post") }
 
     val body: JSONArray by lazy {
         runCatching {
-            mNoteJSON?.getJSONArray("body") ?: JSONArray()
+            noteJSON?.getJSONArray("body") ?: JSONArray()
         }.getOrElse {
             JSONArray()
         }
     }
 
+    private val subjectArray: JSONArray? by lazy {
+        val listFields = mListFields
+        if (listFields != null) {
+            listFields.subject?.let { runCatching { JSONArray(it) }.getOrNull() }
+        } else {
+            noteJSON?.optJSONArray("subject")
+        }
+    }
+
     val subject: JSONObject? by lazy {
         runCatching {
-            val subjectArray = mNoteJSON?.getJSONArray("subject")
-            if (subjectArray != null && subjectArray.length() > 0) {
-                subjectArray.getJSONObject(0)
+            val subjects = subjectArray
+            if (subjects != null && subjects.length() > 0) {
+                subjects.getJSONObject(0)
             } else null
         }.getOrElse {
             null
@@ -103,12 +166,13 @@ class Note {
     }
 
     val iconURLs: List<String>? by lazy {
-        val bodyArray = mNoteJSON?.optJSONArray("body")
+        mListFields?.let { return@lazy it.iconURLs }
+        val bodyArray = noteJSON?.optJSONArray("body")
         if (bodyArray != null && bodyArray.length() > 0) {
             val iconUrls = ArrayList<String>()
             for (i in 0 until bodyArray.length()) {
-                val iconUrl = JSONUtils.queryJSON(bodyArray, "body[$i].media[0].url", "")
-                if (iconUrl != null && iconUrl.isNotEmpty()) {
+                val iconUrl = MEDIA_FIRST_URL.getString(bodyArray.optJSONObject(i))
+                if (!iconUrl.isNullOrEmpty()) {
                     iconUrls.add(iconUrl)
                 }
             }
@@ -118,12 +182,12 @@ class Note {
     }
 
     val commentSubject: String? by lazy {
-        val subjectArray = mNoteJSON?.optJSONArray("subject")
-        if (subjectArray != null) {
-            var commentSubject = JSONUtils.queryJSON(subjectArray, "subject[1].text", "")
+        val subjects = subjectArray
+        if (subjects != null) {
+            var commentSubject = SUBJECT_COMMENT_TEXT.getString(subjects) ?: ""
 
             // Trim down the comment preview if the comment text is too large.
-            if (commentSubject != null && commentSubject.length > MAX_COMMENT_PREVIEW_LENGTH) {
+            if (commentSubject.length > MAX_COMMENT_PREVIEW_LENGTH) {
                 commentSubject = commentSubject.substring(0, MAX_COMMENT_PREVIEW_LENGTH - 1)
             }
             return@lazy commentSubject
@@ -132,7 +196,7 @@ class Note {
     }
 
     val commentSubjectNoticon: String by lazy {
-        with(queryJSON("subject[0].ranges", JSONArray())) {
+        with(subjectArray?.optJSONObject(0)?.optJSONArray("ranges") ?: JSONArray()) {
             for (i in 0 until length()) {
                 runCatching {
                     val rangeItem = getJSONObject(i)
@@ -163,8 +227,7 @@ class Note {
     }
 
     val isCommentType: Boolean by lazy {
-        isTypeRaw(NOTE_COMMENT_TYPE) ||
-                isAutomattcherType && JSONUtils.queryJSON(mNoteJSON, "meta.ids.comment", -1) != -1
+        isTypeRaw(NOTE_COMMENT_TYPE) || isAutomattcherType && hasCommentId()
     }
 
     private val commentAuthorUrl: String by lazy {
@@ -173,7 +236,7 @@ class Note {
             runCatching {
                 val bodyItem = bodyArray.getJSONObject(i)
                 if (bodyItem.has("type") && bodyItem.optString("type") == "user") {
-                    return@lazy JSONUtils.queryJSON(bodyItem, "meta.links.home", "")
+                    return@lazy META_LINKS_HOME.getString(bodyItem) ?: ""
                 }
             }.getOrElse {
                 return@lazy ""
@@ -186,7 +249,7 @@ class Note {
      * Computed properties
      */
     val json: JSONObject
-        get() = mNoteJSON ?: JSONObject()
+        get() = noteJSON ?: JSONObject()
     val isAutomattcherType: Boolean
         get() = isTypeRaw(NOTE_MATCHER_TYPE)
     val isNewPostType: Boolean
@@ -209,9 +272,9 @@ class Note {
     val isUserList: Boolean
         get() = isLikeType || isFollowType
     val isUnread: Boolean // Parsing every time since it may change
-        get() = queryJSON("read", 0) != 1
+        get() = mListFields?.isUnread ?: (READ.getInt(noteJSON, 0) != 1)
     val timestamp: Long
-        get() = DateTimeUtils.timestampFromIso8601(timestampString)
+        get() = mListFields?.timestamp ?: DateTimeUtils.timestampFromIso8601(timestampString)
     val commentStatus: CommentStatus
         get() = if (enabledCommentActions.contains(EnabledActions.ACTION_UNAPPROVE)) {
             CommentStatus.APPROVED
@@ -231,7 +294,8 @@ class Note {
 
     private fun updateReadState(read: Int) {
         try {
-            mNoteJSON?.putOpt("read", read)
+            noteJSON?.putOpt("read", read)
+            mListFields = mListFields?.copy(isUnread = read != 1)
         } catch (e: JSONException) {
             AppLog.e(AppLog.T.NOTIFS, "Failed to set 'read' property", e)
         }
@@ -240,6 +304,7 @@ class Note {
     fun setLikedComment(liked: Boolean) {
         try {
             commentActions.put(ACTION_KEY_LIKE_COMMENT, liked)
+            mListFields = mListFields?.withAction(ACTION_LIKED_COMMENT, liked)
         } catch (e: JSONException) {
             AppLog.e(AppLog.T.NOTIFS, "Failed to set 'like' property for the note", e)
         }
@@ -248,6 +313,7 @@ class Note {
     fun setLikedPost(liked: Boolean) {
         try {
             postActions.put(ACTION_KEY_LIKE_POST, liked)
+            mListFields = mListFields?.withAction(ACTION_LIKED_POST, liked)
         } catch (e: JSONException) {
             AppLog.e(AppLog.T.NOTIFS, "Failed to set 'like' property for the note", e)
         }
@@ -262,17 +328,42 @@ class Note {
 
     fun canReply() = enabledCommentActions.contains(EnabledActions.ACTION_REPLY)
 
-    fun canLikeComment() = enabledCommentActions.contains(EnabledActions.ACTION_LIKE_COMMENT)
+    fun canLikeComment() = mListFields?.hasAction(ACTION_CAN_LIKE_COMMENT)
+        ?: enabledCommentActions.contains(EnabledActions.ACTION_LIKE_COMMENT)
 
-    fun canLikePost() = enabledPostActions.contains(EnabledActions.ACTION_LIKE_POST)
+    fun canLikePost() = mListFields?.hasAction(ACTION_CAN_LIKE_POST)
+        ?: enabledPostActions.contains(EnabledActions.ACTION_LIKE_POST)
 
     fun getFormattedSubject(notificationsUtilsWrapper: NotificationsUtilsWrapper): Spannable {
         return subject?.let { notificationsUtilsWrapper.getSpannableContentForRanges(it) } ?: SpannableString("")
     }
 
-    fun hasLikedComment() = commentActions.length() > 0 && commentActions.optBoolean(ACTION_KEY_LIKE_COMMENT)
+    fun hasLikedComment() = mListFields?.hasAction(ACTION_LIKED_COMMENT)
+        ?: (commentActions.length() > 0 && commentActions.optBoolean(ACTION_KEY_LIKE_COMMENT))
 
-    fun hasLikedPost() = postActions.length() > 0 && postActions.optBoolean(ACTION_KEY_LIKE_POST)
+    fun hasLikedPost() = mListFields?.hasAction(ACTION_LIKED_POST)
+        ?: (postActions.length() > 0 && postActions.optBoolean(ACTION_KEY_LIKE_POST))
+
+    /**
+     * Returns the fields stored in their own columns by NotificationsTable
+     */
+    fun toListFields(): ListFields = mListFields ?: ListFields(
+        rawType = rawType,
+        timestamp = timestamp,
+        siteId = siteId,
+        postId = postId,
+        commentId = if (hasCommentId()) commentId else null,
+        title = title,
+        url = url,
+        iconURL = iconURL,
+        iconURLs = iconURLs ?: emptyList(),
+        isUnread = isUnread,
+        subject = subjectArray?.toString(),
+        actions = (if (canLikeComment()) ACTION_CAN_LIKE_COMMENT else 0) or
+                (if (hasLikedComment()) ACTION_LIKED_COMMENT else 0) or
+                (if (canLikePost()) ACTION_CAN_LIKE_POST else 0) or
+                (if (hasLikedPost()) ACTION_LIKED_POST else 0)
+    )
 
     /**
      * Compares two notes to see if they are the same: as it's potentially a very processing intensive operation,
@@ -304,12 +395,14 @@ class Note {
 
     private fun isTypeRaw(rawType: String) = this.rawType == rawType
 
-    /**
-     * Rudimentary system for pulling an item out of a JSON object hierarchy
-     */
-    private fun <U> queryJSON(query: String?, defaultObject: U): U =
-        if (mNoteJSON == null) defaultObject
-        else JSONUtils.queryJSON(mNoteJSON, query, defaultObject)
+    private fun hasCommentId(): Boolean {
+        val listFields = mListFields
+        return if (listFields != null) {
+            listFields.commentId != null
+        } else {
+            META_IDS_COMMENT.getLong(noteJSON, -1L) != -1L
+        }
+    }
 
     /**
      * Get the actions for a given comment or post
@@ -317,14 +410,15 @@ class Note {
      * @param type The type of the item: `post` or `comment`
      */
     private fun getActions(itemId: Long, type: String): JSONObject {
+        val idPath = if (type == "comment") META_IDS_COMMENT else META_IDS_POST
         var actions: JSONObject? = null
         var foundOrError = false
         var i = 0
         while (!foundOrError && i < body.length()) {
             val bodyItem = runCatching { body.getJSONObject(i) }.getOrNull()
             if (bodyItem?.has("type") == true && bodyItem.optString("type") == type &&
-                itemId == JSONUtils.queryJSON(bodyItem, "meta.ids.$type", 0).toLong()) {
-                actions = JSONUtils.queryJSON(bodyItem, "actions", JSONObject())
+                itemId == idPath.getLong(bodyItem, 0L)) {
+                actions = ACTIONS.getJSONObject(bodyItem) ?: JSONObject()
                 foundOrError = true
             }
             i++
@@ -371,6 +465,12 @@ class Note {
         const val NOTE_VIEW_MILESTONE = "view_milestone"
         const val NOTE_UNKNOWN_TYPE = "unknown"
 
+        // ListFields action flags
+        const val ACTION_CAN_LIKE_COMMENT = 1
+        const val ACTION_LIKED_COMMENT = 1 shl 1
+        const val ACTION_CAN_LIKE_POST = 1 shl 2
+        const val ACTION_LIKED_POST = 1 shl 3
+
         // JSON action keys
         private const val ACTION_KEY_REPLY = "replyto-comment"
         private const val ACTION_KEY_APPROVE = "approve-comment"
@@ -378,6 +478,24 @@ class Note {
         private const val ACTION_KEY_LIKE_COMMENT = "like-comment"
         private const val ACTION_KEY_LIKE_POST = "like-post"
 
+        // JSON paths, compiled once for all the notes
+        private val TYPE = JsonPath.compile("type")
+        private val URL = JsonPath.compile("url")
+        private val TITLE = JsonPath.compile("title")
+        private val ICON = JsonPath.compile("icon")
+        private val READ = JsonPath.compile("read")
+        private val TIMESTAMP = JsonPath.compile("timestamp")
+        private val ACTIONS = JsonPath.compile("actions")
+        private val META_IDS_SITE = JsonPath.compile("meta.ids.site")
+        private val META_IDS_POST = JsonPath.compile("meta.ids.post")
+        private val META_IDS_COMMENT = JsonPath.compile("meta.ids.comment")
+        private val META_IDS_PARENT_COMMENT = JsonPath.compile("meta.ids.parent_comment")
+        private val META_IDS_REPLY_COMMENT = JsonPath.compile("meta.ids.reply_comment")
+        private val META_LINKS_HOME = JsonPath.compile("meta.links.home")
+        private val BODY_LAST_TEXT = JsonPath.compile("body[last].text")
+        private val MEDIA_FIRST_URL = JsonPath.compile("media[0].url")
+        private val SUBJECT_COMMENT_TEXT = JsonPath.compile("subject[1].text")
+
         // Time constants
         private const val LAST_MONTH = -1
         private const val LAST_WEEK = -1
@@ -1,39 +1,55 @@
 package org.wordpress.android.modules
 
 import android.content.Context
-import com.android.volley.RequestQueue
 import com.bumptech.glide.Glide
 import com.bumptech.glide.GlideBuilder
 import com.bumptech.glide.Registry
 import com.bumptech.glide.annotation.GlideModule
-import com.bumptech.glide.integration.volley.VolleyUrlLoader
 import com.bumptech.glide.load.model.GlideUrl
 import com.bumptech.glide.module.AppGlideModule
+import okhttp3.Dispatcher
+import okhttp3.OkHttpClient
 import org.wordpress.android.WordPress
+import org.wordpress.android.fluxc.network.BaseRequest
 import org.wordpress.android.networking.GlideMShotsLoader
+import org.wordpress.android.networking.GlideOkHttpLoader
 import org.wordpress.android.networking.GlideRequestFactory
 import org.wordpress.android.networking.MShot
+import org.wordpress.android.networking.RetryOnTemporaryRedirectInterceptor
+import org.wordpress.android.util.image.ImageFetchStats
 import java.io.InputStream
+import java.util.concurrent.TimeUnit
 import javax.inject.Inject
 import javax.inject.Named
 
+private const val MAX_IMAGE_REQUESTS = 16
+private const val MAX_IMAGE_REQUESTS_PER_HOST = 8
+private const val MAX_MSHOTS_REQUESTS = 8
+
 /**
- * Custom [AppGlideModule] that replaces Glide's default [RequestQueue] with FluxC's and sets custom GlideHeaderLoader
- * which adds support for custom authorization headers.
+ * Custom [AppGlideModule] that replaces Glide's default loader with one streaming the images from FluxC's
+ * [OkHttpClient] (sharing its connection pool, but with its own dispatcher so images don't compete with API calls)
+ * and sets custom [GlideRequestFactory] which adds support for custom authorization headers.
+ *
+ * mShots requests get a dispatcher of their own: [RetryOnTemporaryRedirectInterceptor] holds a dispatcher thread
+ * while it waits between retries, which must not use up the slots of the other images.
  */
 @GlideModule
 class WordPressGlideModule : AppGlideModule() {
     @Inject
     @Named("custom-ssl-custom-redirects")
-    lateinit var requestQueue: RequestQueue
+    lateinit var okHttpClient: OkHttpClient
 
     @Inject
     @Named("no-redirects")
-    lateinit var noRedirectsRequestQueue: RequestQueue
+    lateinit var noRedirectsOkHttpClient: OkHttpClient
 
     @Inject
     lateinit var glideRequestFactory: GlideRequestFactory
 
+    @Inject
+    lateinit var imageFetchStats: ImageFetchStats
+
     override fun applyOptions(context: Context, builder: GlideBuilder) {}
 
     override fun isManifestParsingEnabled(): Boolean {
@@ -42,10 +58,31 @@ class WordPressGlideModule : AppGlideModule() {
 
     override fun registerComponents(context: Context, glide: Glide, registry: Registry) {
         (context as WordPress).component().inject(this)
+        val dispatcher = Dispatcher().apply {
+            maxRequests = MAX_IMAGE_REQUESTS
+            maxRequestsPerHost = MAX_IMAGE_REQUESTS_PER_HOST
+        }
+        val imageClient = okHttpClient.newBuilder()
+            .dispatcher(dispatcher)
+            .readTimeout(BaseRequest.DEFAULT_REQUEST_TIMEOUT.toLong(), TimeUnit.MILLISECONDS)
+            .build()
+        val mShotsDispatcher = Dispatcher().apply {
+            maxRequests = MAX_MSHOTS_REQUESTS
+            maxRequestsPerHost = MAX_MSHOTS_REQUESTS
+        }
+        val mShotsClient = noRedirectsOkHttpClient.newBuilder()
+            .dispatcher(mShotsDispatcher)
+            .readTimeout(BaseRequest.DEFAULT_REQUEST_TIMEOUT.toLong(), TimeUnit.MILLISECONDS)
+            .addInterceptor(RetryOnTemporaryRedirectInterceptor())
+            .build()
+
         registry.replace(
             GlideUrl::class.java, InputStream::class.java,
-            VolleyUrlLoader.Factory(requestQueue, glideRequestFactory)
+            GlideOkHttpLoader.Factory(imageClient, glideRequestFactory, imageFetchStats)
+        )
+        registry.prepend(
+            MShot::class.java, InputStream::class.java,
+            GlideMShotsLoader.Factory(mShotsClient, imageFetchStats)
         )
-        registry.prepend(MShot::class.java, InputStream::class.java, GlideMShotsLoader.Factory(noRedirectsRequestQueue))
     }
 }
@@ -0,0 +1,166 @@
+package org.wordpress.android.networking
+
+import android.os.SystemClock
+import androidx.annotation.VisibleForTesting
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import kotlinx.coroutines.withTimeoutOrNull
+import org.greenrobot.eventbus.Subscribe
+import org.greenrobot.eventbus.ThreadMode
+import org.wordpress.android.fluxc.Dispatcher
+import org.wordpress.android.fluxc.action.AccountAction
+import org.wordpress.android.fluxc.generated.AccountActionBuilder
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.store.AccountStore.AccountErrorType
+import org.wordpress.android.fluxc.store.AccountStore.OnAccountChanged
+import org.wordpress.android.fluxc.store.SiteStore
+import org.wordpress.android.modules.APPLICATION_SCOPE
+import org.wordpress.android.modules.BG_THREAD
+import org.wordpress.android.util.SiteUtils
+import org.wordpress.android.util.StartupTracer
+import java.util.concurrent.ConcurrentHashMap
+import javax.inject.Inject
+import javax.inject.Named
+import javax.inject.Singleton
+
+/**
+ * Schedules the refreshes of the sites and the account the app triggers from several places when it starts or comes
+ * back to the foreground (`AppInitializer`, `WPMainActivity`, My Site).
+ *
+ * - A request for a resource which is already being fetched joins the running fetch instead of sending another one.
+ * - A request for a resource fetched successfully less than [FetchRequest.freshnessWindowMs] ago is skipped, unless
+ * it's forced (e.g. the user pulled to refresh).
+ * - At most [MAX_CONCURRENT_FETCHES] fetches run at the same time, the others wait for one of them to finish.
+ *
+ * The fetches emit the same events as the corresponding FluxC actions, so the existing listeners don't change. The
+ * requests sent and saved are counted by [StartupTracer].
+ */
+@Singleton
+class FetchScheduler @Inject constructor(
+    private val dispatcher: Dispatcher,
+    private val siteStore: SiteStore,
+    private val startupTracer: StartupTracer,
+    @Named(APPLICATION_SCOPE) private val appScope: CoroutineScope,
+    @Named(BG_THREAD) private val bgDispatcher: CoroutineDispatcher
+) {
+    sealed class FetchRequest(val key: String, val freshnessWindowMs: Long) {
+        object Sites : FetchRequest("sites", SITES_FRESHNESS_WINDOW_MS)
+        class Site(val site: SiteModel) : FetchRequest("site-${site.id}", SITE_FRESHNESS_WINDOW_MS)
+        object Account : FetchRequest("account", ACCOUNT_FRESHNESS_WINDOW_MS)
+        object AccountSettings : FetchRequest("account-settings", ACCOUNT_SETTINGS_FRESHNESS_WINDOW_MS)
+    }
+
+    @VisibleForTesting(otherwise = VisibleForTesting.PRIVATE)
+    var elapsedRealtime: () -> Long = SystemClock::elapsedRealtime
+
+    private val budget = Semaphore(MAX_CONCURRENT_FETCHES)
+    private val inFlightFetches = mutableMapOf<String, Job>()
+    private val lastFetchedAt = mutableMapOf<String, Long>()
+    private val pendingAccountChanges = ConcurrentHashMap<FetchRequest, CompletableDeferred<OnAccountChanged>>()
+
+    init {
+        dispatcher.register(this)
+    }
+
+    /**
+     * Fetches the resource of the [request], unless it's already being fetched or it's still fresh.
+     *
+     * @param force true to fetch the resource even if it's still fresh, it still joins a running fetch
+     * @return the job of the fetch the request ends up waiting for, already completed if the request was skipped
+     */
+    @Synchronized
+    @JvmOverloads
+    fun schedule(request: FetchRequest, force: Boolean = false): Job {
+        inFlightFetches[request.key]?.let { runningFetch ->
+            startupTracer.onFetchSaved()
+            return runningFetch
+        }
+        val fetchedAt = lastFetchedAt[request.key]
+        if (!force && fetchedAt != null && elapsedRealtime() - fetchedAt < request.freshnessWindowMs) {
+            startupTracer.onFetchSaved()
+            return Job().apply { complete() }
+        }
+        val job = appScope.launch(bgDispatcher, start = CoroutineStart.LAZY) {
+            var isSuccessful = false
+            try {
+                budget.withPermit {
+                    startupTracer.onFetchSent()
+                    isSuccessful = withTimeoutOrNull(FETCH_TIMEOUT_MS) { fetch(request) } ?: false
+                }
+            } finally {
+                onFetchFinished(request, isSuccessful)
+            }
+        }
+        inFlightFetches[request.key] = job
+        job.start()
+        return job
+    }
+
+    @Synchronized
+    private fun onFetchFinished(request: FetchRequest, isSuccessful: Boolean) {
+        inFlightFetches.remove(request.key)
+        if (isSuccessful) {
+            lastFetchedAt[request.key] = elapsedRealtime()
+        }
+    }
+
+    /**
+     * Runs the fetch and returns whether it succeeded.
+     */
+    private suspend fun fetch(request: FetchRequest): Boolean = when (request) {
+        FetchRequest.Sites -> siteStore.fetchSites(SiteUtils.getFetchSitesPayload()).also {
+            dispatcher.emitChange(it)
+        }.isError.not()
+        is FetchRequest.Site -> siteStore.fetchSite(request.site).also {
+            dispatcher.emitChange(it)
+        }.isError.not()
+        FetchRequest.Account -> awaitAccountChange(request) {
+            dispatcher.dispatch(AccountActionBuilder.newFetchAccountAction())
+        }.isError.not()
+        FetchRequest.AccountSettings -> awaitAccountChange(request) {
+            dispatcher.dispatch(AccountActionBuilder.newFetchSettingsAction())
+        }.isError.not()
+    }
+
+    private suspend fun awaitAccountChange(request: FetchRequest, dispatchFetch: () -> Unit): OnAccountChanged {
+        val accountChange = CompletableDeferred<OnAccountChanged>()
+        pendingAccountChanges[request] = accountChange
+        try {
+            dispatchFetch()
+            return accountChange.await()
+        } finally {
+            pendingAccountChanges.remove(request)
+        }
+    }
+
+    @Subscribe(threadMode = ThreadMode.BACKGROUND)
+    fun onAccountChanged(event: OnAccountChanged) {
+        // The errors of the account fetches don't have a cause, only their type tells which fetch failed
+        val request = when {
+            event.causeOfChange == AccountAction.FETCH_ACCOUNT -> FetchRequest.Account
+            event.causeOfChange == AccountAction.FETCH_SETTINGS -> FetchRequest.AccountSettings
+            event.error?.type == AccountErrorType.ACCOUNT_FETCH_ERROR -> FetchRequest.Account
+            event.error?.type == AccountErrorType.SETTINGS_FETCH_GENERIC_ERROR ||
+                    event.error?.type == AccountErrorType.SETTINGS_FETCH_REAUTHORIZATION_REQUIRED_ERROR ->
+                FetchRequest.AccountSettings
+            else -> null
+        }
+        request?.let { pendingAccountChanges[it]?.complete(event) }
+    }
+
+    companion object {
+        @VisibleForTesting
+        const val MAX_CONCURRENT_FETCHES = 3
+        private const val FETCH_TIMEOUT_MS = 60_000L
+        private const val SITES_FRESHNESS_WINDOW_MS = 5 * 60_000L
+        private const val SITE_FRESHNESS_WINDOW_MS = 60_000L
+        private const val ACCOUNT_FRESHNESS_WINDOW_MS = 60_000L
+        private const val ACCOUNT_SETTINGS_FRESHNESS_WINDOW_MS = 5 * 60_000L
+    }
+}
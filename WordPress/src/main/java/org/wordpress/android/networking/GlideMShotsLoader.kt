@@ -1,21 +1,23 @@
 package org.wordpress.android.networking
 
-import com.android.volley.DefaultRetryPolicy
-import com.android.volley.DefaultRetryPolicy.DEFAULT_BACKOFF_MULT
-import com.android.volley.DefaultRetryPolicy.DEFAULT_TIMEOUT_MS
-import com.android.volley.RequestQueue
-import com.bumptech.glide.integration.volley.VolleyRequestFactory
-import com.bumptech.glide.integration.volley.VolleyStreamFetcher
-import com.bumptech.glide.integration.volley.VolleyUrlLoader
 import com.bumptech.glide.load.Options
 import com.bumptech.glide.load.model.GlideUrl
 import com.bumptech.glide.load.model.ModelLoader
 import com.bumptech.glide.load.model.ModelLoader.LoadData
 import com.bumptech.glide.load.model.ModelLoaderFactory
 import com.bumptech.glide.load.model.MultiModelLoaderFactory
+import okhttp3.Call
+import okhttp3.Interceptor
+import okhttp3.Request
+import okhttp3.Response
+import org.wordpress.android.util.image.ImageFetchStats
 import java.io.InputStream
+import java.io.InterruptedIOException
 
 private const val MAX_RETRIES = 10
+private const val INITIAL_RETRY_DELAY_MS = 2500L
+private const val MAX_RETRY_DELAY_MS = 10_000L
+private const val HTTP_TEMPORARY_REDIRECT = 307
 
 /**
  * String URL wrapper used to customise the request via [GlideMShotsLoader]
@@ -28,25 +30,56 @@ class MShot(val url: String)
  * This is needed because the mshot backend service redirects to a loading gif image when the thumbnail is not ready.
  * This occurs when the thumbnail has not been accessed recently for the specific language and viewport size. When this
  * thumbnail is requested it is cached on the server and is readily available according to the server cache policy.
+ *
+ * The call factory must not follow redirects, the retries are made by [RetryOnTemporaryRedirectInterceptor].
  */
-class GlideMShotsLoader(noRedirectsRequestQueue: RequestQueue) : ModelLoader<MShot, InputStream> {
-    private val requestFactory = VolleyRequestFactory { url, callback, priority, headers ->
-        VolleyStreamFetcher.GlideRequest(url, callback, priority, headers).apply {
-            retryPolicy = DefaultRetryPolicy(DEFAULT_TIMEOUT_MS, MAX_RETRIES, DEFAULT_BACKOFF_MULT)
-        }
-    }
-
-    private val loader: VolleyUrlLoader = VolleyUrlLoader(noRedirectsRequestQueue, requestFactory)
-
+class GlideMShotsLoader(
+    private val noRedirectsCallFactory: Call.Factory,
+    private val imageFetchStats: ImageFetchStats
+) : ModelLoader<MShot, InputStream> {
     override fun handles(item: MShot) = true
 
-    override fun buildLoadData(model: MShot, width: Int, height: Int, options: Options): LoadData<InputStream>? =
-        loader.buildLoadData(GlideUrl(model.url), width, height, options)
+    override fun buildLoadData(model: MShot, width: Int, height: Int, options: Options): LoadData<InputStream> =
+        LoadData(
+            GlideUrl(model.url),
+            OkHttpStreamFetcher(noRedirectsCallFactory, imageFetchStats, options.get(ImageFetchStats.IMAGE_TYPE)) {
+                Request.Builder().url(model.url).build()
+            }
+        )
 
-    class Factory(private val noRedirectsRequestQueue: RequestQueue) : ModelLoaderFactory<MShot, InputStream> {
+    class Factory(
+        private val noRedirectsCallFactory: Call.Factory,
+        private val imageFetchStats: ImageFetchStats
+    ) : ModelLoaderFactory<MShot, InputStream> {
         override fun build(multiFactory: MultiModelLoaderFactory): ModelLoader<MShot, InputStream> =
-            GlideMShotsLoader(noRedirectsRequestQueue)
+            GlideMShotsLoader(noRedirectsCallFactory, imageFetchStats)
 
         override fun teardown() {}
     }
 }
+
+/**
+ * Retries requests redirected with a 307 until the thumbnail is ready, waiting twice as long before every retry (up
+ * to [MAX_RETRY_DELAY_MS]). The wait blocks the calling dispatcher thread, so the client using this interceptor must
+ * not share its dispatcher with other requests.
+ */
+class RetryOnTemporaryRedirectInterceptor : Interceptor {
+    override fun intercept(chain: Interceptor.Chain): Response {
+        var response = chain.proceed(chain.request())
+        var retryDelayMs = INITIAL_RETRY_DELAY_MS
+        var retries = 0
+        while (response.code == HTTP_TEMPORARY_REDIRECT && retries < MAX_RETRIES && !chain.call().isCanceled()) {
+            response.close()
+            try {
+                Thread.sleep(retryDelayMs)
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt()
+                throw InterruptedIOException("Interrupted while waiting to retry")
+            }
+            retryDelayMs = minOf(retryDelayMs * 2, MAX_RETRY_DELAY_MS)
+            retries++
+            response = chain.proceed(chain.request())
+        }
+        return response
+    }
+}
@@ -0,0 +1,160 @@
+package org.wordpress.android.networking
+
+import android.os.SystemClock
+import com.bumptech.glide.Priority
+import com.bumptech.glide.load.DataSource
+import com.bumptech.glide.load.HttpException
+import com.bumptech.glide.load.Options
+import com.bumptech.glide.load.data.DataFetcher
+import com.bumptech.glide.load.data.DataFetcher.DataCallback
+import com.bumptech.glide.load.model.GlideUrl
+import com.bumptech.glide.load.model.ModelLoader
+import com.bumptech.glide.load.model.ModelLoader.LoadData
+import com.bumptech.glide.load.model.ModelLoaderFactory
+import com.bumptech.glide.load.model.MultiModelLoaderFactory
+import com.bumptech.glide.util.ContentLengthInputStream
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.ResponseBody
+import org.wordpress.android.util.image.ImageFetchStats
+import org.wordpress.android.util.image.ImageType
+import java.io.FilterInputStream
+import java.io.IOException
+import java.io.InputStream
+
+/**
+ * Glide [ModelLoader] which streams images from an OkHttp client: the decoder reads the response body as it arrives
+ * instead of Volley reading the whole image into a byte array first. Requests are built by [GlideRequestFactory] so
+ * they get the same authorization headers as before.
+ */
+class GlideOkHttpLoader(
+    private val callFactory: Call.Factory,
+    private val glideRequestFactory: GlideRequestFactory,
+    private val imageFetchStats: ImageFetchStats
+) : ModelLoader<GlideUrl, InputStream> {
+    override fun handles(model: GlideUrl) = true
+
+    override fun buildLoadData(model: GlideUrl, width: Int, height: Int, options: Options): LoadData<InputStream> =
+        LoadData(
+            model,
+            OkHttpStreamFetcher(callFactory, imageFetchStats, options.get(ImageFetchStats.IMAGE_TYPE)) {
+                glideRequestFactory.createRequest(model.toStringUrl(), model.headers)
+            }
+        )
+
+    class Factory(
+        private val callFactory: Call.Factory,
+        private val glideRequestFactory: GlideRequestFactory,
+        private val imageFetchStats: ImageFetchStats
+    ) : ModelLoaderFactory<GlideUrl, InputStream> {
+        override fun build(multiFactory: MultiModelLoaderFactory): ModelLoader<GlideUrl, InputStream> =
+            GlideOkHttpLoader(callFactory, glideRequestFactory, imageFetchStats)
+
+        override fun teardown() {}
+    }
+}
+
+/**
+ * Fetches an image with an asynchronous OkHttp call, so the number of concurrent image requests is limited by the
+ * dispatcher of the client, and hands the streamed response body to Glide.
+ */
+class OkHttpStreamFetcher(
+    private val callFactory: Call.Factory,
+    private val imageFetchStats: ImageFetchStats,
+    imageType: ImageType?,
+    private val requestProvider: () -> Request
+) : DataFetcher<InputStream>, Callback {
+    private val imageType = imageType ?: ImageType.UNKNOWN
+
+    @Volatile private var call: Call? = null
+    private var callback: DataCallback<in InputStream>? = null
+    private var responseBody: ResponseBody? = null
+    private var stream: CountingInputStream? = null
+    private var startTime = 0L
+    private var dataReadyTime = 0L
+
+    override fun loadData(priority: Priority, callback: DataCallback<in InputStream>) {
+        this.callback = callback
+        val request = try {
+            requestProvider()
+        } catch (e: IllegalArgumentException) {
+            // not a valid http(s) url
+            callback.onLoadFailed(e)
+            return
+        }
+        startTime = SystemClock.elapsedRealtime()
+        call = callFactory.newCall(request).also { it.enqueue(this) }
+    }
+
+    override fun onFailure(call: Call, e: IOException) {
+        callback?.onLoadFailed(e)
+    }
+
+    override fun onResponse(call: Call, response: Response) {
+        val body = response.body
+        responseBody = body
+        if (!response.isSuccessful || body == null) {
+            callback?.onLoadFailed(HttpException(response.message, response.code))
+            return
+        }
+
+        dataReadyTime = SystemClock.elapsedRealtime()
+        imageFetchStats.recordTimeToFirstByte(imageType, dataReadyTime - startTime)
+        val countingStream = CountingInputStream(body.byteStream())
+        stream = countingStream
+        callback?.onDataReady(ContentLengthInputStream.obtain(countingStream, body.contentLength()))
+    }
+
+    override fun cleanup() {
+        // Glide cleans up the fetcher once the image was decoded
+        stream?.let { countingStream ->
+            imageFetchStats.recordDecode(
+                imageType,
+                countingStream.bytesRead,
+                SystemClock.elapsedRealtime() - dataReadyTime
+            )
+            try {
+                countingStream.close()
+            } catch (e: IOException) {
+                // ignored
+            }
+        }
+        responseBody?.close()
+        stream = null
+        responseBody = null
+        callback = null
+    }
+
+    override fun cancel() {
+        call?.cancel()
+    }
+
+    override fun getDataClass() = InputStream::class.java
+
+    override fun getDataSource() = DataSource.REMOTE
+
+    private class CountingInputStream(input: InputStream) : FilterInputStream(input) {
+        var bytesRead = 0L
+            private set
+
+        override fun read(): Int {
+            val byte = super.read()
+            if (byte != -1) bytesRead++
+            return byte
+        }
+
+        override fun read(buffer: ByteArray, offset: Int, length: Int): Int {
+            val count = super.read(buffer, offset, length)
+            if (count > 0) bytesRead += count
+            return count
+        }
+
+        override fun skip(count: Long): Long {
+            val skipped = super.skip(count)
+            bytesRead += skipped
+            return skipped
+        }
+    }
+}
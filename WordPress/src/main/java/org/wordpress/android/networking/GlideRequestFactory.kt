@@ -1,14 +1,9 @@
 package org.wordpress.android.networking
 
-import com.android.volley.Request
-import com.android.volley.Request.Priority
-import com.bumptech.glide.integration.volley.VolleyRequestFactory
-import com.bumptech.glide.integration.volley.VolleyStreamFetcher
-import com.bumptech.glide.load.data.DataFetcher.DataCallback
+import okhttp3.Request
 import org.wordpress.android.ui.utils.AuthenticationUtils
 import org.wordpress.android.util.UrlUtils
 import org.wordpress.android.util.WPUrlUtils
-import java.io.InputStream
 import javax.inject.Inject
 import javax.inject.Singleton
 
@@ -19,15 +14,14 @@ import javax.inject.Singleton
 @Singleton
 class GlideRequestFactory @Inject constructor(
     private val authenticationUtils: AuthenticationUtils
-) : VolleyRequestFactory {
-    override fun create(
-        url: String,
-        callback: DataCallback<in InputStream>,
-        priority: Priority,
-        headers: Map<String, String>
-    ): Request<ByteArray>? {
+) {
+    fun createRequest(url: String, headers: Map<String, String>): Request {
         val httpsUrl: String = convertWPcomUrlToHttps(url)
-        return VolleyStreamFetcher.GlideRequest(httpsUrl, callback, priority, addAuthHeaders(url, headers))
+        val builder = Request.Builder().url(httpsUrl)
+        addAuthHeaders(url, headers).forEach { (key, value) ->
+            builder.header(key, value)
+        }
+        return builder.build()
     }
 
     private fun convertWPcomUrlToHttps(url: String): String {
@@ -0,0 +1,121 @@
+package org.wordpress.android.ui.comments
+
+import java.util.ArrayDeque
+import java.util.Collections
+import java.util.IdentityHashMap
+
+/**
+ * Threads a list of comments: the replies are indexed by the id of their parent once, so the level list - the
+ * comments with their replies below them and the indentation levels applied - is created in a single depth-first
+ * walk instead of scanning the whole list for the replies of every comment.
+ *
+ * Used by the Reader (ReaderCommentLeveler) and the site comments (UnifiedCommentLeveler), the [Accessor] reads and
+ * writes the fields of their comment models.
+ */
+class CommentTree<T : Any>(private val comments: List<T>, private val accessor: Accessor<T>) {
+    interface Accessor<T> {
+        fun getCommentId(comment: T): Long
+
+        fun getParentId(comment: T): Long
+
+        fun getLevel(comment: T): Int
+
+        fun setLevel(comment: T, level: Int)
+    }
+
+    // the replies to every comment, in the order of the comments list
+    private val repliesByParentId = HashMap<Long, MutableList<T>>()
+
+    init {
+        for (comment in comments) {
+            val parentId = accessor.getParentId(comment)
+            if (parentId != 0L) {
+                repliesByParentId.getOrPut(parentId) { ArrayList() }.add(comment)
+            }
+        }
+    }
+
+    fun getReplies(commentId: Long): List<T> = repliesByParentId[commentId] ?: emptyList()
+
+    /**
+     * Adds the top level comments to the passed list, each one followed by its replies with their levels set.
+     *
+     * @param keepOrphans whether replies to comments which aren't in the list are added at the end of the list with
+     * a level of 1, otherwise they're left out
+     */
+    fun <L : MutableList<T>> createLevelList(result: L, keepOrphans: Boolean): L {
+        // the stack is popped in reverse order, so the top level comments and replies are pushed in reverse order
+        val stack = ArrayDeque<T>()
+        for (index in comments.indices.reversed()) {
+            val comment = comments[index]
+            accessor.setLevel(comment, 0)
+            if (accessor.getParentId(comment) == 0L) {
+                stack.push(comment)
+            }
+        }
+
+        // comments with duplicate ids could create a cycle, every comment is only added once
+        val added = Collections.newSetFromMap(IdentityHashMap<T, Boolean>())
+        while (stack.isNotEmpty()) {
+            val comment = stack.pop()
+            if (!added.add(comment)) continue
+            result.add(comment)
+
+            val replies = repliesByParentId[accessor.getCommentId(comment)] ?: continue
+            val level = accessor.getLevel(comment) + 1
+            for (index in replies.indices.reversed()) {
+                val reply = replies[index]
+                if (!added.contains(reply)) {
+                    accessor.setLevel(reply, level)
+                    stack.push(reply)
+                }
+            }
+        }
+
+        if (keepOrphans && added.size < comments.size) {
+            addOrphans(result, added)
+        }
+        return result
+    }
+
+    private fun addOrphans(result: MutableList<T>, added: Set<T>) {
+        val commentIds = comments.mapTo(HashSet()) { accessor.getCommentId(it) }
+        for (comment in comments) {
+            if (!added.contains(comment) && !commentIds.contains(accessor.getParentId(comment))) {
+                accessor.setLevel(comment, 1)
+                result.add(comment)
+            }
+        }
+    }
+
+    companion object {
+        /**
+         * Inserts a new comment in a level list created by [createLevelList]: below the existing replies to its parent,
+         * or at the end of the list if it's a top level comment.
+         *
+         * @return the index of the comment in the list, or -1 if its parent isn't in the list
+         */
+        @JvmStatic
+        fun <T : Any> insert(levelList: MutableList<T>, comment: T, accessor: Accessor<T>): Int {
+            val parentId = accessor.getParentId(comment)
+            if (parentId == 0L) {
+                accessor.setLevel(comment, 0)
+                levelList.add(comment)
+                return levelList.size - 1
+            }
+
+            val parentIndex = levelList.indexOfFirst { accessor.getCommentId(it) == parentId }
+            if (parentIndex == -1) {
+                return -1
+            }
+            val parentLevel = accessor.getLevel(levelList[parentIndex])
+            var index = parentIndex + 1
+            while (index < levelList.size && accessor.getLevel(levelList[index]) > parentLevel) {
+                index++
+            }
+            accessor.setLevel(comment, parentLevel + 1)
+            levelList.add(index, comment)
+            return index
+        }
+    }
+}
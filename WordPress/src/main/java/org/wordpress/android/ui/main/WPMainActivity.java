@@ -69,6 +69,8 @@ import org.wordpress.android.inappupdate.IInAppUpdateManager;
 import org.wordpress.android.inappupdate.InAppUpdateListener;
 import org.wordpress.android.login.LoginAnalyticsListener;
 import org.wordpress.android.networking.ConnectionChangeReceiver;
+import org.wordpress.android.networking.FetchScheduler;
+import org.wordpress.android.networking.FetchScheduler.FetchRequest;
 import org.wordpress.android.push.GCMMessageHandler;
 import org.wordpress.android.push.GCMMessageService;
 import org.wordpress.android.push.GCMRegistrationScheduler;
@@ -280,6 +282,7 @@ public class WPMainActivity extends LocaleAwareActivity implements
     @Inject ReaderTracker mReaderTracker;
     @Inject MediaPickerLauncher mMediaPickerLauncher;
     @Inject SelectedSiteRepository mSelectedSiteRepository;
+    @Inject FetchScheduler mFetchScheduler;
     @Inject QuickStartRepository mQuickStartRepository;
     @Inject QuickStartUtilsWrapper mQuickStartUtilsWrapper;
     @Inject AnalyticsTrackerWrapper mAnalyticsTrackerWrapper;
@@ -1155,10 +1158,10 @@ public class WPMainActivity extends LocaleAwareActivity implements
 
         if (mAccountStore.hasAccessToken()) {
             // Update account to update the notification unseen status
-            mDispatcher.dispatch(AccountActionBuilder.newFetchAccountAction());
+            mFetchScheduler.schedule(FetchRequest.Account.INSTANCE);
             if (mQrCodeAuthFlowFeatureConfig.isEnabled()) {
                 // Fetch account settings to update the qr code login menu item visibility in Me screen
-                mDispatcher.dispatch(AccountActionBuilder.newFetchSettingsAction());
+                mFetchScheduler.schedule(FetchRequest.AccountSettings.INSTANCE);
             }
         }
 
@@ -1713,7 +1716,7 @@ public class WPMainActivity extends LocaleAwareActivity implements
         mSelectedSiteRepository.updateSite(selectedSite);
 
         // When we select a site, we want to update its information or options
-        mDispatcher.dispatch(SiteActionBuilder.newFetchSiteAction(selectedSite));
+        mFetchScheduler.schedule(new FetchRequest.Site(selectedSite));
     }
 
     /**
@@ -116,11 +116,27 @@ class MediaLibraryDataSource(
                         searchInDatabase(mediaType, filter)
                     }
                 }
-            }.fold(mutableListOf<MediaItem>()) { result, databaseItems ->
-                result.addAll(databaseItems.await())
-                result
-            }.sortedByDescending { it.dataModified }
+            }.awaitAll().let { databaseItems ->
+                if (filter == null) {
+                    databaseItems.flatten().sortedByDescending { it.dataModified }
+                } else {
+                    databaseItems.interleave()
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges the search results of the media types. The results of each type are sorted by relevance, which can't be
+     * compared across types, so the best results of every type are shown first.
+     */
+    private fun List<List<MediaItem>>.interleave(): List<MediaItem> {
+        val result = mutableListOf<MediaItem>()
+        val maxSize = maxOfOrNull { it.size } ?: 0
+        for (index in 0 until maxSize) {
+            forEach { items -> items.getOrNull(index)?.let { result.add(it) } }
         }
+        return result
     }
 
     private fun List<MediaModel>.toMediaItems(mediaType: MediaType): List<MediaItem> {
@@ -27,7 +27,11 @@ data class MediaLoader(
             val mediaTypes = (mediaSource as? MediaSourceWithTypes)?.mediaTypes
             var state = DomainModel(mediaTypes = mediaTypes)
             var lastPerformedAction: LoadAction? = null
-            for (loadAction in actions) {
+            var nextAction: LoadAction? = null
+            while (true) {
+                val receivedAction = nextAction ?: actions.receiveCatching().getOrNull() ?: break
+                val (loadAction, actionAfterSearch) = skipSupersededSearches(receivedAction, actions)
+                nextAction = actionAfterSearch
                 val currentAction = if (loadAction is Retry) {
                     lastPerformedAction ?: loadAction
                 } else {
@@ -49,6 +53,30 @@ data class MediaLoader(
         }
     }
 
+    /**
+     * Every search loads the media again and searches it, so the searches typed while a previous load was running
+     * are skipped when a newer search or clearing the search is already waiting behind them.
+     *
+     * @return the action to perform and the action received after it, if any
+     */
+    private fun skipSupersededSearches(
+        loadAction: LoadAction,
+        actions: Channel<LoadAction>
+    ): Pair<LoadAction, LoadAction?> {
+        if (!loadAction.isSearch()) {
+            return loadAction to null
+        }
+        var latestSearch = loadAction
+        var receivedAction = actions.tryReceive().getOrNull()
+        while (receivedAction != null && receivedAction.isSearch()) {
+            latestSearch = receivedAction
+            receivedAction = actions.tryReceive().getOrNull()
+        }
+        return latestSearch to receivedAction
+    }
+
+    private fun LoadAction.isSearch() = this is Filter || this is ClearFilter
+
     private suspend fun loadState(
         loadAction: LoadAction,
         state: DomainModel
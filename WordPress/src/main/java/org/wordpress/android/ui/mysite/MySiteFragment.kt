@@ -74,6 +74,7 @@ import org.wordpress.android.util.PackageManagerWrapper
 import org.wordpress.android.util.QuickStartUtilsWrapper
 import org.wordpress.android.util.SnackbarItem
 import org.wordpress.android.util.SnackbarSequencer
+import org.wordpress.android.util.StartupTracer
 import org.wordpress.android.util.UriWrapper
 import org.wordpress.android.util.WPSwipeToRefreshHelper
 import org.wordpress.android.util.extensions.getColorFromAttribute
@@ -140,6 +141,9 @@ class MySiteFragment : Fragment(R.layout.my_site_fragment),
     @Inject
     lateinit var packageManagerWrapper: PackageManagerWrapper
 
+    @Inject
+    lateinit var startupTracer: StartupTracer
+
     private lateinit var viewModel: MySiteViewModel
     private lateinit var dialogViewModel: BasicDialogViewModel
     private lateinit var wpMainActivityViewModel: WPMainActivityViewModel
@@ -524,7 +528,9 @@ class MySiteFragment : Fragment(R.layout.my_site_fragment),
 
     private fun MySiteFragmentBinding.loadData(state: State.SiteSelected) {
         recyclerView.setVisible(true)
-        (recyclerView.adapter as? MySiteAdapter)?.submitList(state.dashboardData)
+        (recyclerView.adapter as? MySiteAdapter)?.submitList(state.dashboardData) {
+            startupTracer.onSiteRendered()
+        }
 
         if (noSitesView.actionableEmptyView.isVisible) {
             noSitesView.actionableEmptyView.setVisible(false)
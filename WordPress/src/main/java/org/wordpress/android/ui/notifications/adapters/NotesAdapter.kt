@@ -9,6 +9,7 @@ import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.isActive
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import org.wordpress.android.WordPress
@@ -46,8 +47,12 @@ class NotesAdapter(context: Context, private val inlineActionEvents: MutableShar
     /**
      * Add notes to the adapter and notify the change
      */
-    @SuppressLint("NotifyDataSetChanged")
     fun addAll(notes: List<Note>) = coroutineScope.launch {
+        setNotes(notes)
+    }
+
+    @SuppressLint("NotifyDataSetChanged")
+    private suspend fun setNotes(notes: List<Note>) {
         val newNotes = buildFilteredNotesList(notes, currentFilter)
         withContext(Dispatchers.Main) {
             filteredNotes = newNotes
@@ -88,12 +93,19 @@ class NotesAdapter(context: Context, private val inlineActionEvents: MutableShar
     }
 
     /**
-     * Reload the notes from local database and update the adapter
+     * Reload the notes from local database and update the adapter. The notes are loaded page by page so the first
+     * page is shown without waiting for the rest.
      */
     fun reloadLocalNotes() {
         cancelReloadLocalNotes()
         reloadLocalNotesJob = coroutineScope.launch {
-            addAll(NotificationsTable.getLatestNotes())
+            val notes = ArrayList<Note>()
+            do {
+                val page = NotificationsTable.getNotesPage(notes.lastOrNull(), NotificationsTable.NOTES_PAGE_SIZE)
+                notes.addAll(page)
+                setNotes(notes.toList())
+            } while (isActive && page.size == NotificationsTable.NOTES_PAGE_SIZE &&
+                notes.size < NotificationsTable.NOTES_TO_RETRIEVE)
         }
     }
 
@@ -166,7 +166,7 @@ public class NotificationsUtils {
     }
 
     static FormattableContent mapJsonToFormattableContent(FormattableContentMapper mapper, JSONObject blockObject) {
-        return mapper.mapToFormattableContent(blockObject.toString());
+        return mapper.mapToFormattableContent(blockObject);
     }
 
     public static void cancelAllNotifications(Context context) {
@@ -700,6 +700,7 @@ class EditPostActivity : LocaleAwareActivity(), EditorFragmentActivity, EditorIm
                     }
                     editPostRepository.savePostSnapshot()
                 }
+                storePostViewModel.restoreJournaledEdits(editPostRepository)
                 initializePostObject()
             } else if (isRestarting) {
                 newPostSetup()
@@ -750,11 +751,13 @@ class EditPostActivity : LocaleAwareActivity(), EditorFragmentActivity, EditorIm
                     state.getLong(EditPostActivityConstants.STATE_KEY_POST_REMOTE_ID),
                     siteModel
                 )
+                storePostViewModel.restoreJournaledEdits(editPostRepository)
                 initializePostObject()
             } else if (state.containsKey(EditPostActivityConstants.STATE_KEY_POST_LOCAL_ID)) {
                 editPostRepository.loadPostByLocalPostId(
                     state.getInt(EditPostActivityConstants.STATE_KEY_POST_LOCAL_ID)
                 )
+                storePostViewModel.restoreJournaledEdits(editPostRepository)
                 initializePostObject()
             }
 
@@ -1005,7 +1008,7 @@ class EditPostActivity : LocaleAwareActivity(), EditorFragmentActivity, EditorIm
         if (!isNewGutenbergEditor) {
             storePostViewModel.onSavePostTriggered.observe(this) { unitEvent: Event<Unit> ->
                 unitEvent.applyIfNotHandled {
-                    updateAndSavePostAsync()
+                    autoSavePostAsync()
                 }
             }
         }
@@ -1074,6 +1077,7 @@ class EditPostActivity : LocaleAwareActivity(), EditorFragmentActivity, EditorIm
         storePostViewModel.onPostUpdateResult.observe(this) { isSuccess: Boolean ->
             if (isSuccess) {
                 editPostRepository.loadPostByLocalPostId(editPostRepository.id)
+                storePostViewModel.restoreJournaledEdits(editPostRepository)
                 refreshEditorContent()
             } else {
                 ToastUtils.showToast(
@@ -1920,6 +1924,17 @@ class EditPostActivity : LocaleAwareActivity(), EditorFragmentActivity, EditorIm
         )
     }
 
+    private fun autoSavePostAsync() {
+        if (editorFragment == null) {
+            AppLog.e(AppLog.T.POSTS, "Fragment not initialized")
+            return
+        }
+        storePostViewModel.autoSavePostObjectWithUIAsync(
+            editPostRepository,
+            siteModel
+        ) { oldContent: String -> updateFromEditor(oldContent) }
+    }
+
     private fun updateAndSavePostAsync(listener: OnPostUpdatedFromUIListener?) {
         if (editorFragment == null) {
             AppLog.e(AppLog.T.POSTS, "Fragment not initialized")
@@ -1929,6 +1944,7 @@ class EditPostActivity : LocaleAwareActivity(), EditorFragmentActivity, EditorIm
             (editPostRepository), { oldContent: String -> updateFromEditor(oldContent) }
         ) { _: PostImmutableModel?, result: UpdatePostResult ->
             storePostViewModel.isSavingPostOnEditorExit = false
+            storePostViewModel.saveJournaledEditsToDb(editPostRepository, siteModel)
             // Ignore the result as we want to invoke the listener even when the PostModel was up-to-date
             listener?.onPostUpdatedFromUI(result)
         }
@@ -3813,6 +3829,7 @@ class EditPostActivity : LocaleAwareActivity(), EditorFragmentActivity, EditorIm
                 )
             }
             editPostRepository.loadPostByLocalPostId(editPostRepository.id)
+            storePostViewModel.restoreJournaledEdits(editPostRepository)
             if (isRemotePreviewingFromEditor) {
                 handleRemotePreviewUploadResult(
                     event.isError,
@@ -117,6 +117,16 @@ class EditPostRepository
     fun updateAsync(
         action: (PostModel) -> Boolean,
         onCompleted: ((PostImmutableModel, UpdatePostResult) -> Unit)? = null
+    ) = updateAsync(action, notifyPostChanged = true, onCompleted = onCompleted)
+
+    /**
+     * Same as [updateAsync], but [postChanged] isn't emitted when [notifyPostChanged] is false, for the callers
+     * which save the updated post themselves.
+     */
+    fun updateAsync(
+        action: (PostModel) -> Boolean,
+        notifyPostChanged: Boolean,
+        onCompleted: ((PostImmutableModel, UpdatePostResult) -> Unit)?
     ) {
         launch {
             reportTransactionState(true)
@@ -124,7 +134,7 @@ class EditPostRepository
                 action(requireNotNull(post))
             }
             reportTransactionState(false)
-            if (isUpdated) {
+            if (isUpdated && notifyPostChanged) {
                 requireNotNull(post).let {
                     _postChanged.value = Event(it)
                 }
@@ -198,6 +208,23 @@ class EditPostRepository
                 post?.changesConfirmedContentHashcode != postSnapshot?.changesConfirmedContentHashcode
     }
 
+    /**
+     * Whether the post differs from the last saved snapshot only in the fields the editor updates as the user types:
+     * the title, the content and the publish date.
+     */
+    fun postHasOnlyEditorChanges(): Boolean {
+        val postSnapshot = checkNotNull(postSnapshot) { "Post snapshot cannot be null at this point" }
+        val postWithSnapshotFields = post?.clone()?.apply {
+            setTitle(postSnapshot.title)
+            setContent(postSnapshot.content)
+            setDateCreated(postSnapshot.dateCreated)
+        } ?: return false
+        return postWithSnapshotFields == postSnapshot &&
+                postWithSnapshotFields.changesConfirmedContentHashcode == postSnapshot.changesConfirmedContentHashcode
+    }
+
+    fun getPostSnapshot(): PostImmutableModel? = postSnapshot
+
     fun savePostSnapshot() {
         postSnapshot = post?.clone()
     }
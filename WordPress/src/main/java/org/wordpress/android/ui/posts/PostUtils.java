@@ -437,6 +437,20 @@ public class PostUtils {
         return postContent;
     }
 
+    /**
+     * Replaces the local ids and urls of several uploaded media with their remote counterparts in a single pass over
+     * the content, instead of one pass per media.
+     */
+    public static String replaceMediaFilesWithUrlsInGutenbergPost(@NonNull String postContent,
+                                                                  @NonNull Map<String, MediaFile> mediaFiles,
+                                                                  @NonNull String siteUrl) {
+        if (!mediaFiles.isEmpty() && contentContainsGutenbergBlocks(postContent)) {
+            MediaUploadCompletionProcessor processor = new MediaUploadCompletionProcessor(mediaFiles, siteUrl);
+            postContent = processor.processContent(postContent);
+        }
+        return postContent;
+    }
+
     public static boolean isMediaInGutenbergPostBody(@NonNull String postContent,
                                             String localMediaId) {
         List<String> patterns = new ArrayList<>();
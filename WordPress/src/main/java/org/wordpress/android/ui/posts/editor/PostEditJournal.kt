@@ -0,0 +1,257 @@
+package org.wordpress.android.ui.posts.editor
+
+import android.content.Context
+import android.os.SystemClock
+import androidx.annotation.VisibleForTesting
+import dagger.hilt.android.qualifiers.ApplicationContext
+import org.wordpress.android.fluxc.model.PostImmutableModel
+import org.wordpress.android.util.AppLog
+import org.wordpress.android.util.AppLog.T
+import java.io.BufferedInputStream
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.EOFException
+import java.io.File
+import java.io.FileInputStream
+import java.io.FileOutputStream
+import java.io.IOException
+import java.io.RandomAccessFile
+import java.util.zip.CRC32
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * An append-only journal of the edits made in the editor, so the debounced saves don't have to write the whole
+ * `PostModel` row each time the user stops typing.
+ *
+ * Each post has its own file, which starts with a checksum of the post as it's saved in the DB (the base) and is
+ * followed by one record per save. A record holds the title, the publish date and the part of the content which
+ * changed since the previous record, and ends with a CRC32 of itself, so a record torn by a crash is ignored.
+ *
+ * The journal is compacted by saving the post to the DB and calling [clear], see [shouldCompact]. If the editor
+ * is closed without compacting it (e.g. the app crashed), [replay] restores the edits the next time the post is
+ * opened, as long as the post in the DB didn't change in the meantime.
+ */
+@Singleton
+class PostEditJournal @Inject constructor(
+    @ApplicationContext private val context: Context
+) {
+    /**
+     * The fields of the post the journal records
+     */
+    data class PostEdit(val title: String, val content: String, val dateCreated: String) {
+        constructor(post: PostImmutableModel) : this(post.title, post.content, post.dateCreated)
+    }
+
+    private class Journal(val baseChecksum: Long, var lastEdit: PostEdit, var sizeBytes: Long, val startedAt: Long)
+
+    private val journals = mutableMapOf<Int, Journal>()
+    private val journalDir by lazy { File(context.filesDir, JOURNAL_DIR) }
+
+    @VisibleForTesting(otherwise = VisibleForTesting.PRIVATE)
+    var elapsedRealtime: () -> Long = SystemClock::elapsedRealtime
+
+    /**
+     * Appends the [edit] of the post to its journal, starting a new journal if there's none yet for the [base].
+     *
+     * @param base the post as it's saved in the DB
+     * @return the number of bytes written, or [FAILED] if the edit couldn't be journaled and the post must be saved
+     * to the DB instead
+     */
+    @Synchronized
+    fun append(localPostId: Int, base: PostEdit, edit: PostEdit): Int {
+        val file = journalFile(localPostId)
+        return try {
+            var bytesWritten = 0
+            val baseChecksum = checksum(base)
+            val journal = journals[localPostId]?.takeIf { it.baseChecksum == baseChecksum } ?: run {
+                journalDir.mkdirs()
+                val header = encode {
+                    writeInt(MAGIC)
+                    writeInt(VERSION)
+                    writeLong(baseChecksum)
+                }
+                // overwrites the journal of an older base, if any
+                file.writeBytes(header)
+                bytesWritten += header.size
+                Journal(baseChecksum, base, header.size.toLong(), elapsedRealtime()).also {
+                    journals[localPostId] = it
+                }
+            }
+            val record = encodeRecord(journal.lastEdit, edit)
+            FileOutputStream(file, true).use { it.write(record) }
+            journal.lastEdit = edit
+            journal.sizeBytes += record.size
+            bytesWritten + record.size
+        } catch (e: IOException) {
+            AppLog.e(T.POSTS, "Failed to journal the edit of post $localPostId: ${e.message}")
+            clear(localPostId)
+            FAILED
+        }
+    }
+
+    /**
+     * Whether the journal of the post grew too large or too old, and the post should be saved to the DB instead
+     */
+    @Synchronized
+    fun shouldCompact(localPostId: Int): Boolean {
+        val journal = journals[localPostId] ?: return false
+        return journal.sizeBytes > MAX_JOURNAL_SIZE_BYTES || elapsedRealtime() - journal.startedAt > MAX_JOURNAL_AGE_MS
+    }
+
+    @Synchronized
+    fun hasEdits(localPostId: Int) = journals.containsKey(localPostId) || journalFile(localPostId).exists()
+
+    /**
+     * Replays the journal of the post onto the [base], the post as it's saved in the DB, and keeps the journal so
+     * the following edits are appended to it.
+     *
+     * @return the journaled edit, or null if there's none or the journal was written for another version of the
+     * post, in which case it's deleted
+     */
+    @Synchronized
+    fun replay(localPostId: Int, base: PostEdit): PostEdit? {
+        val file = journalFile(localPostId)
+        if (!file.exists()) {
+            return null
+        }
+        return try {
+            val baseChecksum = checksum(base)
+            var edit = base
+            var validSizeBytes = 0L
+            DataInputStream(BufferedInputStream(FileInputStream(file))).use { input ->
+                if (input.readInt() != MAGIC || input.readInt() != VERSION || input.readLong() != baseChecksum) {
+                    AppLog.w(T.POSTS, "Dropping the journal of post $localPostId, the post changed since")
+                    clear(localPostId)
+                    return null
+                }
+                validSizeBytes = HEADER_SIZE_BYTES
+                while (true) {
+                    val (nextEdit, recordSize) = readRecord(input, edit) ?: break
+                    edit = nextEdit
+                    validSizeBytes += recordSize
+                }
+            }
+            // drop a torn record, so the following records aren't appended after it
+            RandomAccessFile(file, "rw").use { it.setLength(validSizeBytes) }
+            journals[localPostId] = Journal(baseChecksum, edit, validSizeBytes, elapsedRealtime())
+            edit.takeIf { it != base }
+        } catch (e: IOException) {
+            AppLog.e(T.POSTS, "Failed to replay the journal of post $localPostId: ${e.message}")
+            clear(localPostId)
+            null
+        }
+    }
+
+    /**
+     * Deletes the journal of the post, once it's saved to the DB
+     */
+    @Synchronized
+    fun clear(localPostId: Int) {
+        journals.remove(localPostId)
+        journalFile(localPostId).delete()
+    }
+
+    private fun journalFile(localPostId: Int) = File(journalDir, localPostId.toString())
+
+    private fun encodeRecord(previous: PostEdit, edit: PostEdit): ByteArray {
+        val old = previous.content
+        val new = edit.content
+        var prefix = 0
+        val maxPrefix = minOf(old.length, new.length)
+        while (prefix < maxPrefix && old[prefix] == new[prefix]) prefix++
+        // don't split a surrogate pair, it can't be encoded on its own
+        if (prefix > 0 && Character.isHighSurrogate(old[prefix - 1])) prefix--
+        var suffix = 0
+        val maxSuffix = maxPrefix - prefix
+        while (suffix < maxSuffix && old[old.length - 1 - suffix] == new[new.length - 1 - suffix]) suffix++
+        if (suffix > 0 && Character.isLowSurrogate(new[new.length - suffix])) suffix--
+
+        val payload = encode {
+            writeText(edit.title)
+            writeText(edit.dateCreated)
+            writeInt(prefix)
+            writeInt(old.length - prefix - suffix)
+            writeText(new.substring(prefix, new.length - suffix))
+        }
+        return encode {
+            writeInt(payload.size)
+            write(payload)
+            writeLong(CRC32().apply { update(payload) }.value)
+        }
+    }
+
+    /**
+     * Reads the next record and applies it to the [previous] edit, returns null at the end of the journal or at a
+     * torn or corrupted record
+     */
+    private fun readRecord(input: DataInputStream, previous: PostEdit): Pair<PostEdit, Int>? {
+        return try {
+            val payloadSize = input.readInt()
+            if (payloadSize !in 0..MAX_RECORD_SIZE_BYTES) {
+                return null
+            }
+            val payload = ByteArray(payloadSize).also { input.readFully(it) }
+            if (input.readLong() != CRC32().apply { update(payload) }.value) {
+                return null
+            }
+            DataInputStream(ByteArrayInputStream(payload)).run {
+                val title = readText()
+                val dateCreated = readText()
+                val start = readInt()
+                val deletedLength = readInt()
+                val inserted = readText()
+                val content = previous.content
+                if (start < 0 || deletedLength < 0 || start + deletedLength > content.length) {
+                    return null
+                }
+                val edit = PostEdit(
+                    title,
+                    content.replaceRange(start, start + deletedLength, inserted),
+                    dateCreated
+                )
+                edit to Int.SIZE_BYTES + payloadSize + Long.SIZE_BYTES
+            }
+        } catch (e: EOFException) {
+            null
+        }
+    }
+
+    private fun checksum(edit: PostEdit) = CRC32().apply {
+        update(encode {
+            writeText(edit.title)
+            writeText(edit.dateCreated)
+            writeText(edit.content)
+        })
+    }.value
+
+    private fun encode(write: DataOutputStream.() -> Unit): ByteArray {
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use { it.write() }
+        return bytes.toByteArray()
+    }
+
+    private fun DataOutputStream.writeText(text: String) {
+        val bytes = text.toByteArray(Charsets.UTF_8)
+        writeInt(bytes.size)
+        write(bytes)
+    }
+
+    private fun DataInputStream.readText(): String {
+        val bytes = ByteArray(readInt()).also { readFully(it) }
+        return String(bytes, Charsets.UTF_8)
+    }
+
+    companion object {
+        const val FAILED = -1
+        private const val JOURNAL_DIR = "post_edit_journal"
+        private const val MAGIC = 0x57504a4c
+        private const val VERSION = 1
+        private const val HEADER_SIZE_BYTES = 2L * Int.SIZE_BYTES + Long.SIZE_BYTES
+        private const val MAX_RECORD_SIZE_BYTES = 64 * 1024 * 1024
+        private const val MAX_JOURNAL_SIZE_BYTES = 256 * 1024L
+        private const val MAX_JOURNAL_AGE_MS = 2 * 60_000L
+    }
+}
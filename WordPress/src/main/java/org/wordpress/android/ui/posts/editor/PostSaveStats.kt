@@ -0,0 +1,51 @@
+package org.wordpress.android.ui.posts.editor
+
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Counts the saves of the post in an editor session: the edits appended to the [PostEditJournal] and the saves of
+ * the whole post to the DB, with the bytes they wrote and how long they took.
+ */
+class PostSaveStats {
+    private val journaledEdits = AtomicInteger()
+    private val journaledBytes = AtomicLong()
+    private val journalTimeMs = AtomicLong()
+    private val dbSaves = AtomicInteger()
+    private val dbSavedBytes = AtomicLong()
+    private val dbSaveTimeMs = AtomicLong()
+
+    val journaledEditCount: Int
+        get() = journaledEdits.get()
+
+    val dbSaveCount: Int
+        get() = dbSaves.get()
+
+    /**
+     * The bytes written by the journal and the saves to the DB, counting the title and the content of the post
+     * for the latter
+     */
+    val bytesWritten: Long
+        get() = journaledBytes.get() + dbSavedBytes.get()
+
+    fun onEditJournaled(bytes: Int, timeMs: Long) {
+        journaledEdits.incrementAndGet()
+        journaledBytes.addAndGet(bytes.toLong())
+        journalTimeMs.addAndGet(timeMs)
+    }
+
+    fun onPostSavedToDb(bytes: Int, timeMs: Long) {
+        dbSaves.incrementAndGet()
+        dbSavedBytes.addAndGet(bytes.toLong())
+        dbSaveTimeMs.addAndGet(timeMs)
+    }
+
+    override fun toString(): String {
+        return "$journaledEditCount edits journaled (${journaledBytes.get()} bytes, " +
+                "${average(journalTimeMs.get(), journaledEditCount)} ms on average), " +
+                "$dbSaveCount saves to the DB (${dbSavedBytes.get()} bytes, " +
+                "${average(dbSaveTimeMs.get(), dbSaveCount)} ms on average)"
+    }
+
+    private fun average(totalMs: Long, count: Int) = if (count == 0) 0 else totalMs / count
+}
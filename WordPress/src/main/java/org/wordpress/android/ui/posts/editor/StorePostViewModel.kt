@@ -1,6 +1,8 @@
 package org.wordpress.android.ui.posts.editor
 
 import android.content.Context
+import android.os.SystemClock
+import androidx.annotation.VisibleForTesting
 import androidx.lifecycle.LiveData
 import androidx.lifecycle.MutableLiveData
 import kotlinx.coroutines.CoroutineDispatcher
@@ -24,19 +26,23 @@ import org.wordpress.android.fluxc.store.SiteStore
 import org.wordpress.android.modules.UI_THREAD
 import org.wordpress.android.ui.posts.EditPostRepository
 import org.wordpress.android.ui.posts.EditPostRepository.UpdatePostResult
+import org.wordpress.android.ui.posts.EditPostRepository.UpdatePostResult.Updated
 import org.wordpress.android.ui.posts.IPostFreshnessChecker
 import org.wordpress.android.ui.posts.PostUtilsWrapper
 import org.wordpress.android.ui.posts.SavePostToDbUseCase
+import org.wordpress.android.ui.posts.editor.PostEditJournal.PostEdit
 import org.wordpress.android.ui.posts.editor.StorePostViewModel.ActivityFinishState.SAVED_LOCALLY
 import org.wordpress.android.ui.posts.editor.StorePostViewModel.ActivityFinishState.SAVED_ONLINE
 import org.wordpress.android.ui.posts.editor.StorePostViewModel.UpdateFromEditor.Failed
 import org.wordpress.android.ui.posts.editor.StorePostViewModel.UpdateFromEditor.PostFields
 import org.wordpress.android.ui.uploads.UploadServiceFacade
 import org.wordpress.android.util.AppLog
+import org.wordpress.android.util.AppLog.T
 import org.wordpress.android.util.NetworkUtilsWrapper
 import org.wordpress.android.util.config.PostConflictResolutionFeatureConfig
 import org.wordpress.android.viewmodel.Event
 import org.wordpress.android.viewmodel.ScopedViewModel
+import java.util.concurrent.atomic.AtomicInteger
 import javax.inject.Inject
 import javax.inject.Named
 
@@ -53,9 +59,25 @@ class StorePostViewModel
     private val networkUtils: NetworkUtilsWrapper,
     private val dispatcher: Dispatcher,
     private val postFreshnessChecker: IPostFreshnessChecker,
-    private val postConflictResolutionFeatureConfig: PostConflictResolutionFeatureConfig
+    private val postConflictResolutionFeatureConfig: PostConflictResolutionFeatureConfig,
+    private val postEditJournal: PostEditJournal
 ) : ScopedViewModel(uiCoroutineDispatcher), DialogVisibilityProvider {
     private var debounceCounter = 0
+    private val saveStats = PostSaveStats()
+
+    @Volatile
+    private var pendingDbSave: PendingDbSave? = null
+
+    // The edits are only journaled once the post was saved to the DB in this editor session, so the row is marked as
+    // locally changed, and while no save is in flight, so the journal isn't based on a post that isn't in the DB yet.
+    @Volatile
+    private var hasSavedPostToDb = false
+    @Volatile
+    private var savedPostId: Int? = null
+    private val dbSavesInFlight = AtomicInteger()
+
+    @VisibleForTesting(otherwise = VisibleForTesting.PRIVATE)
+    var elapsedRealtime: () -> Long = SystemClock::elapsedRealtime
     private var saveJob: Job? = null
     private val _onSavePostTriggered = MutableLiveData<Event<Unit>>()
     val onSavePostTriggered: LiveData<Event<Unit>> = _onSavePostTriggered
@@ -82,6 +104,9 @@ class StorePostViewModel
     }
 
     override fun onCleared() {
+        if (saveStats.journaledEditCount > 0 || saveStats.dbSaveCount > 0) {
+            AppLog.i(T.POSTS, "Editor session saves: $saveStats")
+        }
         dispatcher.unregister(this)
         super.onCleared()
     }
@@ -92,7 +117,7 @@ class StorePostViewModel
         editPostRepository: EditPostRepository,
         site: SiteModel
     ): ActivityFinishState {
-        savePostToDbUseCase.savePostToDb(editPostRepository, site)
+        savePostToDb(editPostRepository, site)
         return if (networkUtils.isNetworkAvailable()) {
             postUtils.trackSavePostAnalytics(
                 editPostRepository.getPost(),
@@ -120,13 +145,105 @@ class StorePostViewModel
         }
     }
 
+    /**
+     * Saves the whole post to the DB. The edits journaled since the last save are compacted once the DB write lands,
+     * see [onPostChanged].
+     */
     fun savePostToDb(
         postRepository: EditPostRepository,
         site: SiteModel
     ) {
+        val post = postRepository.getPost()
+        if (post != null && postRepository.postHasChanges()) {
+            pendingDbSave = PendingDbSave(post.id, textSize(post), elapsedRealtime())
+            savedPostId = post.id
+            dbSavesInFlight.incrementAndGet()
+            hasSavedPostToDb = true
+        } else if (post != null && dbSavesInFlight.get() == 0) {
+            // Nothing to save, the post in the DB already contains the journaled edits
+            postEditJournal.clear(post.id)
+        }
         savePostToDbUseCase.savePostToDb(postRepository, site)
     }
 
+    /**
+     * Saves the post to the DB if some of its edits are only journaled, so the post in the DB is up-to-date before
+     * it's previewed, uploaded or the editor is closed.
+     */
+    fun saveJournaledEditsToDb(
+        postRepository: EditPostRepository,
+        site: SiteModel
+    ) {
+        postRepository.getPost()?.let { post ->
+            if (postEditJournal.hasEdits(post.id)) {
+                savePostToDb(postRepository, site)
+            }
+        }
+    }
+
+    /**
+     * Restores the edits journaled when the editor was closed without saving them to the DB, e.g. because the app
+     * crashed. Must be called after loading the post from the DB.
+     */
+    fun restoreJournaledEdits(postRepository: EditPostRepository) {
+        val post = postRepository.getEditablePost() ?: return
+        postEditJournal.replay(post.id, PostEdit(post))?.let { edit ->
+            AppLog.i(T.POSTS, "Restored the journaled edits of post ${post.id}")
+            postRepository.replace {
+                it.apply {
+                    setTitle(edit.title)
+                    setContent(edit.content)
+                    setDateCreated(edit.dateCreated)
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the post with the title and content of the editor, for the debounced saves. The first save of the editor
+     * session saves the whole post to the DB; after that, when only these changed, the edit is appended to the
+     * [PostEditJournal] instead.
+     */
+    fun autoSavePostObjectWithUIAsync(
+        postRepository: EditPostRepository,
+        site: SiteModel,
+        getUpdatedTitleAndContent: (currentContent: String) -> UpdateFromEditor
+    ) {
+        postRepository.updateAsync({ postModel ->
+            updatePostObjectWithUI(
+                getUpdatedTitleAndContent,
+                postModel,
+                postRepository
+            )
+        }, notifyPostChanged = false) { _, result ->
+            if (result == Updated && !journalEdit(postRepository)) {
+                savePostToDb(postRepository, site)
+            }
+        }
+    }
+
+    private fun journalEdit(postRepository: EditPostRepository): Boolean {
+        val post = postRepository.getPost() ?: return false
+        val postSnapshot = postRepository.getPostSnapshot() ?: return false
+        if (isSavingPostOnEditorExit ||
+                !hasSavedPostToDb ||
+                dbSavesInFlight.get() > 0 ||
+                !postRepository.postHasOnlyEditorChanges() ||
+                postEditJournal.shouldCompact(post.id)) {
+            return false
+        }
+        val startTime = elapsedRealtime()
+        val bytesWritten = postEditJournal.append(post.id, PostEdit(postSnapshot), PostEdit(post))
+        if (bytesWritten == PostEditJournal.FAILED) {
+            return false
+        }
+        saveStats.onEditJournaled(bytesWritten, elapsedRealtime() - startTime)
+        return true
+    }
+
+    private fun textSize(post: PostImmutableModel) =
+        post.title.toByteArray(Charsets.UTF_8).size + post.content.toByteArray(Charsets.UTF_8).size
+
     fun updatePostObjectWithUIAsync(
         postRepository: EditPostRepository,
         getUpdatedTitleAndContent: (currentContent: String) -> UpdateFromEditor,
@@ -228,9 +345,30 @@ class StorePostViewModel
     @Subscribe
     fun onPostChanged(event: OnPostChanged) {
         hideSavingProgressDialog()
+        trackDbSaveIfNeeded(event)
+        clearEditJournalIfNeeded(event)
         handlePostRefreshedIfNeeded(event)
     }
 
+    private fun trackDbSaveIfNeeded(event: OnPostChanged) {
+        val dbSave = pendingDbSave ?: return
+        val updatePost = event.causeOfChange as? CauseOfOnPostChanged.UpdatePost ?: return
+        if (updatePost.isLocalUpdate && updatePost.localPostId == dbSave.localPostId) {
+            pendingDbSave = null
+            saveStats.onPostSavedToDb(dbSave.bytes, elapsedRealtime() - dbSave.startedAt)
+        }
+    }
+
+    private fun clearEditJournalIfNeeded(event: OnPostChanged) {
+        val updatePost = event.causeOfChange as? CauseOfOnPostChanged.UpdatePost ?: return
+        if (!updatePost.isLocalUpdate || updatePost.localPostId != savedPostId) return
+        if (dbSavesInFlight.getAndUpdate { maxOf(it - 1, 0) } == 0) return
+        // No edit is journaled while a save is in flight, so the saved post already contains all the journaled edits
+        if (!event.isError) {
+            postEditJournal.clear(updatePost.localPostId)
+        }
+    }
+
     private fun handlePostRefreshedIfNeeded(event: OnPostChanged) {
         if (postConflictResolutionFeatureConfig.isEnabled().not()) return
 
@@ -245,6 +383,8 @@ class StorePostViewModel
             }
         }
     }
+    private class PendingDbSave(val localPostId: Int, val bytes: Int, val startedAt: Long)
+
     sealed class UpdateResult {
         object Error : UpdateResult()
         data class Success(val postTitleOrContentChanged: Boolean) : UpdateResult()
@@ -12,7 +12,7 @@ import org.wordpress.android.util.helpers.MediaFile
  */
 internal class BlockProcessorFactory(
     mediaUploadCompletionProcessor: MediaUploadCompletionProcessor,
-    localId: String,
+    val localId: String,
     mediaFile: MediaFile,
     siteUrl: String
 ) {
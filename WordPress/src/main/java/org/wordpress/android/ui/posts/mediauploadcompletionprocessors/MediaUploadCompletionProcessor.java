@@ -4,14 +4,17 @@ import androidx.annotation.NonNull;
 
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static org.wordpress.android.ui.posts.mediauploadcompletionprocessors.MediaUploadCompletionProcessorPatterns.PATTERN_BLOCK_HEADER;
-import static org.wordpress.android.ui.posts.mediauploadcompletionprocessors.MediaUploadCompletionProcessorPatterns.PATTERN_TEMPLATE_BLOCK_BOUNDARY;
+import static org.wordpress.android.ui.posts.mediauploadcompletionprocessors.MediaUploadCompletionProcessorPatterns.getBlockBoundaryPattern;
 
 public class MediaUploadCompletionProcessor {
-    private final BlockProcessorFactory mBlockProcessorFactory;
+    private final List<BlockProcessorFactory> mBlockProcessorFactories;
 
     /**
      * Processor used for replacing local media id(s) and url(s) with their remote counterparts after an upload has
@@ -23,54 +26,88 @@ public class MediaUploadCompletionProcessor {
      */
     public MediaUploadCompletionProcessor(@NonNull String localId, @NonNull MediaFile mediaFile,
                                           @NonNull String siteUrl) {
-        mBlockProcessorFactory = new BlockProcessorFactory(this, localId, mediaFile, siteUrl);
+        this(Collections.singletonMap(localId, mediaFile), siteUrl);
+    }
+
+    /**
+     * Processor used for replacing the local ids and urls of several media with their remote counterparts in a single
+     * pass over the content, after their uploads have completed.
+     *
+     * @param mediaFiles The mediaFiles containing the remote ids and remote urls, by the local media id they replace
+     * @param siteUrl The site url - used to generate the attachmentPage urls
+     */
+    public MediaUploadCompletionProcessor(@NonNull Map<String, MediaFile> mediaFiles, @NonNull String siteUrl) {
+        mBlockProcessorFactories = new ArrayList<>(mediaFiles.size());
+        for (Map.Entry<String, MediaFile> entry : mediaFiles.entrySet()) {
+            mBlockProcessorFactories.add(new BlockProcessorFactory(this, entry.getKey(), entry.getValue(), siteUrl));
+        }
     }
 
     /**
      * Processes content to replace the local ids and local urls of media with remote ids and remote urls. This method
-     * delineates block boundaries for media-containing blocks and delegates further processing via itself and / or
-     * {@link #processBlock(String, Boolean)}, via direct and mutual recursion, respectively.
+     * delineates block boundaries for media-containing blocks in a single pass over the content and delegates further
+     * processing to {@link #processBlock(String, boolean)}, which may call back into this method for the inner blocks
+     * of a block.
      *
      * @param content The content to be processed
      * @return A string containing the processed content, or the original content if no match was found
      */
     public String processContent(String content) {
         Matcher headerMatcher = PATTERN_BLOCK_HEADER.matcher(content);
+        StringBuilder processedContent = null;
+        int positionCopyFrom = 0;
 
-        int positionBlockStart, positionBlockEnd = content.length();
-
-        if (headerMatcher.find()) {
-            positionBlockStart = headerMatcher.start();
+        while (headerMatcher.find(positionCopyFrom)) {
+            int positionBlockStart = headerMatcher.start();
+            int positionBlockEnd;
             String blockType = headerMatcher.group(1);
             String blockTagSuffix = headerMatcher.group(2);
-            Boolean isSelfClosingTag = blockTagSuffix.equals("/-->");
+            boolean isSelfClosingTag = blockTagSuffix.equals("/-->");
             if (isSelfClosingTag) {
                 positionBlockEnd = headerMatcher.end();
             } else {
-                Matcher blockBoundaryMatcher =
-                        Pattern.compile(String.format(PATTERN_TEMPLATE_BLOCK_BOUNDARY, blockType),
-                                Pattern.DOTALL).matcher(content.substring(headerMatcher.end()));
-
-                int nestLevel = 1;
-
-                while (0 < nestLevel && blockBoundaryMatcher.find()) {
-                    if (blockBoundaryMatcher.group(1).equals("/")) {
-                        positionBlockEnd = headerMatcher.end() + blockBoundaryMatcher.end();
-                        nestLevel--;
-                    } else {
-                        nestLevel++;
-                    }
-                }
+                positionBlockEnd = findBlockEnd(content, blockType, headerMatcher.end());
+            }
+
+            if (processedContent == null) {
+                processedContent = new StringBuilder(content.length());
             }
+            processedContent
+                    .append(content, positionCopyFrom, positionBlockStart)
+                    .append(processBlock(content.substring(positionBlockStart, positionBlockEnd), isSelfClosingTag));
+            positionCopyFrom = positionBlockEnd;
+        }
 
-            return new StringBuilder()
-                    .append(content.substring(0, positionBlockStart))
-                    .append(processBlock(content.substring(positionBlockStart, positionBlockEnd), isSelfClosingTag))
-                    .append(processContent(content.substring(positionBlockEnd)))
-                    .toString();
-        } else {
+        if (processedContent == null) {
             return content;
         }
+        return processedContent.append(content, positionCopyFrom, content.length()).toString();
+    }
+
+    /**
+     * Finds the end of a block, taking the blocks of the same type nested in it into account
+     *
+     * @param content The content containing the block
+     * @param blockType The type of the block
+     * @param positionInnerStart The position right after the header of the block
+     * @return The position right after the closing comment of the block, or the end of the content if it's not closed
+     */
+    private static int findBlockEnd(@NonNull String content, @NonNull String blockType, int positionInnerStart) {
+        Matcher blockBoundaryMatcher = getBlockBoundaryPattern(blockType).matcher(content);
+        blockBoundaryMatcher.region(positionInnerStart, content.length());
+
+        int positionBlockEnd = content.length();
+        int nestLevel = 1;
+
+        while (0 < nestLevel && blockBoundaryMatcher.find()) {
+            if (blockBoundaryMatcher.group(1).equals("/")) {
+                positionBlockEnd = blockBoundaryMatcher.end();
+                nestLevel--;
+            } else {
+                nestLevel++;
+            }
+        }
+        return positionBlockEnd;
     }
 
     /**
@@ -80,16 +117,26 @@ public class MediaUploadCompletionProcessor {
      * @return A string containing content with ids and urls replaced
      */
     @NonNull
-    private String processBlock(@NonNull String block, Boolean isSelfClosingTag) {
+    private String processBlock(@NonNull String block, boolean isSelfClosingTag) {
         final MediaBlockType blockType = MediaBlockType.detectBlockType(block);
 
-        if (blockType != null) {
-            final BlockProcessor blockProcessor = mBlockProcessorFactory.getProcessorForMediaBlockType(blockType);
+        if (blockType == null) {
+            return block;
+        }
+
+        String processedBlock = block;
+        for (BlockProcessorFactory blockProcessorFactory : mBlockProcessorFactories) {
+            // a block referencing a media always contains its local id, so the block processors, which parse the
+            // whole block, only need to run for the media that can be in it
+            if (!processedBlock.contains(blockProcessorFactory.getLocalId())) {
+                continue;
+            }
+            final BlockProcessor blockProcessor = blockProcessorFactory.getProcessorForMediaBlockType(blockType);
             if (blockProcessor != null) {
-                return blockProcessor.processBlock(block, isSelfClosingTag);
+                processedBlock = blockProcessor.processBlock(processedBlock, isSelfClosingTag);
             }
         }
 
-        return block;
+        return processedBlock;
     }
 }
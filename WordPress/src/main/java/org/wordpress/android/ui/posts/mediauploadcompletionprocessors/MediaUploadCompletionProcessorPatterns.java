@@ -1,5 +1,7 @@
 package org.wordpress.android.ui.posts.mediauploadcompletionprocessors;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 public class MediaUploadCompletionProcessorPatterns {
@@ -20,6 +22,8 @@ public class MediaUploadCompletionProcessorPatterns {
      */
     public static final String PATTERN_TEMPLATE_BLOCK_BOUNDARY = "<!-- (/?)wp:%1$s.*? -->\n?";
 
+    private static final Map<String, Pattern> BLOCK_BOUNDARY_PATTERNS = new ConcurrentHashMap<>();
+
     /**
      * A {@link Pattern} to match Gutenberg media-containing blocks with the following capture groups:
      *
@@ -46,4 +50,16 @@ public class MediaUploadCompletionProcessorPatterns {
             .append(")") // end-of-group: block type
             .append(" (\\{.*?\\}) /-->\n?") // group: block header json
             .toString(), Pattern.DOTALL);
+
+    /**
+     * Returns the {@link Pattern} built from {@link #PATTERN_TEMPLATE_BLOCK_BOUNDARY} for the given block type, which
+     * is compiled once per block type
+     *
+     * @param blockType The Gutenberg block type
+     * @return The pattern matching the block boundaries of the block type
+     */
+    public static Pattern getBlockBoundaryPattern(String blockType) {
+        return BLOCK_BOUNDARY_PATTERNS.computeIfAbsent(blockType, type ->
+                Pattern.compile(String.format(PATTERN_TEMPLATE_BLOCK_BOUNDARY, type), Pattern.DOTALL));
+    }
 }
@@ -193,6 +193,18 @@ public class ReaderEvents {
         }
     }
 
+    public static class SearchPostsCachedResultsAvailable {
+        private final String mQuery;
+
+        public SearchPostsCachedResultsAvailable(@NonNull String query) {
+            mQuery = query;
+        }
+
+        public String getQuery() {
+            return mQuery;
+        }
+    }
+
     public static class SearchPostsEnded {
         private final String mQuery;
         private final boolean mDidSucceed;
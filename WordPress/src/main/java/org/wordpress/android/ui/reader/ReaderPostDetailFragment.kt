@@ -250,6 +250,9 @@ class ReaderPostDetailFragment : ViewPagerFragment(),
     @Inject
     internal lateinit var readerCssProvider: ReaderCssProvider
 
+    @Inject
+    internal lateinit var readerPostHtmlCache: ReaderPostHtmlCache
+
     @Inject
     internal lateinit var imageManager: ImageManager
 
@@ -1585,7 +1588,8 @@ class ReaderPostDetailFragment : ViewPagerFragment(),
             readerWebView,
             viewModel.post,
             readerCssProvider,
-            getReadingPreferences()
+            getReadingPreferences(),
+            readerPostHtmlCache
         ).also {
             it.setPostMessageListener(object : ReaderPostMessageListener {
                 override fun onArticleTextCopied() {
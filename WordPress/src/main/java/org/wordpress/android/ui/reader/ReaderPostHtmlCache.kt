@@ -0,0 +1,221 @@
+package org.wordpress.android.ui.reader
+
+import android.content.Context
+import android.os.SystemClock
+import android.view.ContextThemeWrapper
+import androidx.annotation.VisibleForTesting
+import androidx.collection.LruCache
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import org.wordpress.android.models.ReaderPost
+import org.wordpress.android.modules.APPLICATION_SCOPE
+import org.wordpress.android.modules.BG_THREAD
+import org.wordpress.android.ui.reader.usecases.ReaderGetReadingPreferencesSyncUseCase
+import org.wordpress.android.util.AppLog
+import org.wordpress.android.util.AppLog.T
+import java.io.File
+import java.io.IOException
+import java.security.MessageDigest
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Named
+import javax.inject.Singleton
+
+/**
+ * Caches the HTML [ReaderPostRenderer] renders for the post detail, in memory and on disk, so opening a post which
+ * was already opened, or prefetched when it was saved to `ReaderPostTable`, doesn't render it again.
+ *
+ * The HTML is keyed by everything it depends on (see `ReaderPostRenderer.getCacheKey()`), so a post is rendered
+ * again when its content, the reading preferences, the theme or the width of the display change.
+ */
+@Singleton
+class ReaderPostHtmlCache @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val readerCssProvider: ReaderCssProvider,
+    private val getReadingPreferences: ReaderGetReadingPreferencesSyncUseCase,
+    @Named(APPLICATION_SCOPE) private val appScope: CoroutineScope,
+    @Named(BG_THREAD) private val bgDispatcher: CoroutineDispatcher
+) {
+    private val memoryCache = object : LruCache<String, String>(MEMORY_CACHE_SIZE_CHARS) {
+        override fun sizeOf(key: String, value: String) = value.length
+    }
+    private val diskCacheDir by lazy { File(context.cacheDir, DISK_CACHE_DIR) }
+    private val prefetchMutex = Mutex()
+    // incremented by clear(), so a post rendered while the cache was being cleared isn't cached
+    private val generation = AtomicInteger()
+
+    private val hits = AtomicInteger()
+    private val misses = AtomicInteger()
+    private val renders = AtomicInteger()
+    private val totalRenderTimeMs = AtomicLong()
+
+    /**
+     * The share of the posts opened which were found in the cache, between 0 and 1
+     */
+    val hitRate: Float
+        get() {
+            val hits = hits.get()
+            val lookups = hits + misses.get()
+            return if (lookups == 0) 0f else hits.toFloat() / lookups
+        }
+
+    /**
+     * The average time it took to render a post which wasn't in the cache, including the prefetched posts
+     */
+    val averageRenderTimeMs: Long
+        get() {
+            val renders = renders.get()
+            return if (renders == 0) 0 else totalRenderTimeMs.get() / renders
+        }
+
+    /**
+     * Returns the HTML cached with the [key], or renders it with [render] and caches it. Blocks, so it must be
+     * called on a background thread.
+     */
+    fun getOrRender(key: String, render: () -> String): String {
+        get(key)?.let {
+            hits.incrementAndGet()
+            return it
+        }
+        misses.incrementAndGet()
+        return renderAndPut(key, render).also {
+            AppLog.d(T.READER, "reader renderer > cache miss, hit rate ${(hitRate * PERCENT).toInt()}%")
+        }
+    }
+
+    /**
+     * Renders the HTML with [render] and caches it, unless it's already cached with the [key]. Unlike
+     * [getOrRender] it doesn't count towards the [hitRate].
+     */
+    fun renderIfAbsent(key: String, render: () -> String) {
+        if (get(key) == null) {
+            renderAndPut(key, render)
+        }
+    }
+
+    /**
+     * Renders the first of the [posts] into the cache in the background, one post at a time, so opening them
+     * right after they were fetched doesn't have to wait for their HTML.
+     */
+    fun prefetch(posts: List<ReaderPost>) {
+        val postsToPrefetch = posts.take(MAX_PREFETCHED_POSTS)
+        if (postsToPrefetch.isEmpty()) {
+            return
+        }
+        appScope.launch(bgDispatcher) {
+            prefetchMutex.withLock {
+                val readingPreferences = getReadingPreferences()
+                // the post detail renders in a context with the theme of the reading preferences
+                val themedContext = ContextThemeWrapper(context, readingPreferences.theme.style)
+                postsToPrefetch.forEach { post ->
+                    ReaderPostRenderer(
+                        themedContext,
+                        post,
+                        readerCssProvider,
+                        readingPreferences,
+                        this@ReaderPostHtmlCache
+                    ).prefetch()
+                }
+            }
+        }
+    }
+
+    private fun get(key: String): String? {
+        return memoryCache[key] ?: readFromDisk(key)?.also { memoryCache.put(key, it) }
+    }
+
+    /**
+     * Removes every cached post from the memory and the disk, called when the reader database is reset (e.g. on
+     * sign out) since the cache also holds the content of private sites.
+     */
+    fun clear() {
+        generation.incrementAndGet()
+        memoryCache.evictAll()
+        synchronized(this) {
+            diskCacheDir.listFiles()?.forEach { it.delete() }
+        }
+    }
+
+    private fun renderAndPut(key: String, render: () -> String): String {
+        val renderGeneration = generation.get()
+        val startTime = SystemClock.elapsedRealtime()
+        val html = render()
+        val renderTimeMs = SystemClock.elapsedRealtime() - startTime
+        renders.incrementAndGet()
+        totalRenderTimeMs.addAndGet(renderTimeMs)
+        AppLog.d(T.READER, "reader renderer > rendered post in $renderTimeMs ms")
+
+        if (renderGeneration == generation.get()) {
+            memoryCache.put(key, html)
+            writeToDisk(key, html)
+        }
+        return html
+    }
+
+    private fun readFromDisk(key: String): String? {
+        val file = File(diskCacheDir, fileName(key))
+        if (!file.exists()) {
+            return null
+        }
+        return try {
+            file.readText().also {
+                // the least recently used files are removed first when the cache is full
+                file.setLastModified(System.currentTimeMillis())
+            }
+        } catch (e: IOException) {
+            AppLog.w(T.READER, "reader renderer > failed to read cached post: ${e.message}")
+            null
+        }
+    }
+
+    private fun writeToDisk(key: String, html: String) {
+        try {
+            diskCacheDir.mkdirs()
+            // write to a temporary file first, so a post being read never sees a partially written file
+            val tempFile = File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX, diskCacheDir)
+            tempFile.writeText(html)
+            if (!tempFile.renameTo(File(diskCacheDir, fileName(key)))) {
+                tempFile.delete()
+            }
+            trimDiskCache()
+        } catch (e: IOException) {
+            AppLog.w(T.READER, "reader renderer > failed to cache post: ${e.message}")
+        }
+    }
+
+    @Synchronized
+    private fun trimDiskCache() {
+        val files = diskCacheDir.listFiles { file -> !file.name.endsWith(TEMP_FILE_SUFFIX) } ?: return
+        if (files.size > MAX_DISK_CACHE_FILES) {
+            files.sortedBy { it.lastModified() }
+                .take(files.size - MAX_DISK_CACHE_FILES)
+                .forEach { it.delete() }
+        }
+    }
+
+    private fun fileName(key: String): String {
+        return MessageDigest.getInstance("SHA-1")
+            .digest(key.toByteArray())
+            .joinToString("") { "%02x".format(it) }
+    }
+
+    @VisibleForTesting
+    fun clearMemoryCache() {
+        memoryCache.evictAll()
+    }
+
+    companion object {
+        private const val DISK_CACHE_DIR = "reader_post_html"
+        private const val TEMP_FILE_PREFIX = "post"
+        private const val TEMP_FILE_SUFFIX = ".tmp"
+        private const val MEMORY_CACHE_SIZE_CHARS = 1024 * 1024
+        private const val MAX_DISK_CACHE_FILES = 100
+        private const val MAX_PREFETCHED_POSTS = 10
+        private const val PERCENT = 100
+    }
+}
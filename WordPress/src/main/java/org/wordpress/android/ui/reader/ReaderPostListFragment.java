@@ -1602,6 +1602,19 @@ public class ReaderPostListFragment extends ViewPagerFragment
         if (isPostAdapterEmpty()) showEmptyView();
     }
 
+    @SuppressWarnings("unused")
+    @Subscribe(threadMode = ThreadMode.MAIN)
+    public void onEventMainThread(ReaderEvents.SearchPostsCachedResultsAvailable event) {
+        if (!isAdded() || getPostListType() != ReaderPostListType.SEARCH_RESULTS) {
+            return;
+        }
+
+        // show the matching cached posts while the server search is still running
+        if (isSearching() && event.getQuery().equals(mCurrentSearchQuery)) {
+            refreshPosts();
+        }
+    }
+
     @SuppressWarnings("unused")
     @Subscribe(threadMode = ThreadMode.MAIN)
     public void onEventMainThread(ReaderEvents.SearchPostsEnded event) {
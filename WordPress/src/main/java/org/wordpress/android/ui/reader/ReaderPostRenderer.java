@@ -1,6 +1,7 @@
 package org.wordpress.android.ui.reader;
 
 import android.annotation.SuppressLint;
+import android.content.Context;
 import android.net.Uri;
 import android.os.Handler;
 import android.webkit.WebView;
@@ -19,7 +20,8 @@ import org.wordpress.android.ui.reader.models.ReaderReadingPreferences.ThemeValu
 import org.wordpress.android.ui.reader.utils.ImageSizeMap;
 import org.wordpress.android.ui.reader.utils.ImageSizeMap.ImageSize;
 import org.wordpress.android.ui.reader.utils.ReaderEmbedScanner;
-import org.wordpress.android.ui.reader.utils.ReaderHtmlUtils;
+import org.wordpress.android.ui.reader.utils.ReaderHtmlTag;
+import org.wordpress.android.ui.reader.utils.ReaderHtmlTokenizer;
 import org.wordpress.android.ui.reader.utils.ReaderIframeScanner;
 import org.wordpress.android.ui.reader.utils.ReaderImageScanner;
 import org.wordpress.android.ui.reader.utils.ReaderUtils;
@@ -30,11 +32,12 @@ import org.wordpress.android.util.StringUtils;
 
 import java.lang.ref.WeakReference;
 import java.text.Bidi;
-import java.util.Arrays;
 import java.util.HashSet;
-import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -47,6 +50,13 @@ import java.util.regex.Pattern;
  * http://developer.android.com/guide/webapps/targeting.html
  */
 public class ReaderPostRenderer {
+    private static final Pattern TILED_GALLERY_PATTERN = Pattern.compile("tiled-gallery[\\s\"']");
+
+    // matches background-color properties (group 1 is null) and tiled gallery classes
+    private static final Pattern CONTENT_CUSTOMISATION_PATTERN = Pattern.compile(
+            "\\s*background-color\\s*:\\s*.+?\\s*;\\s*"
+            + "|(tiled-gallery|gallery-row|gallery-group|tiled-gallery-item) ([\\s\"'])");
+
     private static final String JAVASCRIPT_MESSAGE_HANDLER = "wvHandler";
     private static final String JS_OBJECT_ADDED_TAG = "jsObjectAdded";
     private final ReaderResourceVars mResourceVars;
@@ -55,10 +65,11 @@ public class ReaderPostRenderer {
     private final int mMinMidSizeWidthDp;
     private final WeakReference<ReaderWebView> mWeakWebView;
 
-    private StringBuilder mRenderBuilder;
     private String mRenderedHtml;
     private ImageSizeMap mAttachmentSizes;
     private ReaderCssProvider mCssProvider;
+    private final ReaderPostHtmlCache mHtmlCache;
+    private String mCssUrl;
     private ReaderReadingPreferences mReadingPreferences;
     private ReaderReadingPreferences.ThemeValues mReadingPreferencesTheme;
     @Nullable
@@ -66,56 +77,58 @@ public class ReaderPostRenderer {
 
     @SuppressLint("SetJavaScriptEnabled")
     public ReaderPostRenderer(ReaderWebView webView, ReaderPost post, ReaderCssProvider cssProvider,
-                              ReaderReadingPreferences readingPreferences) {
-        if (webView == null) {
-            throw new IllegalArgumentException("ReaderPostRenderer requires a webView");
-        }
+                              ReaderReadingPreferences readingPreferences, ReaderPostHtmlCache htmlCache) {
+        this(requireWebView(webView).getContext(), webView, post, cssProvider, readingPreferences, htmlCache);
+
+        // enable JavaScript in the webView, otherwise videos and other embedded content won't
+        // work - note that the content is scrubbed on the backend so this is considered safe
+        webView.getSettings().setJavaScriptEnabled(true);
+        setWebViewMessageHandler(webView);
+    }
+
+    /*
+     * creates a renderer without a webView, which only renders the post into the cache - the context must have
+     * the same theme and display as the webView's for the post to be found in the cache when it's opened
+     */
+    ReaderPostRenderer(Context context, ReaderPost post, ReaderCssProvider cssProvider,
+                       ReaderReadingPreferences readingPreferences, ReaderPostHtmlCache htmlCache) {
+        this(context, null, post, cssProvider, readingPreferences, htmlCache);
+    }
+
+    private ReaderPostRenderer(Context context, @Nullable ReaderWebView webView, ReaderPost post,
+                               ReaderCssProvider cssProvider, ReaderReadingPreferences readingPreferences,
+                               ReaderPostHtmlCache htmlCache) {
         if (post == null) {
             throw new IllegalArgumentException("ReaderPostRenderer requires a post");
         }
 
         mPost = post;
         mWeakWebView = new WeakReference<>(webView);
-        mResourceVars = new ReaderResourceVars(webView.getContext());
+        mResourceVars = new ReaderResourceVars(context);
         mCssProvider = cssProvider;
+        mHtmlCache = htmlCache;
         mReadingPreferences = readingPreferences;
-        mReadingPreferencesTheme = ThemeValues.from(webView.getContext(), mReadingPreferences.getTheme());
+        mReadingPreferencesTheme = ThemeValues.from(context, mReadingPreferences.getTheme());
 
         mMinFullSizeWidthDp = pxToDp(mResourceVars.mFullSizeImageWidthPx / 3);
         mMinMidSizeWidthDp = mMinFullSizeWidthDp / 2;
+    }
 
-        // enable JavaScript in the webView, otherwise videos and other embedded content won't
-        // work - note that the content is scrubbed on the backend so this is considered safe
-        webView.getSettings().setJavaScriptEnabled(true);
-        setWebViewMessageHandler(webView);
+    private static ReaderWebView requireWebView(ReaderWebView webView) {
+        if (webView == null) {
+            throw new IllegalArgumentException("ReaderPostRenderer requires a webView");
+        }
+        return webView;
     }
 
     public void beginRender() {
         final Handler handler = new Handler();
-        mRenderBuilder = new StringBuilder(getPostContent());
 
         new Thread() {
             @Override
             public void run() {
-                final boolean hasTiledGallery = hasTiledGallery(mRenderBuilder.toString());
-
-                if (!(hasTiledGallery && mResourceVars.mIsWideDisplay)) {
-                    resizeImages();
-                }
-
-                resizeIframes();
-
-                // Get the set of JS scripts to inject in our Webview to support some specific Embeds.
-                Set<String> jsToInject = injectJSForSpecificEmbedSupport();
-
-                final String htmlContent =
-                        formatPostContentForWebView(
-                                mRenderBuilder.toString(),
-                                jsToInject,
-                                hasTiledGallery,
-                                mResourceVars.mIsWideDisplay);
+                final String htmlContent = mHtmlCache.getOrRender(getCacheKey(), ReaderPostRenderer.this::renderHtml);
 
-                mRenderBuilder = null;
                 handler.post(new Runnable() {
                     @Override
                     public void run() {
@@ -126,57 +139,73 @@ public class ReaderPostRenderer {
         }.start();
     }
 
-    public static boolean hasTiledGallery(String text) {
-        // determine whether a tiled-gallery exists in the content
-        return Pattern.compile("tiled-gallery[\\s\"']").matcher(text).find();
+    /*
+     * renders the post into the cache unless it's already there - blocks, so must be called on a background thread
+     */
+    void prefetch() {
+        mHtmlCache.renderIfAbsent(getCacheKey(), this::renderHtml);
     }
 
     /*
-     * scan the content for images and make sure they're correctly sized for the device
+     * returns the key of the rendered HTML in the cache, made of everything the HTML depends on: the post content,
+     * the reading preferences and the colors of their theme, the sizes taken from the display, the locale of the
+     * Discover link and the CSS url
      */
-    private void resizeImages() {
-        ReaderHtmlUtils.HtmlScannerListener imageListener = new ReaderHtmlUtils.HtmlScannerListener() {
-            @Override
-            public void onTagFound(String imageTag, String imageUrl) {
-                // Exceptions which should keep their original tag attributes
-                if (imageUrl.contains("wpcom-smileys") || imageTag.contains("wp-story")) {
-                    return;
-                }
-                replaceImageTag(imageTag, imageUrl);
-            }
-        };
-        String content = mRenderBuilder.toString();
-        ReaderImageScanner scanner = new ReaderImageScanner(content, mPost.isPrivate);
-        scanner.beginScan(imageListener);
+    private String getCacheKey() {
+        if (mCssUrl == null) {
+            mCssUrl = mCssProvider.getCssUrl();
+        }
+        String content = mPost.shouldShowExcerpt() ? mPost.getExcerpt() : mPost.getText();
+        int contentHash = Objects.hash(content, mPost.getAttachmentsJson(), mPost.getDiscoverJson(), mPost.isPrivate);
+        return mPost.blogId + "|" + mPost.postId + "|" + contentHash
+               + "|" + getContentTextProperties()
+               + "|" + mReadingPreferencesTheme.getCssTextColor() + "|" + mReadingPreferencesTheme.getCssLinkColor()
+               + "|" + mResourceVars.mFullSizeImageWidthPx + "|" + mMinFullSizeWidthDp
+               + "|" + mResourceVars.mVideoHeightPx + "|" + mResourceVars.mMarginMediumPx
+               + "|" + mResourceVars.mIsWideDisplay
+               + "|" + Locale.getDefault() + "|" + mCssUrl;
     }
 
     /*
-     * scan the content for iframes and make sure they're correctly sized for the device
+     * returns the full HTML shown in the webView for this post - this is the slow part of rendering, so it's
+     * called on a background thread and its result is cached
      */
-    private void resizeIframes() {
-        ReaderHtmlUtils.HtmlScannerListener iframeListener = new ReaderHtmlUtils.HtmlScannerListener() {
-            @Override
-            public void onTagFound(String tag, String src) {
-                replaceIframeTag(tag, src);
-            }
-        };
-        String content = mRenderBuilder.toString();
-        ReaderIframeScanner scanner = new ReaderIframeScanner(content);
-        scanner.beginScan(iframeListener);
+    private String renderHtml() {
+        final String postContent = getPostContent();
+        final boolean hasTiledGallery = hasTiledGallery(postContent);
+
+        // Get the set of JS scripts to inject in our Webview to support some specific Embeds.
+        Set<String> jsToInject = new HashSet<>();
+        String content = rewriteContent(
+                postContent,
+                !(hasTiledGallery && mResourceVars.mIsWideDisplay),
+                jsToInject);
+
+        return formatPostContentForWebView(
+                content,
+                jsToInject,
+                hasTiledGallery,
+                mResourceVars.mIsWideDisplay);
     }
 
-    private Set<String> injectJSForSpecificEmbedSupport() {
-        final Set<String> jsToInject = new HashSet<>();
-        ReaderHtmlUtils.HtmlScannerListener embedListener = new ReaderHtmlUtils.HtmlScannerListener() {
-            @Override
-            public void onTagFound(String tag, String src) {
-                jsToInject.add(src);
-            }
-        };
-        String content = mRenderBuilder.toString();
-        ReaderEmbedScanner scanner = new ReaderEmbedScanner(content);
-        scanner.beginScan(embedListener);
-        return jsToInject;
+    public static boolean hasTiledGallery(String text) {
+        // determine whether a tiled-gallery exists in the content
+        return TILED_GALLERY_PATTERN.matcher(text).find();
+    }
+
+    /*
+     * makes sure images (unless resizeImages is false) and iframes are correctly sized for the device,
+     * and adds the scripts required by the embeds in the content to jsToInject - this is done in a
+     * single pass over the content
+     */
+    private String rewriteContent(final String content, boolean resizeImages, final Set<String> jsToInject) {
+        ReaderHtmlTokenizer tokenizer = new ReaderHtmlTokenizer(content);
+        if (resizeImages) {
+            tokenizer.subscribe("img", this::getResizedImageTag);
+        }
+        tokenizer.subscribe("iframe", this::getResizedIframeTag);
+        ReaderEmbedScanner.subscribe(tokenizer, (tag, src) -> jsToInject.add(src));
+        return tokenizer.rewrite();
     }
 
     /*
@@ -200,11 +229,22 @@ public class ReaderPostRenderer {
     }
 
     /*
-     * called when image scanner finds an image, tries to replace the image tag with one that
-     * has height & width attributes set correctly for the current display, if that fails
-     * replaces it with one that has our 'size-none' class
+     * called when the tokenizer finds an image, returns an image tag which has height & width
+     * attributes set correctly for the current display, if that fails returns one that has our
+     * 'size-none' class
      */
-    private void replaceImageTag(final String imageTag, final String imageUrl) {
+    @Nullable
+    private String getResizedImageTag(@NonNull final ReaderHtmlTag imageTag) {
+        final String imageUrl = ReaderImageScanner.getImageUrl(imageTag);
+        if (imageUrl == null) {
+            return null;
+        }
+
+        // Exceptions which should keep their original tag attributes
+        if (imageUrl.contains("wpcom-smileys") || imageTag.getHtml().contains("wp-story")) {
+            return null;
+        }
+
         ImageSize origSize = getImageSize(imageTag, imageUrl);
         boolean hasWidth = (origSize != null && origSize.width > 0);
         boolean isFullSize = hasWidth && (origSize.width >= mMinFullSizeWidthDp);
@@ -223,13 +263,7 @@ public class ReaderPostRenderer {
             newImageTag = "<img class='size-none' src='" + imageUrl + "' />";
         }
 
-        int start = mRenderBuilder.indexOf(imageTag);
-        if (start == -1) {
-            AppLog.w(AppLog.T.READER, "reader renderer > image not found in builder");
-            return;
-        }
-
-        mRenderBuilder.replace(start, start + imageTag.length(), newImageTag);
+        return newImageTag;
     }
 
     private String makeImageTag(final String imageUrl, int width, int height, final String imageClass) {
@@ -325,11 +359,17 @@ public class ReaderPostRenderer {
     }
 
     /*
-     * replace the passed iframe tag with one that's correctly sized for the device
+     * returns an iframe tag that's correctly sized for the device to replace the passed one
      */
-    private void replaceIframeTag(final String tag, final String src) {
-        int width = ReaderHtmlUtils.getWidthAttrValue(tag);
-        int height = ReaderHtmlUtils.getHeightAttrValue(tag);
+    @Nullable
+    private String getResizedIframeTag(@NonNull final ReaderHtmlTag tag) {
+        final String src = ReaderIframeScanner.getIframeSrc(tag);
+        if (src == null) {
+            return null;
+        }
+
+        int width = tag.getIntAttribute("width");
+        int height = tag.getIntAttribute("height");
 
         int newHeight;
         int newWidth;
@@ -342,18 +382,10 @@ public class ReaderPostRenderer {
             newHeight = mResourceVars.mVideoHeightPx;
         }
 
-        String newTag = "<iframe src='" + src + "'"
-                        + " frameborder='0' allowfullscreen='true' allowtransparency='true'"
-                        + " width='" + pxToDp(newWidth) + "'"
-                        + " height='" + pxToDp(newHeight) + "' />";
-
-        int start = mRenderBuilder.indexOf(tag);
-        if (start == -1) {
-            AppLog.w(AppLog.T.READER, "reader renderer > iframe not found in builder");
-            return;
-        }
-
-        mRenderBuilder.replace(start, start + tag.length(), newTag);
+        return "<iframe src='" + src + "'"
+               + " frameborder='0' allowfullscreen='true' allowtransparency='true'"
+               + " width='" + pxToDp(newWidth) + "'"
+               + " height='" + pxToDp(newHeight) + "' />";
     }
 
     /*
@@ -374,12 +406,12 @@ public class ReaderPostRenderer {
             str = "<!DOCTYPE html><html><head><meta charset='UTF-8' />";
         }
 
-        StringBuilder sbHtml = new StringBuilder(str);
+        StringBuilder sbHtml = new StringBuilder(content.length() + 8 * 1024).append(str);
 
         // title isn't necessary, but it's invalid html5 without one
         sbHtml.append("<title>Reader Post</title>")
               .append("<link rel=\"stylesheet\" type=\"text/css\"\n"
-                      + "          href=\"" + mCssProvider.getCssUrl() + "\">");
+                      + "          href=\"" + mCssUrl + "\">");
         // https://developers.google.com/chrome/mobile/docs/webview/pixelperfect
         sbHtml.append("<meta name='viewport' content='width=device-width, initial-scale=1'>")
               .append("<style type='text/css'>");
@@ -531,33 +563,35 @@ public class ReaderPostRenderer {
                 .append(" figure { display: block; margin-inline-start: 0px; margin-inline-end: 0px; }")
                 .append("</style>");
 
-        // add a custom CSS class to (any) tiled gallery elements to make them easier selectable for various rules
-        final List<String> classAmendRegexes = Arrays.asList(
-                "(tiled-gallery) ([\\s\"\'])",
-                "(gallery-row) ([\\s\"'])",
-                "(gallery-group) ([\\s\"'])",
-                "(tiled-gallery-item) ([\\s\"'])");
-        String contentCustomised = content;
-
-        // removes background-color property from original content
-        contentCustomised = contentCustomised.replaceAll("\\s*(background-color)\\s*:\\s*.+?\\s*;\\s*", "");
-
-        for (String classToAmend : classAmendRegexes) {
-            contentCustomised = contentCustomised.replaceAll(classToAmend, "$1 " + galleryOnlyClass + "$2");
-        }
-
         for (String jsUrl : jsToInject) {
             sbHtml.append("<script src=\"").append(jsUrl).append("\" type=\"text/javascript\" async></script>");
         }
 
         sbHtml.append("</head><body class=\"reader-full-post reader-full-post__story-content\">")
-              .append("<script type=\"text/javascript\" src=\"file:///android_asset/reader_text_events.js\"></script>")
-              .append(contentCustomised)
-              .append("</body></html>");
+              .append("<script type=\"text/javascript\" src=\"file:///android_asset/reader_text_events.js\"></script>");
+        appendCustomisedContent(sbHtml, content, galleryOnlyClass);
+        sbHtml.append("</body></html>");
 
         return sbHtml.toString();
     }
 
+    /*
+     * appends the content after removing the background-color properties from it and adding a custom
+     * CSS class to (any) tiled gallery elements to make them easier selectable for various rules
+     */
+    private static void appendCustomisedContent(StringBuilder sb, String content, String galleryOnlyClass) {
+        Matcher matcher = CONTENT_CUSTOMISATION_PATTERN.matcher(content);
+        int copyFrom = 0;
+        while (matcher.find()) {
+            sb.append(content, copyFrom, matcher.start());
+            if (matcher.group(1) != null) {
+                sb.append(matcher.group(1)).append(' ').append(galleryOnlyClass).append(matcher.group(2));
+            }
+            copyFrom = matcher.end();
+        }
+        sb.append(content, copyFrom, content.length());
+    }
+
     private void appendMappedColors(StringBuilder sb) {
         sb.append(" :root { ")
           .append("--color-text: ").append(mReadingPreferencesTheme.getCssTextColor()).append("; ")
@@ -571,15 +605,15 @@ public class ReaderPostRenderer {
           .append("} ");
     }
 
-    private ImageSize getImageSize(final String imageTag, final String imageUrl) {
+    private ImageSize getImageSize(final ReaderHtmlTag imageTag, final String imageUrl) {
         ImageSize size = getImageSizeFromAttachments(imageUrl);
-        if (size == null && imageTag.contains("data-orig-size=")) {
+        if (size == null && imageTag.hasAttribute("data-orig-size")) {
             size = getImageOriginalSizeFromAttributes(imageTag);
         }
         if (size == null && imageUrl.contains("?")) {
             size = getImageSizeFromQueryParams(imageUrl);
         }
-        if (size == null && imageTag.contains("width=")) {
+        if (size == null && imageTag.hasAttribute("width")) {
             size = getImageSizeFromAttributes(imageTag);
         }
         return size;
@@ -614,16 +648,22 @@ public class ReaderPostRenderer {
         return null;
     }
 
-    private ImageSize getImageOriginalSizeFromAttributes(final String imageTag) {
+    private ImageSize getImageOriginalSizeFromAttributes(final ReaderHtmlTag imageTag) {
+        // data-orig-size is "width,height"
+        String origSize = StringUtils.notNullStr(imageTag.getAttribute("data-orig-size"));
+        int comma = origSize.indexOf(',');
+        if (comma == -1) {
+            return new ImageSize(0, 0);
+        }
         return new ImageSize(
-                ReaderHtmlUtils.getOriginalWidthAttrValue(imageTag),
-                ReaderHtmlUtils.getOriginalHeightAttrValue(imageTag));
+                StringUtils.stringToInt(origSize.substring(0, comma), 0),
+                StringUtils.stringToInt(origSize.substring(comma + 1), 0));
     }
 
-    private ImageSize getImageSizeFromAttributes(final String imageTag) {
+    private ImageSize getImageSizeFromAttributes(final ReaderHtmlTag imageTag) {
         return new ImageSize(
-                ReaderHtmlUtils.getWidthAttrValue(imageTag),
-                ReaderHtmlUtils.getHeightAttrValue(imageTag));
+                imageTag.getIntAttribute("width"),
+                imageTag.getIntAttribute("height"));
     }
 
     private int pxToDp(int px) {
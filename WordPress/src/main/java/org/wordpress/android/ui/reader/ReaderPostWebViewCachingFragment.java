@@ -40,6 +40,8 @@ public class ReaderPostWebViewCachingFragment extends Fragment {
 
     @Inject ReaderGetReadingPreferencesSyncUseCase mGetReadingPreferencesUseCase;
 
+    @Inject ReaderPostHtmlCache mReaderPostHtmlCache;
+
     public static ReaderPostWebViewCachingFragment newInstance(long blogId, long postId) {
         ReaderPostWebViewCachingFragment fragment = new ReaderPostWebViewCachingFragment();
         Bundle args = new Bundle();
@@ -79,7 +81,7 @@ public class ReaderPostWebViewCachingFragment extends Fragment {
                 });
 
                 ReaderPostRenderer rendered = new ReaderPostRenderer((ReaderWebView) view, post,
-                        mReaderCssProvider, mGetReadingPreferencesUseCase.invoke());
+                        mReaderCssProvider, mGetReadingPreferencesUseCase.invoke(), mReaderPostHtmlCache);
                 rendered.beginRender(); // rendering will cache post content using native WebView implementation.
             } else {
                 // abort mission if post is not available
@@ -593,12 +593,11 @@ public class ReaderCommentAdapter extends RecyclerView.Adapter<RecyclerView.View
             return;
         }
 
-        // if the comment doesn't have a parent we can just add it to the list of existing
-        // comments - but if it does have a parent, we need to reload the list so that it
-        // appears under its parent and is correctly indented
-        if (comment.parentId == 0) {
-            mComments.add(comment);
-            notifyDataSetChanged();
+        // the comment is added below its parent and its existing replies - the list is only
+        // reloaded if its parent isn't in the list
+        int index = ReaderCommentLeveler.insertComment(mComments, comment);
+        if (index > -1) {
+            notifyItemInserted(index + NUM_HEADERS);
         } else {
             refreshComments();
         }
@@ -10,6 +10,7 @@ import org.json.JSONObject;
 import org.wordpress.android.WordPress;
 import org.wordpress.android.datasets.ReaderPostTable;
 import org.wordpress.android.models.ReaderPostList;
+import org.wordpress.android.models.ReaderTag;
 import org.wordpress.android.ui.reader.ReaderConstants;
 import org.wordpress.android.ui.reader.ReaderEvents;
 import org.wordpress.android.ui.reader.services.ServiceCompletionListener;
@@ -17,9 +18,16 @@ import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.LocaleManagerWrapper;
 import org.wordpress.android.util.UrlUtils;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static org.wordpress.android.ui.reader.utils.ReaderUtils.getTagForSearchQuery;
 
 public class ReaderSearchLogic {
+    // the cached matches and the server results are written on this thread, so the server results are
+    // always written after the cached matches they replace
+    private static final ExecutorService SEARCH_RESULTS_EXECUTOR = Executors.newSingleThreadExecutor();
+
     private final ServiceCompletionListener mCompletionListener;
 
     private final LocaleManagerWrapper mLocaleManagerWrapper;
@@ -58,18 +66,43 @@ public class ReaderSearchLogic {
 
         AppLog.d(AppLog.T.READER, "reader search service > starting search for " + query);
         EventBus.getDefault().post(new ReaderEvents.SearchPostsStarted(query, offset));
+        if (offset == 0) {
+            // show matching cached posts while the request is in flight
+            SEARCH_RESULTS_EXECUTOR.execute(() -> addCachedSearchResults(query));
+        }
         WordPress.getRestClientUtilsV1_2().get(path, null, null, listener, errorListener);
     }
 
+    /*
+     * stores the cached posts matching the query with the search tag - they're given negative scores
+     * so they keep their local ranking, and they're deleted when the first page of server results
+     * arrives so they don't count in the offset of the next page
+     */
+    private void addCachedSearchResults(@NonNull final String query) {
+        ReaderPostList cachedPosts =
+                ReaderPostTable.searchCachedPosts(query, ReaderConstants.READER_MAX_SEARCH_RESULTS_TO_REQUEST);
+        if (cachedPosts.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < cachedPosts.size(); i++) {
+            cachedPosts.get(i).score = -1 - i;
+        }
+        ReaderPostTable.addOrUpdatePosts(getTagForSearchQuery(query), cachedPosts);
+        EventBus.getDefault().post(new ReaderEvents.SearchPostsCachedResultsAvailable(query));
+    }
+
     private void handleSearchResponse(final String query, final int offset, final JSONObject jsonObject) {
-        new Thread() {
-            @Override
-            public void run() {
-                ReaderPostList serverPosts = ReaderPostList.fromJson(jsonObject);
-                ReaderPostTable.addOrUpdatePosts(getTagForSearchQuery(query), serverPosts);
-                EventBus.getDefault().post(new ReaderEvents.SearchPostsEnded(query, offset, true));
-                mCompletionListener.onCompleted(mListenerCompanion);
+        SEARCH_RESULTS_EXECUTOR.execute(() -> {
+            ReaderPostList serverPosts = ReaderPostList.fromJson(jsonObject);
+            ReaderTag searchTag = getTagForSearchQuery(query);
+            if (offset == 0) {
+                // the first page replaces the cached matches added by addCachedSearchResults()
+                ReaderPostTable.replacePostsWithTag(searchTag, serverPosts);
+            } else {
+                ReaderPostTable.addOrUpdatePosts(searchTag, serverPosts);
             }
-        }.start();
+            EventBus.getDefault().post(new ReaderEvents.SearchPostsEnded(query, offset, true));
+            mCompletionListener.onCompleted(mListenerCompanion);
+        });
     }
 }
@@ -6,6 +6,7 @@ import org.wordpress.android.models.ReaderPost
 import org.wordpress.android.models.ReaderPostList
 import org.wordpress.android.models.ReaderTag
 import org.wordpress.android.ui.prefs.AppPrefsWrapper
+import org.wordpress.android.ui.reader.ReaderPostHtmlCache
 import org.wordpress.android.ui.reader.actions.ReaderActions
 import org.wordpress.android.ui.reader.services.post.ReaderPostServiceStarter
 import org.wordpress.android.util.AppLog
@@ -18,6 +19,7 @@ import javax.inject.Inject
 class ReaderPostLocalSource @Inject constructor(
     private val readerPostTableWrapper: ReaderPostTableWrapper,
     private val appPrefsWrapper: AppPrefsWrapper,
+    private val readerPostHtmlCache: ReaderPostHtmlCache,
 ) {
     /**
      * Save the list of posts to the local database, and handle any gaps between local and server posts.
@@ -57,6 +59,9 @@ class ReaderPostLocalSource @Inject constructor(
             // save posts to local db
             readerPostTableWrapper.addOrUpdatePosts(requestedTag, serverPosts)
 
+            // render the detail of the newest posts in the background, so opening them is a cache lookup
+            readerPostHtmlCache.prefetch(serverPosts)
+
             if (appPrefsWrapper.shouldUpdateBookmarkPostsPseudoIds(requestedTag)) {
                 readerPostTableWrapper.updateBookmarkedPostPseudoId(serverPosts)
                 appPrefsWrapper.setBookmarkPostsPseudoIdsUpdated()
@@ -4,6 +4,7 @@ import androidx.annotation.NonNull;
 
 import org.wordpress.android.models.ReaderComment;
 import org.wordpress.android.models.ReaderCommentList;
+import org.wordpress.android.ui.comments.CommentTree;
 
 /*
  * utility class which accepts a list of comments and then creates a "level list" from it
@@ -11,75 +12,44 @@ import org.wordpress.android.models.ReaderCommentList;
  */
 
 public class ReaderCommentLeveler {
-    private final ReaderCommentList mComments;
-
-    public ReaderCommentLeveler(@NonNull ReaderCommentList comments) {
-        mComments = comments;
-    }
-
-    public ReaderCommentList createLevelList() {
-        ReaderCommentList result = new ReaderCommentList();
-
-        // reset all levels, and add root comments to result
-        for (ReaderComment comment : mComments) {
-            comment.level = 0;
-            if (comment.parentId == 0) {
-                result.add(comment);
-            }
+    private static final CommentTree.Accessor<ReaderComment> ACCESSOR = new CommentTree.Accessor<ReaderComment>() {
+        @Override
+        public long getCommentId(ReaderComment comment) {
+            return comment.commentId;
         }
 
-        // add children at each level
-        int level = 0;
-        while (walkCommentsAtLevel(result, level)) {
-            level++;
+        @Override
+        public long getParentId(ReaderComment comment) {
+            return comment.parentId;
         }
 
-        return result;
-    }
-
-    /*
-     * walk comments in the passed list that have the passed level and add their children
-     * beneath them
-     */
-    private boolean walkCommentsAtLevel(@NonNull ReaderCommentList comments, int level) {
-        boolean hasChanges = false;
-        for (int index = 0; index < comments.size(); index++) {
-            ReaderComment parent = comments.get(index);
-            if (parent.level == level && hasChildren(parent.commentId)) {
-                // get children for this comment, set their level, then add them below the parent
-                ReaderCommentList children = getChildren(parent.commentId);
-                setLevel(children, level + 1);
-                comments.addAll(index + 1, children);
-                hasChanges = true;
-                // skip past the children we just added
-                index += children.size();
-            }
+        @Override
+        public int getLevel(ReaderComment comment) {
+            return comment.level;
         }
-        return hasChanges;
-    }
 
-    private boolean hasChildren(long commentId) {
-        for (ReaderComment comment : mComments) {
-            if (comment.parentId == commentId) {
-                return true;
-            }
+        @Override
+        public void setLevel(ReaderComment comment, int level) {
+            comment.level = level;
         }
-        return false;
+    };
+
+    private final CommentTree<ReaderComment> mTree;
+
+    public ReaderCommentLeveler(@NonNull ReaderCommentList comments) {
+        mTree = new CommentTree<>(comments, ACCESSOR);
     }
 
-    private ReaderCommentList getChildren(long commentId) {
-        ReaderCommentList children = new ReaderCommentList();
-        for (ReaderComment comment : mComments) {
-            if (comment.parentId == commentId) {
-                children.add(comment);
-            }
-        }
-        return children;
+    public ReaderCommentList createLevelList() {
+        // child comments whose parents aren't in the list are left out
+        return mTree.createLevelList(new ReaderCommentList(), false);
     }
 
-    private void setLevel(@NonNull ReaderCommentList comments, int level) {
-        for (ReaderComment comment : comments) {
-            comment.level = level;
-        }
+    /*
+     * inserts a new comment below its parent in a list created by createLevelList(), returns
+     * the index of the comment or -1 if its parent isn't in the list
+     */
+    public static int insertComment(@NonNull ReaderCommentList levelList, @NonNull ReaderComment comment) {
+        return CommentTree.insert(levelList, comment, ACCESSOR);
     }
 }
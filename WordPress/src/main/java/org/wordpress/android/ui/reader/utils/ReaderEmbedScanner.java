@@ -1,19 +1,20 @@
 package org.wordpress.android.ui.reader.utils;
 
-import java.util.HashMap;
-import java.util.regex.Pattern;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
 
 public class ReaderEmbedScanner {
-    private final String mContent;
+    private static final String INSTAGRAM_EMBED_JS = "https://platform.instagram.com/en_US/embeds.js";
+    private static final String FACEBOOK_EMBED_JS =
+            "https://connect.facebook.net/en_US/sdk.js#xfbml=1&amp;version=v2.8";
 
-    private final HashMap<Pattern, String> mKnownEmbeds = new HashMap<>();
+    private final String mContent;
 
     public ReaderEmbedScanner(String contentOfPost) {
         mContent = contentOfPost;
-        mKnownEmbeds.put(Pattern.compile("<blockquote[^<>]class=\"instagram-", Pattern.CASE_INSENSITIVE),
-                         "https://platform.instagram.com/en_US/embeds.js");
-        mKnownEmbeds.put(Pattern.compile("<fb:post", Pattern.CASE_INSENSITIVE),
-                         "https://connect.facebook.net/en_US/sdk.js#xfbml=1&amp;version=v2.8");
     }
 
     public void beginScan(ReaderHtmlUtils.HtmlScannerListener listener) {
@@ -21,12 +22,40 @@ public class ReaderEmbedScanner {
             throw new IllegalArgumentException("HtmlScannerListener is required");
         }
 
-        for (Pattern pattern : mKnownEmbeds.keySet()) {
-            if (pattern.matcher(mContent).find()) {
+        ReaderHtmlTokenizer tokenizer = new ReaderHtmlTokenizer(mContent);
+        subscribe(tokenizer, listener);
+        tokenizer.scan();
+    }
+
+    /*
+     * subscribes to the tags of the known embeds and passes the url of the script each embed
+     * requires to the listener, once per kind of embed
+     */
+    public static void subscribe(@NonNull ReaderHtmlTokenizer tokenizer,
+                                 @NonNull final ReaderHtmlUtils.HtmlScannerListener listener) {
+        final Set<String> foundScripts = new HashSet<>();
+        ReaderHtmlTokenizer.TagListener embedListener = tag -> {
+            String script = getEmbedScript(tag);
+            if (script != null && foundScripts.add(script)) {
                 // Use the onTagFound callback to pass a URL. Not super clean, but avoid clutter with more kind
                 // of listeners.
-                listener.onTagFound("", mKnownEmbeds.get(pattern));
+                listener.onTagFound("", script);
             }
+            return null;
+        };
+        tokenizer.subscribe("blockquote", embedListener);
+        tokenizer.subscribe("fb:post", embedListener);
+    }
+
+    @Nullable
+    private static String getEmbedScript(@NonNull ReaderHtmlTag tag) {
+        if (tag.getName().equals("fb:post")) {
+            return FACEBOOK_EMBED_JS;
+        }
+        String tagClass = tag.getAttribute("class", '"');
+        if (tagClass != null && tagClass.regionMatches(true, 0, "instagram-", 0, "instagram-".length())) {
+            return INSTAGRAM_EMBED_JS;
         }
+        return null;
     }
 }
@@ -0,0 +1,109 @@
+package org.wordpress.android.ui.reader.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.wordpress.android.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * start tag reported by {@link ReaderHtmlTokenizer} - attribute values are returned as they appear
+ * in the html (entities aren't decoded)
+ */
+public class ReaderHtmlTag {
+    public static final char UNQUOTED = 0;
+
+    private final String mName;
+    private final String mSource;
+    private final int mStart;
+    private int mEnd;
+    private final List<Attribute> mAttributes = new ArrayList<>();
+    private String mHtml;
+
+    private static class Attribute {
+        private final String mName;
+        private final String mValue;
+        private final char mQuote;
+
+        Attribute(String name, String value, char quote) {
+            mName = name;
+            mValue = value;
+            mQuote = quote;
+        }
+    }
+
+    ReaderHtmlTag(@NonNull String name, @NonNull String source, int start) {
+        mName = name;
+        mSource = source;
+        mStart = start;
+    }
+
+    void setEnd(int end) {
+        mEnd = end;
+    }
+
+    int getEnd() {
+        return mEnd;
+    }
+
+    void addAttribute(@NonNull String name, @NonNull String value, char quote) {
+        mAttributes.add(new Attribute(name, value, quote));
+    }
+
+    /*
+     * lowercase name of the tag, as passed to ReaderHtmlTokenizer.subscribe()
+     */
+    @NonNull
+    public String getName() {
+        return mName;
+    }
+
+    /*
+     * full html of the tag, from its opening < to its closing >
+     */
+    @NonNull
+    public String getHtml() {
+        if (mHtml == null) {
+            mHtml = mSource.substring(mStart, mEnd);
+        }
+        return mHtml;
+    }
+
+    public boolean hasAttribute(@NonNull String name) {
+        return findAttribute(name) != null;
+    }
+
+    @Nullable
+    public String getAttribute(@NonNull String name) {
+        Attribute attribute = findAttribute(name);
+        return attribute != null ? attribute.mValue : null;
+    }
+
+    /*
+     * returns the value of the attribute if it's quoted with the passed quote character
+     */
+    @Nullable
+    public String getAttribute(@NonNull String name, char quote) {
+        Attribute attribute = findAttribute(name);
+        return attribute != null && attribute.mQuote == quote ? attribute.mValue : null;
+    }
+
+    /*
+     * returns the integer value of the attribute, or zero if it doesn't exist or isn't an integer
+     */
+    public int getIntAttribute(@NonNull String name) {
+        return StringUtils.stringToInt(getAttribute(name), 0);
+    }
+
+    @Nullable
+    private Attribute findAttribute(@NonNull String name) {
+        for (Attribute attribute : mAttributes) {
+            if (attribute.mName.equalsIgnoreCase(name)) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,210 @@
+package org.wordpress.android.ui.reader.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * single-pass tokenizer for post content which reports the start tags that listeners subscribed to
+ * (img, iframe, etc.) along with their attributes. this replaces running a separate regex over the
+ * full html for every kind of tag we're interested in - tags nobody subscribed to are skipped
+ * without parsing their attributes, and html comments are skipped entirely.
+ * <p>
+ * listeners may return replacement html for a tag, which rewrite() uses to build the new content
+ * in a single buffer
+ */
+public class ReaderHtmlTokenizer {
+    public interface TagListener {
+        /*
+         * called for every start tag the listener subscribed to - return the html which should
+         * replace the tag when rewriting, or null to keep the tag as is
+         */
+        @Nullable String onTag(@NonNull ReaderHtmlTag tag);
+    }
+
+    private final String mHtml;
+    private final List<String> mTagNames = new ArrayList<>();
+    private final List<TagListener> mListeners = new ArrayList<>();
+    private boolean mIsStopped;
+
+    public ReaderHtmlTokenizer(@NonNull String html) {
+        mHtml = html;
+    }
+
+    /*
+     * subscribes the listener to start tags with the passed (case-insensitive) name
+     */
+    @NonNull
+    public ReaderHtmlTokenizer subscribe(@NonNull String tagName, @NonNull TagListener listener) {
+        mTagNames.add(tagName);
+        mListeners.add(listener);
+        return this;
+    }
+
+    /*
+     * may be called by a listener to stop tokenizing once it has found what it needs - when
+     * rewriting, the remainder of the content is copied as is
+     */
+    public void stop() {
+        mIsStopped = true;
+    }
+
+    public void scan() {
+        tokenize(null);
+    }
+
+    @NonNull
+    public String rewrite() {
+        StringBuilder out = new StringBuilder(mHtml.length() + mHtml.length() / 8);
+        tokenize(out);
+        return out.toString();
+    }
+
+    private void tokenize(@Nullable StringBuilder out) {
+        mIsStopped = false;
+        int length = mHtml.length();
+        int copyFrom = 0;
+        int pos = mHtml.indexOf('<');
+
+        while (pos >= 0 && pos < length - 1 && !mIsStopped) {
+            char next = mHtml.charAt(pos + 1);
+            if (next == '!' && mHtml.startsWith("!--", pos + 1)) {
+                int commentEnd = mHtml.indexOf("-->", pos + 4);
+                if (commentEnd == -1) {
+                    break;
+                }
+                pos = mHtml.indexOf('<', commentEnd + 3);
+                continue;
+            }
+            if (!Character.isLetter(next)) {
+                // end tag, doctype, processing instruction or a stray <
+                pos = mHtml.indexOf('<', pos + 1);
+                continue;
+            }
+
+            int nameEnd = pos + 2;
+            while (nameEnd < length && isTagNameChar(mHtml.charAt(nameEnd))) {
+                nameEnd++;
+            }
+
+            String tagName = getSubscribedTagName(pos + 1, nameEnd);
+            if (tagName == null) {
+                pos = mHtml.indexOf('<', nameEnd);
+                continue;
+            }
+
+            ReaderHtmlTag tag = parseTag(tagName, pos, nameEnd);
+            if (tag == null) {
+                // unterminated tag
+                break;
+            }
+
+            String replacement = null;
+            for (int i = 0; i < mListeners.size(); i++) {
+                if (mTagNames.get(i).equalsIgnoreCase(tagName)) {
+                    String listenerReplacement = mListeners.get(i).onTag(tag);
+                    if (replacement == null) {
+                        replacement = listenerReplacement;
+                    }
+                }
+            }
+
+            int tagEnd = tag.getEnd();
+            if (out != null && replacement != null) {
+                out.append(mHtml, copyFrom, pos).append(replacement);
+                copyFrom = tagEnd;
+            }
+            pos = mHtml.indexOf('<', tagEnd);
+        }
+
+        if (out != null) {
+            out.append(mHtml, copyFrom, length);
+        }
+    }
+
+    @Nullable
+    private String getSubscribedTagName(int nameStart, int nameEnd) {
+        int nameLength = nameEnd - nameStart;
+        for (String tagName : mTagNames) {
+            if (tagName.length() == nameLength && mHtml.regionMatches(true, nameStart, tagName, 0, nameLength)) {
+                return tagName;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * parses the attributes of the tag starting at tagStart - returns null if the tag isn't terminated
+     */
+    @Nullable
+    private ReaderHtmlTag parseTag(@NonNull String tagName, int tagStart, int nameEnd) {
+        int length = mHtml.length();
+        ReaderHtmlTag tag = new ReaderHtmlTag(tagName, mHtml, tagStart);
+        int pos = nameEnd;
+
+        while (pos < length) {
+            char ch = mHtml.charAt(pos);
+            if (ch == '>') {
+                tag.setEnd(pos + 1);
+                return tag;
+            }
+            if (Character.isWhitespace(ch) || ch == '/') {
+                pos++;
+                continue;
+            }
+
+            int attrNameStart = pos;
+            while (pos < length && isAttributeNameChar(mHtml.charAt(pos))) {
+                pos++;
+            }
+            if (pos == attrNameStart) {
+                // not a valid attribute name character, skip it
+                pos++;
+                continue;
+            }
+            String attrName = mHtml.substring(attrNameStart, pos);
+
+            pos = skipWhitespace(pos);
+            String value = "";
+            char quote = ReaderHtmlTag.UNQUOTED;
+            if (pos < length && mHtml.charAt(pos) == '=') {
+                pos = skipWhitespace(pos + 1);
+                if (pos < length && (mHtml.charAt(pos) == '"' || mHtml.charAt(pos) == '\'')) {
+                    quote = mHtml.charAt(pos);
+                    int valueEnd = mHtml.indexOf(quote, pos + 1);
+                    if (valueEnd == -1) {
+                        return null;
+                    }
+                    value = mHtml.substring(pos + 1, valueEnd);
+                    pos = valueEnd + 1;
+                } else {
+                    int valueStart = pos;
+                    while (pos < length && !Character.isWhitespace(mHtml.charAt(pos)) && mHtml.charAt(pos) != '>') {
+                        pos++;
+                    }
+                    value = mHtml.substring(valueStart, pos);
+                }
+            }
+            tag.addAttribute(attrName, value, quote);
+        }
+
+        return null;
+    }
+
+    private int skipWhitespace(int pos) {
+        while (pos < mHtml.length() && Character.isWhitespace(mHtml.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isTagNameChar(char ch) {
+        return Character.isLetterOrDigit(ch) || ch == ':' || ch == '-' || ch == '_';
+    }
+
+    private static boolean isAttributeNameChar(char ch) {
+        return !Character.isWhitespace(ch) && ch != '=' && ch != '>' && ch != '/' && ch != '"' && ch != '\'';
+    }
+}
@@ -108,21 +108,32 @@ public class ReaderHtmlUtils {
 
         Matcher matcher = SRCSET_ATTR_PATTERN.matcher(tag);
         if (matcher.find()) {
-            String srcsetBody = matcher.group(1);
-            Matcher innerMatcher = SRCSET_INNER_PATTERN.matcher(srcsetBody);
-            int largestWidth = 0;
-            String largestImageUrl = null;
-            while (innerMatcher.find()) {
-                int currentWidth = StringUtils.stringToInt(innerMatcher.group(2));
-                if (currentWidth > largestWidth) {
-                    largestWidth = currentWidth;
-                    largestImageUrl = innerMatcher.group(1);
-                }
-            }
-            if (largestImageUrl != null) {
-                return new SrcsetImage(largestWidth, largestImageUrl);
+            return getLargestSrcsetImage(matcher.group(1));
+        }
+        return null;
+    }
+
+    /*
+     * Returns the largest image in the passed srcset attribute value, or null if it doesn't contain any.
+     */
+    @Nullable public static SrcsetImage getLargestSrcsetImage(@Nullable final String srcset) {
+        if (srcset == null) {
+            return null;
+        }
+
+        Matcher innerMatcher = SRCSET_INNER_PATTERN.matcher(srcset);
+        int largestWidth = 0;
+        String largestImageUrl = null;
+        while (innerMatcher.find()) {
+            int currentWidth = StringUtils.stringToInt(innerMatcher.group(2));
+            if (currentWidth > largestWidth) {
+                largestWidth = currentWidth;
+                largestImageUrl = innerMatcher.group(1);
             }
         }
+        if (largestImageUrl != null) {
+            return new SrcsetImage(largestWidth, largestImageUrl);
+        }
         return null;
     }
 
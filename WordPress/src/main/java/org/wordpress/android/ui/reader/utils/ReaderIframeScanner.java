@@ -1,15 +1,11 @@
 package org.wordpress.android.ui.reader.utils;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 public class ReaderIframeScanner {
     private final String mContent;
 
-    private static final Pattern IFRAME_TAG_PATTERN = Pattern.compile(
-            "<iframe[^>]* src=\\\'([^\\\']*)\\\'[^>]*>",
-            Pattern.CASE_INSENSITIVE);
-
     public ReaderIframeScanner(String contentOfPost) {
         mContent = contentOfPost;
     }
@@ -19,25 +15,38 @@ public class ReaderIframeScanner {
             throw new IllegalArgumentException("HtmlScannerListener is required");
         }
 
-        Matcher matcher = IFRAME_TAG_PATTERN.matcher(mContent);
-        while (matcher.find()) {
-            String tag = matcher.group(0);
-            String src = matcher.group(1);
-            listener.onTagFound(tag, src);
-        }
+        new ReaderHtmlTokenizer(mContent).subscribe("iframe", tag -> {
+            String src = getIframeSrc(tag);
+            if (src != null) {
+                listener.onTagFound(tag.getHtml(), src);
+            }
+            return null;
+        }).scan();
     }
 
     /*
      * scans the post for iframes containing usable videos, returns the first one found
      */
     public String getFirstUsableVideo() {
-        Matcher matcher = IFRAME_TAG_PATTERN.matcher(mContent);
-        while (matcher.find()) {
-            String src = matcher.group(1);
-            if (ReaderVideoUtils.canShowVideoThumbnail(src)) {
-                return src;
+        final String[] video = {null};
+        final ReaderHtmlTokenizer tokenizer = new ReaderHtmlTokenizer(mContent);
+        tokenizer.subscribe("iframe", tag -> {
+            String src = getIframeSrc(tag);
+            if (src != null && ReaderVideoUtils.canShowVideoThumbnail(src)) {
+                video[0] = src;
+                tokenizer.stop();
             }
-        }
-        return null;
+            return null;
+        }).scan();
+        return video[0];
+    }
+
+    /*
+     * returns the src of the passed iframe tag - only single-quoted src attributes are used, which
+     * is how the server formats video embeds
+     */
+    @Nullable
+    public static String getIframeSrc(@NonNull ReaderHtmlTag iframeTag) {
+        return iframeTag.getAttribute("src", '\'');
     }
 }
@@ -1,20 +1,21 @@
 package org.wordpress.android.ui.reader.utils;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import org.wordpress.android.ui.reader.models.ReaderImageList;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 public class ReaderImageScanner {
     private final String mContent;
     private final boolean mIsPrivate;
     private final boolean mContentContainsImages;
 
-    private static final Pattern IMG_TAG_PATTERN = Pattern.compile(
-            "<img[^>]* src=\\\"([^\\\"]*)\\\"[^>]*>",
-            Pattern.CASE_INSENSITIVE);
+    private interface ImageVisitor {
+        /*
+         * return false to stop scanning
+         */
+        boolean onImage(@NonNull ReaderHtmlTag imageTag, @NonNull String imageUrl);
+    }
 
     public ReaderImageScanner(String contentOfPost, boolean isPrivate) {
         mContent = contentOfPost;
@@ -34,43 +35,57 @@ public class ReaderImageScanner {
             return;
         }
 
-        Matcher imgMatcher = IMG_TAG_PATTERN.matcher(mContent);
-        while (imgMatcher.find()) {
-            String imageTag = imgMatcher.group(0);
-            String imageUrl = imgMatcher.group(1);
-            listener.onTagFound(imageTag, imageUrl);
-        }
+        scanImages((imageTag, imageUrl) -> {
+            listener.onTagFound(imageTag.getHtml(), imageUrl);
+            return true;
+        });
+    }
+
+    /*
+     * returns the url of the passed img tag - only double-quoted src attributes are used, as is the
+     * case for the content returned by the server
+     */
+    @Nullable
+    public static String getImageUrl(@NonNull ReaderHtmlTag imageTag) {
+        return imageTag.getAttribute("src", '"');
+    }
+
+    private void scanImages(@NonNull final ImageVisitor visitor) {
+        final ReaderHtmlTokenizer tokenizer = new ReaderHtmlTokenizer(mContent);
+        tokenizer.subscribe("img", tag -> {
+            String imageUrl = getImageUrl(tag);
+            if (imageUrl != null && !visitor.onImage(tag, imageUrl)) {
+                tokenizer.stop();
+            }
+            return null;
+        });
+        tokenizer.scan();
     }
 
     /*
      * returns a list of image URLs in the content up to the max above a certain width - pass zero
      * to include all images regardless of size
      */
-    public ReaderImageList getImageList(int maxImageCount, int minImageWidth) {
-        ReaderImageList imageList = new ReaderImageList(mIsPrivate);
+    public ReaderImageList getImageList(final int maxImageCount, final int minImageWidth) {
+        final ReaderImageList imageList = new ReaderImageList(mIsPrivate);
 
         if (!mContentContainsImages) {
             return imageList;
         }
 
-        Matcher imgMatcher = IMG_TAG_PATTERN.matcher(mContent);
-        while (imgMatcher.find()) {
-            String imageTag = imgMatcher.group(0);
-            String imageUrl = imgMatcher.group(1);
-
+        scanImages((imageTag, imageUrl) -> {
             if (minImageWidth == 0) {
                 imageList.addImageUrl(imageUrl);
             } else {
-                int width = Math.max(ReaderHtmlUtils.getWidthAttrValue(imageTag),
+                int width = Math.max(imageTag.getIntAttribute("width"),
                                      ReaderHtmlUtils.getIntQueryParam(imageUrl, "w"));
                 if (width >= minImageWidth) {
                     imageList.addImageUrl(imageUrl);
-                    if (maxImageCount > 0 && imageList.size() >= maxImageCount) {
-                        break;
-                    }
+                    return maxImageCount <= 0 || imageList.size() < maxImageCount;
                 }
             }
-        }
+            return true;
+        });
 
         return imageList;
     }
@@ -92,53 +107,50 @@ public class ReaderImageScanner {
             return null;
         }
 
-        String currentImageUrl = null;
-        int currentMaxWidth = minImageWidth;
-
-        Matcher imgMatcher = IMG_TAG_PATTERN.matcher(mContent);
-        while (imgMatcher.find()) {
-            String imageTag = imgMatcher.group(0);
-            String imageUrl = imgMatcher.group(1);
+        final String[] currentImageUrl = {null};
+        final int[] currentMaxWidth = {minImageWidth};
 
+        scanImages((imageTag, imageUrl) -> {
             // Primary source: check the width attribute.
-            int width = Math.max(ReaderHtmlUtils.getWidthAttrValue(imageTag),
+            int width = Math.max(imageTag.getIntAttribute("width"),
                                  ReaderHtmlUtils.getIntQueryParam(imageUrl, "w"));
-            if (width > currentMaxWidth) {
-                currentImageUrl = imageUrl;
-                currentMaxWidth = width;
+            if (width > currentMaxWidth[0]) {
+                currentImageUrl[0] = imageUrl;
+                currentMaxWidth[0] = width;
             }
 
             // Look through the srcset attribute (if set) for the largest available size of this image.
-            SrcsetImage bestFromSrcset = ReaderHtmlUtils.getLargestSrcsetImageForTag(imageTag);
-            if (bestFromSrcset != null && bestFromSrcset.getWidth() > currentMaxWidth) {
-                currentMaxWidth = bestFromSrcset.getWidth();
-                currentImageUrl = bestFromSrcset.getUrl();
+            SrcsetImage bestFromSrcset = ReaderHtmlUtils.getLargestSrcsetImage(imageTag.getAttribute("srcset"));
+            if (bestFromSrcset != null && bestFromSrcset.getWidth() > currentMaxWidth[0]) {
+                currentMaxWidth[0] = bestFromSrcset.getWidth();
+                currentImageUrl[0] = bestFromSrcset.getUrl();
             }
 
             // Check if the image tag's class suggests it's a good enough size.
             // Only do this if we don't already have a winner, since we can't be sure of the width
             // and shouldn't replace an image we know for sure is larger than [minImageWidth].
-            if (currentImageUrl == null && hasSuitableClassForFeaturedImage(imageTag)) {
-                currentImageUrl = imageUrl;
+            if (currentImageUrl[0] == null && hasSuitableClassForFeaturedImage(imageTag)) {
+                currentImageUrl[0] = imageUrl;
             }
 
             // Look for a data-large-file attribute if set and use the associated url.
             // Only do this if we don't already have a winner, since we can't be sure of the width
             // and shouldn't replace an image we know for sure is larger than [minImageWidth].
-            if (currentImageUrl == null) {
-                currentImageUrl = ReaderHtmlUtils.getLargeFileAttr(imageTag);
+            if (currentImageUrl[0] == null) {
+                currentImageUrl[0] = imageTag.getAttribute("data-large-file");
             }
-        }
+            return true;
+        });
 
-        return currentImageUrl;
+        return currentImageUrl[0];
     }
 
     /*
      * returns true if the passed image tag has a "size-" class attribute which would make it
      * suitable for use as a featured image
      */
-    private boolean hasSuitableClassForFeaturedImage(@NonNull String imageTag) {
-        String tagClass = ReaderHtmlUtils.getClassAttrValue(imageTag);
+    private boolean hasSuitableClassForFeaturedImage(@NonNull ReaderHtmlTag imageTag) {
+        String tagClass = imageTag.getAttribute("class");
         return (tagClass != null
                 && (tagClass.contains("size-full")
                     || tagClass.contains("size-large")
@@ -23,6 +23,7 @@ import org.wordpress.android.util.StringUtils;
 import org.wordpress.android.util.WPMediaUtils;
 import org.wordpress.android.util.analytics.AnalyticsUtils;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -33,8 +34,13 @@ import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 
 public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptimizationListener {
-    private static List<MediaModel> sPendingUploads = new ArrayList<>();
-    private static List<MediaModel> sInProgressUploads = new ArrayList<>();
+    // bounds of the number of parallel uploads, which adapts to the measured throughput within them
+    private static final int MIN_PARALLEL_UPLOADS = 1;
+    private static final int INITIAL_PARALLEL_UPLOADS = 3;
+    private static final int MAX_PARALLEL_UPLOADS = 6;
+
+    private static final MediaUploadScheduler sScheduler =
+            new MediaUploadScheduler(MIN_PARALLEL_UPLOADS, INITIAL_PARALLEL_UPLOADS, MAX_PARALLEL_UPLOADS);
     private static ConcurrentHashMap<Integer, Float> sOptimizationProgressByMediaId = new ConcurrentHashMap<>();
 
     @Inject Dispatcher mDispatcher;
@@ -55,12 +61,12 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
 
     @Override
     public boolean hasInProgressUploads() {
-        return !sInProgressUploads.isEmpty() || !sPendingUploads.isEmpty();
+        return sScheduler.hasInProgressUploads() || sScheduler.hasPendingUploads();
     }
 
     @Override
     public void cancelInProgressUploads() {
-        for (MediaModel oneUpload : sInProgressUploads) {
+        for (MediaModel oneUpload : sScheduler.getInProgressUploads()) {
             cancelUpload(oneUpload, false);
         }
     }
@@ -72,23 +78,18 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
     }
 
     static boolean hasInProgressMediaUploadsForPost(int postId) {
-        synchronized (sInProgressUploads) {
-            for (MediaModel queuedMedia : sInProgressUploads) {
-                if (queuedMedia.getLocalPostId() == postId) {
-                    return true;
-                }
+        for (MediaModel queuedMedia : sScheduler.getInProgressUploads()) {
+            if (queuedMedia.getLocalPostId() == postId) {
+                return true;
             }
         }
-
         return false;
     }
 
     static boolean hasPendingMediaUploadsForPost(int postId) {
-        synchronized (sPendingUploads) {
-            for (MediaModel queuedMedia : sPendingUploads) {
-                if (queuedMedia.getLocalPostId() == postId) {
-                    return true;
-                }
+        for (MediaModel queuedMedia : sScheduler.getPendingUploads()) {
+            if (queuedMedia.getLocalPostId() == postId) {
+                return true;
             }
         }
         return false;
@@ -119,38 +120,28 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
         }
 
         List<MediaModel> mediaList = new ArrayList<>();
-        synchronized (sInProgressUploads) {
-            for (MediaModel queuedMedia : sInProgressUploads) {
-                if (queuedMedia.getLocalPostId() == postModel.getId()) {
-                    mediaList.add(queuedMedia);
-                }
+        for (MediaModel queuedMedia : sScheduler.getInProgressUploads()) {
+            if (queuedMedia.getLocalPostId() == postModel.getId()) {
+                mediaList.add(queuedMedia);
             }
         }
 
-        synchronized (sPendingUploads) {
-            for (MediaModel queuedMedia : sPendingUploads) {
-                if (queuedMedia.getLocalPostId() == postModel.getId()) {
-                    mediaList.add(queuedMedia);
-                }
+        for (MediaModel queuedMedia : sScheduler.getPendingUploads()) {
+            if (queuedMedia.getLocalPostId() == postModel.getId()) {
+                mediaList.add(queuedMedia);
             }
         }
         return mediaList;
     }
 
     static boolean isPendingOrInProgressMediaUpload(int mediaId) {
-        synchronized (sInProgressUploads) {
-            for (MediaModel uploadingMedia : sInProgressUploads) {
-                if (uploadingMedia.getId() == mediaId) {
-                    return true;
-                }
-            }
+        if (sScheduler.isInProgress(mediaId)) {
+            return true;
         }
 
-        synchronized (sPendingUploads) {
-            for (MediaModel queuedMedia : sPendingUploads) {
-                if (queuedMedia.getId() == mediaId) {
-                    return true;
-                }
+        for (MediaModel queuedMedia : sScheduler.getPendingUploads()) {
+            if (queuedMedia.getId() == mediaId) {
+                return true;
             }
         }
         return false;
@@ -174,14 +165,14 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
                 AppLog.i(T.MEDIA, "MediaUploadHandler > Upload successfully canceled");
                 trackUploadMediaEvents(AnalyticsTracker.Stat.MEDIA_UPLOAD_CANCELED,
                         getMediaFromInProgressQueueById(event.media.getId()), null);
-                completeUploadWithId(event.media.getId());
+                completeUploadWithId(event.media.getId(), MediaUploadScheduler.Result.CANCELED);
                 uploadNextInQueue();
             } else if (event.completed) {
                 AppLog.i(T.MEDIA, "MediaUploadHandler > Upload completed - localId=" + event.media.getId() + " title="
                                   + event.media.getTitle());
                 trackUploadMediaEvents(AnalyticsTracker.Stat.MEDIA_UPLOAD_SUCCESS,
                         getMediaFromInProgressQueueById(event.media.getId()), null);
-                completeUploadWithId(event.media.getId());
+                completeUploadWithId(event.media.getId(), MediaUploadScheduler.Result.SUCCEEDED);
                 uploadNextInQueue();
             } else {
                 AppLog.i(T.MEDIA, "MediaUploadHandler > " + event.media.getId() + " - progress: " + event.progress);
@@ -204,47 +195,37 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
             properties.put("error_status_code", event.error.statusCode);
             trackUploadMediaEvents(AnalyticsTracker.Stat.MEDIA_UPLOAD_ERROR, media, properties);
 
-            completeUploadWithId(event.media.getId());
+            completeUploadWithId(event.media.getId(), MediaUploadScheduler.Result.FAILED);
             uploadNextInQueue();
         }
     }
 
-    private synchronized void uploadNextInQueue() {
-        MediaModel next = getNextMediaToUpload();
-
-        if (next == null) {
-            AppLog.w(T.MEDIA, "MediaUploadHandler > No more media items to upload. Skipping this request.");
-            checkIfUploadsComplete();
-            return;
-        }
-
-        prepareForUpload(next);
+    /*
+     * starts as many pending uploads as the scheduler allows to run in parallel
+     */
+    private void uploadNextInQueue() {
+        sScheduler.schedule(this::prepareForUpload);
+        checkIfUploadsComplete();
     }
 
-    private synchronized void completeUploadWithId(int id) {
+    private void completeUploadWithId(int id, @NonNull MediaUploadScheduler.Result result) {
         MediaModel media = getMediaFromInProgressQueueById(id);
+        MediaUploadScheduler.UploadStats stats = sScheduler.complete(id, result);
         if (media != null) {
-            sInProgressUploads.remove(media);
             trackUploadMediaEvents(AnalyticsTracker.Stat.MEDIA_UPLOAD_STARTED, media, null);
         }
-    }
-
-    private MediaModel getMediaFromInProgressQueueById(int id) {
-        for (MediaModel media : sInProgressUploads) {
-            if (media.getId() == id) {
-                return media;
-            }
+        if (stats != null) {
+            AppLog.i(T.MEDIA, "MediaUploadHandler > Upload " + result + " - localId=" + id
+                              + " queueWaitMs=" + stats.getQueueWaitMs()
+                              + " transferMs=" + stats.getTransferMs()
+                              + " bytes=" + stats.getBytes()
+                              + " bytesPerSecond=" + stats.getBytesPerSecond()
+                              + " parallelUploads=" + sScheduler.getParallelism());
         }
-        return null;
     }
 
-    private MediaModel getNextMediaToUpload() {
-        synchronized (sPendingUploads) {
-            if (!sPendingUploads.isEmpty()) {
-                return sPendingUploads.remove(0);
-            }
-        }
-        return null;
+    private MediaModel getMediaFromInProgressQueueById(int id) {
+        return sScheduler.getInProgressUpload(id);
     }
 
     private void addUniqueMediaToQueue(MediaModel media) {
@@ -253,26 +234,17 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
                 return;
             }
 
-            synchronized (sPendingUploads) {
-                // no match found in queue
-                sPendingUploads.add(media);
-            }
-        }
-    }
-
-    private void addUniqueMediaToInProgressUploads(@NonNull MediaModel mediaToAdd) {
-        synchronized (sInProgressUploads) {
-            for (MediaModel media : sInProgressUploads) {
-                if (media.getId() == mediaToAdd.getId()) {
-                    return;
-                }
-            }
-            sInProgressUploads.add(mediaToAdd);
+            // no match found in queue
+            sScheduler.enqueue(media);
         }
     }
 
     private void cancelUpload(MediaModel oneUpload, boolean delete) {
         if (oneUpload != null) {
+            // a pending upload must not be started once it's canceled
+            if (sScheduler.removePending(oneUpload.getId())) {
+                checkIfUploadsComplete();
+            }
             SiteModel site = mSiteStore.getSiteByLocalId(oneUpload.getLocalSiteId());
             if (site != null) {
                 dispatchCancelAction(oneUpload, site, delete);
@@ -285,7 +257,6 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
 
     private void prepareForUpload(@NonNull MediaModel media) {
         if (media.isVideo() && WPMediaUtils.isVideoOptimizationEnabled()) {
-            addUniqueMediaToInProgressUploads(media);
             new VideoOptimizer(media, this).start();
         } else {
             dispatchUploadAction(media);
@@ -298,13 +269,14 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
         // somehow lost our reference to the site, complete this action
         if (site == null) {
             AppLog.w(T.MEDIA, "MediaUploadHandler > Unexpected state, site is null. Skipping this request.");
-            checkIfUploadsComplete();
+            sScheduler.complete(media.getId(), MediaUploadScheduler.Result.CANCELED);
+            uploadNextInQueue();
             return;
         }
 
         AppLog.i(T.MEDIA, "MediaUploadHandler > Dispatching upload action for media with local id: "
                           + media.getId() + " and path: " + media.getFilePath());
-        addUniqueMediaToInProgressUploads(media);
+        sScheduler.onTransferStarted(media.getId(), getFileSize(media));
 
         mDispatcher.dispatch(MediaActionBuilder.newUpdateMediaAction(media));
         UploadMediaPayload payload = new UploadMediaPayload(site, media, AppPrefs.isStripImageLocation());
@@ -318,8 +290,12 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
         mDispatcher.dispatch(MediaActionBuilder.newCancelMediaUploadAction(payload));
     }
 
+    private static long getFileSize(@NonNull MediaModel media) {
+        return media.getFilePath() != null ? new File(media.getFilePath()).length() : 0;
+    }
+
     private boolean checkIfUploadsComplete() {
-        if (sPendingUploads.isEmpty() && sInProgressUploads.isEmpty()) {
+        if (!sScheduler.hasPendingUploads() && !sScheduler.hasInProgressUploads()) {
             AppLog.i(T.MEDIA, "MediaUploadHandler > Completed");
             return true;
         }
@@ -334,18 +310,14 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
         if (event.post == null) {
             return;
         }
-        synchronized (sInProgressUploads) {
-            for (MediaModel inProgressUpload : sInProgressUploads) {
-                if (inProgressUpload.getLocalPostId() == event.post.getId()) {
-                    cancelUpload(inProgressUpload, true);
-                }
+        for (MediaModel inProgressUpload : sScheduler.getInProgressUploads()) {
+            if (inProgressUpload.getLocalPostId() == event.post.getId()) {
+                cancelUpload(inProgressUpload, true);
             }
         }
-        synchronized (sPendingUploads) {
-            for (MediaModel pendingUpload : sPendingUploads) {
-                if (pendingUpload.getLocalPostId() == event.post.getId()) {
-                    cancelUpload(pendingUpload, true);
-                }
+        for (MediaModel pendingUpload : sScheduler.getPendingUploads()) {
+            if (pendingUpload.getLocalPostId() == event.post.getId()) {
+                cancelUpload(pendingUpload, true);
             }
         }
     }
@@ -393,7 +365,7 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
     }
 
     private boolean mediaAlreadyQueuedOrUploading(MediaModel mediaModel) {
-        for (MediaModel queuedMedia : sInProgressUploads) {
+        for (MediaModel queuedMedia : sScheduler.getInProgressUploads()) {
             AppLog.i(T.MEDIA, "MediaUploadHandler > Attempting to add media with path " + mediaModel.getFilePath()
                               + " and site id " + mediaModel.getLocalSiteId() + ". Comparing with " + queuedMedia
                                       .getFilePath()
@@ -403,15 +375,13 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
             }
         }
 
-        synchronized (sPendingUploads) {
-            for (MediaModel queuedMedia : sPendingUploads) {
-                AppLog.i(T.MEDIA, "MediaUploadHandler > Attempting to add media with path " + mediaModel.getFilePath()
-                                  + " and site id " + mediaModel.getLocalSiteId() + ". Comparing with " + queuedMedia
-                                          .getFilePath()
-                                  + ", " + queuedMedia.getLocalSiteId());
-                if (isSameMediaFileQueuedForThisPost(queuedMedia, mediaModel)) {
-                    return true;
-                }
+        for (MediaModel queuedMedia : sScheduler.getPendingUploads()) {
+            AppLog.i(T.MEDIA, "MediaUploadHandler > Attempting to add media with path " + mediaModel.getFilePath()
+                              + " and site id " + mediaModel.getLocalSiteId() + ". Comparing with " + queuedMedia
+                                      .getFilePath()
+                              + ", " + queuedMedia.getLocalSiteId());
+            if (isSameMediaFileQueuedForThisPost(queuedMedia, mediaModel)) {
+                return true;
             }
         }
         return false;
@@ -456,7 +426,7 @@ public class MediaUploadHandler implements UploadHandler<MediaModel>, VideoOptim
     public void onVideoOptimizationCompleted(@NonNull MediaModel media) {
         sOptimizationProgressByMediaId.remove(media.getId());
         // make sure this media should still be uploaded (may have been cancelled during optimization)
-        if (sInProgressUploads.contains(media)) {
+        if (sScheduler.isInProgress(media.getId())) {
             dispatchUploadAction(media);
         } else {
             AppLog.d(T.MEDIA, "MediaUploadHandler > skipping upload of optimized media");
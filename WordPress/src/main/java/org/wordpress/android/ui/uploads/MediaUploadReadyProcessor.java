@@ -12,6 +12,8 @@ import org.wordpress.android.ui.posts.PostUtils;
 import org.wordpress.android.ui.prefs.AppPrefs;
 import org.wordpress.android.util.helpers.MediaFile;
 
+import java.util.Map;
+
 import javax.inject.Inject;
 
 
@@ -21,8 +23,9 @@ public class MediaUploadReadyProcessor implements MediaUploadReadyListener {
     }
 
     @Override
-    public PostModel replaceMediaFileWithUrlInPost(@Nullable PostModel post, @NonNull String localMediaId,
-                                                   MediaFile mediaFile, @Nullable SiteModel site) {
+    public PostModel replaceMediaFilesWithUrlsInPost(@Nullable PostModel post,
+                                                     @NonNull Map<String, MediaFile> mediaFiles,
+                                                     @Nullable SiteModel site) {
         if (post != null) {
             boolean showAztecEditor = AppPrefs.isAztecEditorEnabled();
             boolean showGutenbergEditor = AppPrefs.isGutenbergEditorEnabled();
@@ -30,11 +33,14 @@ public class MediaUploadReadyProcessor implements MediaUploadReadyListener {
             if (showGutenbergEditor && PostUtils.contentContainsGutenbergBlocks(post.getContent())) {
                 String siteUrl = site != null ? site.getUrl() : "";
                 post.setContent(
-                        PostUtils.replaceMediaFileWithUrlInGutenbergPost(post.getContent(), localMediaId, mediaFile,
-                                siteUrl));
+                        PostUtils.replaceMediaFilesWithUrlsInGutenbergPost(post.getContent(), mediaFiles, siteUrl));
             } else if (showAztecEditor) {
-                post.setContent(AztecEditorFragment.replaceMediaFileWithUrl(WordPress.getContext(), post.getContent(),
-                                                                            localMediaId, mediaFile));
+                String content = post.getContent();
+                for (Map.Entry<String, MediaFile> entry : mediaFiles.entrySet()) {
+                    content = AztecEditorFragment.replaceMediaFileWithUrl(WordPress.getContext(), content,
+                            entry.getKey(), entry.getValue());
+                }
+                post.setContent(content);
             }
         }
 
@@ -0,0 +1,316 @@
+package org.wordpress.android.ui.uploads;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.wordpress.android.fluxc.model.MediaModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Schedules the uploads started by {@link MediaUploadHandler}. Pending and in-progress uploads are kept in lock-free
+ * collections, pending uploads are started round-robin across sites so a large gallery on one site doesn't hold back
+ * the uploads of other sites, and the number of parallel uploads is limited.
+ * <p>
+ * The limit adapts to the measured transfer rate: it grows by one while uploads keep their rate, shrinks by one when
+ * the rate of an upload drops well below the average (the connection is saturated) and is halved when an upload
+ * fails.
+ */
+class MediaUploadScheduler {
+    interface UploadStarter {
+        void startUpload(@NonNull MediaModel media);
+    }
+
+    enum Result {
+        SUCCEEDED,
+        FAILED,
+        CANCELED
+    }
+
+    static class UploadStats {
+        private final long mQueueWaitMs;
+        private final long mTransferMs;
+        private final long mBytes;
+
+        UploadStats(long queueWaitMs, long transferMs, long bytes) {
+            mQueueWaitMs = queueWaitMs;
+            mTransferMs = transferMs;
+            mBytes = bytes;
+        }
+
+        long getQueueWaitMs() {
+            return mQueueWaitMs;
+        }
+
+        long getTransferMs() {
+            return mTransferMs;
+        }
+
+        long getBytes() {
+            return mBytes;
+        }
+
+        long getBytesPerSecond() {
+            return mTransferMs > 0 ? mBytes * 1000 / mTransferMs : 0;
+        }
+    }
+
+    private static class PendingUpload {
+        private final MediaModel mMedia;
+        private final long mEnqueuedAtNanos;
+
+        PendingUpload(MediaModel media, long enqueuedAtNanos) {
+            mMedia = media;
+            mEnqueuedAtNanos = enqueuedAtNanos;
+        }
+    }
+
+    private static class InProgressUpload {
+        private final MediaModel mMedia;
+        private final long mEnqueuedAtNanos;
+        private final long mStartedAtNanos;
+        private volatile long mTransferStartedAtNanos;
+        private volatile long mBytes;
+
+        InProgressUpload(PendingUpload pendingUpload, long startedAtNanos) {
+            mMedia = pendingUpload.mMedia;
+            mEnqueuedAtNanos = pendingUpload.mEnqueuedAtNanos;
+            mStartedAtNanos = startedAtNanos;
+        }
+    }
+
+    // rate changes smaller than these don't change the parallelism
+    private static final double RATE_KEPT_RATIO = 0.75;
+    private static final double RATE_DROPPED_RATIO = 0.5;
+    private static final double RATE_SMOOTHING = 0.3;
+
+    private final int mMinParallelism;
+    private final int mMaxParallelism;
+    private final AtomicInteger mParallelism;
+    private final AtomicInteger mRunningCount = new AtomicInteger();
+    private final AtomicLong mAverageBytesPerSecond = new AtomicLong();
+
+    private final ConcurrentSkipListMap<Integer, Queue<PendingUpload>> mPendingBySite =
+            new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Integer, InProgressUpload> mInProgress = new ConcurrentHashMap<>();
+    private final AtomicInteger mLastScheduledSiteId = new AtomicInteger(Integer.MIN_VALUE);
+
+    MediaUploadScheduler(int minParallelism, int initialParallelism, int maxParallelism) {
+        if (minParallelism < 1 || initialParallelism < minParallelism || maxParallelism < initialParallelism) {
+            throw new IllegalArgumentException("Expected 1 <= min <= initial <= max parallelism");
+        }
+        mMinParallelism = minParallelism;
+        mMaxParallelism = maxParallelism;
+        mParallelism = new AtomicInteger(initialParallelism);
+    }
+
+    void enqueue(@NonNull MediaModel media) {
+        getSiteQueue(media.getLocalSiteId()).add(new PendingUpload(media, System.nanoTime()));
+    }
+
+    /**
+     * Removes the media from the pending uploads - returns false if it wasn't pending.
+     */
+    boolean removePending(int mediaId) {
+        boolean removed = false;
+        for (Queue<PendingUpload> siteQueue : mPendingBySite.values()) {
+            removed |= siteQueue.removeIf(pendingUpload -> pendingUpload.mMedia.getId() == mediaId);
+        }
+        return removed;
+    }
+
+    /**
+     * Starts as many pending uploads as the current parallelism allows. A pending upload of a media which is already
+     * uploading is put back in the queue, it's started once the running upload completes.
+     */
+    void schedule(@NonNull UploadStarter starter) {
+        List<PendingUpload> deferredUploads = new ArrayList<>();
+        try {
+            while (tryAcquireSlot()) {
+                PendingUpload next = pollNextPendingUpload();
+                if (next == null) {
+                    mRunningCount.decrementAndGet();
+                    return;
+                }
+                InProgressUpload upload = new InProgressUpload(next, System.nanoTime());
+                if (mInProgress.putIfAbsent(next.mMedia.getId(), upload) != null) {
+                    // the same media is already uploading and holds its own slot
+                    mRunningCount.decrementAndGet();
+                    deferredUploads.add(next);
+                    continue;
+                }
+                starter.startUpload(next.mMedia);
+            }
+        } finally {
+            // re-queued once the loop is done so the same upload isn't polled again by this call
+            for (PendingUpload deferredUpload : deferredUploads) {
+                getSiteQueue(deferredUpload.mMedia.getLocalSiteId()).add(deferredUpload);
+            }
+        }
+    }
+
+    /**
+     * Called once the media is actually sent to the server (video uploads are optimized first), so the transfer
+     * time doesn't include the optimization.
+     */
+    void onTransferStarted(int mediaId, long bytes) {
+        InProgressUpload upload = mInProgress.get(mediaId);
+        if (upload != null) {
+            upload.mTransferStartedAtNanos = System.nanoTime();
+            upload.mBytes = bytes;
+        }
+    }
+
+    /**
+     * Removes the upload from the in-progress uploads and frees its slot - returns its stats, or null if the media
+     * wasn't being uploaded.
+     */
+    @Nullable
+    UploadStats complete(int mediaId, @NonNull Result result) {
+        InProgressUpload upload = mInProgress.remove(mediaId);
+        if (upload == null) {
+            return null;
+        }
+        mRunningCount.decrementAndGet();
+
+        long now = System.nanoTime();
+        long transferStartedAt = upload.mTransferStartedAtNanos != 0 ? upload.mTransferStartedAtNanos : now;
+        UploadStats stats = new UploadStats(
+                TimeUnit.NANOSECONDS.toMillis(upload.mStartedAtNanos - upload.mEnqueuedAtNanos),
+                TimeUnit.NANOSECONDS.toMillis(now - transferStartedAt),
+                upload.mBytes);
+        adaptParallelism(stats, result);
+        return stats;
+    }
+
+    @Nullable
+    MediaModel getInProgressUpload(int mediaId) {
+        InProgressUpload upload = mInProgress.get(mediaId);
+        return upload != null ? upload.mMedia : null;
+    }
+
+    boolean isInProgress(int mediaId) {
+        return mInProgress.containsKey(mediaId);
+    }
+
+    @NonNull
+    List<MediaModel> getInProgressUploads() {
+        List<MediaModel> uploads = new ArrayList<>(mInProgress.size());
+        for (InProgressUpload upload : mInProgress.values()) {
+            uploads.add(upload.mMedia);
+        }
+        return uploads;
+    }
+
+    @NonNull
+    List<MediaModel> getPendingUploads() {
+        List<MediaModel> uploads = new ArrayList<>();
+        for (Queue<PendingUpload> siteQueue : mPendingBySite.values()) {
+            for (PendingUpload pendingUpload : siteQueue) {
+                uploads.add(pendingUpload.mMedia);
+            }
+        }
+        return uploads;
+    }
+
+    boolean hasPendingUploads() {
+        for (Queue<PendingUpload> siteQueue : mPendingBySite.values()) {
+            if (!siteQueue.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean hasInProgressUploads() {
+        return !mInProgress.isEmpty();
+    }
+
+    int getParallelism() {
+        return mParallelism.get();
+    }
+
+    @NonNull
+    private Queue<PendingUpload> getSiteQueue(int localSiteId) {
+        Queue<PendingUpload> siteQueue = mPendingBySite.get(localSiteId);
+        if (siteQueue == null) {
+            siteQueue = new ConcurrentLinkedQueue<>();
+            Queue<PendingUpload> existingQueue = mPendingBySite.putIfAbsent(localSiteId, siteQueue);
+            if (existingQueue != null) {
+                siteQueue = existingQueue;
+            }
+        }
+        return siteQueue;
+    }
+
+    private boolean tryAcquireSlot() {
+        while (true) {
+            int running = mRunningCount.get();
+            if (running >= mParallelism.get()) {
+                return false;
+            }
+            if (mRunningCount.compareAndSet(running, running + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /*
+     * returns the next pending upload of the first site after the last scheduled one which has pending uploads
+     */
+    @Nullable
+    private PendingUpload pollNextPendingUpload() {
+        int lastSiteId = mLastScheduledSiteId.get();
+        PendingUpload next = pollFirst(mPendingBySite.tailMap(lastSiteId, false));
+        if (next == null) {
+            next = pollFirst(mPendingBySite.headMap(lastSiteId, true));
+        }
+        if (next != null) {
+            mLastScheduledSiteId.set(next.mMedia.getLocalSiteId());
+        }
+        return next;
+    }
+
+    @Nullable
+    private static PendingUpload pollFirst(@NonNull Map<Integer, Queue<PendingUpload>> pendingBySite) {
+        for (Queue<PendingUpload> siteQueue : pendingBySite.values()) {
+            PendingUpload next = siteQueue.poll();
+            if (next != null) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private void adaptParallelism(@NonNull UploadStats stats, @NonNull Result result) {
+        if (result == Result.FAILED) {
+            setParallelism(mParallelism.get() / 2);
+            return;
+        }
+        long rate = stats.getBytesPerSecond();
+        if (result == Result.CANCELED || rate <= 0) {
+            return;
+        }
+
+        long average = mAverageBytesPerSecond.get();
+        mAverageBytesPerSecond.set(average == 0 ? rate : (long) (average + RATE_SMOOTHING * (rate - average)));
+        if (average == 0 || rate >= average * RATE_KEPT_RATIO) {
+            setParallelism(mParallelism.get() + 1);
+        } else if (rate < average * RATE_DROPPED_RATIO) {
+            setParallelism(mParallelism.get() - 1);
+        }
+    }
+
+    private void setParallelism(int parallelism) {
+        mParallelism.set(Math.max(mMinParallelism, Math.min(mMaxParallelism, parallelism)));
+    }
+}
@@ -0,0 +1,61 @@
+package org.wordpress.android.util
+
+import android.os.SystemClock
+import org.wordpress.android.util.AppLog.T
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Traces the startup of the app: the time from the first screen being started (`AppInitializer.deferredInit`) to
+ * My Site rendering the selected site for the first time, and the startup fetches sent and saved by
+ * `FetchScheduler` until then.
+ */
+@Singleton
+class StartupTracer @Inject constructor() {
+    private val startedAt = AtomicLong(NOT_STARTED)
+    private val isSiteRendered = AtomicBoolean()
+    private val fetchesSent = AtomicInteger()
+    private val fetchesSaved = AtomicInteger()
+
+    /**
+     * The number of fetches sent by `FetchScheduler` since the app started
+     */
+    val sentFetchCount: Int
+        get() = fetchesSent.get()
+
+    /**
+     * The number of fetches `FetchScheduler` didn't send since the app started, because the same fetch was already
+     * running or the resource was still fresh
+     */
+    val savedFetchCount: Int
+        get() = fetchesSaved.get()
+
+    fun onStartup() {
+        startedAt.compareAndSet(NOT_STARTED, SystemClock.elapsedRealtime())
+    }
+
+    fun onFetchSent() {
+        fetchesSent.incrementAndGet()
+    }
+
+    fun onFetchSaved() {
+        fetchesSaved.incrementAndGet()
+    }
+
+    fun onSiteRendered() {
+        val startedAt = startedAt.get()
+        if (startedAt != NOT_STARTED && isSiteRendered.compareAndSet(false, true)) {
+            AppLog.i(
+                T.MAIN, "Startup: first site rendered in ${SystemClock.elapsedRealtime() - startedAt} ms, " +
+                        "$sentFetchCount fetches sent, $savedFetchCount saved"
+            )
+        }
+    }
+
+    companion object {
+        private const val NOT_STARTED = -1L
+    }
+}
@@ -0,0 +1,58 @@
+package org.wordpress.android.util.image
+
+import com.bumptech.glide.load.Option
+import java.util.concurrent.atomic.AtomicLongArray
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Counters of the images fetched from the network by Glide, per [ImageType]: ImageManager passes the type of every
+ * request with the [IMAGE_TYPE] option, and the fetchers record the bytes they read, the time until the response
+ * headers arrived and the time Glide took to decode the streamed body (which includes reading it).
+ */
+@Singleton
+class ImageFetchStats @Inject constructor() {
+    data class Counters(
+        val fetchCount: Long,
+        val bytesFetched: Long,
+        val timeToFirstByteMs: Long,
+        val decodeTimeMs: Long
+    )
+
+    private val types = ImageType.values()
+    private val fetchCounts = AtomicLongArray(types.size)
+    private val bytesFetched = AtomicLongArray(types.size)
+    private val timeToFirstByteMs = AtomicLongArray(types.size)
+    private val decodeTimeMs = AtomicLongArray(types.size)
+
+    fun recordTimeToFirstByte(imageType: ImageType, durationMs: Long) {
+        fetchCounts.incrementAndGet(imageType.ordinal)
+        timeToFirstByteMs.addAndGet(imageType.ordinal, durationMs)
+    }
+
+    fun recordDecode(imageType: ImageType, bytes: Long, durationMs: Long) {
+        bytesFetched.addAndGet(imageType.ordinal, bytes)
+        decodeTimeMs.addAndGet(imageType.ordinal, durationMs)
+    }
+
+    /**
+     * Returns the totals of the fetches of the passed type since the app started
+     */
+    fun getCounters(imageType: ImageType) = Counters(
+        fetchCount = fetchCounts[imageType.ordinal],
+        bytesFetched = bytesFetched[imageType.ordinal],
+        timeToFirstByteMs = timeToFirstByteMs[imageType.ordinal],
+        decodeTimeMs = decodeTimeMs[imageType.ordinal]
+    )
+
+    fun getAllCounters(): Map<ImageType, Counters> = types.associateWith { getCounters(it) }
+
+    companion object {
+        /**
+         * The type of the image a Glide request loads, only part of the memory cache key so it doesn't change the disk
+         * cache key of the images
+         */
+        @JvmField
+        val IMAGE_TYPE: Option<ImageType> = Option.memory("org.wordpress.android.util.image.ImageType")
+    }
+}
@@ -112,6 +112,7 @@ class ImageManager @Inject constructor(
             .load(imgUrl)
             .addFallback(imageType)
             .addPlaceholder(imageType)
+            .setImageType(imageType)
             .applyScaleType(scaleType)
             .into(imageView)
             .clearOnDetach()
@@ -142,6 +143,7 @@ class ImageManager @Inject constructor(
                     .load(videoUrl)
                     .addFallback(imageType)
                     .addPlaceholder(imageType)
+                    .setImageType(imageType)
                     .applyScaleType(scaleType)
                     .attachRequestListener(requestListener)
                     .apply(RequestOptions().frame(0))
@@ -156,6 +158,7 @@ class ImageManager @Inject constructor(
                 Glide.with(context)
                     .load(fallbackDrawable)
                     .addPlaceholder(imageType)
+                    .setImageType(imageType)
                     .addFallback(imageType)
                     .into(imageView)
                     .clearOnDetach()
@@ -184,6 +187,7 @@ class ImageManager @Inject constructor(
             .load(imgUrl)
             .addFallback(imageType)
             .addPlaceholder(imageType)
+            .setImageType(imageType)
             .applyScaleType(scaleType)
             .applySize(width, height)
             .into(awt)
@@ -207,6 +211,7 @@ class ImageManager @Inject constructor(
             .load(imgUrl)
             .addFallback(imageType)
             .addPlaceholder(imageType)
+            .setImageType(imageType)
             .circleCrop()
             .attachRequestListener(requestListener)
             .addSignature(version)
@@ -241,6 +246,7 @@ class ImageManager @Inject constructor(
             .load(imageData)
             .addFallback(imageType)
             .addPlaceholder(imageType)
+            .setImageType(imageType)
             .circleCrop()
             .attachRequestListener(requestListener)
             .addSignature(version)
@@ -268,6 +274,7 @@ class ImageManager @Inject constructor(
             .transform(CenterCrop(), RoundedCorners(cornerRadius))
             .addFallback(imageType)
             .addPlaceholder(imageType)
+            .setImageType(imageType)
             .attachRequestListener(requestListener)
             .into(imageView)
             .clearOnDetach()
@@ -295,6 +302,7 @@ class ImageManager @Inject constructor(
             .load(Uri.parse(imgUrl))
             .addFallback(imageType)
             .addPlaceholder(imageType)
+            .setImageType(imageType)
             .addThumbnail(context, thumbnailUrl, requestListener)
             .applyScaleType(scaleType)
             .attachRequestListener(requestListener)
@@ -319,6 +327,7 @@ class ImageManager @Inject constructor(
             .load(Uri.parse(imgUrl))
             .addFallback(imageType)
             .addPlaceholder(imageType)
+            .setImageType(imageType)
             .applyScaleType(CENTER)
             .attachRequestListener(requestListener)
             .transition(transitionOptions)
@@ -376,6 +385,7 @@ class ImageManager @Inject constructor(
             .load(design)
             .addFallback(ImageType.THEME)
             .addPlaceholder(ImageType.THEME)
+            .setImageType(ImageType.THEME)
             .applyScaleType(FIT_CENTER)
             .attachRequestListener(requestListener)
             .into(view)
@@ -406,6 +416,7 @@ class ImageManager @Inject constructor(
             .load(imgUri)
             .addFallback(imageType)
             .addPlaceholder(imageType)
+            .setImageType(imageType)
             .addThumbnail(context, thumbnailUrl, requestListener)
             .applyScaleType(scaleType)
             .attachRequestListener(requestListener)
@@ -496,6 +507,7 @@ class ImageManager @Inject constructor(
             .load(imgUrl)
             .addFallback(imageType)
             .addPlaceholder(imageType)
+            .setImageType(imageType)
             .into(viewTarget)
             .clearOnDetach()
     }
@@ -589,6 +601,13 @@ class ImageManager @Inject constructor(
         }
     }
 
+    /**
+     * Lets the Glide loaders count the fetched images per type, see [ImageFetchStats].
+     */
+    private fun <T : Any> RequestBuilder<T>.setImageType(imageType: ImageType): RequestBuilder<T> {
+        return this.set(ImageFetchStats.IMAGE_TYPE, imageType)
+    }
+
     /**
      * Changing the signature invalidates cache.
      */
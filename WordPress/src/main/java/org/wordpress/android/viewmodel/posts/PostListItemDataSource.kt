@@ -54,12 +54,10 @@ class PostListItemDataSource(
         isListFullyFetched: Boolean
     ): List<PostListItemIdentifier> {
         val localPostIds = postStore.getLocalPostIdsForDescriptor(listDescriptor)
-        val actualItems = localPostIds.map { LocalPostId(id = it) } + remoteItemIds.map { RemotePostId(id = it) }
 
         // We only want to show the end list indicator if the list is fully fetched and it's not empty
-        return if (isListFullyFetched && actualItems.isNotEmpty()) {
-            (actualItems + listOf(EndListIndicatorIdentifier))
-        } else actualItems
+        val showEndListIndicator = isListFullyFetched && (localPostIds.isNotEmpty() || remoteItemIds.isNotEmpty())
+        return PostListItemIdentifiers(localPostIds, remoteItemIds, showEndListIndicator)
     }
 
     override fun getItemsAndFetchIfNecessary(
@@ -115,3 +113,28 @@ class PostListItemDataSource(
             transform(post)
         }
 }
+
+/**
+ * The identifiers of the local posts, followed by the remote posts and the end list indicator. The remote item ids
+ * are read by `ListStore` as they're requested, so they're wrapped as their positions are accessed instead of being
+ * copied.
+ */
+private class PostListItemIdentifiers(
+    private val localPostIds: List<LocalId>,
+    private val remoteItemIds: List<RemoteId>,
+    showEndListIndicator: Boolean
+) : AbstractList<PostListItemIdentifier>() {
+    override val size: Int = localPostIds.size + remoteItemIds.size + if (showEndListIndicator) 1 else 0
+
+    override fun get(index: Int): PostListItemIdentifier {
+        if (index !in 0 until size) {
+            throw IndexOutOfBoundsException("index: $index, size: $size")
+        }
+        val remoteIndex = index - localPostIds.size
+        return when {
+            remoteIndex < 0 -> LocalPostId(id = localPostIds[index])
+            remoteIndex < remoteItemIds.size -> RemotePostId(id = remoteItemIds[remoteIndex])
+            else -> EndListIndicatorIdentifier
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.wordpress.android.datasets
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+class ReaderPostSearchTableTest {
+    @Test
+    fun `given plain words, when building the match query, then every word is a quoted prefix term`() {
+        val result = ReaderPostSearchTable.buildMatchQuery("android  reader")
+
+        assertThat(result).isEqualTo("\"android*\" \"reader*\"")
+    }
+
+    @Test
+    fun `given fts operators and punctuation, when building the match query, then they are dropped`() {
+        val result = ReaderPostSearchTable.buildMatchQuery("\"cats\" OR -dogs* NEAR(x)")
+
+        assertThat(result).isEqualTo("\"cats*\" \"OR*\" \"dogs*\" \"NEAR*\" \"x*\"")
+    }
+
+    @Test
+    fun `given a query without words, when building the match query, then there is no query`() {
+        assertThat(ReaderPostSearchTable.buildMatchQuery(" *()- ")).isNull()
+    }
+
+    @Test
+    fun `given a hit in the title, when scoring, then it ranks above the same hit in the text`() {
+        val titleHit = matchInfo(numRows = 100, hits = listOf(intArrayOf(1, 5, 5), EMPTY, EMPTY, EMPTY))
+        val textHit = matchInfo(numRows = 100, hits = listOf(EMPTY, EMPTY, intArrayOf(1, 5, 5), EMPTY))
+
+        assertThat(ReaderPostSearchTable.getScore(titleHit))
+                .isGreaterThan(ReaderPostSearchTable.getScore(textHit))
+    }
+
+    @Test
+    fun `given a rare term, when scoring, then it ranks above a common term`() {
+        val rareHit = matchInfo(numRows = 100, hits = listOf(EMPTY, EMPTY, intArrayOf(1, 2, 2), EMPTY))
+        val commonHit = matchInfo(numRows = 100, hits = listOf(EMPTY, EMPTY, intArrayOf(1, 90, 90), EMPTY))
+
+        assertThat(ReaderPostSearchTable.getScore(rareHit))
+                .isGreaterThan(ReaderPostSearchTable.getScore(commonHit))
+    }
+
+    @Test
+    fun `given truncated match info, when scoring, then the score is zero`() {
+        assertThat(ReaderPostSearchTable.getScore(ByteArray(8))).isEqualTo(0.0)
+        assertThat(ReaderPostSearchTable.getScore(null)).isEqualTo(0.0)
+    }
+
+    // builds the output of matchinfo(tbl_posts_fts, 'pcnx') for a single phrase
+    private fun matchInfo(numRows: Int, hits: List<IntArray>): ByteArray {
+        val buffer = ByteBuffer.allocate((3 + 3 * hits.size) * 4).order(ByteOrder.nativeOrder())
+        buffer.putInt(1)
+        buffer.putInt(hits.size)
+        buffer.putInt(numRows)
+        hits.forEach { column -> column.forEach { buffer.putInt(it) } }
+        return buffer.array()
+    }
+
+    companion object {
+        private val EMPTY = intArrayOf(0, 0, 0)
+    }
+}
@@ -0,0 +1,119 @@
+package org.wordpress.android.networking
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.mockito.Mock
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argThat
+import org.mockito.kotlin.doSuspendableAnswer
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+import org.wordpress.android.BaseUnitTest
+import org.wordpress.android.fluxc.Dispatcher
+import org.wordpress.android.fluxc.action.AccountAction
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.store.AccountStore.OnAccountChanged
+import org.wordpress.android.fluxc.store.SiteStore
+import org.wordpress.android.fluxc.store.SiteStore.OnSiteChanged
+import org.wordpress.android.fluxc.store.SiteStore.SiteError
+import org.wordpress.android.fluxc.store.SiteStore.SiteErrorType
+import org.wordpress.android.networking.FetchScheduler.FetchRequest
+import org.wordpress.android.util.StartupTracer
+
+@ExperimentalCoroutinesApi
+class FetchSchedulerTest : BaseUnitTest() {
+    @Mock
+    lateinit var dispatcher: Dispatcher
+
+    @Mock
+    lateinit var siteStore: SiteStore
+
+    private val startupTracer = StartupTracer()
+    private val site = SiteModel().apply { id = 1 }
+    private var now = 0L
+    private lateinit var fetchScheduler: FetchScheduler
+
+    @Before
+    fun setUp() {
+        fetchScheduler = FetchScheduler(dispatcher, siteStore, startupTracer, testScope(), testDispatcher())
+        fetchScheduler.elapsedRealtime = { now }
+    }
+
+    @Test
+    fun `joins the running fetch of the same resource`() = test {
+        val response = CompletableDeferred<OnSiteChanged>()
+        whenever(siteStore.fetchSite(site)).doSuspendableAnswer { response.await() }
+
+        val firstJob = fetchScheduler.schedule(FetchRequest.Site(site))
+        val secondJob = fetchScheduler.schedule(FetchRequest.Site(site))
+        response.complete(OnSiteChanged(1))
+
+        assertThat(secondJob).isSameAs(firstJob)
+        assertThat(firstJob.isCompleted).isTrue
+        verify(siteStore, times(1)).fetchSite(site)
+        verify(dispatcher).emitChange(response.getCompleted())
+        assertThat(startupTracer.sentFetchCount).isEqualTo(1)
+        assertThat(startupTracer.savedFetchCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `skips the fetch of a resource while it's fresh unless it's forced`() = test {
+        whenever(siteStore.fetchSite(site)).thenReturn(OnSiteChanged(1))
+
+        fetchScheduler.schedule(FetchRequest.Site(site))
+        now += SITE_FRESHNESS_WINDOW_MS - 1
+        fetchScheduler.schedule(FetchRequest.Site(site))
+        verify(siteStore, times(1)).fetchSite(site)
+
+        fetchScheduler.schedule(FetchRequest.Site(site), force = true)
+        verify(siteStore, times(2)).fetchSite(site)
+
+        now += SITE_FRESHNESS_WINDOW_MS
+        fetchScheduler.schedule(FetchRequest.Site(site))
+        verify(siteStore, times(3)).fetchSite(site)
+        assertThat(startupTracer.savedFetchCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `fetches a resource again after a failed fetch`() = test {
+        whenever(siteStore.fetchSite(site)).thenReturn(OnSiteChanged(SiteError(SiteErrorType.GENERIC_ERROR)))
+
+        fetchScheduler.schedule(FetchRequest.Site(site))
+        fetchScheduler.schedule(FetchRequest.Site(site))
+
+        verify(siteStore, times(2)).fetchSite(site)
+    }
+
+    @Test
+    fun `limits the fetches running at the same time`() = test {
+        val response = CompletableDeferred<OnSiteChanged>()
+        whenever(siteStore.fetchSite(any())).doSuspendableAnswer { response.await() }
+        val sites = (1..FetchScheduler.MAX_CONCURRENT_FETCHES + 1).map { SiteModel().apply { id = it } }
+
+        sites.forEach { fetchScheduler.schedule(FetchRequest.Site(it)) }
+        verify(siteStore, times(FetchScheduler.MAX_CONCURRENT_FETCHES)).fetchSite(any())
+
+        response.complete(OnSiteChanged(1))
+        verify(siteStore, times(sites.size)).fetchSite(any())
+    }
+
+    @Test
+    fun `completes the account fetch when the account is fetched`() = test {
+        val job = fetchScheduler.schedule(FetchRequest.Account)
+
+        verify(dispatcher).dispatch(argThat { type == AccountAction.FETCH_ACCOUNT })
+        fetchScheduler.onAccountChanged(OnAccountChanged().apply { causeOfChange = AccountAction.FETCH_SETTINGS })
+        assertThat(job.isCompleted).isFalse
+
+        fetchScheduler.onAccountChanged(OnAccountChanged().apply { causeOfChange = AccountAction.FETCH_ACCOUNT })
+        assertThat(job.isCompleted).isTrue
+    }
+
+    private companion object {
+        const val SITE_FRESHNESS_WINDOW_MS = 60_000L
+    }
+}
@@ -0,0 +1,91 @@
+package org.wordpress.android.ui.comments
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class CommentTreeTest {
+    private class Comment(val id: Long, val parentId: Long, var level: Int = -1)
+
+    private val accessor = object : CommentTree.Accessor<Comment> {
+        override fun getCommentId(comment: Comment) = comment.id
+
+        override fun getParentId(comment: Comment) = comment.parentId
+
+        override fun getLevel(comment: Comment) = comment.level
+
+        override fun setLevel(comment: Comment, level: Int) {
+            comment.level = level
+        }
+    }
+
+    @Test
+    fun `places replies below their parents in list order`() {
+        val comments = listOf(
+                Comment(1, 0),
+                Comment(2, 0),
+                Comment(3, 1),
+                Comment(4, 2),
+                Comment(5, 3),
+                Comment(6, 1)
+        )
+
+        val levelList = CommentTree(comments, accessor).createLevelList(ArrayList(), keepOrphans = false)
+
+        assertThat(levelList.map { it.id }).containsExactly(1, 3, 5, 6, 2, 4)
+        assertThat(levelList.map { it.level }).containsExactly(0, 1, 2, 1, 0, 1)
+    }
+
+    @Test
+    fun `adds orphans at the end only when they're kept`() {
+        val comments = listOf(Comment(1, 0), Comment(2, 99), Comment(3, 2))
+        val tree = CommentTree(comments, accessor)
+
+        assertThat(tree.createLevelList(ArrayList(), keepOrphans = false).map { it.id }).containsExactly(1)
+
+        val levelList = tree.createLevelList(ArrayList(), keepOrphans = true)
+        assertThat(levelList.map { it.id }).containsExactly(1, 2)
+        assertThat(levelList[1].level).isEqualTo(1)
+    }
+
+    @Test
+    fun `adds every comment once when duplicate ids create a cycle`() {
+        val comments = listOf(Comment(1, 0), Comment(2, 1), Comment(1, 2))
+
+        val levelList = CommentTree(comments, accessor).createLevelList(ArrayList(), keepOrphans = false)
+
+        assertThat(levelList).containsExactlyElementsOf(comments)
+    }
+
+    @Test
+    fun `inserts new comments below the existing replies to their parent`() {
+        val levelList = CommentTree(listOf(Comment(1, 0), Comment(2, 1), Comment(3, 2), Comment(4, 0)), accessor)
+                .createLevelList(ArrayList(), keepOrphans = false)
+
+        assertThat(CommentTree.insert(levelList, Comment(5, 1), accessor)).isEqualTo(3)
+        assertThat(CommentTree.insert(levelList, Comment(6, 0), accessor)).isEqualTo(5)
+        assertThat(CommentTree.insert(levelList, Comment(7, 99), accessor)).isEqualTo(-1)
+        assertThat(levelList.map { it.id }).containsExactly(1, 2, 3, 5, 4, 6)
+        assertThat(levelList.map { it.level }).containsExactly(0, 1, 2, 1, 0, 0)
+    }
+
+    @Test
+    fun `threads flat, deep and wide threads`() {
+        val flat = (1L..THREAD_SIZE).map { Comment(it, 0) }
+        val deep = (1L..THREAD_SIZE).map { Comment(it, it - 1) }
+        val wide = listOf(Comment(1, 0)) + (2L..THREAD_SIZE).map { Comment(it, 1) }
+
+        val flatList = CommentTree(flat, accessor).createLevelList(ArrayList(), keepOrphans = false)
+        val deepList = CommentTree(deep, accessor).createLevelList(ArrayList(), keepOrphans = false)
+        val wideList = CommentTree(wide, accessor).createLevelList(ArrayList(), keepOrphans = false)
+
+        assertThat(flatList).hasSize(THREAD_SIZE.toInt()).allMatch { it.level == 0 }
+        assertThat(deepList).hasSize(THREAD_SIZE.toInt())
+        assertThat(deepList.last().level).isEqualTo(THREAD_SIZE.toInt() - 1)
+        assertThat(wideList).hasSize(THREAD_SIZE.toInt())
+        assertThat(wideList.drop(1)).allMatch { it.level == 1 }
+    }
+
+    private companion object {
+        const val THREAD_SIZE = 10_000L
+    }
+}
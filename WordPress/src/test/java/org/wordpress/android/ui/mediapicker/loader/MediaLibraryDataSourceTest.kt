@@ -214,6 +214,24 @@ class MediaLibraryDataSourceTest : BaseUnitTest() {
         result.data.assertContains(olderImage, 3)
     }
 
+    @Test
+    fun `keeps the relevance order of the search results`() = test {
+        val filter = "filter"
+        val bestImage = buildMediaModel(10)
+        val otherImage = buildMediaModel(30)
+        val bestVideo = buildMediaModel(20)
+        whenever(mediaStore.searchSiteImages(siteModel, filter)).thenReturn(listOf(bestImage, otherImage))
+        whenever(mediaStore.searchSiteVideos(siteModel, filter)).thenReturn(listOf(bestVideo))
+
+        val dataSource = setupDataSource(false, setOf(IMAGE, VIDEO))
+
+        val result = dataSource.load(forced = false, loadMore = false, filter = filter) as Success
+
+        result.data.assertContains(bestImage, 0)
+        result.data.assertContains(bestVideo, 1)
+        result.data.assertContains(otherImage, 2)
+    }
+
     @Test
     fun `returns failure with empty list when loading fails and not loading more`() = test {
         val dataSource = setupDataSource(false, setOf(IMAGE, VIDEO), isError = true)
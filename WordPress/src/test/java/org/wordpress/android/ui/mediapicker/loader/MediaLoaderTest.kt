@@ -3,6 +3,7 @@ package org.wordpress.android.ui.mediapicker.loader
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.launch
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.Before
@@ -10,6 +11,8 @@ import org.junit.Test
 import org.mockito.Mock
 import org.mockito.kotlin.any
 import org.mockito.kotlin.isNull
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import org.wordpress.android.BaseUnitTest
 import org.wordpress.android.ui.mediapicker.MediaItem
@@ -169,6 +172,25 @@ class MediaLoaderTest : BaseUnitTest() {
         resultModel.assertModel(mediaItems)
     }
 
+    @Test
+    fun `searches only the last of the searches waiting for a load`() = test {
+        val loadActions = Channel<LoadAction>(Channel.UNLIMITED)
+        whenever(mediaSource.load(forced = false, loadMore = false, filter = "cat"))
+            .thenReturn(MediaLoadingResult.Success(listOf(firstMediaItem)))
+        whenever(mediaSource.load(forced = false, loadMore = true, filter = "cat"))
+            .thenReturn(MediaLoadingResult.Success(listOf(firstMediaItem, secondMediaItem)))
+
+        listOf(LoadAction.Filter("c"), LoadAction.Filter("ca"), LoadAction.Filter("cat"), LoadAction.NextPage)
+            .forEach { loadActions.send(it) }
+        loadActions.close()
+        val domainModels = mediaLoader.loadMedia(loadActions).toList()
+
+        verify(mediaSource, never()).load(forced = false, loadMore = false, filter = "c")
+        verify(mediaSource, never()).load(forced = false, loadMore = false, filter = "ca")
+        assertThat(domainModels.last().filter).isEqualTo("cat")
+        domainModels.assertModel(listOf(firstMediaItem, secondMediaItem))
+    }
+
     private fun List<DomainModel>.assertModel(
         mediaItems: List<MediaItem> = listOf(),
         errorMessage: String? = null,
@@ -638,4 +638,37 @@ class EditPostRepositoryTest : BaseUnitTest() {
 
         assertThat(completed).isEqualTo(UpdatePostResult.NoChanges)
     }
+
+    @Test
+    fun `updateAsync doesn't notify the post changed when asked not to`() = test {
+        editPostRepository.set { mock() }
+        var postChanged = false
+        editPostRepository.postChanged.observeForever { postChanged = true }
+        var completed: UpdatePostResult? = null
+
+        editPostRepository.updateAsync({ true }, notifyPostChanged = false) { _, result -> completed = result }
+
+        assertThat(postChanged).isFalse()
+        assertThat(completed).isEqualTo(UpdatePostResult.Updated)
+    }
+
+    @Test
+    fun `has only editor changes when only the title, content and publish date changed`() {
+        val post = PostModel()
+        post.setTitle("title")
+        post.setContent("content")
+        editPostRepository.set { post }
+        editPostRepository.savePostSnapshot()
+
+        post.setTitle("updated title")
+        post.setContent("updated content")
+        post.setDateCreated("2024-01-01T00:00:00+00:00")
+
+        assertThat(editPostRepository.postHasChanges()).isTrue()
+        assertThat(editPostRepository.postHasOnlyEditorChanges()).isTrue()
+
+        post.setExcerpt("excerpt")
+
+        assertThat(editPostRepository.postHasOnlyEditorChanges()).isFalse()
+    }
 }
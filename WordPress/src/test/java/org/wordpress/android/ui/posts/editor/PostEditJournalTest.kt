@@ -0,0 +1,127 @@
+package org.wordpress.android.ui.posts.editor
+
+import android.content.Context
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.mockito.Mock
+import org.mockito.kotlin.whenever
+import org.wordpress.android.BaseUnitTest
+import org.wordpress.android.ui.posts.editor.PostEditJournal.PostEdit
+import java.io.File
+import java.io.RandomAccessFile
+
+@ExperimentalCoroutinesApi
+class PostEditJournalTest : BaseUnitTest() {
+    @Rule
+    @JvmField
+    val temporaryFolder = TemporaryFolder()
+
+    @Mock
+    lateinit var context: Context
+
+    private lateinit var journal: PostEditJournal
+    private val base = PostEdit(TITLE, CONTENT, DATE)
+    private var now = 0L
+
+    @Before
+    fun setUp() {
+        whenever(context.filesDir).thenReturn(temporaryFolder.root)
+        journal = createJournal()
+    }
+
+    @Test
+    fun `replays the journaled edits after a restart`() {
+        val edits = listOf(
+            PostEdit(TITLE, "$CONTENT more", DATE),
+            PostEdit("new title", "Some more", DATE),
+            PostEdit("new title", "Some 😀 more", "2024-01-02T00:00:00+00:00")
+        )
+        edits.forEach { journal.append(POST_ID, base, it) }
+
+        assertThat(createJournal().replay(POST_ID, base)).isEqualTo(edits.last())
+    }
+
+    @Test
+    fun `writes only the changed part of the content`() {
+        val content = "a".repeat(LARGE_CONTENT_LENGTH)
+        val largeBase = PostEdit(TITLE, content, DATE)
+        journal.append(POST_ID, largeBase, PostEdit(TITLE, "${content}b", DATE))
+
+        val bytesWritten = journal.append(POST_ID, largeBase, PostEdit(TITLE, "${content}bc", DATE))
+
+        assertThat(bytesWritten).isLessThan(SMALL_RECORD_SIZE)
+    }
+
+    @Test
+    fun `ignores a torn record at the end of the journal`() {
+        val firstEdit = PostEdit(TITLE, "$CONTENT one", DATE)
+        journal.append(POST_ID, base, firstEdit)
+        val firstRecordEnd = journalFile().length()
+        journal.append(POST_ID, base, PostEdit(TITLE, "$CONTENT one two", DATE))
+        RandomAccessFile(journalFile(), "rw").use { it.setLength(journalFile().length() - 1) }
+
+        val restartedJournal = createJournal()
+
+        assertThat(restartedJournal.replay(POST_ID, base)).isEqualTo(firstEdit)
+        assertThat(journalFile().length()).isEqualTo(firstRecordEnd)
+
+        val nextEdit = PostEdit(TITLE, "$CONTENT three", DATE)
+        restartedJournal.append(POST_ID, base, nextEdit)
+        assertThat(createJournal().replay(POST_ID, base)).isEqualTo(nextEdit)
+    }
+
+    @Test
+    fun `drops the journal when the post changed since`() {
+        journal.append(POST_ID, base, PostEdit(TITLE, "$CONTENT more", DATE))
+
+        val restartedJournal = createJournal()
+
+        assertThat(restartedJournal.replay(POST_ID, PostEdit(TITLE, "Updated remotely", DATE))).isNull()
+        assertThat(restartedJournal.hasEdits(POST_ID)).isFalse()
+    }
+
+    @Test
+    fun `starts a new journal when the post is saved to DB`() {
+        val savedEdit = PostEdit(TITLE, "$CONTENT more", DATE)
+        journal.append(POST_ID, base, savedEdit)
+        journal.clear(POST_ID)
+        assertThat(journal.hasEdits(POST_ID)).isFalse()
+
+        val nextEdit = PostEdit(TITLE, "$CONTENT more and more", DATE)
+        journal.append(POST_ID, savedEdit, nextEdit)
+
+        assertThat(createJournal().replay(POST_ID, savedEdit)).isEqualTo(nextEdit)
+    }
+
+    @Test
+    fun `should be compacted when it's too old or too large`() {
+        journal.append(POST_ID, base, PostEdit(TITLE, "$CONTENT more", DATE))
+        assertThat(journal.shouldCompact(POST_ID)).isFalse()
+
+        now += MAX_JOURNAL_AGE_MS + 1
+        assertThat(journal.shouldCompact(POST_ID)).isTrue()
+
+        journal.clear(POST_ID)
+        journal.append(POST_ID, base, PostEdit(TITLE, "a".repeat(MAX_JOURNAL_SIZE_BYTES + 1), DATE))
+        assertThat(journal.shouldCompact(POST_ID)).isTrue()
+    }
+
+    private fun createJournal() = PostEditJournal(context).apply { elapsedRealtime = { now } }
+
+    private fun journalFile() = File(File(temporaryFolder.root, "post_edit_journal"), POST_ID.toString())
+
+    private companion object {
+        const val POST_ID = 1
+        const val TITLE = "title"
+        const val CONTENT = "Some content"
+        const val DATE = "2024-01-01T00:00:00+00:00"
+        const val LARGE_CONTENT_LENGTH = 100_000
+        const val SMALL_RECORD_SIZE = 100
+        const val MAX_JOURNAL_AGE_MS = 2 * 60_000L
+        const val MAX_JOURNAL_SIZE_BYTES = 256 * 1024
+    }
+}
@@ -9,6 +9,8 @@ import org.junit.Test
 import org.mockito.Mock
 import org.mockito.kotlin.any
 import org.mockito.kotlin.eq
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.verifyNoInteractions
 import org.mockito.kotlin.whenever
@@ -17,15 +19,20 @@ import org.wordpress.android.editor.gutenberg.DialogVisibility
 import org.wordpress.android.editor.gutenberg.DialogVisibility.Hidden
 import org.wordpress.android.editor.gutenberg.DialogVisibility.Showing
 import org.wordpress.android.fluxc.Dispatcher
+import org.wordpress.android.fluxc.model.CauseOfOnPostChanged
 import org.wordpress.android.fluxc.model.PostImmutableModel
 import org.wordpress.android.fluxc.model.PostModel
 import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.store.PostStore.OnPostChanged
+import org.wordpress.android.fluxc.store.PostStore.PostError
+import org.wordpress.android.fluxc.store.PostStore.PostErrorType
 import org.wordpress.android.fluxc.store.SiteStore
 import org.wordpress.android.ui.posts.EditPostRepository
 import org.wordpress.android.ui.posts.EditPostRepository.UpdatePostResult
 import org.wordpress.android.ui.posts.IPostFreshnessChecker
 import org.wordpress.android.ui.posts.PostUtilsWrapper
 import org.wordpress.android.ui.posts.SavePostToDbUseCase
+import org.wordpress.android.ui.posts.editor.PostEditJournal.PostEdit
 import org.wordpress.android.ui.posts.editor.StorePostViewModel.ActivityFinishState.SAVED_LOCALLY
 import org.wordpress.android.ui.posts.editor.StorePostViewModel.ActivityFinishState.SAVED_ONLINE
 import org.wordpress.android.ui.posts.editor.StorePostViewModel.UpdateFromEditor
@@ -67,6 +74,9 @@ class StorePostViewModelTest : BaseUnitTest() {
     @Mock
     lateinit var mPostConflictResolutionFeatureConfig: PostConflictResolutionFeatureConfig
 
+    @Mock
+    lateinit var postEditJournal: PostEditJournal
+
     private lateinit var viewModel: StorePostViewModel
     private val title = "title"
     private val updatedTitle = "updatedTitle"
@@ -89,7 +99,8 @@ class StorePostViewModelTest : BaseUnitTest() {
             networkUtils,
             dispatcher,
             postFreshnessChecker,
-            mPostConflictResolutionFeatureConfig
+            mPostConflictResolutionFeatureConfig,
+            postEditJournal
         )
         postModel.setId(postId)
         postModel.setTitle(title)
@@ -284,4 +295,165 @@ class StorePostViewModelTest : BaseUnitTest() {
         expected.add(Hidden)
         assertThat(actual).isEqualTo(expected)
     }
+
+    @Test
+    fun `saves the post to DB on the first save of the editor session`() {
+        setUpAutoSave(postModel.clone())
+        whenever(postRepository.postHasOnlyEditorChanges()).thenReturn(true)
+
+        viewModel.autoSavePostObjectWithUIAsync(postRepository, site) { PostFields(title, updatedContent) }
+
+        verify(postEditJournal, never()).append(any(), any(), any())
+        verify(savePostToDbUseCase).savePostToDb(postRepository, site)
+    }
+
+    @Test
+    fun `journals the edit instead of saving the post to DB when only the title or content changed`() {
+        val postSnapshot = postModel.clone()
+        setUpAutoSave(postSnapshot)
+        saveFirstEditToDb()
+        whenever(postRepository.postHasOnlyEditorChanges()).thenReturn(true)
+        whenever(postEditJournal.append(eq(postId), eq(PostEdit(postSnapshot)), any())).thenReturn(JOURNALED_BYTES)
+
+        viewModel.autoSavePostObjectWithUIAsync(postRepository, site) { PostFields(title, updatedContent) }
+
+        verify(postEditJournal).append(postId, PostEdit(postSnapshot), PostEdit(title, updatedContent, ""))
+        verify(savePostToDbUseCase).savePostToDb(postRepository, site)
+    }
+
+    @Test
+    fun `doesn't journal the edit while a save to DB is in flight`() {
+        setUpAutoSave(postModel.clone())
+        whenever(postRepository.postHasChanges()).thenReturn(true)
+        viewModel.savePostToDb(postRepository, site)
+        whenever(postRepository.postHasOnlyEditorChanges()).thenReturn(true)
+
+        viewModel.autoSavePostObjectWithUIAsync(postRepository, site) { PostFields(title, updatedContent) }
+
+        verify(postEditJournal, never()).append(any(), any(), any())
+        verify(savePostToDbUseCase, times(2)).savePostToDb(postRepository, site)
+    }
+
+    @Test
+    fun `saves the post to DB when other fields than the title or content changed`() {
+        setUpAutoSave(postModel.clone())
+        saveFirstEditToDb()
+        whenever(postRepository.postHasOnlyEditorChanges()).thenReturn(false)
+
+        viewModel.autoSavePostObjectWithUIAsync(postRepository, site) { PostFields(title, updatedContent) }
+
+        verify(postEditJournal, never()).append(any(), any(), any())
+        verify(savePostToDbUseCase, times(2)).savePostToDb(postRepository, site)
+    }
+
+    @Test
+    fun `saves the post to DB when the journal should be compacted`() {
+        setUpAutoSave(postModel.clone())
+        saveFirstEditToDb()
+        whenever(postRepository.postHasOnlyEditorChanges()).thenReturn(true)
+        whenever(postEditJournal.shouldCompact(postId)).thenReturn(true)
+
+        viewModel.autoSavePostObjectWithUIAsync(postRepository, site) { PostFields(title, updatedContent) }
+
+        verify(postEditJournal, never()).append(any(), any(), any())
+        verify(savePostToDbUseCase, times(2)).savePostToDb(postRepository, site)
+    }
+
+    @Test
+    fun `saves the post to DB when the edit couldn't be journaled`() {
+        setUpAutoSave(postModel.clone())
+        saveFirstEditToDb()
+        whenever(postRepository.postHasOnlyEditorChanges()).thenReturn(true)
+        whenever(postEditJournal.append(any(), any(), any())).thenReturn(PostEditJournal.FAILED)
+
+        viewModel.autoSavePostObjectWithUIAsync(postRepository, site) { PostFields(title, updatedContent) }
+
+        verify(savePostToDbUseCase, times(2)).savePostToDb(postRepository, site)
+    }
+
+    @Test
+    fun `clears the journal once the post is saved to DB`() {
+        whenever(postRepository.postHasChanges()).thenReturn(true)
+
+        viewModel.savePostToDb(postRepository, site)
+
+        verify(postEditJournal, never()).clear(any())
+
+        viewModel.onPostChanged(localUpdatePostEvent())
+
+        verify(postEditJournal).clear(postId)
+    }
+
+    @Test
+    fun `keeps the journal when the post couldn't be saved to DB`() {
+        whenever(postRepository.postHasChanges()).thenReturn(true)
+
+        viewModel.savePostToDb(postRepository, site)
+        viewModel.onPostChanged(localUpdatePostEvent().apply { error = PostError(PostErrorType.GENERIC_ERROR) })
+
+        verify(postEditJournal, never()).clear(any())
+    }
+
+    @Test
+    fun `saves the journaled edits to DB`() {
+        whenever(postEditJournal.hasEdits(postId)).thenReturn(true)
+        whenever(postRepository.postHasChanges()).thenReturn(true)
+
+        viewModel.saveJournaledEditsToDb(postRepository, site)
+        viewModel.onPostChanged(localUpdatePostEvent())
+
+        verify(savePostToDbUseCase).savePostToDb(postRepository, site)
+        verify(postEditJournal).clear(postId)
+    }
+
+    @Test
+    fun `doesn't save the post to DB when no edit is journaled`() {
+        whenever(postEditJournal.hasEdits(postId)).thenReturn(false)
+
+        viewModel.saveJournaledEditsToDb(postRepository, site)
+
+        verify(savePostToDbUseCase, never()).savePostToDb(any(), any())
+    }
+
+    @Test
+    fun `restores the journaled edits`() {
+        whenever(postRepository.getEditablePost()).thenReturn(postModel)
+        whenever(postRepository.replace(any())).then {
+            val action: (PostModel) -> PostModel = it.getArgument(0)
+            action(postModel)
+        }
+        whenever(postEditJournal.replay(postId, PostEdit(postModel)))
+            .thenReturn(PostEdit(updatedTitle, updatedContent, ""))
+
+        viewModel.restoreJournaledEdits(postRepository)
+
+        assertThat(postModel.title).isEqualTo(updatedTitle)
+        assertThat(postModel.content).isEqualTo(updatedContent)
+    }
+
+    private fun saveFirstEditToDb() {
+        whenever(postRepository.postHasChanges()).thenReturn(true)
+        viewModel.autoSavePostObjectWithUIAsync(postRepository, site) { PostFields(updatedTitle, content) }
+        viewModel.onPostChanged(localUpdatePostEvent())
+    }
+
+    private fun localUpdatePostEvent() =
+        OnPostChanged(CauseOfOnPostChanged.UpdatePost(postId, 0, isLocalUpdate = true), 1)
+
+    private fun setUpAutoSave(postSnapshot: PostModel) {
+        whenever(postRepository.hasPost()).thenReturn(true)
+        whenever(postRepository.getPostSnapshot()).thenReturn(postSnapshot)
+        whenever(postRepository.updateAsync(any(), any(), any())).then {
+            val action: (PostModel) -> Boolean = it.getArgument(0)
+            val onCompleted: (PostImmutableModel, UpdatePostResult) -> Unit = it.getArgument(2)
+            if (action(postModel)) {
+                onCompleted(postModel, UpdatePostResult.Updated)
+            }
+            null
+        }
+    }
+
+    private companion object {
+        const val JOURNALED_BYTES = 42
+    }
 }
@@ -6,6 +6,7 @@ import org.junit.Test
 import org.junit.runner.RunWith
 import org.mockito.junit.MockitoJUnitRunner
 import org.mockito.kotlin.any
+import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.whenever
 import org.wordpress.android.util.helpers.MediaFile
@@ -113,4 +114,61 @@ class MediaUploadCompletionProcessorTest {
         val processedContent = processor.processContent(TestContent.oldPostWithMixedGalleriesRefactored)
         Assertions.assertThat(processedContent).isEqualTo(TestContent.newPostWithMixedGalleriesRefactored)
     }
+
+    @Test
+    fun `processPost replaces a batch of media like one processor per media`() {
+        whenever(mediaFile.mediaId).thenReturn(TestContent.remoteMediaId2)
+        whenever(mediaFile.optimalFileURL).thenReturn(TestContent.remoteImageUrl2)
+        val mediaFile2 = mediaFile
+        val mediaFile1 = mock<MediaFile> {
+            on { mediaId } doReturn TestContent.remoteMediaId
+            on { optimalFileURL } doReturn TestContent.remoteImageUrl
+        }
+        val content = TestContent.oldCoverBlockWithNestedCoverBlockOuter + TestContent.oldPostImage
+
+        val processedContent = MediaUploadCompletionProcessor(
+            mapOf(TestContent.localMediaId to mediaFile1, TestContent.localMediaId2 to mediaFile2),
+            TestContent.siteUrl
+        ).processContent(content)
+
+        val expectedContent = MediaUploadCompletionProcessor(TestContent.localMediaId2, mediaFile2, TestContent.siteUrl)
+            .processContent(
+                MediaUploadCompletionProcessor(TestContent.localMediaId, mediaFile1, TestContent.siteUrl)
+                    .processContent(content)
+            )
+        Assertions.assertThat(processedContent).isEqualTo(expectedContent).isNotEqualTo(content)
+    }
+
+    @Test
+    fun `processPost replaces every media of posts with 10 to 500 media blocks in one pass`() {
+        listOf(10, 100, 500).forEach { blockCount ->
+            val localIds = (1..blockCount).map { (LOCAL_ID_OFFSET + it).toString() }
+            val content = TestContent.paragraphBlock + localIds.joinToString("") { localId ->
+                TestContent.oldImageBlock.replace(TestContent.localMediaId, localId)
+            }
+            val mediaFiles = localIds.associateWith { localId ->
+                mock<MediaFile> {
+                    on { mediaId } doReturn (REMOTE_ID_OFFSET + localId.toInt()).toString()
+                    on { optimalFileURL } doReturn TestContent.remoteImageUrl
+                }
+            }
+
+            val processedContent = MediaUploadCompletionProcessor(mediaFiles, TestContent.siteUrl)
+                .processContent(content)
+
+            Assertions.assertThat(processedContent).isEqualTo(
+                TestContent.paragraphBlock + localIds.joinToString("") { localId ->
+                    TestContent.newImageBlock.replace(
+                        TestContent.remoteMediaId,
+                        (REMOTE_ID_OFFSET + localId.toInt()).toString()
+                    )
+                }
+            )
+        }
+    }
+
+    private companion object {
+        const val LOCAL_ID_OFFSET = 1000
+        const val REMOTE_ID_OFFSET = 90000
+    }
 }
@@ -0,0 +1,112 @@
+package org.wordpress.android.ui.reader
+
+import android.content.Context
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.mockito.Mock
+import org.mockito.kotlin.whenever
+import org.wordpress.android.BaseUnitTest
+import org.wordpress.android.ui.reader.usecases.ReaderGetReadingPreferencesSyncUseCase
+
+@ExperimentalCoroutinesApi
+class ReaderPostHtmlCacheTest : BaseUnitTest() {
+    @Rule
+    @JvmField
+    val temporaryFolder = TemporaryFolder()
+
+    @Mock
+    lateinit var context: Context
+
+    @Mock
+    lateinit var readerCssProvider: ReaderCssProvider
+
+    @Mock
+    lateinit var getReadingPreferences: ReaderGetReadingPreferencesSyncUseCase
+
+    private lateinit var cache: ReaderPostHtmlCache
+    private var renderCount = 0
+
+    @Before
+    fun setUp() {
+        whenever(context.cacheDir).thenReturn(temporaryFolder.root)
+        cache = createCache()
+    }
+
+    @Test
+    fun `renders a post only the first time it's opened`() {
+        assertThat(cache.getOrRender(KEY, ::render)).isEqualTo(HTML)
+        assertThat(cache.getOrRender(KEY, ::render)).isEqualTo(HTML)
+
+        assertThat(renderCount).isEqualTo(1)
+        assertThat(cache.hitRate).isEqualTo(0.5f)
+    }
+
+    @Test
+    fun `reads a post rendered by another cache from the disk`() {
+        cache.getOrRender(KEY, ::render)
+
+        val otherCache = createCache()
+
+        assertThat(otherCache.getOrRender(KEY, ::render)).isEqualTo(HTML)
+        assertThat(renderCount).isEqualTo(1)
+        assertThat(otherCache.hitRate).isEqualTo(1f)
+    }
+
+    @Test
+    fun `renders a post again when its key changes`() {
+        cache.getOrRender(KEY, ::render)
+        cache.clearMemoryCache()
+
+        cache.getOrRender("$KEY|serif", ::render)
+
+        assertThat(renderCount).isEqualTo(2)
+        assertThat(cache.hitRate).isEqualTo(0f)
+    }
+
+    @Test
+    fun `doesn't count the prefetched posts in the hit rate`() {
+        cache.renderIfAbsent(KEY, ::render)
+        cache.renderIfAbsent(KEY, ::render)
+
+        assertThat(renderCount).isEqualTo(1)
+        assertThat(cache.hitRate).isEqualTo(0f)
+
+        cache.getOrRender(KEY, ::render)
+
+        assertThat(renderCount).isEqualTo(1)
+        assertThat(cache.hitRate).isEqualTo(1f)
+    }
+
+    @Test
+    fun `clearing the cache removes the posts from the memory and the disk`() {
+        cache.getOrRender(KEY, ::render)
+
+        cache.clear()
+
+        assertThat(temporaryFolder.root.walk().filter { it.isFile }.count()).isEqualTo(0)
+        assertThat(cache.getOrRender(KEY, ::render)).isEqualTo(HTML)
+        assertThat(renderCount).isEqualTo(2)
+    }
+
+    private fun createCache() = ReaderPostHtmlCache(
+        context,
+        readerCssProvider,
+        getReadingPreferences,
+        testScope(),
+        testDispatcher()
+    )
+
+    private fun render(): String {
+        renderCount++
+        return HTML
+    }
+
+    private companion object {
+        const val KEY = "1|2|3|sans-serif|390"
+        const val HTML = "<html><body>post</body></html>"
+    }
+}
@@ -19,6 +19,7 @@ import org.wordpress.android.models.ReaderPostList
 import org.wordpress.android.models.ReaderTag
 import org.wordpress.android.models.ReaderTagType
 import org.wordpress.android.ui.prefs.AppPrefsWrapper
+import org.wordpress.android.ui.reader.ReaderPostHtmlCache
 import org.wordpress.android.ui.reader.actions.ReaderActions.UpdateResult
 import org.wordpress.android.ui.reader.services.post.ReaderPostServiceStarter
 
@@ -30,11 +31,14 @@ class ReaderPostLocalSourceTest : BaseUnitTest() {
     @Mock
     lateinit var appPrefsWrapper: AppPrefsWrapper
 
+    @Mock
+    lateinit var readerPostHtmlCache: ReaderPostHtmlCache
+
     private lateinit var localSource: ReaderPostLocalSource
 
     @Before
     fun setUp() {
-        localSource = ReaderPostLocalSource(readerPostTableWrapper, appPrefsWrapper)
+        localSource = ReaderPostLocalSource(readerPostTableWrapper, appPrefsWrapper, readerPostHtmlCache)
     }
 
     @Test
@@ -112,13 +116,14 @@ class ReaderPostLocalSourceTest : BaseUnitTest() {
 
         // it doesn't matter which update action was used, so let's test all of them
         ReaderPostServiceStarter.UpdateAction.values().forEach { updateAction ->
-            clearInvocations(readerPostTableWrapper)
+            clearInvocations(readerPostTableWrapper, readerPostHtmlCache)
 
             // When
             val result = localSource.saveUpdatedPosts(serverPosts, updateAction, requestedTag)
 
             // Then
             verify(readerPostTableWrapper).addOrUpdatePosts(requestedTag, serverPosts)
+            verify(readerPostHtmlCache).prefetch(serverPosts)
 
             assertThat(result).isEqualTo(UpdateResult.HAS_NEW)
         }
@@ -0,0 +1,91 @@
+package org.wordpress.android.ui.reader.utils
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class ReaderHtmlTokenizerTest {
+    @Test
+    fun `given subscribed tags, when scanning, then their attributes are reported`() {
+        val html = "<p>text</p><IMG class=\"size-full\" src=\"https://a.com/1.jpg\" width=600>" +
+                "<iframe src='https://youtube.com/embed/x' height = \"300\"></iframe>"
+        val tags = mutableListOf<ReaderHtmlTag>()
+
+        ReaderHtmlTokenizer(html)
+                .subscribe("img") { tags.add(it); null }
+                .subscribe("iframe") { tags.add(it); null }
+                .scan()
+
+        assertThat(tags.map { it.name }).containsExactly("img", "iframe")
+        assertThat(tags[0].getAttribute("SRC")).isEqualTo("https://a.com/1.jpg")
+        assertThat(tags[0].getIntAttribute("width")).isEqualTo(600)
+        assertThat(tags[0].getAttribute("src", '\'')).isNull()
+        assertThat(tags[1].getAttribute("src", '\'')).isEqualTo("https://youtube.com/embed/x")
+        assertThat(tags[1].getIntAttribute("height")).isEqualTo(300)
+    }
+
+    @Test
+    fun `given a quoted greater-than sign, when scanning, then the tag ends after the closing quote`() {
+        val html = "<img alt=\"a > b\" src=\"1.jpg\">after"
+        var tagHtml: String? = null
+
+        ReaderHtmlTokenizer(html).subscribe("img") { tagHtml = it.html; null }.scan()
+
+        assertThat(tagHtml).isEqualTo("<img alt=\"a > b\" src=\"1.jpg\">")
+    }
+
+    @Test
+    fun `given tags inside comments, when scanning, then they are skipped`() {
+        val html = "<!-- <img src=\"hidden.jpg\"> --><img src=\"shown.jpg\">"
+        val urls = mutableListOf<String?>()
+
+        ReaderHtmlTokenizer(html).subscribe("img") { urls.add(it.getAttribute("src")); null }.scan()
+
+        assertThat(urls).containsExactly("shown.jpg")
+    }
+
+    @Test
+    fun `given replacements, when rewriting, then only the replaced tags change`() {
+        val html = "<p><img src=\"1.jpg\"></p><img src=\"2.jpg\"><span>end</span>"
+
+        val result = ReaderHtmlTokenizer(html).subscribe("img") {
+            if (it.getAttribute("src") == "2.jpg") "<img src='resized.jpg' />" else null
+        }.rewrite()
+
+        assertThat(result).isEqualTo("<p><img src=\"1.jpg\"></p><img src='resized.jpg' /><span>end</span>")
+    }
+
+    @Test
+    fun `given a stopped tokenizer, when rewriting, then the rest of the content is copied as is`() {
+        val html = "<img src=\"1.jpg\"><img src=\"2.jpg\">"
+        val tokenizer = ReaderHtmlTokenizer(html)
+        tokenizer.subscribe("img") {
+            tokenizer.stop()
+            "<img src='first.jpg' />"
+        }
+
+        assertThat(tokenizer.rewrite()).isEqualTo("<img src='first.jpg' /><img src=\"2.jpg\">")
+    }
+
+    @Test
+    fun `given an unterminated tag, when rewriting, then the content is kept`() {
+        val html = "<p>text</p><img src=\"1.jpg"
+
+        val result = ReaderHtmlTokenizer(html).subscribe("img") { "replaced" }.rewrite()
+
+        assertThat(result).isEqualTo(html)
+    }
+
+    @Test
+    fun `given known embeds, when scanning, then each script is reported once`() {
+        val html = "<blockquote class=\"instagram-media\"></blockquote><blockquote class=\"instagram-media\">" +
+                "</blockquote><fb:post href=\"x\"></fb:post><blockquote>quote</blockquote>"
+        val scripts = mutableListOf<String>()
+
+        ReaderEmbedScanner(html).beginScan { _, src -> scripts.add(src) }
+
+        assertThat(scripts).containsExactlyInAnyOrder(
+                "https://platform.instagram.com/en_US/embeds.js",
+                "https://connect.facebook.net/en_US/sdk.js#xfbml=1&amp;version=v2.8"
+        )
+    }
+}
@@ -0,0 +1,123 @@
+package org.wordpress.android.ui.uploads
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.wordpress.android.fluxc.model.MediaModel
+import org.wordpress.android.ui.uploads.MediaUploadScheduler.Result
+
+class MediaUploadSchedulerTest {
+    private val started = mutableListOf<MediaModel>()
+    private val starter = MediaUploadScheduler.UploadStarter { started.add(it) }
+
+    @Test
+    fun `starts no more uploads than the parallelism allows`() {
+        val scheduler = MediaUploadScheduler(1, 2, 4)
+        (1..5).forEach { scheduler.enqueue(media(id = it, siteId = 1)) }
+
+        scheduler.schedule(starter)
+
+        assertThat(started.map { it.id }).containsExactly(1, 2)
+        assertThat(scheduler.inProgressUploads).hasSize(2)
+        assertThat(scheduler.pendingUploads.map { it.id }).containsExactly(3, 4, 5)
+    }
+
+    @Test
+    fun `alternates between sites when starting uploads`() {
+        val scheduler = MediaUploadScheduler(1, 4, 4)
+        (1..3).forEach { scheduler.enqueue(media(id = it, siteId = 1)) }
+        scheduler.enqueue(media(id = 10, siteId = 2))
+        scheduler.enqueue(media(id = 20, siteId = 3))
+
+        scheduler.schedule(starter)
+
+        assertThat(started.map { it.id }).containsExactly(1, 10, 20, 2)
+    }
+
+    @Test
+    fun `completing an upload frees its slot`() {
+        val scheduler = MediaUploadScheduler(1, 1, 1)
+        scheduler.enqueue(media(id = 1, siteId = 1))
+        scheduler.enqueue(media(id = 2, siteId = 1))
+        scheduler.schedule(starter)
+
+        val stats = scheduler.complete(1, Result.SUCCEEDED)
+        scheduler.schedule(starter)
+
+        assertThat(stats).isNotNull
+        assertThat(started.map { it.id }).containsExactly(1, 2)
+        assertThat(scheduler.isInProgress(2)).isTrue()
+        assertThat(scheduler.complete(1, Result.SUCCEEDED)).isNull()
+    }
+
+    @Test
+    fun `a failed upload halves the parallelism`() {
+        val scheduler = MediaUploadScheduler(1, 4, 6)
+        scheduler.enqueue(media(id = 1, siteId = 1))
+        scheduler.schedule(starter)
+
+        scheduler.complete(1, Result.FAILED)
+
+        assertThat(scheduler.parallelism).isEqualTo(2)
+    }
+
+    @Test
+    fun `a successful transfer increases the parallelism up to the max`() {
+        val scheduler = MediaUploadScheduler(1, 2, 3)
+        (1..3).forEach { id ->
+            scheduler.enqueue(media(id = id, siteId = 1))
+            scheduler.schedule(starter)
+            scheduler.onTransferStarted(id, 1024 * 1024)
+            Thread.sleep(5)
+            scheduler.complete(id, Result.SUCCEEDED)
+        }
+
+        assertThat(scheduler.parallelism).isEqualTo(3)
+    }
+
+    @Test
+    fun `canceled uploads don't change the parallelism`() {
+        val scheduler = MediaUploadScheduler(1, 2, 3)
+        scheduler.enqueue(media(id = 1, siteId = 1))
+        scheduler.schedule(starter)
+
+        scheduler.complete(1, Result.CANCELED)
+
+        assertThat(scheduler.parallelism).isEqualTo(2)
+        assertThat(scheduler.hasInProgressUploads()).isFalse()
+    }
+
+    @Test
+    fun `defers a pending upload of a media which is already uploading`() {
+        val scheduler = MediaUploadScheduler(1, 2, 2)
+        scheduler.enqueue(media(id = 1, siteId = 1))
+        scheduler.schedule(starter)
+        scheduler.enqueue(media(id = 1, siteId = 1))
+
+        scheduler.schedule(starter)
+
+        assertThat(started.map { it.id }).containsExactly(1)
+        assertThat(scheduler.pendingUploads.map { it.id }).containsExactly(1)
+
+        scheduler.complete(1, Result.SUCCEEDED)
+        scheduler.schedule(starter)
+
+        assertThat(started.map { it.id }).containsExactly(1, 1)
+        assertThat(scheduler.hasPendingUploads()).isFalse()
+    }
+
+    @Test
+    fun `removed pending uploads are never started`() {
+        val scheduler = MediaUploadScheduler(1, 1, 1)
+        (1..3).forEach { scheduler.enqueue(media(id = it, siteId = 1)) }
+
+        assertThat(scheduler.removePending(2)).isTrue()
+        assertThat(scheduler.removePending(4)).isFalse()
+        scheduler.schedule(starter)
+        scheduler.complete(1, Result.SUCCEEDED)
+        scheduler.schedule(starter)
+
+        assertThat(started.map { it.id }).containsExactly(1, 3)
+    }
+
+    private fun media(id: Int, siteId: Int) = MediaModel(siteId, 0L).apply { this.id = id }
+}
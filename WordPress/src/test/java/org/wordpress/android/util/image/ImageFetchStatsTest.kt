@@ -0,0 +1,23 @@
+package org.wordpress.android.util.image
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.wordpress.android.util.image.ImageFetchStats.Counters
+
+class ImageFetchStatsTest {
+    private val imageFetchStats = ImageFetchStats()
+
+    @Test
+    fun `counts the fetches of every image type separately`() {
+        imageFetchStats.recordTimeToFirstByte(ImageType.PHOTO, 100)
+        imageFetchStats.recordDecode(ImageType.PHOTO, 2048, 30)
+        imageFetchStats.recordTimeToFirstByte(ImageType.PHOTO, 50)
+        imageFetchStats.recordDecode(ImageType.PHOTO, 1024, 20)
+        imageFetchStats.recordTimeToFirstByte(ImageType.AVATAR_WITH_BACKGROUND, 10)
+
+        assertThat(imageFetchStats.getCounters(ImageType.PHOTO)).isEqualTo(Counters(2, 3072, 150, 50))
+        assertThat(imageFetchStats.getCounters(ImageType.AVATAR_WITH_BACKGROUND)).isEqualTo(Counters(1, 0, 10, 0))
+        assertThat(imageFetchStats.getCounters(ImageType.IMAGE)).isEqualTo(Counters(0, 0, 0, 0))
+        assertThat(imageFetchStats.getAllCounters()).hasSize(ImageType.values().size)
+    }
+}
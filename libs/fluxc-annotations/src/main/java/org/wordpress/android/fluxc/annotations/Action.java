@@ -3,13 +3,19 @@ package org.wordpress.android.fluxc.annotations;
 import org.wordpress.android.fluxc.annotations.action.NoPayload;
 
 import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
  * Defines an individual action with optional payload. To annotate an option with no payload, don't set the
  * {@link Action#payloadType}.
+ * The {@link Action#lane} is read at runtime by the Dispatcher when priority lanes are enabled.
  */
+@Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.FIELD)
 public @interface Action {
     Class payloadType() default NoPayload.class;
+
+    DispatchLane lane() default DispatchLane.BACKGROUND;
 }
@@ -0,0 +1,15 @@
+package org.wordpress.android.fluxc.annotations;
+
+/**
+ * Executor lane an {@link Action} is delivered on when the Dispatcher runs with priority lanes.
+ */
+public enum DispatchLane {
+    /**
+     * Small bounded executor reserved for actions the UI is directly waiting on.
+     */
+    UI,
+    /**
+     * Executor shared by background sync and every other action.
+     */
+    BACKGROUND
+}
@@ -1,28 +1,83 @@
 package org.wordpress.android.fluxc;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import org.greenrobot.eventbus.EventBus;
+import org.greenrobot.eventbus.EventBusBuilder;
+import org.wordpress.android.fluxc.annotations.DispatchLane;
 import org.wordpress.android.fluxc.annotations.action.Action;
+import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.store.Store;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
 public class Dispatcher {
     private final EventBus mBus;
+    private final Map<IAction, String> mActionLabels = new ConcurrentHashMap<>();
+    private final Map<IAction, String> mDispatchLogMessages = new ConcurrentHashMap<>();
 
-    @Inject public Dispatcher() {
-        mBus = EventBus.builder()
-                .logNoSubscriberMessages(true)
-                .sendNoSubscriberEvent(true)
-                .throwSubscriberException(true)
-                .build();
+    // Only set when priority lanes are enabled: actions are then posted on mActionBus from the executor of their
+    // lane instead of going through mBus, and mActionBus runs the ASYNC subscribers on the posting lane thread
+    @Nullable private final Map<DispatchLane, ExecutorService> mLaneExecutors;
+    @Nullable private final EventBus mActionBus;
+    private final Map<IAction, DispatchLane> mActionLanes = new ConcurrentHashMap<>();
+    private final DispatcherMetrics mMetrics = new DispatcherMetrics();
+
+    public Dispatcher() {
+        this(0, 0);
+    }
+
+    @Inject public Dispatcher(@NonNull Optional<DispatcherConfig> config) {
+        this(config.isPresent() ? config.get().getUiLaneThreads() : 0,
+                config.isPresent() ? config.get().getBackgroundLaneThreads() : 0);
+    }
+
+    /**
+     * Creates a Dispatcher delivering actions on priority lanes: actions annotated with {@link DispatchLane#UI} run
+     * on their own small executor so they never queue behind background sync actions.
+     * Passing 0 for both sizes keeps the default (EventBus) delivery.
+     *
+     * @param uiLaneThreads number of threads of the {@link DispatchLane#UI} lane
+     * @param backgroundLaneThreads number of threads of the {@link DispatchLane#BACKGROUND} lane
+     */
+    public Dispatcher(int uiLaneThreads, int backgroundLaneThreads) {
+        mBus = newEventBus().build();
+        if (uiLaneThreads > 0 && backgroundLaneThreads > 0) {
+            mLaneExecutors = new EnumMap<>(DispatchLane.class);
+            mLaneExecutors.put(DispatchLane.UI, newLaneExecutor(DispatchLane.UI, uiLaneThreads));
+            mLaneExecutors.put(DispatchLane.BACKGROUND, newLaneExecutor(DispatchLane.BACKGROUND,
+                    backgroundLaneThreads));
+            mActionBus = newEventBus().executorService(new CallerThreadExecutorService()).build();
+        } else {
+            mLaneExecutors = null;
+            mActionBus = null;
+        }
     }
 
     public void register(final Object object) {
         mBus.register(object);
+        if (mActionBus != null) {
+            mActionBus.register(object);
+        }
         if (object instanceof Store) {
             ((Store) object).onRegister();
         }
@@ -30,19 +85,165 @@ public class Dispatcher {
 
     public void unregister(final Object object) {
         mBus.unregister(object);
+        if (mActionBus != null) {
+            mActionBus.unregister(object);
+        }
     }
 
     public void dispatch(Action action) {
-        AppLog.d(T.API, "Dispatching action: " + action.getType().getClass().getSimpleName()
-                + "-" + action.getType().toString());
-        post(action);
+        AppLog.d(T.API, getDispatchLogMessage(action.getType()));
+        if (mLaneExecutors != null) {
+            dispatchOnLane(action);
+        } else {
+            post(action);
+        }
     }
 
     public void emitChange(final Object changeEvent) {
         mBus.post(changeEvent);
     }
 
+    public boolean usesPriorityLanes() {
+        return mLaneExecutors != null;
+    }
+
+    /**
+     * Per-action-type latency and per-lane queue depth counters, only populated when priority lanes are enabled.
+     */
+    @NonNull
+    public DispatcherMetrics getMetrics() {
+        return mMetrics;
+    }
+
     private void post(final Object event) {
         mBus.post(event);
     }
+
+    @SuppressWarnings("ConstantConditions")
+    private void dispatchOnLane(final Action action) {
+        final DispatchLane lane = getLane(action.getType());
+        final String label = getActionLabel(action.getType());
+        final long enqueuedAt = System.nanoTime();
+        mMetrics.onEnqueued(lane);
+        mLaneExecutors.get(lane).execute(new Runnable() {
+            @Override
+            public void run() {
+                long startedAt = System.nanoTime();
+                mMetrics.onDequeued(lane);
+                try {
+                    // the ASYNC subscribers, like Store.onAction, run on this lane thread, the other
+                    // subscribers on the thread of their ThreadMode
+                    mActionBus.post(action);
+                } finally {
+                    mMetrics.onHandled(label, startedAt - enqueuedAt, System.nanoTime() - startedAt);
+                }
+            }
+        });
+    }
+
+    @NonNull
+    private DispatchLane getLane(@NonNull IAction actionType) {
+        DispatchLane lane = mActionLanes.get(actionType);
+        if (lane == null) {
+            lane = readLane(actionType);
+            mActionLanes.put(actionType, lane);
+        }
+        return lane;
+    }
+
+    @NonNull
+    private static DispatchLane readLane(@NonNull IAction actionType) {
+        if (actionType instanceof Enum) {
+            try {
+                org.wordpress.android.fluxc.annotations.Action annotation = actionType.getClass()
+                        .getField(((Enum<?>) actionType).name())
+                        .getAnnotation(org.wordpress.android.fluxc.annotations.Action.class);
+                if (annotation != null) {
+                    return annotation.lane();
+                }
+            } catch (NoSuchFieldException e) {
+                AppLog.e(T.API, "Can't read the dispatch lane of " + actionType, e);
+            }
+        }
+        return DispatchLane.BACKGROUND;
+    }
+
+    @NonNull
+    private String getActionLabel(@NonNull IAction actionType) {
+        String label = mActionLabels.get(actionType);
+        if (label == null) {
+            label = actionType.getClass().getSimpleName() + "-" + actionType.toString();
+            mActionLabels.put(actionType, label);
+        }
+        return label;
+    }
+
+    @NonNull
+    private String getDispatchLogMessage(@NonNull IAction actionType) {
+        String message = mDispatchLogMessages.get(actionType);
+        if (message == null) {
+            message = "Dispatching action: " + getActionLabel(actionType);
+            mDispatchLogMessages.put(actionType, message);
+        }
+        return message;
+    }
+
+    @NonNull
+    private static EventBusBuilder newEventBus() {
+        return EventBus.builder()
+                .logNoSubscriberMessages(true)
+                .sendNoSubscriberEvent(true)
+                .throwSubscriberException(true);
+    }
+
+    @NonNull
+    private static ExecutorService newLaneExecutor(@NonNull final DispatchLane lane, int threads) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    private final AtomicInteger mCount = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(@NonNull Runnable runnable) {
+                        return new Thread(runnable, "FluxC-" + lane.name() + "-" + mCount.incrementAndGet());
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs the tasks on the calling thread, so the EventBus delivering the actions of the lanes runs its ASYNC
+     * subscribers on the lane thread instead of on its own executor.
+     */
+    private static class CallerThreadExecutorService extends AbstractExecutorService {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @NonNull
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) {
+            return false;
+        }
+    }
 }
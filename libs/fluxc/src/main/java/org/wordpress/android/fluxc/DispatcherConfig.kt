@@ -0,0 +1,13 @@
+package org.wordpress.android.fluxc
+
+/**
+ * Sizes of the priority lanes of the [Dispatcher]. Without a config, the actions are delivered through the EventBus.
+ *
+ * Lanes are opt-in: the subscribers of an action then run one after another on a single lane thread, instead of
+ * concurrently on the EventBus pool, so an app should only bind a config once it has measured the effect on its
+ * stores.
+ *
+ * @param uiLaneThreads number of threads of the UI lane
+ * @param backgroundLaneThreads number of threads of the BACKGROUND lane
+ */
+data class DispatcherConfig(val uiLaneThreads: Int, val backgroundLaneThreads: Int)
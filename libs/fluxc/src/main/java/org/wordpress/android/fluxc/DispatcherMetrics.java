@@ -0,0 +1,107 @@
+package org.wordpress.android.fluxc;
+
+import androidx.annotation.NonNull;
+
+import org.wordpress.android.fluxc.annotations.DispatchLane;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters collected by the {@link Dispatcher} when it runs with priority lanes: per-lane queue depth and
+ * per-action-type queue wait and handling time (time spent in all the subscribers of that action on its lane thread).
+ */
+public class DispatcherMetrics {
+    public static class ActionStats {
+        private final AtomicLong mCount = new AtomicLong();
+        private final AtomicLong mTotalQueueWaitNanos = new AtomicLong();
+        private final AtomicLong mTotalHandlingNanos = new AtomicLong();
+        private final AtomicLong mMaxHandlingNanos = new AtomicLong();
+
+        void record(long queueWaitNanos, long handlingNanos) {
+            mCount.incrementAndGet();
+            mTotalQueueWaitNanos.addAndGet(queueWaitNanos);
+            mTotalHandlingNanos.addAndGet(handlingNanos);
+            long max;
+            do {
+                max = mMaxHandlingNanos.get();
+            } while (handlingNanos > max && !mMaxHandlingNanos.compareAndSet(max, handlingNanos));
+        }
+
+        public long getCount() {
+            return mCount.get();
+        }
+
+        public long getAverageQueueWaitMs() {
+            long count = mCount.get();
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(mTotalQueueWaitNanos.get() / count);
+        }
+
+        public long getAverageHandlingMs() {
+            long count = mCount.get();
+            return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(mTotalHandlingNanos.get() / count);
+        }
+
+        public long getMaxHandlingMs() {
+            return TimeUnit.NANOSECONDS.toMillis(mMaxHandlingNanos.get());
+        }
+    }
+
+    private final ConcurrentHashMap<String, ActionStats> mActionStats = new ConcurrentHashMap<>();
+    private final Map<DispatchLane, AtomicInteger> mQueueDepths = new EnumMap<>(DispatchLane.class);
+    private final Map<DispatchLane, AtomicInteger> mMaxQueueDepths = new EnumMap<>(DispatchLane.class);
+
+    DispatcherMetrics() {
+        for (DispatchLane lane : DispatchLane.values()) {
+            mQueueDepths.put(lane, new AtomicInteger());
+            mMaxQueueDepths.put(lane, new AtomicInteger());
+        }
+    }
+
+    void onEnqueued(@NonNull DispatchLane lane) {
+        int depth = mQueueDepths.get(lane).incrementAndGet();
+        AtomicInteger maxDepth = mMaxQueueDepths.get(lane);
+        int max;
+        do {
+            max = maxDepth.get();
+        } while (depth > max && !maxDepth.compareAndSet(max, depth));
+    }
+
+    void onDequeued(@NonNull DispatchLane lane) {
+        mQueueDepths.get(lane).decrementAndGet();
+    }
+
+    void onHandled(@NonNull String actionLabel, long queueWaitNanos, long handlingNanos) {
+        ActionStats stats = mActionStats.get(actionLabel);
+        if (stats == null) {
+            stats = new ActionStats();
+            ActionStats previous = mActionStats.putIfAbsent(actionLabel, stats);
+            if (previous != null) {
+                stats = previous;
+            }
+        }
+        stats.record(queueWaitNanos, handlingNanos);
+    }
+
+    public int getQueueDepth(@NonNull DispatchLane lane) {
+        return mQueueDepths.get(lane).get();
+    }
+
+    public int getMaxQueueDepth(@NonNull DispatchLane lane) {
+        return mMaxQueueDepths.get(lane).get();
+    }
+
+    /**
+     * @return a snapshot of the stats of every action type dispatched so far, keyed by "ActionEnum-ACTION_NAME"
+     */
+    @NonNull
+    public Map<String, ActionStats> getActionStats() {
+        return Collections.unmodifiableMap(new HashMap<>(mActionStats));
+    }
+}
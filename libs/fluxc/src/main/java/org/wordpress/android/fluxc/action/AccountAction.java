@@ -2,6 +2,7 @@ package org.wordpress.android.fluxc.action;
 
 import org.wordpress.android.fluxc.annotations.Action;
 import org.wordpress.android.fluxc.annotations.ActionEnum;
+import org.wordpress.android.fluxc.annotations.DispatchLane;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.AccountModel;
 import org.wordpress.android.fluxc.model.SubscriptionsModel;
@@ -30,9 +31,9 @@ import org.wordpress.android.fluxc.store.AccountStore.UpdateTokenPayload;
 @ActionEnum
 public enum AccountAction implements IAction {
     // Remote actions
-    @Action
+    @Action(lane = DispatchLane.UI)
     FETCH_ACCOUNT,          // request fetch of Account information
-    @Action
+    @Action(lane = DispatchLane.UI)
     FETCH_SETTINGS,         // request fetch of Account Settings
     @Action(payloadType = FetchUsernameSuggestionsPayload.class)
     FETCH_USERNAME_SUGGESTIONS,  // request fetch of Username Suggestions
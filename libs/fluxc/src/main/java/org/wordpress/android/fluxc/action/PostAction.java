@@ -2,9 +2,12 @@ package org.wordpress.android.fluxc.action;
 
 import org.wordpress.android.fluxc.annotations.Action;
 import org.wordpress.android.fluxc.annotations.ActionEnum;
+import org.wordpress.android.fluxc.annotations.DispatchLane;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.PostModel;
 import org.wordpress.android.fluxc.store.PostStore.DeletedPostPayload;
+import org.wordpress.android.fluxc.store.PostStore.FetchChangedPostsPayload;
+import org.wordpress.android.fluxc.store.PostStore.FetchChangedPostsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostLikesPayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListPayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListResponsePayload;
@@ -23,11 +26,13 @@ public enum PostAction implements IAction {
     // Remote actions
     @Action(payloadType = FetchPostListPayload.class)
     FETCH_POST_LIST,
+    @Action(payloadType = FetchChangedPostsPayload.class)
+    FETCH_CHANGED_POSTS,
     @Action(payloadType = FetchPostsPayload.class)
     FETCH_POSTS,
     @Action(payloadType = FetchPostsPayload.class)
     FETCH_PAGES,
-    @Action(payloadType = RemotePostPayload.class)
+    @Action(payloadType = RemotePostPayload.class, lane = DispatchLane.UI)
     FETCH_POST,
     @Action(payloadType = RemotePostPayload.class)
     FETCH_POST_STATUS,
@@ -47,6 +52,8 @@ public enum PostAction implements IAction {
     // Remote responses
     @Action(payloadType = FetchPostListResponsePayload.class)
     FETCHED_POST_LIST,
+    @Action(payloadType = FetchChangedPostsResponsePayload.class)
+    FETCHED_CHANGED_POSTS,
     @Action(payloadType = FetchPostsResponsePayload.class)
     FETCHED_POSTS,
     @Action(payloadType = FetchPostResponsePayload.class)
@@ -67,7 +74,7 @@ public enum PostAction implements IAction {
     FETCHED_POST_LIKES,
 
     // Local actions
-    @Action(payloadType = PostModel.class)
+    @Action(payloadType = PostModel.class, lane = DispatchLane.UI)
     UPDATE_POST,
     @Action(payloadType = PostModel.class)
     REMOVE_POST,
@@ -2,6 +2,7 @@ package org.wordpress.android.fluxc.action;
 
 import org.wordpress.android.fluxc.annotations.Action;
 import org.wordpress.android.fluxc.annotations.ActionEnum;
+import org.wordpress.android.fluxc.annotations.DispatchLane;
 import org.wordpress.android.fluxc.annotations.action.IAction;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.model.SitesModel;
@@ -45,9 +46,9 @@ public enum SiteAction implements IAction {
     // Remote actions
     @Action(payloadType = SiteModel.class)
     FETCH_PROFILE_XML_RPC,
-    @Action(payloadType = SiteModel.class)
+    @Action(payloadType = SiteModel.class, lane = DispatchLane.UI)
     FETCH_SITE,
-    @Action(payloadType = FetchSitesPayload.class)
+    @Action(payloadType = FetchSitesPayload.class, lane = DispatchLane.UI)
     FETCH_SITES,
     @Action(payloadType = RefreshSitesXMLRPCPayload.class)
     FETCH_SITES_XML_RPC,
@@ -16,7 +16,7 @@ import org.wordpress.android.util.StringUtils;
 import java.io.Serializable;
 
 @Table
-public class MediaModel extends Payload<BaseNetworkError> implements Identifiable, Serializable {
+public class MediaModel extends Payload<BaseNetworkError> implements Cloneable, Identifiable, Serializable {
     private static final long serialVersionUID = -1396457338496002846L;
 
     public enum MediaUploadState {
@@ -660,4 +660,15 @@ public class MediaModel extends Payload<BaseNetworkError> implements Identifiabl
     public String getFileUrlLargeSize() {
         return mFileUrlLargeSize;
     }
+
+    @Override
+    public MediaModel clone() {
+        try {
+            MediaModel clone = (MediaModel) super.clone();
+            clone.mFieldsToUpdate = mFieldsToUpdate.clone();
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(); // Can't happen
+        }
+    }
 }
@@ -26,7 +26,7 @@ import static java.lang.annotation.RetentionPolicy.SOURCE;
 
 @Table
 @RawConstraints({"UNIQUE (SITE_ID, URL)"})
-public class SiteModel extends Payload<BaseNetworkError> implements Identifiable, Serializable {
+public class SiteModel extends Payload<BaseNetworkError> implements Cloneable, Identifiable, Serializable {
     private static final long serialVersionUID = -7641813766771796252L;
 
     @Retention(SOURCE)
@@ -1121,4 +1121,13 @@ public class SiteModel extends Payload<BaseNetworkError> implements Identifiable
     public void setIsSingleUserSite(Boolean isSingleUserSite) {
         mIsSingleUserSite = isSingleUserSite;
     }
+
+    @Override
+    public SiteModel clone() {
+        try {
+            return (SiteModel) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(); // Can't happen
+        }
+    }
 }
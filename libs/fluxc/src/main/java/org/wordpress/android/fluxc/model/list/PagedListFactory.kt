@@ -3,6 +3,7 @@ package org.wordpress.android.fluxc.model.list
 import androidx.paging.DataSource
 import androidx.paging.PositionalDataSource
 import org.wordpress.android.fluxc.model.list.datasource.InternalPagedListDataSource
+import org.wordpress.android.fluxc.model.list.datasource.ListItemsChangedException
 
 /**
  * A [DataSource.Factory] instance for `ListStore` lists.
@@ -38,7 +39,9 @@ private class PagedListPositionalDataSource<LIST_DESCRIPTOR : ListDescriptor, IT
         val startPosition = computeInitialLoadPosition(params, totalSize)
         val loadSize = computeInitialLoadSize(params, startPosition, totalSize)
         val items = loadRangeInternal(startPosition, loadSize)
-        if (params.placeholdersEnabled) {
+        if (items == null) {
+            callback.onResult(emptyList(), 0, 0)
+        } else if (params.placeholdersEnabled) {
             callback.onResult(items, startPosition, totalSize)
         } else {
             callback.onResult(items, startPosition)
@@ -47,14 +50,23 @@ private class PagedListPositionalDataSource<LIST_DESCRIPTOR : ListDescriptor, IT
 
     override fun loadRange(params: LoadRangeParams, callback: LoadRangeCallback<LIST_ITEM>) {
         val items = loadRangeInternal(params.startPosition, params.loadSize)
-        callback.onResult(items)
+        callback.onResult(items ?: emptyList())
     }
 
-    private fun loadRangeInternal(startPosition: Int, loadSize: Int): List<LIST_ITEM> {
+    /**
+     * Returns the items in the given range, or null if the items of the list were removed since [dataSource] was
+     * created. This data source is invalidated in that case, so the result is ignored by `PagedList`.
+     */
+    private fun loadRangeInternal(startPosition: Int, loadSize: Int): List<LIST_ITEM>? {
         val endPosition = startPosition + loadSize
         if (startPosition == endPosition) {
             return emptyList()
         }
-        return dataSource.getItemsInRange(startPosition, endPosition)
+        return try {
+            dataSource.getItemsInRange(startPosition, endPosition)
+        } catch (e: ListItemsChangedException) {
+            invalidate()
+            null
+        }
     }
 }
@@ -9,10 +9,11 @@ import org.wordpress.android.fluxc.model.list.ListDescriptor
  * implementation. Whenever a list is invalidated, meaning it needs to be refreshed, a new instance will be created
  * just like [PositionalDataSource].
  *
- * We first ask the [ListItemDataSourceInterface] for the identifiers of each row and cache them in memory as soon as
- * a new instance is created. This is necessary because [PositionalDataSource] works with immutable values and does the
+ * We first ask the [ListItemDataSourceInterface] for the identifiers of each row and keep them as soon as a new
+ * instance is created. This is necessary because [PositionalDataSource] works with immutable values and does the
  * heavy lifting by caching the items in memory as they are loaded, however it still needs a consistent list of
- * identifiers for each index to represent.
+ * identifiers for each index to represent. The remote item ids are a snapshot read in ranges as they're requested,
+ * see [ListItemIdRanges], so the identifiers aren't all in memory unless [ListItemDataSourceInterface] copies them.
  *
  * After the identifiers are cached, whenever [PositionalDataSource] asks for a range of items, they'll be converted
  * to identifiers and propagated to [ListItemDataSourceInterface].
@@ -27,6 +27,9 @@ interface ListItemDataSourceInterface<LIST_DESCRIPTOR : ListDescriptor, ITEM_IDE
      * * Add an end list indicator
      * * Hide certain items
      * * Add section headers
+     *
+     * [remoteItemIds] reads the ids of the list in ranges as they're requested, the returned list should only access
+     * the positions it's asked for instead of copying all of them. See [ListItemIdRanges].
      */
     fun getItemIdentifiers(
         listDescriptor: LIST_DESCRIPTOR,
@@ -0,0 +1,124 @@
+package org.wordpress.android.fluxc.model.list.datasource
+
+import org.wordpress.android.fluxc.model.LocalOrRemoteId.RemoteId
+import org.wordpress.android.fluxc.model.list.ListItemModel
+import org.wordpress.android.fluxc.persistence.ListItemSqlUtils
+
+private const val RANGE_SIZE = 100
+
+/**
+ * Reads the remote item ids of a `ListStore` list from [ListItemSqlUtils] in ranges of [RANGE_SIZE] items, as the
+ * positions in a range are requested, instead of reading every item of the list whenever a new
+ * [InternalPagedListDataSource] is created.
+ *
+ * Each range is read with the row id of the last item of the previous range as its key, so reading a range at the
+ * end of a long list costs the same as reading the first one. Since row ids are never reused, the items of a list up
+ * to the last item of a range can only be removed, so a range is still valid as long as the number of items up to
+ * its last item didn't change. The ranges are kept from one [snapshot] to the next, and [snapshot] only drops the
+ * ranges starting with the first one an item was removed from. That means re-creating the data source when the data
+ * of the items changes (`OnListDataInvalidated`) or when more items are loaded doesn't read any of the ids again, and
+ * removing an item only reads the ids from the range of that item onwards.
+ *
+ * A snapshot doesn't see the items added to the list after it's taken. If items are removed while a snapshot is in
+ * use, it throws a [ListItemsChangedException] as soon as it can't read the id of one of its positions anymore.
+ */
+internal class ListItemIdRanges(private val listItemSqlUtils: ListItemSqlUtils) {
+    private var listId: Int? = null
+
+    // The complete ranges read so far, from the start of the list
+    private val ranges = ArrayList<ListItemIdRange>()
+
+    /**
+     * Returns the remote item ids of the list with the given [listId], as it is now.
+     */
+    @Synchronized
+    fun snapshot(listId: Int?): List<RemoteId> {
+        if (listId != this.listId) {
+            ranges.clear()
+            this.listId = listId
+        }
+        if (listId == null) {
+            return emptyList()
+        }
+        dropChangedRanges(listId)
+        val lastItemId = listItemSqlUtils.getLastListItemId(listId)
+        return Snapshot(listId, lastItemId, listItemSqlUtils.getListItemsCount(listId, lastItemId))
+    }
+
+    /**
+     * Drops the first range an item was removed from, and every range after it since their positions changed.
+     * A range is unchanged only if all the ranges before it are, so the first changed range can be found with a
+     * binary search.
+     */
+    private fun dropChangedRanges(listId: Int) {
+        var unchangedRanges = 0
+        var changedRange = ranges.size
+        while (unchangedRanges < changedRange) {
+            val range = (unchangedRanges + changedRange) / 2
+            val expectedCount = (range + 1) * RANGE_SIZE
+            if (listItemSqlUtils.getListItemsCount(listId, ranges[range].lastItemId) == expectedCount) {
+                unchangedRanges = range + 1
+            } else {
+                changedRange = range
+            }
+        }
+        ranges.subList(unchangedRanges, ranges.size).clear()
+    }
+
+    @Synchronized
+    private fun getRemoteItemId(snapshot: Snapshot, index: Int): Long {
+        val rangeIndex = index / RANGE_SIZE
+        while (rangeIndex >= ranges.size && (ranges.size + 1) * RANGE_SIZE <= snapshot.size) {
+            val range = readRange(snapshot, afterItemId = ranges.lastOrNull()?.lastItemId ?: 0)
+            if (range.remoteItemIds.size < RANGE_SIZE) {
+                throw ListItemsChangedException()
+            }
+            ranges.add(range)
+        }
+        // The ranges read by a later snapshot can go past the end of this one, the positions they share are the same
+        val range = ranges.getOrNull(rangeIndex) ?: snapshot.lastRange ?: readRange(
+                snapshot,
+                afterItemId = ranges.lastOrNull()?.lastItemId ?: 0
+        ).also { snapshot.lastRange = it }
+        return range.remoteItemIds.getOrNull(index % RANGE_SIZE) ?: throw ListItemsChangedException()
+    }
+
+    private fun readRange(snapshot: Snapshot, afterItemId: Int): ListItemIdRange {
+        val items = listItemSqlUtils.getListItemsAfter(snapshot.listId, afterItemId, snapshot.lastItemId, RANGE_SIZE)
+        return ListItemIdRange(
+                remoteItemIds = LongArray(items.size) { items[it].remoteItemId },
+                lastItemId = items.lastOrNull()?.id ?: afterItemId
+        )
+    }
+
+    /**
+     * The remote item ids of a list up to the item with the [lastItemId] row id, read as they're requested.
+     */
+    private inner class Snapshot(
+        val listId: Int,
+        val lastItemId: Int,
+        override val size: Int
+    ) : AbstractList<RemoteId>() {
+        // The last range of this snapshot, which has less than RANGE_SIZE items
+        var lastRange: ListItemIdRange? = null
+
+        override fun get(index: Int): RemoteId {
+            if (index !in 0 until size) {
+                throw IndexOutOfBoundsException("index: $index, size: $size")
+            }
+            return RemoteId(getRemoteItemId(this, index))
+        }
+    }
+
+    /**
+     * @property remoteItemIds The remote item ids of the range, in the order of the list
+     * @property lastItemId The row id of the last [ListItemModel] of the range, the key of the next range
+     */
+    private class ListItemIdRange(val remoteItemIds: LongArray, val lastItemId: Int)
+}
+
+/**
+ * Thrown when the items of a list are removed while a snapshot of its remote item ids is in use. The removal
+ * invalidates the list, so the snapshot is about to be replaced.
+ */
+internal class ListItemsChangedException : IllegalStateException("The items of the list were removed")
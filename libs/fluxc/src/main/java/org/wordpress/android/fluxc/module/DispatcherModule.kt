@@ -0,0 +1,11 @@
+package org.wordpress.android.fluxc.module
+
+import dagger.BindsOptionalOf
+import dagger.Module
+import org.wordpress.android.fluxc.DispatcherConfig
+
+@Module
+interface DispatcherModule {
+    @BindsOptionalOf
+    fun bindOptionalDispatcherConfig(): DispatcherConfig
+}
@@ -1,15 +1,13 @@
 package org.wordpress.android.fluxc.module;
 
-import android.content.Context;
-
 import com.android.volley.Network;
 import com.android.volley.RequestQueue;
 import com.android.volley.toolbox.BasicNetwork;
-import com.android.volley.toolbox.DiskBasedCache;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 import org.wordpress.android.fluxc.network.MemorizingTrustManager;
+import org.wordpress.android.fluxc.network.NetworkCore;
 import org.wordpress.android.fluxc.network.OkHttpStack;
 import org.wordpress.android.fluxc.network.OpenJdkCookieManager;
 import org.wordpress.android.fluxc.network.RetryOnRedirectBasicNetwork;
@@ -18,7 +16,6 @@ import org.wordpress.android.fluxc.network.rest.JsonObjectOrEmptyArrayDeserializ
 import org.wordpress.android.fluxc.network.rest.JsonObjectOrFalse;
 import org.wordpress.android.fluxc.network.rest.JsonObjectOrFalseDeserializer;
 
-import java.io.File;
 import java.net.CookieHandler;
 import java.net.CookieManager;
 
@@ -35,48 +32,39 @@ import okhttp3.OkHttpClient;
 
 @Module(includes = ApplicationPasswordsModule.class)
 public class ReleaseNetworkModule {
-    private static final String DEFAULT_CACHE_DIR = "volley-fluxc";
-    private static final int NETWORK_THREAD_POOL_SIZE = 10;
-
-    private RequestQueue newRetryOnRedirectRequestQueue(OkHttpClient okHttpClient, Context appContext) {
+    private RequestQueue newRetryOnRedirectRequestQueue(NetworkCore networkCore, String name,
+                                                        OkHttpClient okHttpClient) {
         Network network = new RetryOnRedirectBasicNetwork(new OkHttpStack(okHttpClient));
-        return createRequestQueue(network, appContext);
+        return networkCore.newRequestQueue(name, network);
     }
 
-    private RequestQueue newRequestQueue(OkHttpClient okHttpClient, Context appContext) {
+    private RequestQueue newRequestQueue(NetworkCore networkCore, String name, OkHttpClient okHttpClient) {
         Network network = new BasicNetwork(new OkHttpStack(okHttpClient));
-        return createRequestQueue(network, appContext);
-    }
-
-    private RequestQueue createRequestQueue(Network network, Context appContext) {
-        File cacheDir = new File(appContext.getCacheDir(), DEFAULT_CACHE_DIR);
-        RequestQueue queue = new RequestQueue(new DiskBasedCache(cacheDir), network, NETWORK_THREAD_POOL_SIZE);
-        queue.start();
-        return queue;
+        return networkCore.newRequestQueue(name, network);
     }
 
     @Singleton
     @Named("regular")
     @Provides
     public RequestQueue provideRequestQueue(@Named("regular") OkHttpClient okHttpClient,
-                                            Context appContext) {
-        return newRequestQueue(okHttpClient, appContext);
+                                            NetworkCore networkCore) {
+        return newRequestQueue(networkCore, "regular", okHttpClient);
     }
 
     @Singleton
     @Named("no-redirects")
     @Provides
     public RequestQueue provideNoRedirectsRequestQueue(@Named("no-redirects") OkHttpClient okHttpClient,
-                                                       Context appContext) {
-        return newRetryOnRedirectRequestQueue(okHttpClient, appContext);
+                                                       NetworkCore networkCore) {
+        return newRetryOnRedirectRequestQueue(networkCore, "no-redirects", okHttpClient);
     }
 
     @Singleton
     @Named("custom-ssl")
     @Provides
     public RequestQueue provideRequestQueueCustomSSL(@Named("custom-ssl") OkHttpClient okHttpClient,
-                                                     Context appContext) {
-        return newRequestQueue(okHttpClient, appContext);
+                                                     NetworkCore networkCore) {
+        return newRequestQueue(networkCore, "custom-ssl", okHttpClient);
     }
 
     @Singleton
@@ -84,16 +72,16 @@ public class ReleaseNetworkModule {
     @Provides
     public RequestQueue provideRequestQueueCustomSSLWithRedirects(
             @Named("custom-ssl-custom-redirects") OkHttpClient okHttpClient,
-            Context appContext) {
-        return newRequestQueue(okHttpClient, appContext);
+            NetworkCore networkCore) {
+        return newRequestQueue(networkCore, "custom-ssl-custom-redirects", okHttpClient);
     }
 
     @Singleton
     @Named("no-cookies")
     @Provides
     public RequestQueue provideRequestQueueNoCookies(@Named("no-cookies") OkHttpClient okHttpClient,
-                                                     Context appContext) {
-        return newRequestQueue(okHttpClient, appContext);
+                                                     NetworkCore networkCore) {
+        return newRequestQueue(networkCore, "no-cookies", okHttpClient);
     }
 
     @Singleton
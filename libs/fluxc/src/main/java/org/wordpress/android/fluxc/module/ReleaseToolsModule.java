@@ -7,7 +7,7 @@ import javax.inject.Singleton;
 import dagger.Module;
 import dagger.Provides;
 
-@Module
+@Module(includes = DispatcherModule.class)
 public class ReleaseToolsModule {
     @Singleton
     @Provides
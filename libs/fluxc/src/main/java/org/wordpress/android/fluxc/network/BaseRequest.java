@@ -55,10 +55,15 @@ public abstract class BaseRequest<T> extends Request<T> {
         void onParseError(OnUnexpectedError event);
     }
 
+    public interface OnResponseSizeListener {
+        void onResponseSize(long bytes);
+    }
+
     private static final String USER_AGENT_HEADER = "User-Agent";
 
     protected OnAuthFailedListener mOnAuthFailedListener;
     protected OnParseErrorListener mOnParseErrorListener;
+    protected OnResponseSizeListener mOnResponseSizeListener;
     protected final Map<String, String> mHeaders = new HashMap<>(2);
     private BaseErrorListener mErrorListener;
 
@@ -272,6 +277,19 @@ public abstract class BaseRequest<T> extends Request<T> {
         mOnParseErrorListener = onParseErrorListener;
     }
 
+    /**
+     * Sets a listener told the size of the body of a successful response, before the response is delivered.
+     */
+    public void setOnResponseSizeListener(OnResponseSizeListener onResponseSizeListener) {
+        mOnResponseSizeListener = onResponseSizeListener;
+    }
+
+    protected void notifyResponseSize(long bytes) {
+        if (mOnResponseSizeListener != null) {
+            mOnResponseSizeListener.onResponseSize(bytes);
+        }
+    }
+
     public void setUserAgent(String userAgent) {
         mHeaders.put(USER_AGENT_HEADER, userAgent);
     }
@@ -315,6 +333,9 @@ public abstract class BaseRequest<T> extends Request<T> {
                 cacheEntry.lastModified = HttpHeaderParser.parseDateAsEpoch(headerValue);
             }
 
+            // lets the expired entry be validated with an If-None-Match request instead of downloaded again
+            cacheEntry.etag = response.headers.get("ETag");
+
             cacheEntry.data = response.data;
             cacheEntry.responseHeaders = response.headers;
         }
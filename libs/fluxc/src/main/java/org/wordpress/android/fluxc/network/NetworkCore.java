@@ -0,0 +1,171 @@
+package org.wordpress.android.fluxc.network;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.android.volley.Cache;
+import com.android.volley.Network;
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.RequestQueue;
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.DiskBasedCache;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Shared by all the FluxC RequestQueues:
+ * <ul>
+ *     <li>a single size bounded disk cache - every queue used to have its own {@link DiskBasedCache} on the same
+ *     directory, each one evicting files based on its own view of the directory</li>
+ *     <li>a budget limiting the number of requests running on the network at the same time across all the queues</li>
+ * </ul>
+ * The OkHttpClients of the queues are all built from the same client in OkHttpClientModule, so they share its
+ * connection pool.
+ */
+@Singleton
+public class NetworkCore {
+    private static final String CACHE_DIR = "volley-fluxc";
+    private static final int MAX_CACHE_SIZE_BYTES = 10 * 1024 * 1024;
+    private static final int NETWORK_THREAD_POOL_SIZE = 10;
+    static final int MAX_CONCURRENT_REQUESTS = 24;
+
+    @NonNull private final Cache mCache;
+    @NonNull private final Semaphore mRequestBudget;
+    @NonNull private final List<RequestQueueMetrics> mMetrics = Collections.synchronizedList(new ArrayList<>());
+    private boolean mIsCacheInitialized;
+
+    @Inject
+    public NetworkCore(@NonNull Context appContext) {
+        this(new DiskBasedCache(new File(appContext.getCacheDir(), CACHE_DIR), MAX_CACHE_SIZE_BYTES),
+                MAX_CONCURRENT_REQUESTS);
+    }
+
+    NetworkCore(@NonNull Cache cache, int maxConcurrentRequests) {
+        mCache = cache;
+        mRequestBudget = new Semaphore(maxConcurrentRequests, true);
+    }
+
+    /**
+     * Creates and starts a queue using the shared cache and request budget.
+     */
+    @NonNull
+    public RequestQueue newRequestQueue(@NonNull String name, @NonNull Network network) {
+        RequestQueueMetrics metrics = new RequestQueueMetrics(name);
+        mMetrics.add(metrics);
+        RequestQueue queue = new RequestQueue(new MeteredCache(metrics), new BudgetedNetwork(network, metrics),
+                NETWORK_THREAD_POOL_SIZE);
+        queue.start();
+        return queue;
+    }
+
+    /**
+     * @return the metrics of every queue created by this core
+     */
+    @NonNull
+    public List<RequestQueueMetrics> getMetrics() {
+        synchronized (mMetrics) {
+            return new ArrayList<>(mMetrics);
+        }
+    }
+
+    private synchronized void initializeCache() {
+        // every queue initializes its cache when it starts, the shared cache only needs to read the directory once
+        if (!mIsCacheInitialized) {
+            mCache.initialize();
+            mIsCacheInitialized = true;
+        }
+    }
+
+    /**
+     * Runs the requests of a queue on its network once the budget allows it.
+     */
+    private class BudgetedNetwork implements Network {
+        @NonNull private final Network mNetwork;
+        @NonNull private final RequestQueueMetrics mMetrics;
+
+        BudgetedNetwork(@NonNull Network network, @NonNull RequestQueueMetrics metrics) {
+            mNetwork = network;
+            mMetrics = metrics;
+        }
+
+        @Override
+        public NetworkResponse performRequest(Request<?> request) throws VolleyError {
+            try {
+                mRequestBudget.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new VolleyError(e);
+            }
+            mMetrics.onNetworkRequestStarted();
+            NetworkResponse response = null;
+            try {
+                response = mNetwork.performRequest(request);
+                return response;
+            } finally {
+                mRequestBudget.release();
+                // for a 304 Not Modified the response holds the cached data
+                boolean notModified = response != null && response.notModified;
+                mMetrics.onNetworkRequestFinished(notModified, notModified ? getLength(response.data) : 0);
+            }
+        }
+    }
+
+    /**
+     * The shared cache, counting the lookups of a queue.
+     */
+    private class MeteredCache implements Cache {
+        @NonNull private final RequestQueueMetrics mMetrics;
+
+        MeteredCache(@NonNull RequestQueueMetrics metrics) {
+            mMetrics = metrics;
+        }
+
+        @Override
+        public Entry get(String key) {
+            Entry entry = mCache.get(key);
+            // an entry which needs to be refreshed is validated over the network, see BudgetedNetwork
+            boolean isHit = entry != null && !entry.refreshNeeded();
+            mMetrics.onCacheLookup(isHit, isHit ? getLength(entry.data) : 0);
+            return entry;
+        }
+
+        @Override
+        public void put(String key, Entry entry) {
+            mCache.put(key, entry);
+        }
+
+        @Override
+        public void initialize() {
+            initializeCache();
+        }
+
+        @Override
+        public void invalidate(String key, boolean fullExpire) {
+            mCache.invalidate(key, fullExpire);
+        }
+
+        @Override
+        public void remove(String key) {
+            mCache.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            mCache.clear();
+        }
+    }
+
+    private static long getLength(@Nullable byte[] data) {
+        return data == null ? 0 : data.length;
+    }
+}
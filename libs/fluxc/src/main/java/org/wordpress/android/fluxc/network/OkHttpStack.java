@@ -10,9 +10,11 @@ import com.android.volley.toolbox.HttpResponse;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
 import okhttp3.Call;
@@ -121,12 +123,37 @@ public class OkHttpStack extends BaseHttpStack {
 
         int code = okHttpResponse.code();
         ResponseBody body = okHttpResponse.body();
+        List<Header> responseHeaders = mapHeaders(okHttpResponse.headers());
+        if (body != null && shouldStreamResponse(request, code)) {
+            try {
+                ((StreamingRequest) request).parseResponseStream(body.byteStream(), toMap(responseHeaders));
+            } finally {
+                body.close();
+            }
+            // The body was consumed by the request, BasicNetwork delivers a response without data
+            return new HttpResponse(code, responseHeaders);
+        }
         InputStream content = body == null ? null : body.byteStream();
         int contentLength = body == null ? 0 : (int) body.contentLength();
-        List<Header> responseHeaders = mapHeaders(okHttpResponse.headers());
         return new HttpResponse(code, responseHeaders, contentLength, content);
     }
 
+    private static boolean shouldStreamResponse(Request<?> request, int code) {
+        // Error bodies are still buffered, they're parsed by the error listeners of the requests
+        return request instanceof StreamingRequest && ((StreamingRequest) request).shouldStreamResponse()
+               && code >= HttpURLConnection.HTTP_OK && code < HttpURLConnection.HTTP_MULT_CHOICE
+               && code != HttpURLConnection.HTTP_NO_CONTENT;
+    }
+
+    private static Map<String, String> toMap(List<Header> headers) {
+        // Same as NetworkResponse, header names are case insensitive
+        Map<String, String> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : headers) {
+            map.put(header.getName(), header.getValue());
+        }
+        return map;
+    }
+
     private List<Header> mapHeaders(Headers responseHeaders) {
         List<Header> headers = new ArrayList<>();
         for (int i = 0, len = responseHeaders.size(); i < len; i++) {
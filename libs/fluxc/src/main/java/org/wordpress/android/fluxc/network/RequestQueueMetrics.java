@@ -0,0 +1,83 @@
+package org.wordpress.android.fluxc.network;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of a RequestQueue created by {@link NetworkCore}, since the app started.
+ */
+public class RequestQueueMetrics {
+    @NonNull private final String mQueueName;
+    private final AtomicInteger mInFlightRequests = new AtomicInteger();
+    private final AtomicLong mNetworkRequests = new AtomicLong();
+    private final AtomicLong mCacheLookups = new AtomicLong();
+    private final AtomicLong mCacheHits = new AtomicLong();
+    private final AtomicLong mNotModifiedResponses = new AtomicLong();
+    private final AtomicLong mBytesSaved = new AtomicLong();
+
+    RequestQueueMetrics(@NonNull String queueName) {
+        mQueueName = queueName;
+    }
+
+    @NonNull
+    public String getQueueName() {
+        return mQueueName;
+    }
+
+    /**
+     * @return the number of requests of the queue running on the network right now
+     */
+    public int getInFlightRequests() {
+        return mInFlightRequests.get();
+    }
+
+    public long getNetworkRequests() {
+        return mNetworkRequests.get();
+    }
+
+    /**
+     * @return the ratio of cacheable requests which were answered from the cache, without a network request or with
+     * a response validated by the server (304 Not Modified)
+     */
+    public float getCacheHitRate() {
+        long lookups = mCacheLookups.get();
+        return lookups == 0 ? 0f : (float) (mCacheHits.get() + mNotModifiedResponses.get()) / lookups;
+    }
+
+    /**
+     * @return the size of the cached responses which didn't have to be downloaded again
+     */
+    public long getBytesSaved() {
+        return mBytesSaved.get();
+    }
+
+    void onNetworkRequestStarted() {
+        mInFlightRequests.incrementAndGet();
+        mNetworkRequests.incrementAndGet();
+    }
+
+    void onNetworkRequestFinished(boolean notModified, long cachedBytes) {
+        mInFlightRequests.decrementAndGet();
+        if (notModified) {
+            mNotModifiedResponses.incrementAndGet();
+            mBytesSaved.addAndGet(cachedBytes);
+        }
+    }
+
+    void onCacheLookup(boolean isHit, long bytes) {
+        mCacheLookups.incrementAndGet();
+        if (isHit) {
+            mCacheHits.incrementAndGet();
+            mBytesSaved.addAndGet(bytes);
+        }
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return mQueueName + ": " + getInFlightRequests() + " in flight, " + getNetworkRequests() + " requests, "
+               + Math.round(getCacheHitRate() * 100) + "% cache hits, " + getBytesSaved() + " bytes saved";
+    }
+}
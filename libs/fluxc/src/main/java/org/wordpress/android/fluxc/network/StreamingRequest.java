@@ -0,0 +1,28 @@
+package org.wordpress.android.fluxc.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * A request able to parse the body of a successful response while it's being downloaded, instead of Volley reading
+ * the whole body into {@link com.android.volley.NetworkResponse#data} first. See {@link OkHttpStack}.
+ */
+public interface StreamingRequest {
+    /**
+     * @return true if the body of a successful response should be passed to {@link #parseResponseStream}
+     */
+    boolean shouldStreamResponse();
+
+    /**
+     * Called on the network thread with the body of a successful response. The request keeps the result (or the
+     * parse error) until Volley asks it to parse the {@link com.android.volley.NetworkResponse}, which has no data.
+     *
+     * @param body the response body, closed by the caller
+     * @param headers the response headers
+     * @throws IOException if reading the body fails, so the network can retry the request
+     */
+    void parseResponseStream(@NonNull InputStream body, @NonNull Map<String, String> headers) throws IOException;
+}
@@ -1,5 +1,6 @@
 package org.wordpress.android.fluxc.network.rest;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.android.volley.AuthFailureError;
@@ -10,19 +11,28 @@ import com.android.volley.Response.Listener;
 import com.android.volley.toolbox.HttpHeaderParser;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.MalformedJsonException;
 
 import org.wordpress.android.fluxc.logging.FluxCCrashLogger;
 import org.wordpress.android.fluxc.logging.FluxCCrashLoggerProvider;
 import org.wordpress.android.fluxc.network.BaseRequest;
-
+import org.wordpress.android.fluxc.network.StreamingRequest;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 
-public abstract class GsonRequest<T> extends BaseRequest<T> {
+public abstract class GsonRequest<T> extends BaseRequest<T> implements StreamingRequest {
     private static final String PROTOCOL_CHARSET = "utf-8";
     private static final String PROTOCOL_CONTENT_TYPE = String.format("application/json; charset=%s", PROTOCOL_CHARSET);
 
@@ -35,6 +45,9 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
 
     private final GsonBuilder mCustomGsonBuilder;
 
+    private boolean mStreamResponse;
+    @Nullable private Response<T> mStreamedResponse;
+
     protected GsonRequest(int method, Map<String, String> params, Map<String, Object> body, String url, Class<T> clazz,
                        Type type, Listener<T> listener, BaseErrorListener errorListener) {
         super(method, url, errorListener);
@@ -104,8 +117,54 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
         return mBody;
     }
 
+    /**
+     * Parses the body of a successful response while it's being downloaded, instead of buffering it and copying it
+     * into a String first. Meant for endpoints returning large bodies. Ignored when caching is enabled, since the
+     * cache stores the raw body.
+     */
+    public void enableResponseStreaming() {
+        mStreamResponse = true;
+    }
+
+    @Override
+    public boolean shouldStreamResponse() {
+        return mStreamResponse && !shouldCache();
+    }
+
+    @Override
+    public void parseResponseStream(@NonNull InputStream body, @NonNull Map<String, String> headers)
+            throws IOException {
+        mStreamedResponse = null;
+        try {
+            CountingInputStream countingBody = new CountingInputStream(body);
+            Reader reader = new InputStreamReader(countingBody, HttpHeaderParser.parseCharset(headers));
+            T res = mGson.fromJson(mGson.newJsonReader(reader), mClass == null ? mType : mClass);
+            mStreamedResponse = Response.success(res, null);
+            notifyResponseSize(countingBody.mBytesRead);
+        } catch (UnsupportedEncodingException | JsonIOException | JsonSyntaxException e) {
+            if (isReadFailure(e.getCause())) {
+                // The connection failed while reading the body
+                throw (IOException) e.getCause();
+            }
+            logRequestPath();
+            mStreamedResponse = Response.error(new ParseError(e));
+        }
+    }
+
+    private static boolean isReadFailure(@Nullable Throwable cause) {
+        // Gson wraps the exceptions of the reader, including its own syntax errors
+        return cause instanceof IOException && !(cause instanceof MalformedJsonException)
+               && !(cause instanceof EOFException);
+    }
+
     @Override
     protected Response<T> parseNetworkResponse(NetworkResponse response) {
+        if (mStreamedResponse != null) {
+            // The body was parsed by parseResponseStream
+            Response<T> streamedResponse = mStreamedResponse;
+            mStreamedResponse = null;
+            return streamedResponse;
+        }
         try {
             String json = new String(response.data, HttpHeaderParser.parseCharset(response.headers));
             T res;
@@ -114,6 +173,7 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
             } else {
                 res = mGson.fromJson(json, mClass);
             }
+            notifyResponseSize(response.data.length);
             return Response.success(res, createCacheEntry(response));
         } catch (UnsupportedEncodingException | JsonSyntaxException e) {
             logRequestPath();
@@ -130,6 +190,32 @@ public abstract class GsonRequest<T> extends BaseRequest<T> {
         return gsonBuilder;
     }
 
+    private static class CountingInputStream extends FilterInputStream {
+        private long mBytesRead;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result = super.read();
+            if (result != -1) {
+                mBytesRead++;
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+                mBytesRead += count;
+            }
+            return count;
+        }
+    }
+
     private void logRequestPath() {
         FluxCCrashLogger logger = FluxCCrashLoggerProvider.INSTANCE.getCrashLogger();
         if (logger != null) {
@@ -66,6 +66,30 @@ class WPComGsonRequestBuilder
         restClient.add(request)
     }
 
+    /**
+     * Creates a new GET request whose response is parsed while it's being downloaded, for endpoints returning large
+     * bodies. See [WPComGsonRequest.enableResponseStreaming].
+     * @param restClient rest client that handles the request
+     * @param url the request URL
+     * @param params the parameters to append to the request URL
+     * @param clazz the class defining the expected response
+     */
+    suspend fun <T> syncGetStreamingRequest(
+        restClient: BaseWPComRestClient,
+        url: String,
+        params: Map<String, String>,
+        clazz: Class<T>
+    ) = suspendCancellableCoroutine<Response<T>> { cont ->
+        val request = WPComGsonRequest.buildGetRequest(url, params, clazz, {
+            cont.resume(Success(it))
+        }, {
+            cont.resume(Error(it))
+        })
+        cont.invokeOnCancellation { request.cancel() }
+        request.enableResponseStreaming()
+        restClient.add(request)
+    }
+
     /**
      * Creates a new GET request.
      * @param url the request URL
@@ -24,7 +24,9 @@ import org.wordpress.android.fluxc.model.PostsModel;
 import org.wordpress.android.fluxc.model.PublicizeSkipConnection;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.model.list.AuthorFilter;
+import org.wordpress.android.fluxc.model.list.ListOrder;
 import org.wordpress.android.fluxc.model.list.PostListDescriptor.PostListDescriptorForRestSite;
+import org.wordpress.android.fluxc.model.list.PostListOrderBy;
 import org.wordpress.android.fluxc.model.post.PostLocation;
 import org.wordpress.android.fluxc.model.post.PostStatus;
 import org.wordpress.android.fluxc.model.revisions.Diff;
@@ -50,6 +52,7 @@ import org.wordpress.android.fluxc.network.rest.wpcom.revisions.RevisionsRespons
 import org.wordpress.android.fluxc.network.rest.wpcom.revisions.RevisionsResponse.RevisionResponse;
 import org.wordpress.android.fluxc.network.rest.wpcom.taxonomy.TermWPComRestResponse;
 import org.wordpress.android.fluxc.store.PostStore.DeletedPostPayload;
+import org.wordpress.android.fluxc.store.PostStore.FetchChangedPostsResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostListResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostResponsePayload;
 import org.wordpress.android.fluxc.store.PostStore.FetchPostStatusResponsePayload;
@@ -71,6 +74,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -78,6 +82,8 @@ import javax.inject.Singleton;
 
 @Singleton
 public class PostRestClient extends BaseWPComRestClient {
+    private static final int MAX_CHANGED_POSTS_PER_FETCH = 100;
+
     LikesUtilsProvider mLikesUtilsProvider;
 
     @Inject public PostRestClient(Context appContext,
@@ -269,6 +275,52 @@ public class PostRestClient extends BaseWPComRestClient {
         add(request);
     }
 
+    /**
+     * Fetches the full content of the changed posts of a list with a single request for the posts modified after the
+     * given date, oldest first. Posts which aren't part of the response are reported as not fetched.
+     */
+    public void fetchChangedPosts(final PostListDescriptorForRestSite listDescriptor,
+                                  final List<PostModel> changedPosts,
+                                  final String modifiedAfter) {
+        final SiteModel site = listDescriptor.getSite();
+        String url = WPCOMREST.sites.site(site.getSiteId()).posts.getUrlV1_1();
+
+        // Leave some room for the other posts modified in the meantime
+        int number = Math.min(changedPosts.size() * 2, MAX_CHANGED_POSTS_PER_FETCH);
+        Map<String, String> params =
+                createFetchPostListParameters(false, 0, number, listDescriptor.getStatusList(),
+                        listDescriptor.getAuthor(), null, ListOrder.ASC.getValue(),
+                        PostListOrderBy.LAST_MODIFIED.getValue(), listDescriptor.getSearchQuery());
+        params.put("modified_after", modifiedAfter);
+
+        final AtomicLong responseSize = new AtomicLong();
+        final WPComGsonRequest<PostsResponse> request = WPComGsonRequest.buildGetRequest(url, params,
+                PostsResponse.class,
+                new Listener<PostsResponse>() {
+                    @Override
+                    public void onResponse(PostsResponse response) {
+                        List<PostModel> fetchedPosts = new ArrayList<>(response.getPosts().size());
+                        for (PostWPComRestResponse postResponse : response.getPosts()) {
+                            fetchedPosts.add(postResponseToPostModel(postResponse));
+                        }
+                        mDispatcher.dispatch(PostActionBuilder.newFetchedChangedPostsAction(
+                                new FetchChangedPostsResponsePayload(site, changedPosts, fetchedPosts,
+                                        responseSize.get(), null)));
+                    }
+                },
+                new WPComErrorListener() {
+                    @Override
+                    public void onErrorResponse(@NonNull WPComGsonNetworkError error) {
+                        PostError postError = new PostError(error.apiError, error.message);
+                        mDispatcher.dispatch(PostActionBuilder.newFetchedChangedPostsAction(
+                                new FetchChangedPostsResponsePayload(site, changedPosts,
+                                        Collections.<PostModel>emptyList(), 0, postError)));
+                    }
+                });
+        request.setOnResponseSizeListener(responseSize::set);
+        add(request);
+    }
+
     public void fetchPosts(final SiteModel site, final boolean getPages, final List<PostStatus> statusList,
                            final int offset, final int number) {
         String url = WPCOMREST.sites.site(site.getSiteId()).posts.getUrlV1_1();
@@ -145,7 +145,7 @@ class SiteRestClient @Inject constructor(
         val useV2Endpoint = filters.isNotEmpty()
         val params = getFetchSitesParams(filters)
         val url = WPCOMREST.me.sites.let { if (useV2Endpoint) it.urlV1_2 else it.urlV1_1 }
-        val response = wpComGsonRequestBuilder.syncGetRequest(this, url, params, SitesResponse::class.java)
+        val response = wpComGsonRequestBuilder.syncGetStreamingRequest(this, url, params, SitesResponse::class.java)
 
         val siteFeatures = if (useV2Endpoint) {
             fetchSitesFeatures().let {
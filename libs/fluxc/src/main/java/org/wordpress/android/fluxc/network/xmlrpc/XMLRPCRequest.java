@@ -1,8 +1,7 @@
 package org.wordpress.android.fluxc.network.xmlrpc;
 
-import android.util.Xml;
-
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.android.volley.AuthFailureError;
 import com.android.volley.NetworkResponse;
@@ -20,15 +19,16 @@ import org.wordpress.android.fluxc.utils.ErrorUtils.OnUnexpectedError;
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
 import org.xmlpull.v1.XmlPullParserException;
-import org.xmlpull.v1.XmlSerializer;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.List;
+import java.util.Set;
+
+import okio.Buffer;
 
 
 // TODO: Would be great to use generics / return POJO or model direclty (see GSON code?)
@@ -39,7 +39,7 @@ public class XMLRPCRequest extends BaseRequest<Object> {
     private final Listener<? super Object[]> mListener;
     private final XMLRPC mMethod;
     private final Object[] mParams;
-    private final XmlSerializer mSerializer = Xml.newSerializer();
+    @Nullable private Set<String> mResponseMemberFilter;
 
     public enum XmlRpcErrorType {
         NOT_SET,
@@ -58,6 +58,14 @@ public class XMLRPCRequest extends BaseRequest<Object> {
         mParams = (params == null ? null : params.toArray());
     }
 
+    /**
+     * Restricts the struct members deserialized from the response to the given names (at any depth), other members
+     * are skipped while parsing. Use it for large responses where the client only reads a few fields.
+     */
+    public void setResponseMemberFilter(@Nullable Set<String> responseMemberFilter) {
+        mResponseMemberFilter = responseMemberFilter;
+    }
+
     @Override
     protected void deliverResponse(Object response) {
         deliverResponse(mListener, response);
@@ -68,7 +76,8 @@ public class XMLRPCRequest extends BaseRequest<Object> {
         try {
             String data = new String(response.data, HttpHeaderParser.parseCharset(response.headers));
             InputStream is = new ByteArrayInputStream(data.getBytes(Charset.forName("UTF-8")));
-            Object obj = XMLSerializerUtils.deserialize(XMLSerializerUtils.scrubXmlResponse(is));
+            Object obj = XMLSerializerUtils.deserialize(XMLSerializerUtils.scrubXmlResponse(is),
+                    mResponseMemberFilter);
             return Response.success(obj, createCacheEntry(response));
         } catch (XMLRPCFault e) {
             return Response.error(new VolleyError(e));
@@ -94,10 +103,9 @@ public class XMLRPCRequest extends BaseRequest<Object> {
     @Override
     public byte[] getBody() throws AuthFailureError {
         try {
-            StringWriter stringWriter = XMLSerializerUtils.serialize(mSerializer, mMethod, mParams);
-            return stringWriter.toString().getBytes("UTF-8");
-        } catch (UnsupportedEncodingException e) {
-            AppLog.e(T.API, "Can't encode XMLRPC request", e);
+            Buffer buffer = new Buffer();
+            XMLSerializerUtils.serialize(mMethod, mParams, buffer);
+            return buffer.readByteArray();
         } catch (IOException e) {
             AppLog.e(T.API, "Can't serialize XMLRPC request", e);
         }
@@ -2,7 +2,8 @@ package org.wordpress.android.fluxc.network.xmlrpc;
 
 import android.text.TextUtils;
 import android.util.Base64;
-import android.util.Xml;
+
+import androidx.annotation.Nullable;
 
 import org.wordpress.android.util.AppLog;
 import org.wordpress.android.util.AppLog.T;
@@ -13,7 +14,6 @@ import org.xmlpull.v1.XmlSerializer;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.StringReader;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -26,16 +26,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.SimpleTimeZone;
 
 public class XMLRPCSerializer {
-    // Writes to /dev/null
-    private static class NullOutputStream extends OutputStream {
-        @Override
-        public void write(int b) throws IOException {
-        }
-    }
-
     public static final String TAG_NAME = "name";
     public static final String TAG_MEMBER = "member";
     public static final String TAG_VALUE = "value";
@@ -52,23 +46,21 @@ public class XMLRPCSerializer {
     public static final String TYPE_ARRAY = "array";
     public static final String TYPE_STRUCT = "struct";
 
-    static SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd'T'HH:mm:ss", Locale.US);
-    static Calendar cal = Calendar.getInstance(new SimpleTimeZone(0, "GMT"));
+    private static final String DATE_FORMAT_ISO8601 = "yyyyMMdd'T'HH:mm:ss";
 
-    private static final XmlSerializer SERIALIZE_TESTER;
+    // Must be a multiple of 3 so that every chunk encodes to Base64 without padding
+    private static final int BASE64_CHUNK_SIZE = 3 * 1024;
 
-    static {
-        SERIALIZE_TESTER = Xml.newSerializer();
-        try {
-            SERIALIZE_TESTER.setOutput(new NullOutputStream(), "UTF-8");
-        } catch (IllegalArgumentException e) {
-            AppLog.e(T.API, "IllegalArgumentException setting test serializer output stream", e);
-        } catch (IllegalStateException e) {
-            AppLog.e(T.API, "IllegalStateException setting test serializer output stream", e);
-        } catch (IOException e) {
-            AppLog.e(T.API, "IOException setting test serializer output stream", e);
+    // SimpleDateFormat and Calendar are not thread-safe: keep one GMT formatter per thread instead of allocating
+    // a new one for every Date we (de)serialize
+    private static final ThreadLocal<SimpleDateFormat> DATE_FORMAT = new ThreadLocal<SimpleDateFormat>() {
+        @Override
+        protected SimpleDateFormat initialValue() {
+            SimpleDateFormat simpleDateFormat = new SimpleDateFormat(DATE_FORMAT_ISO8601, Locale.US);
+            simpleDateFormat.setCalendar(Calendar.getInstance(new SimpleTimeZone(0, "GMT"), Locale.US));
+            return simpleDateFormat;
         }
-    }
+    };
 
     @SuppressWarnings("unchecked")
     public static void serialize(XmlSerializer serializer, Object object) throws IOException {
@@ -90,33 +82,18 @@ public class XMLRPCSerializer {
             serializer.startTag(null, TYPE_STRING).text(makeValidInputString((String) object))
                     .endTag(null, TYPE_STRING);
         } else if (object instanceof Date || object instanceof Calendar) {
-            Date date = (Date) object;
-            SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyyMMdd'T'HH:mm:ss", Locale.US);
-            simpleDateFormat.setCalendar(cal);
-            String sDate = simpleDateFormat.format(date);
+            Date date = object instanceof Calendar ? ((Calendar) object).getTime() : (Date) object;
+            String sDate = DATE_FORMAT.get().format(date);
             serializer.startTag(null, TYPE_DATE_TIME_ISO8601).text(sDate).endTag(null, TYPE_DATE_TIME_ISO8601);
         } else if (object instanceof byte[]) {
-            String value;
-            try {
-                value = Base64.encodeToString((byte[]) object, Base64.DEFAULT);
-                serializer.startTag(null, TYPE_BASE64).text(value).endTag(null, TYPE_BASE64);
-            } catch (OutOfMemoryError e) {
-                throw new IOException("Out of memory");
+            // Encode in chunks so we never hold the whole Base64 representation of the payload in memory
+            byte[] bytes = (byte[]) object;
+            serializer.startTag(null, TYPE_BASE64);
+            for (int offset = 0; offset < bytes.length; offset += BASE64_CHUNK_SIZE) {
+                int length = Math.min(BASE64_CHUNK_SIZE, bytes.length - offset);
+                serializer.text(Base64.encodeToString(bytes, offset, length, Base64.NO_WRAP));
             }
-//        } else if (object instanceof MediaFile) {
-//            // convert media file binary to base64
-//            serializer.startTag(null, "base64");
-//            MediaFile mediaFile = (MediaFile) object;
-//            InputStream inStream = new DataInputStream(new FileInputStream(mediaFile.getFilePath()));
-//            byte[] buffer = new byte[3600];//you must use a 24bit multiple
-//            int length = -1;
-//            String chunk = null;
-//            while ((length = inStream.read(buffer)) > 0) {
-//                chunk = Base64.encodeToString(buffer, 0, length, Base64.DEFAULT);
-//                serializer.text(chunk);
-//            }
-//            inStream.close();
-//            serializer.endTag(null, "base64");
+            serializer.endTag(null, TYPE_BASE64);
         } else if (object instanceof List<?>) {
             serializer.startTag(null, TYPE_ARRAY).startTag(null, TAG_DATA);
             List<Object> list = (List<Object>) object;
@@ -165,40 +142,63 @@ public class XMLRPCSerializer {
             return "";
         }
 
-        if (SERIALIZE_TESTER == null) {
+        // Single pass over the string, 99.9% of the time it's OK and we can return it as-is
+        if (isValidXmlString(input)) {
             return input;
         }
 
-        try {
-            // try to encode the string as-is, 99.9% of the time it's OK
-            SERIALIZE_TESTER.text(input);
-            return input;
-        } catch (IllegalArgumentException e) {
-            // There are characters outside the XML unicode charset as specified by the XML 1.0 standard
-            // See http://www.w3.org/TR/2000/REC-xml-20001006#NT-Char
-            AppLog.d(T.API, "There are characters outside the XML unicode charset as specified"
-                    + " by the XML 1.0 standard");
-        }
+        // There are characters outside the XML unicode charset as specified by the XML 1.0 standard
+        // See http://www.w3.org/TR/2000/REC-xml-20001006#NT-Char
+        AppLog.d(T.API, "There are characters outside the XML unicode charset as specified"
+                + " by the XML 1.0 standard");
 
         // We need to do the following things:
         // 1. Replace surrogates with HTML Entity.
         // 2. Replace emoji with their textual versions (if available on WP)
-        // 3. Try to serialize the resulting string.
-        // 4. If it fails again, strip characters that are not allowed in XML 1.0
+        // 3. Check the resulting string again.
+        // 4. If it's still invalid, strip characters that are not allowed in XML 1.0
 
         final String noEmojiString = StringUtils.replaceUnicodeSurrogateBlocksWithHTMLEntities(input);
-        try {
-            SERIALIZE_TESTER.text(noEmojiString);
+        if (isValidXmlString(noEmojiString)) {
             return noEmojiString;
-        } catch (IllegalArgumentException e) {
-            AppLog.w(T.API, "noEmojiString still contains characters outside the XML unicode charset as specified"
-                    + " by the XML 1.0 standard");
-            return StringUtils.stripNonValidXMLCharacters(noEmojiString);
         }
+        AppLog.w(T.API, "noEmojiString still contains characters outside the XML unicode charset as specified"
+                + " by the XML 1.0 standard");
+        return StringUtils.stripNonValidXMLCharacters(noEmojiString);
+    }
+
+    /**
+     * Checks that every character of {@code input} is a valid XML 1.0 Char, surrogates being only accepted as
+     * well-formed pairs. See http://www.w3.org/TR/2000/REC-xml-20001006#NT-Char
+     */
+    static boolean isValidXmlString(final String input) {
+        final int length = input.length();
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (c >= 0x20 && c <= 0xD7FF || c == 0x9 || c == 0xA || c == 0xD || c >= 0xE000 && c <= 0xFFFD) {
+                continue;
+            }
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(input.charAt(i + 1))) {
+                i++;
+                continue;
+            }
+            return false;
+        }
+        return true;
     }
 
     public static Object deserialize(XmlPullParser parser) throws XmlPullParserException, IOException,
             NumberFormatException {
+        return deserialize(parser, null);
+    }
+
+    /**
+     * Deserializes the value the parser is positioned on. When {@code memberFilter} is not null, struct members
+     * (at any depth) whose name is not in the filter are skipped during the pull-parse: no objects are built for
+     * their values and they don't appear in the resulting maps.
+     */
+    public static Object deserialize(XmlPullParser parser, @Nullable Set<String> memberFilter)
+            throws XmlPullParserException, IOException, NumberFormatException {
         parser.require(XmlPullParser.START_TAG, null, TAG_VALUE);
 
         parser.nextTag();
@@ -225,10 +225,9 @@ public class XMLRPCSerializer {
         } else if (typeNodeName.equals(TYPE_STRING)) {
             obj = parser.nextText();
         } else if (typeNodeName.equals(TYPE_DATE_TIME_ISO8601)) {
-            dateFormat.setCalendar(cal);
             String value = parser.nextText();
             try {
-                obj = dateFormat.parseObject(value);
+                obj = DATE_FORMAT.get().parseObject(value);
             } catch (ParseException e) {
                 AppLog.e(T.API, "Can't parse Date:" + value, e);
                 obj = value;
@@ -249,7 +248,7 @@ public class XMLRPCSerializer {
             parser.nextTag();
             List<Object> list = new ArrayList<Object>();
             while (parser.getName().equals(TAG_VALUE)) {
-                list.add(deserialize(parser));
+                list.add(deserialize(parser, memberFilter));
                 parser.nextTag();
             }
             parser.require(XmlPullParser.END_TAG, null, TAG_DATA);
@@ -268,7 +267,11 @@ public class XMLRPCSerializer {
                     if (name.equals(TAG_NAME)) {
                         memberName = parser.nextText();
                     } else if (name.equals(TAG_VALUE)) {
-                        memberValue = deserialize(parser);
+                        if (memberFilter != null && memberName != null && !memberFilter.contains(memberName)) {
+                            skipValue(parser);
+                        } else {
+                            memberValue = deserialize(parser, memberFilter);
+                        }
                     } else {
                         break;
                     }
@@ -288,4 +291,26 @@ public class XMLRPCSerializer {
         parser.require(XmlPullParser.END_TAG, null, TAG_VALUE);
         return obj;
     }
+
+    /**
+     * Moves the parser from a {@code <value>} start tag to its matching end tag without building the value.
+     */
+    private static void skipValue(XmlPullParser parser) throws XmlPullParserException, IOException {
+        parser.require(XmlPullParser.START_TAG, null, TAG_VALUE);
+        int depth = 1;
+        while (depth > 0) {
+            switch (parser.next()) {
+                case XmlPullParser.START_TAG:
+                    depth++;
+                    break;
+                case XmlPullParser.END_TAG:
+                    depth--;
+                    break;
+                case XmlPullParser.END_DOCUMENT:
+                    throw new IOException("Unexpected end of document while skipping a value");
+                default:
+                    break;
+            }
+        }
+    }
 }
@@ -1,5 +1,9 @@
 package org.wordpress.android.fluxc.network.xmlrpc;
 
+import android.util.Xml;
+
+import androidx.annotation.Nullable;
+
 import org.wordpress.android.fluxc.generated.endpoint.XMLRPC;
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
@@ -15,6 +19,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import okio.BufferedSink;
 
 public class XMLSerializerUtils {
     private static final String TAG_METHOD_CALL = "methodCall";
@@ -28,11 +35,35 @@ public class XMLSerializerUtils {
 
     private static final int MAX_SCRUB_CHARACTERS = 5000;
 
+    // XmlSerializer instances can be reused once their output is reset, keep one per thread (network dispatchers)
+    private static final ThreadLocal<XmlSerializer> SERIALIZER_POOL = new ThreadLocal<XmlSerializer>() {
+        @Override
+        protected XmlSerializer initialValue() {
+            return Xml.newSerializer();
+        }
+    };
+
     public static StringWriter serialize(XmlSerializer serializer, XMLRPC method, Object[] params)
             throws IOException {
         StringWriter bodyWriter = new StringWriter();
         serializer.setOutput(bodyWriter);
+        writeMethodCall(serializer, method, params);
+        return bodyWriter;
+    }
 
+    /**
+     * Streams the XML-RPC method call directly to the given sink as UTF-8, using the calling thread's serializer.
+     * Avoids building the intermediate String (and its byte[] copy) for large request bodies.
+     */
+    public static void serialize(XMLRPC method, Object[] params, BufferedSink sink) throws IOException {
+        XmlSerializer serializer = SERIALIZER_POOL.get();
+        serializer.setOutput(sink.outputStream(), "UTF-8");
+        writeMethodCall(serializer, method, params);
+        sink.flush();
+    }
+
+    private static void writeMethodCall(XmlSerializer serializer, XMLRPC method, Object[] params)
+            throws IOException {
         serializer.startDocument(null, null);
         serializer.startTag(null, TAG_METHOD_CALL);
         // set method name
@@ -49,12 +80,19 @@ public class XMLSerializerUtils {
         }
         serializer.endTag(null, TAG_METHOD_CALL);
         serializer.endDocument();
-
-        return bodyWriter;
     }
 
     public static Object deserialize(InputStream is)
             throws IOException, XmlPullParserException, XMLRPCException {
+        return deserialize(is, null);
+    }
+
+    /**
+     * @param memberFilter if not null, only struct members with these names are deserialized in the response
+     *                     (fault responses are always fully deserialized)
+     */
+    public static Object deserialize(InputStream is, @Nullable Set<String> memberFilter)
+            throws IOException, XmlPullParserException, XMLRPCException {
         // setup pull parser
         XmlPullParser pullParser = XmlPullParserFactory.newInstance().newPullParser();
         pullParser.setInput(is, "UTF-8");
@@ -72,7 +110,7 @@ public class XMLSerializerUtils {
             pullParser.nextTag(); // TAG_VALUE (<value>)
             // no parser.require() here since its called in XMLRPCSerializer.deserialize() below
             // deserialize result
-            return XMLRPCSerializer.deserialize(pullParser);
+            return XMLRPCSerializer.deserialize(pullParser, memberFilter);
         } else if (tag.equals(TAG_FAULT)) {
             // fault response
             pullParser.nextTag(); // TAG_VALUE (<value>)
@@ -50,9 +50,12 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.inject.Inject;
@@ -72,6 +75,12 @@ import okhttp3.ResponseBody;
 public class MediaXMLRPCClient extends BaseXMLRPCClient implements ProgressListener {
     private static final String[] REQUIRED_UPLOAD_RESPONSE_FIELDS = {
             "attachment_id", "parent", "title", "caption", "description", "thumbnail", "date_created_gmt", "link"};
+    // Struct members read by getMediaFromXmlrpcResponse (including the ones of the nested metadata and sizes
+    // structs), everything else (e.g. image_meta) is skipped while parsing the response
+    private static final Set<String> MEDIA_RESPONSE_MEMBERS = new HashSet<>(Arrays.asList(
+            "attachment_id", "parent", "title", "caption", "description", "thumbnail", "date_created_gmt", "link",
+            "videopress_shortcode", "metadata", "width", "height", "sizes", "medium", "medium_large", "large",
+            "file"));
 
     @NonNull private final OkHttpClient mOkHttpClient;
     // this will hold which media is being uploaded by which call, in order to be able
@@ -299,7 +308,7 @@ public class MediaXMLRPCClient extends BaseXMLRPCClient implements ProgressListe
         }
         params.add(queryParams);
 
-        add(new XMLRPCRequest(site.getXmlRpcUrl(), XMLRPC.GET_MEDIA_LIBRARY, params,
+        XMLRPCRequest request = new XMLRPCRequest(site.getXmlRpcUrl(), XMLRPC.GET_MEDIA_LIBRARY, params,
                 response -> {
                     List<MediaModel> mediaList = getMediaListFromXmlrpcResponse(response, site.getId());
                     AppLog.v(T.MEDIA, "Fetched media list for site via XMLRPC.GET_MEDIA_LIBRARY");
@@ -312,7 +321,9 @@ public class MediaXMLRPCClient extends BaseXMLRPCClient implements ProgressListe
                     MediaError mediaError = new MediaError(MediaErrorType.fromBaseNetworkError(error));
                     mediaError.logMessage = "XMLRPC: " + message;
                     notifyMediaListFetched(site, mediaError, mimeType);
-                }));
+                });
+        request.setResponseMemberFilter(MEDIA_RESPONSE_MEMBERS);
+        add(request);
     }
 
     public void fetchMedia(@NonNull final SiteModel site, @Nullable final MediaModel media) {
@@ -340,7 +351,7 @@ public class MediaXMLRPCClient extends BaseXMLRPCClient implements ProgressListe
         }
 
         List<Object> params = getBasicParams(site, media);
-        add(new XMLRPCRequest(site.getXmlRpcUrl(), XMLRPC.GET_MEDIA_ITEM, params,
+        XMLRPCRequest request = new XMLRPCRequest(site.getXmlRpcUrl(), XMLRPC.GET_MEDIA_ITEM, params,
                 (Listener<Object>) response -> {
                     AppLog.v(T.MEDIA, "Fetched media for site via XMLRPC.GET_MEDIA_ITEM");
                     MediaModel responseMedia = getMediaFromXmlrpcResponse((HashMap) response);
@@ -384,7 +395,9 @@ public class MediaXMLRPCClient extends BaseXMLRPCClient implements ProgressListe
                         mediaError.logMessage = "XMLRPC: " + message;
                         notifyMediaFetched(site, media, mediaError);
                     }
-                }));
+                });
+        request.setResponseMemberFilter(MEDIA_RESPONSE_MEMBERS);
+        add(request);
     }
 
     public void deleteMedia(@NonNull final SiteModel site, @Nullable final MediaModel media) {
@@ -52,8 +52,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -61,6 +63,14 @@ import javax.inject.Singleton;
 
 @Singleton
 public class PostXMLRPCClient extends BaseXMLRPCClient {
+    // Struct members read by postResponseObjectToPostModel (including the ones of nested terms, custom fields and
+    // post thumbnail structs), everything else is skipped while parsing the response
+    private static final Set<String> POST_RESPONSE_MEMBERS = new HashSet<>(Arrays.asList(
+            "post_id", "post_title", "post_date_gmt", "post_modified_gmt", "post_content", "link", "terms",
+            "taxonomy", "term_id", "name", "custom_fields", "id", "key", "value", "post_excerpt", "post_name",
+            "post_password", "post_status", "post_type", "post_parent", "wp_page_parent", "wp_slug",
+            "post_thumbnail", "attachment_id", "post_format"));
+
     @Inject public PostXMLRPCClient(Dispatcher dispatcher,
                             @Named("custom-ssl") RequestQueue requestQueue,
                             UserAgent userAgent,
@@ -112,6 +122,7 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
             }
         });
 
+        request.setResponseMemberFilter(POST_RESPONSE_MEMBERS);
         add(request);
     }
 
@@ -223,6 +234,7 @@ public class PostXMLRPCClient extends BaseXMLRPCClient {
                     }
                 });
 
+        request.setResponseMemberFilter(POST_RESPONSE_MEMBERS);
         add(request);
     }
 
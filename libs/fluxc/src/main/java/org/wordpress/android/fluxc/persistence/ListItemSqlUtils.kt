@@ -45,6 +45,52 @@ class ListItemSqlUtils @Inject constructor() {
      */
     fun getListItemsCount(listId: Int): Long = getListItemsQuery(listId).count()
 
+    /**
+     * This function returns the number of records a list has for the given [listId], up to the record with the
+     * [lastItemId] row id.
+     */
+    fun getListItemsCount(listId: Int, lastItemId: Int): Int =
+            WellSql.select(ListItemModel::class.java)
+                    .where()
+                    .equals(ListItemModelTable.LIST_ID, listId)
+                    .lessThenOrEqual(ListItemModelTable.ID, lastItemId)
+                    .endWhere()
+                    .count()
+                    .toInt()
+
+    /**
+     * This function returns the row id of the last [ListItemModel] record for the given [listId], or 0 if the list
+     * is empty. Row ids are never reused, so the records of a list up to this one can only be removed, not added.
+     */
+    fun getLastListItemId(listId: Int): Int =
+            WellSql.select(ListItemModel::class.java)
+                    .columns(ListItemModelTable.ID)
+                    .where()
+                    .equals(ListItemModelTable.LIST_ID, listId)
+                    .endWhere()
+                    .orderBy(ListItemModelTable.ID, SelectQuery.ORDER_DESCENDING)
+                    .limit(1)
+                    .asModel
+                    .firstOrNull()?.id ?: 0
+
+    /**
+     * This function returns up to [limit] [ListItemModel] records for the given [listId] that come after the record
+     * with the [afterItemId] row id, and not after the one with the [lastItemId] row id, in the order of the list.
+     *
+     * Using the row id of the last record of a range as the key of the next range lets SQLite seek to it in the
+     * `LIST_ID` index, where an offset would read every skipped record again.
+     */
+    fun getListItemsAfter(listId: Int, afterItemId: Int, lastItemId: Int, limit: Int): List<ListItemModel> =
+            WellSql.select(ListItemModel::class.java)
+                    .where()
+                    .equals(ListItemModelTable.LIST_ID, listId)
+                    .greaterThen(ListItemModelTable.ID, afterItemId)
+                    .lessThenOrEqual(ListItemModelTable.ID, lastItemId)
+                    .endWhere()
+                    .orderBy(ListItemModelTable.ID, SelectQuery.ORDER_ASCENDING)
+                    .limit(limit)
+                    .asModel
+
     /**
      * A helper function that returns the select query for a list of [ListItemModel] records for the given [listId].
      */
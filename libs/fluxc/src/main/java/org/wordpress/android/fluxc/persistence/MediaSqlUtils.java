@@ -1,9 +1,11 @@
 package org.wordpress.android.fluxc.persistence;
 
+import android.database.Cursor;
 import android.text.TextUtils;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
 import com.wellsql.generated.MediaModelTable;
 import com.yarolegovich.wellsql.ConditionClauseBuilder;
@@ -17,10 +19,39 @@ import org.wordpress.android.fluxc.model.MediaModel.MediaUploadState;
 import org.wordpress.android.fluxc.model.SiteModel;
 import org.wordpress.android.fluxc.utils.MimeType.Type;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MediaSqlUtils {
+    private static final int MEDIA_CACHE_SIZE = 100;
+
+    // columns of the media search index, in the order they're reported by matchinfo()
+    private static final double[] SEARCH_COLUMN_WEIGHTS = {
+            4.0, // TITLE
+            2.0, // CAPTION
+            1.0, // DESCRIPTION
+            1.0  // MIME_TYPE
+    };
+    // the searches by MIME type don't match the MIME_TYPE column
+    private static final int SEARCH_TEXT_COLUMNS = 3;
+    private static final int MAX_SEARCH_TERMS = 8;
+
+    /**
+     * Media returned by {@link #getMediaWithLocalId(int)}, every write to the media table below invalidates the
+     * affected entries.
+     */
+    private static final ModelCache<MediaModel> MEDIA_CACHE = new ModelCache<>(MEDIA_CACHE_SIZE, MediaModel::clone);
+
+    @NonNull
+    public static ModelCache<MediaModel> getMediaCache() {
+        return MEDIA_CACHE;
+    }
+
     @NonNull
     public static List<MediaModel> getAllSiteMedia(@NonNull SiteModel siteModel) {
         return getAllSiteMediaQuery(siteModel).getAsModel();
@@ -133,50 +164,197 @@ public class MediaSqlUtils {
 
     @Nullable
     public static MediaModel getMediaWithLocalId(int localMediaId) {
-        List<MediaModel> result = WellSql.select(MediaModel.class).where()
-                .equals(MediaModelTable.ID, localMediaId)
-                .endWhere()
-                .getAsModel();
-        if (result.isEmpty()) {
-            return null;
-        } else {
-            return result.get(0);
-        }
+        return MEDIA_CACHE.get(localMediaId, id -> {
+            List<MediaModel> result = WellSql.select(MediaModel.class).where()
+                    .equals(MediaModelTable.ID, id)
+                    .endWhere()
+                    .getAsModel();
+            if (result.isEmpty()) {
+                return null;
+            } else {
+                return result.get(0);
+            }
+        });
     }
 
     @NonNull
     public static List<MediaModel> searchSiteMedia(
             @NonNull SiteModel siteModel,
             @NonNull String searchTerm) {
-        return searchSiteMediaQuery(siteModel, searchTerm).getAsModel();
+        List<MediaModel> media = searchSiteMediaIndex(siteModel, searchTerm, null);
+        return media != null ? media : searchSiteMediaQuery(siteModel, searchTerm).getAsModel();
     }
 
     @NonNull
     public static List<MediaModel> searchSiteImages(
             @NonNull SiteModel siteModel,
             @NonNull String searchTerm) {
-        return searchSiteMediaByMimeTypeQuery(siteModel, searchTerm, Type.IMAGE.getValue()).getAsModel();
+        return searchSiteMediaByMimeType(siteModel, searchTerm, Type.IMAGE.getValue());
     }
 
     @NonNull
     public static List<MediaModel> searchSiteAudio(
             @NonNull SiteModel siteModel,
             @NonNull String searchTerm) {
-        return searchSiteMediaByMimeTypeQuery(siteModel, searchTerm, Type.AUDIO.getValue()).getAsModel();
+        return searchSiteMediaByMimeType(siteModel, searchTerm, Type.AUDIO.getValue());
     }
 
     @NonNull
     public static List<MediaModel> searchSiteVideos(
             @NonNull SiteModel siteModel,
             @NonNull String searchTerm) {
-        return searchSiteMediaByMimeTypeQuery(siteModel, searchTerm, Type.VIDEO.getValue()).getAsModel();
+        return searchSiteMediaByMimeType(siteModel, searchTerm, Type.VIDEO.getValue());
     }
 
     @NonNull
     public static List<MediaModel> searchSiteDocuments(
             @NonNull SiteModel siteModel,
             @NonNull String searchTerm) {
-        return searchSiteMediaByMimeTypeQuery(siteModel, searchTerm, Type.APPLICATION.getValue()).getAsModel();
+        return searchSiteMediaByMimeType(siteModel, searchTerm, Type.APPLICATION.getValue());
+    }
+
+    @NonNull
+    private static List<MediaModel> searchSiteMediaByMimeType(
+            @NonNull SiteModel siteModel,
+            @NonNull String searchTerm,
+            @NonNull String mimeTypePrefix) {
+        List<MediaModel> media = searchSiteMediaIndex(siteModel, searchTerm, mimeTypePrefix);
+        return media != null ? media
+                : searchSiteMediaByMimeTypeQuery(siteModel, searchTerm, mimeTypePrefix).getAsModel();
+    }
+
+    /**
+     * Searches the media of the site in the full-text index kept by {@link WellSqlConfig}: every word of the search
+     * term has to match the start of a word of the media, and the media is sorted by relevance and then by upload
+     * date. The searches by MIME type only match the words of the title, caption and description.
+     *
+     * @return the matching media, or null when the search term has no word to look up in the index
+     */
+    @Nullable
+    private static List<MediaModel> searchSiteMediaIndex(
+            @NonNull SiteModel siteModel,
+            @NonNull String searchTerm,
+            @Nullable String mimeTypePrefix) {
+        String matchQuery = buildSearchMatchQuery(searchTerm);
+        if (matchQuery == null) {
+            return null;
+        }
+
+        String table = WellSqlConfig.MEDIA_SEARCH_TABLE;
+        String sql = "SELECT " + table + ".docid, matchinfo(" + table + ", 'pcnx')"
+                     + " FROM " + table
+                     + " JOIN MediaModel ON MediaModel." + MediaModelTable.ID + " = " + table + ".docid"
+                     + " WHERE " + table + " MATCH ? AND MediaModel." + MediaModelTable.LOCAL_SITE_ID + " = ?";
+        List<String> args = new ArrayList<>();
+        args.add(matchQuery);
+        args.add(String.valueOf(siteModel.getId()));
+        if (mimeTypePrefix != null) {
+            sql += " AND MediaModel." + MediaModelTable.MIME_TYPE + " LIKE ?";
+            args.add("%" + mimeTypePrefix + "%");
+        }
+        int searchedColumns = mimeTypePrefix != null ? SEARCH_TEXT_COLUMNS : SEARCH_COLUMN_WEIGHTS.length;
+
+        Map<Integer, Double> scores = new HashMap<>();
+        try (Cursor cursor = WellSql.giveMeReadableDb().rawQuery(sql, args.toArray(new String[0]))) {
+            while (cursor.moveToNext()) {
+                double score = getSearchScore(cursor.getBlob(1), searchedColumns);
+                if (score > 0) {
+                    scores.put(cursor.getInt(0), score);
+                }
+            }
+        }
+
+        List<MediaModel> media = new ArrayList<>(scores.size());
+        List<Integer> ids = new ArrayList<>(scores.keySet());
+        for (int start = 0; start < ids.size(); start += WellSqlConfig.SQLITE_MAX_VARIABLE_NUMBER) {
+            int end = Math.min(start + WellSqlConfig.SQLITE_MAX_VARIABLE_NUMBER, ids.size());
+            media.addAll(WellSql.select(MediaModel.class)
+                                .where().isIn(MediaModelTable.ID, ids.subList(start, end)).endWhere()
+                                .getAsModel());
+        }
+        Collections.sort(media, (media1, media2) -> {
+            int byScore = Double.compare(scores.get(media2.getId()), scores.get(media1.getId()));
+            return byScore != 0 ? byScore : compareUploadDates(media2, media1);
+        });
+        return media;
+    }
+
+    /**
+     * Turns the search term into an FTS MATCH expression: every word must match, and the last characters of each
+     * word may be missing so the media shows up while the user is typing. Words are reduced to letters and digits
+     * and quoted so they can't be read as FTS operators.
+     */
+    @Nullable
+    @VisibleForTesting
+    static String buildSearchMatchQuery(@NonNull String searchTerm) {
+        StringBuilder match = new StringBuilder();
+        StringBuilder term = new StringBuilder();
+        int numTerms = 0;
+        int length = searchTerm.length();
+        for (int i = 0; i <= length && numTerms < MAX_SEARCH_TERMS; i++) {
+            char ch = i < length ? searchTerm.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(ch)) {
+                term.append(ch);
+            } else if (term.length() > 0) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append('"').append(term).append("*\"");
+                term.setLength(0);
+                numTerms++;
+            }
+        }
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    /**
+     * Computes a bm25-style score from the output of matchinfo(MediaModelSearch, 'pcnx') over the first
+     * {@code searchedColumns} columns: the hits of every word are saturated and weighted by how rare the word is
+     * across all media and by the column (a hit in the title counts more than a hit in the description).
+     *
+     * @return the score, or 0 when a word of the search only matches columns which aren't searched
+     */
+    @VisibleForTesting
+    static double getSearchScore(@Nullable byte[] matchInfo, int searchedColumns) {
+        if (matchInfo == null || matchInfo.length < 3 * 4) {
+            return 0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int numPhrases = buffer.getInt();
+        int numColumns = buffer.getInt();
+        int numRows = buffer.getInt();
+        if (matchInfo.length < (3 + 3 * numPhrases * numColumns) * 4) {
+            return 0;
+        }
+
+        double score = 0;
+        for (int phrase = 0; phrase < numPhrases; phrase++) {
+            double phraseScore = 0;
+            for (int column = 0; column < numColumns; column++) {
+                int hitsInRow = buffer.getInt();
+                buffer.getInt(); // hits in all rows
+                int rowsWithHits = buffer.getInt();
+                if (hitsInRow == 0 || column >= searchedColumns) {
+                    continue;
+                }
+                double idf = Math.log(1 + (numRows - rowsWithHits + 0.5) / (rowsWithHits + 0.5));
+                double tf = hitsInRow / (hitsInRow + 1.2);
+                double weight = column < SEARCH_COLUMN_WEIGHTS.length ? SEARCH_COLUMN_WEIGHTS[column] : 1.0;
+                phraseScore += weight * tf * idf;
+            }
+            if (phraseScore == 0) {
+                return 0;
+            }
+            score += phraseScore;
+        }
+        return score;
+    }
+
+    private static int compareUploadDates(@NonNull MediaModel media1, @NonNull MediaModel media2) {
+        String date1 = media1.getUploadDate() != null ? media1.getUploadDate() : "";
+        String date2 = media2.getUploadDate() != null ? media2.getUploadDate() : "";
+        return date1.compareTo(date2);
     }
 
     @NonNull
@@ -367,6 +545,7 @@ public class MediaSqlUtils {
         if (existingMedia.isEmpty()) {
             // insert, media item does not exist
             WellSql.insert(media).asSingleTransaction(true).execute();
+            MEDIA_CACHE.invalidate(media.getId());
             return 1;
         } else {
             if (existingMedia.size() > 1) {
@@ -374,18 +553,23 @@ public class MediaSqlUtils {
                 // One matches based on local ID (this is the one we're trying to update with a remote media ID)
                 // The other matches based on local site ID + remote media ID, and we got it from a fetch
                 // Just remove the entry without a remote media ID (the one matching the current media's local ID)
-                return WellSql.delete(MediaModel.class).whereId(media.getId());
+                int deletedRows = WellSql.delete(MediaModel.class).whereId(media.getId());
+                MEDIA_CACHE.invalidate(media.getId());
+                return deletedRows;
             }
             // update, media item already exists
             int oldId = existingMedia.get(0).getId();
-            return WellSql.update(MediaModel.class).whereId(oldId)
+            int updatedRows = WellSql.update(MediaModel.class).whereId(oldId)
                     .put(media, new UpdateAllExceptId<>(MediaModel.class)).execute();
+            MEDIA_CACHE.invalidate(oldId);
+            return updatedRows;
         }
     }
 
     @NonNull
     public static MediaModel insertMediaForResult(@NonNull MediaModel media) {
         WellSql.insert(media).asSingleTransaction(true).execute();
+        MEDIA_CACHE.invalidate(media.getId());
         return media;
     }
 
@@ -394,15 +578,17 @@ public class MediaSqlUtils {
         if (media.getMediaId() == 0) {
             // If the remote media ID is 0, this is a local media file and we should only match by local ID
             // Otherwise, we'd match all local media files for that site
-            return WellSql.delete(MediaModel.class)
+            int deletedRows = WellSql.delete(MediaModel.class)
                     .where().beginGroup()
                     .equals(MediaModelTable.ID, media.getId())
                     .endGroup().endWhere()
                     .execute();
+            MEDIA_CACHE.invalidate(media.getId());
+            return deletedRows;
         } else {
             // For remote media, we can uniquely identify the media by either its local ID
             // or its remote media ID + its (local) site ID
-            return WellSql.delete(MediaModel.class)
+            int deletedRows = WellSql.delete(MediaModel.class)
                     .where().beginGroup()
                     .equals(MediaModelTable.ID, media.getId())
                     .or()
@@ -412,6 +598,9 @@ public class MediaSqlUtils {
                     .endGroup()
                     .endGroup().endWhere()
                     .execute();
+            // the row matching the remote id can have another local id
+            MEDIA_CACHE.invalidateAll();
+            return deletedRows;
         }
     }
 
@@ -419,19 +608,23 @@ public class MediaSqlUtils {
             @NonNull SiteModel siteModel,
             @NonNull String column,
             @NonNull Object value) {
-        return WellSql.delete(MediaModel.class)
+        int deletedRows = WellSql.delete(MediaModel.class)
                 .where().beginGroup()
                 .equals(MediaModelTable.LOCAL_SITE_ID, siteModel.getId())
                 .equals(column, value)
                 .endGroup().endWhere().execute();
+        MEDIA_CACHE.invalidateAll();
+        return deletedRows;
     }
 
     @SuppressWarnings("unused")
     public static int deleteAllSiteMedia(@NonNull SiteModel site) {
-        return WellSql.delete(MediaModel.class)
+        int deletedRows = WellSql.delete(MediaModel.class)
                 .where().beginGroup()
                 .equals(MediaModelTable.LOCAL_SITE_ID, site.getId())
                 .endGroup().endWhere().execute();
+        MEDIA_CACHE.invalidateAll();
+        return deletedRows;
     }
 
     public static void deleteAllUploadedSiteMedia(@NonNull SiteModel siteModel) {
@@ -440,6 +633,7 @@ public class MediaSqlUtils {
                .equals(MediaModelTable.LOCAL_SITE_ID, siteModel.getId())
                .equals(MediaModelTable.UPLOAD_STATE, MediaUploadState.UPLOADED.toString())
                .endGroup().endWhere().execute();
+        MEDIA_CACHE.invalidateAll();
     }
 
     public static void deleteAllUploadedSiteMediaWithMimeType(
@@ -451,10 +645,12 @@ public class MediaSqlUtils {
                .equals(MediaModelTable.UPLOAD_STATE, MediaUploadState.UPLOADED.toString())
                .contains(MediaModelTable.MIME_TYPE, mimeType)
                .endGroup().endWhere().execute();
+        MEDIA_CACHE.invalidateAll();
     }
 
     public static void deleteAllMedia() {
         WellSql.delete(MediaModel.class).execute();
+        MEDIA_CACHE.invalidateAll();
     }
 
     public static void deleteUploadedSiteMediaNotInList(
@@ -486,6 +682,7 @@ public class MediaSqlUtils {
         }
 
         builder.endGroup().endWhere().execute();
+        MEDIA_CACHE.invalidateAll();
     }
 
     @NonNull
@@ -0,0 +1,102 @@
+package org.wordpress.android.fluxc.persistence;
+
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Bounded LRU cache of models read by their local id, used by the SqlUtils classes in front of the lookups the UI
+ * repeats the most.
+ * <p>
+ * The cache is write-through: every write to the table must go through the owning SqlUtils class, which invalidates
+ * the affected entries. Models are mutable, so the cache stores its own copy and hands out a new copy on every hit -
+ * changes a caller makes to a model it read are never visible to other callers until they're persisted.
+ */
+public class ModelCache<T> {
+    public interface Copier<T> {
+        @NonNull T copy(@NonNull T model);
+    }
+
+    public interface Loader<T> {
+        @Nullable T load(int localId);
+    }
+
+    // all caches, so they can be cleared when the tables are dropped
+    private static final Set<ModelCache<?>> ALL_CACHES = Collections.newSetFromMap(new WeakHashMap<>());
+
+    @NonNull private final LruCache<Integer, T> mModels;
+    @NonNull private final Copier<T> mCopier;
+    // incremented by every invalidation, so a model read from the DB while it was being written isn't cached
+    private long mGeneration;
+
+    public ModelCache(int maxSize, @NonNull Copier<T> copier) {
+        mModels = new LruCache<>(maxSize);
+        mCopier = copier;
+        synchronized (ALL_CACHES) {
+            ALL_CACHES.add(this);
+        }
+    }
+
+    /**
+     * Returns a copy of the cached model, or loads the model and caches it if it's not cached yet.
+     */
+    @Nullable
+    public T get(int localId, @NonNull Loader<T> loader) {
+        long generation;
+        synchronized (this) {
+            T cached = mModels.get(localId);
+            if (cached != null) {
+                return mCopier.copy(cached);
+            }
+            generation = mGeneration;
+        }
+
+        T model = loader.load(localId);
+        if (model != null) {
+            synchronized (this) {
+                if (generation == mGeneration) {
+                    mModels.put(localId, mCopier.copy(model));
+                }
+            }
+        }
+        return model;
+    }
+
+    public synchronized void invalidate(int localId) {
+        mGeneration++;
+        mModels.remove(localId);
+    }
+
+    public synchronized void invalidateAll() {
+        mGeneration++;
+        mModels.evictAll();
+    }
+
+    public synchronized int getHitCount() {
+        return mModels.hitCount();
+    }
+
+    public synchronized int getMissCount() {
+        return mModels.missCount();
+    }
+
+    public synchronized int getSize() {
+        return mModels.size();
+    }
+
+    /**
+     * Clears every cache, called when the tables are dropped and recreated.
+     */
+    public static void invalidateAllCaches() {
+        synchronized (ALL_CACHES) {
+            for (ModelCache<?> cache : ALL_CACHES) {
+                cache.invalidateAll();
+            }
+        }
+    }
+}
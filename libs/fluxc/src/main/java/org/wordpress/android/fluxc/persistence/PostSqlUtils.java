@@ -42,9 +42,30 @@ import static org.wordpress.android.fluxc.model.LikeModel.TIMESTAMP_THRESHOLD;
 
 @Reusable
 public class PostSqlUtils {
+    private static final int POST_CACHE_SIZE = 50;
+
+    /**
+     * Posts returned by {@link #getPostByLocalId(int)}. It's shared by all instances since this class isn't a
+     * singleton, every write to the post table below invalidates the affected entries.
+     */
+    private static final ModelCache<PostModel> POST_CACHE = new ModelCache<>(POST_CACHE_SIZE, PostModel::clone);
+
     @Inject public PostSqlUtils() {
     }
 
+    public @NonNull ModelCache<PostModel> getPostCache() {
+        return POST_CACHE;
+    }
+
+    public @Nullable PostModel getPostByLocalId(int localId) {
+        return POST_CACHE.get(localId, id -> {
+            List<PostModel> result = WellSql.select(PostModel.class)
+                                            .where().equals(PostModelTable.ID, id).endWhere()
+                                            .getAsModel();
+            return result.isEmpty() ? null : result.get(0);
+        });
+    }
+
     public synchronized int insertOrUpdatePost(PostModel post, boolean overwriteLocalChanges) {
         if (post == null) {
             return 0;
@@ -71,6 +92,7 @@ public class PostSqlUtils {
             // insert post
             post.setDbTimestamp(System.currentTimeMillis());
             WellSql.insert(post).asSingleTransaction(true).execute();
+            POST_CACHE.invalidate(post.getId());
             return 1;
         } else {
             if (postResult.size() > 1) {
@@ -85,6 +107,7 @@ public class PostSqlUtils {
                     PostModel item = postModelListIterator.next();
                     if (item.getId() != post.getId()) {
                         WellSql.delete(PostModel.class).whereId(item.getId());
+                        POST_CACHE.invalidate(item.getId());
                         postModelListIterator.remove();
                         numberOfDeletedRows++;
                     }
@@ -94,9 +117,10 @@ public class PostSqlUtils {
             if (overwriteLocalChanges || !postResult.get(0).isLocallyChanged()) {
                 int oldId = postResult.get(0).getId();
                 post.setDbTimestamp(System.currentTimeMillis());
-                return WellSql.update(PostModel.class).whereId(oldId)
-                              .put(post, new UpdateAllExceptId<>(PostModel.class)).execute()
-                       + numberOfDeletedRows;
+                int updatedRows = WellSql.update(PostModel.class).whereId(oldId)
+                                         .put(post, new UpdateAllExceptId<>(PostModel.class)).execute();
+                POST_CACHE.invalidate(oldId);
+                return updatedRows + numberOfDeletedRows;
             }
         }
         return numberOfDeletedRows;
@@ -223,6 +247,7 @@ public class PostSqlUtils {
 
     public PostModel insertPostForResult(PostModel post) {
         WellSql.insert(post).asSingleTransaction(true).execute();
+        POST_CACHE.invalidate(post.getId());
 
         return post;
     }
@@ -232,13 +257,15 @@ public class PostSqlUtils {
             return 0;
         }
 
-        return WellSql.delete(PostModel.class)
+        int deletedRows = WellSql.delete(PostModel.class)
                 .where().beginGroup()
                 .equals(PostModelTable.ID, post.getId())
                 .equals(PostModelTable.LOCAL_SITE_ID, post.getLocalSiteId())
                 .endGroup()
                 .endWhere()
                 .execute();
+        POST_CACHE.invalidate(post.getId());
+        return deletedRows;
     }
 
     public int deleteUploadedPostsForSite(SiteModel site, boolean pages) {
@@ -246,7 +273,7 @@ public class PostSqlUtils {
             return 0;
         }
 
-        return WellSql.delete(PostModel.class)
+        int deletedRows = WellSql.delete(PostModel.class)
                 .where().beginGroup()
                 .equals(PostModelTable.LOCAL_SITE_ID, site.getId())
                 .equals(PostModelTable.IS_PAGE, pages)
@@ -255,10 +282,15 @@ public class PostSqlUtils {
                 .endGroup()
                 .endWhere()
                 .execute();
+        // the deleted ids aren't known, but this only happens when refreshing the whole list
+        POST_CACHE.invalidateAll();
+        return deletedRows;
     }
 
     public int deleteAllPosts() {
-        return WellSql.delete(PostModel.class).execute();
+        int deletedRows = WellSql.delete(PostModel.class).execute();
+        POST_CACHE.invalidateAll();
+        return deletedRows;
     }
 
     public boolean getSiteHasLocalChanges(SiteModel site) {
@@ -283,7 +315,7 @@ public class PostSqlUtils {
     }
 
     public int updatePostsAutoSave(SiteModel site, final PostRemoteAutoSaveModel autoSaveModel) {
-        return WellSql.update(PostModel.class)
+        int updatedRows = WellSql.update(PostModel.class)
                .where().beginGroup()
                .equals(PostModelTable.LOCAL_SITE_ID, site.getId())
                .equals(PostModelTable.REMOTE_POST_ID, autoSaveModel.getRemotePostId())
@@ -299,6 +331,9 @@ public class PostSqlUtils {
                        return cv;
                    }
                }).execute();
+        // the post is matched by its remote id, its local id isn't known
+        POST_CACHE.invalidateAll();
+        return updatedRows;
     }
 
     public void insertOrUpdateLocalRevision(LocalRevisionModel revision, List<LocalDiffModel> diffs) {
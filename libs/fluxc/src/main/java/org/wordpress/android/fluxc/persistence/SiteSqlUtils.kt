@@ -30,6 +30,8 @@ import org.wordpress.android.util.UrlUtils
 import javax.inject.Inject
 import javax.inject.Singleton
 
+private const val SITE_CACHE_SIZE = 100
+
 @Singleton
 class SiteSqlUtils
 @Inject constructor() {
@@ -37,12 +39,20 @@ class SiteSqlUtils
         private const val serialVersionUID = -224883903136726226L
     }
 
-    fun getSiteWithLocalId(id: LocalId): SiteModel? = WellSql.select(SiteModel::class.java)
-            .where()
-            .equals(SiteModelTable.ID, id.value)
-            .endWhere()
-            .asModel
-            .firstOrNull()
+    /**
+     * Sites returned by [getSiteWithLocalId], the UI looks the same sites up many times per screen. The writes below
+     * invalidate the affected entries.
+     */
+    val siteCache = ModelCache<SiteModel>(SITE_CACHE_SIZE) { it.clone() }
+
+    fun getSiteWithLocalId(id: LocalId): SiteModel? = siteCache.get(id.value) { localId ->
+        WellSql.select(SiteModel::class.java)
+                .where()
+                .equals(SiteModelTable.ID, localId)
+                .endWhere()
+                .asModel
+                .firstOrNull()
+    }
 
     fun getSitesWithLocalId(id: Int): List<SiteModel> {
         return WellSql.select(SiteModel::class.java)
@@ -212,6 +222,7 @@ class SiteSqlUtils
             try {
                 WellSql.update(SiteModel::class.java).whereId(oldId)
                         .put(site, UpdateAllExceptId(SiteModel::class.java)).execute()
+                        .also { siteCache.invalidate(oldId) }
             } catch (e: SQLiteConstraintException) {
                 AppLog.e(
                         DB,
@@ -230,10 +241,12 @@ class SiteSqlUtils
         } else WellSql.delete(SiteModel::class.java)
                 .where().equals(SiteModelTable.ID, site.id).endWhere()
                 .execute()
+                .also { siteCache.invalidate(site.id) }
     }
 
     fun deleteAllSites(): Int {
         return WellSql.delete(SiteModel::class.java).execute()
+                .also { siteCache.invalidateAll() }
     }
 
     fun setSiteVisibility(site: SiteModel?, visible: Boolean): Int {
@@ -247,6 +260,7 @@ class SiteSqlUtils
                     cv.put(SiteModelTable.IS_VISIBLE, item)
                     cv
                 }).execute()
+                .also { siteCache.invalidate(site.id) }
     }
 
     val wPComSites: SelectQuery<SiteModel>
@@ -1,8 +1,12 @@
 package org.wordpress.android.fluxc.persistence
 
+import android.util.LruCache
 import com.google.gson.Gson
 import com.google.gson.GsonBuilder
+import com.google.gson.JsonElement
+import com.google.gson.JsonParser
 import com.wellsql.generated.StatsBlockTable
+import com.yarolegovich.wellsql.ConditionClauseBuilder
 import com.yarolegovich.wellsql.SelectQuery
 import com.yarolegovich.wellsql.WellSql
 import com.yarolegovich.wellsql.core.Identifiable
@@ -14,6 +18,7 @@ import javax.inject.Inject
 import javax.inject.Singleton
 
 const val DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ssZ"
+private const val DECODED_BLOCKS_CACHE_SIZE = 100
 
 @Singleton
 class StatsSqlUtils @Inject constructor() {
@@ -23,6 +28,20 @@ class StatsSqlUtils @Inject constructor() {
         builder.create()
     }
 
+    /**
+     * Parsed JSON trees of the blocks returned by [select], so that re-opening a stats screen doesn't re-parse the
+     * JSON blobs. Models are mutable, so every hit binds a new model from the tree instead of sharing one instance
+     * between the callers. Every write goes through this class and invalidates the matching entries.
+     */
+    private val decodedBlocks = LruCache<StatsBlockKey, JsonElement>(DECODED_BLOCKS_CACHE_SIZE)
+    private val lock = Any()
+
+    val cacheHitCount: Int
+        get() = decodedBlocks.hitCount()
+
+    val cacheMissCount: Int
+        get() = decodedBlocks.missCount()
+
     fun <T> insert(
         site: SiteModel,
         blockType: BlockType,
@@ -33,30 +52,41 @@ class StatsSqlUtils @Inject constructor() {
         postId: Long? = null
     ) {
         val json = gson.toJson(item)
-        if (replaceExistingData) {
-            var deleteStatement = WellSql.delete(StatsBlockBuilder::class.java)
-                    .where()
-                    .equals(StatsBlockTable.LOCAL_SITE_ID, site.id)
-                    .equals(StatsBlockTable.BLOCK_TYPE, blockType.name)
-                    .equals(StatsBlockTable.STATS_TYPE, statsType.name)
-            if (date != null) {
-                deleteStatement = deleteStatement.equals(StatsBlockTable.DATE, date)
+        val key = StatsBlockKey(site.id, blockType, statsType, date, postId)
+        val block = StatsBlockBuilder(
+                localSiteId = site.id,
+                blockType = blockType.name,
+                statsType = statsType.name,
+                date = date,
+                postId = postId,
+                json = json
+        )
+        synchronized(lock) {
+            if (replaceExistingData) {
+                replace(block, key)
+            } else {
+                WellSql.insert(block).execute()
             }
-            if (postId != null) {
-                deleteStatement = deleteStatement.equals(StatsBlockTable.POST_ID, postId)
+            // The next select() decodes the stored row again, so the cached model always matches the persisted one
+            decodedBlocks.remove(key)
+        }
+    }
+
+    /**
+     * Updates the stored block in place. Falls back to delete + insert when there is no existing row, or when more
+     * than one row matched (e.g. rows stored with [replaceExistingData] set to false).
+     */
+    private fun replace(block: StatsBlockBuilder, key: StatsBlockKey) {
+        val updatedRows = whereKey(WellSql.update(StatsBlockBuilder::class.java).where(), key)
+                .endWhere()
+                .put(block, UpdateAllExceptId(StatsBlockBuilder::class.java))
+                .execute()
+        if (updatedRows != 1) {
+            if (updatedRows > 1) {
+                whereKey(WellSql.delete(StatsBlockBuilder::class.java).where(), key).endWhere().execute()
             }
-            deleteStatement.endWhere().execute()
+            WellSql.insert(block).execute()
         }
-        WellSql.insert(
-                StatsBlockBuilder(
-                        localSiteId = site.id,
-                        blockType = blockType.name,
-                        statsType = statsType.name,
-                        date = date,
-                        postId = postId,
-                        json = json
-                )
-        ).execute()
     }
 
     fun <T> selectAll(
@@ -79,23 +109,39 @@ class StatsSqlUtils @Inject constructor() {
         date: String? = null,
         postId: Long? = null
     ): T? {
-        val model = createSelectStatement(site, blockType, statsType, date, postId).asModel.firstOrNull()
-        if (model != null) {
-            return gson.fromJson(model.json, classOfT)
+        val key = StatsBlockKey(site.id, blockType, statsType, date, postId)
+        synchronized(lock) {
+            var tree = decodedBlocks.get(key)
+            if (tree == null) {
+                val model = createSelectStatement(site, blockType, statsType, date, postId).asModel.firstOrNull()
+                tree = model?.let { JsonParser.parseString(it.json) }
+                if (tree == null || tree.isJsonNull) {
+                    return null
+                }
+                decodedBlocks.put(key, tree)
+            }
+            return gson.fromJson(tree, classOfT)
         }
-        return null
     }
 
     fun deleteAllStats(): Int {
-        return WellSql.delete(StatsBlockBuilder::class.java).execute()
+        synchronized(lock) {
+            decodedBlocks.evictAll()
+            return WellSql.delete(StatsBlockBuilder::class.java).execute()
+        }
     }
 
     fun deleteSiteStats(site: SiteModel): Int {
-        return WellSql.delete(StatsBlockBuilder::class.java)
-                .where()
-                .equals(StatsBlockTable.LOCAL_SITE_ID, site.id)
-                .endWhere()
-                .execute()
+        synchronized(lock) {
+            decodedBlocks.snapshot().keys
+                    .filter { it.localSiteId == site.id }
+                    .forEach { decodedBlocks.remove(it) }
+            return WellSql.delete(StatsBlockBuilder::class.java)
+                    .where()
+                    .equals(StatsBlockTable.LOCAL_SITE_ID, site.id)
+                    .endWhere()
+                    .execute()
+        }
     }
 
     private fun createSelectStatement(
@@ -105,20 +151,31 @@ class StatsSqlUtils @Inject constructor() {
         date: String?,
         postId: Long?
     ): SelectQuery<StatsBlockBuilder> {
-        var select = WellSql.select(StatsBlockBuilder::class.java)
-                .where()
-                .equals(StatsBlockTable.LOCAL_SITE_ID, site.id)
-                .equals(StatsBlockTable.BLOCK_TYPE, blockType.name)
-                .equals(StatsBlockTable.STATS_TYPE, statsType.name)
-        if (date != null) {
-            select = select.equals(StatsBlockTable.DATE, date)
+        val key = StatsBlockKey(site.id, blockType, statsType, date, postId)
+        return whereKey(WellSql.select(StatsBlockBuilder::class.java).where(), key).endWhere()
+    }
+
+    private fun <Q> whereKey(clause: ConditionClauseBuilder<Q>, key: StatsBlockKey): ConditionClauseBuilder<Q> {
+        var where = clause.equals(StatsBlockTable.LOCAL_SITE_ID, key.localSiteId)
+                .equals(StatsBlockTable.BLOCK_TYPE, key.blockType.name)
+                .equals(StatsBlockTable.STATS_TYPE, key.statsType.name)
+        if (key.date != null) {
+            where = where.equals(StatsBlockTable.DATE, key.date)
         }
-        if (postId != null) {
-            select = select.equals(StatsBlockTable.POST_ID, postId)
+        if (key.postId != null) {
+            where = where.equals(StatsBlockTable.POST_ID, key.postId)
         }
-        return select.endWhere()
+        return where
     }
 
+    private data class StatsBlockKey(
+        val localSiteId: Int,
+        val blockType: BlockType,
+        val statsType: StatsType,
+        val date: String?,
+        val postId: Long?
+    )
+
     @Table(name = "StatsBlock")
     data class StatsBlockBuilder(
         @PrimaryKey @Column private var mId: Int = -1,
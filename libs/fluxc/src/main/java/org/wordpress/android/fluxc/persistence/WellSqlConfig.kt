@@ -28,6 +28,55 @@ open class WellSqlConfig : DefaultWellConfig {
         // SQLite versions prior to 3.32.0 (2020-05-22) or 32766 for SQLite versions after 3.32.0.
         // @see https://www.sqlite.org/limits.html
         const val SQLITE_MAX_VARIABLE_NUMBER = 999
+
+        /**
+         * The indexes which aren't declared by the tables, created with the tables and by the migrations adding them.
+         */
+        private val INDEXES = listOf(
+                // `ListItemSqlUtils` reads the items of a list in ranges of row ids, every index ends with the row id
+                "CREATE INDEX IF NOT EXISTS ListItemModel_LIST_ID ON ListItemModel(LIST_ID)",
+                // most of the lookups of `MediaSqlUtils` are by site, the uploads by post
+                "CREATE INDEX IF NOT EXISTS MediaModel_LOCAL_SITE_ID_MEDIA_ID ON MediaModel(LOCAL_SITE_ID,MEDIA_ID)",
+                "CREATE INDEX IF NOT EXISTS MediaModel_LOCAL_POST_ID ON MediaModel(LOCAL_POST_ID)",
+                "CREATE INDEX IF NOT EXISTS PostModel_LOCAL_SITE_ID_REMOTE_POST_ID " +
+                        "ON PostModel(LOCAL_SITE_ID,REMOTE_POST_ID)",
+                "CREATE INDEX IF NOT EXISTS CommentModel_LOCAL_SITE_ID_REMOTE_COMMENT_ID " +
+                        "ON CommentModel(LOCAL_SITE_ID,REMOTE_COMMENT_ID)",
+                // the stats are read by site, block type, stats type and then date or post
+                "CREATE INDEX IF NOT EXISTS StatsBlock_LOCAL_SITE_ID_BLOCK_TYPE_STATS_TYPE_DATE " +
+                        "ON StatsBlock(LOCAL_SITE_ID,BLOCK_TYPE,STATS_TYPE,DATE)",
+                "CREATE INDEX IF NOT EXISTS StatsRequest_LOCAL_SITE_ID_BLOCK_TYPE_STATS_TYPE " +
+                        "ON StatsRequest(LOCAL_SITE_ID,BLOCK_TYPE,STATS_TYPE)"
+        )
+
+        /**
+         * The full-text index searched by `MediaSqlUtils.searchSiteMedia` and the searches by type. Its rows are the
+         * text columns of `MediaModel` with the `_id` of the media as docid.
+         */
+        const val MEDIA_SEARCH_TABLE = "MediaModelSearch"
+
+        /**
+         * Creates the full-text index over the media and fills it from `MediaModel`. The index only refers to the
+         * text of the media (FTS4 external content) and the triggers keep it in sync with every write to `MediaModel`,
+         * including the writes through WellSql which `MediaSqlUtils` doesn't see. The triggers are dropped with
+         * `MediaModel`, so these statements run again whenever the table is recreated.
+         */
+        private val MEDIA_SEARCH_TABLE_STATEMENTS = listOf(
+                "DROP TABLE IF EXISTS MediaModelSearch",
+                "CREATE VIRTUAL TABLE MediaModelSearch USING fts4(content=\"MediaModel\"," +
+                        "TITLE,CAPTION,DESCRIPTION,MIME_TYPE,tokenize=unicode61)",
+                "CREATE TRIGGER IF NOT EXISTS MediaModelSearch_BEFORE_UPDATE BEFORE UPDATE ON MediaModel BEGIN " +
+                        "DELETE FROM MediaModelSearch WHERE docid=old._id; END",
+                "CREATE TRIGGER IF NOT EXISTS MediaModelSearch_BEFORE_DELETE BEFORE DELETE ON MediaModel BEGIN " +
+                        "DELETE FROM MediaModelSearch WHERE docid=old._id; END",
+                "CREATE TRIGGER IF NOT EXISTS MediaModelSearch_AFTER_UPDATE AFTER UPDATE ON MediaModel BEGIN " +
+                        "INSERT INTO MediaModelSearch(docid,TITLE,CAPTION,DESCRIPTION,MIME_TYPE) " +
+                        "VALUES(new._id,new.TITLE,new.CAPTION,new.DESCRIPTION,new.MIME_TYPE); END",
+                "CREATE TRIGGER IF NOT EXISTS MediaModelSearch_AFTER_INSERT AFTER INSERT ON MediaModel BEGIN " +
+                        "INSERT INTO MediaModelSearch(docid,TITLE,CAPTION,DESCRIPTION,MIME_TYPE) " +
+                        "VALUES(new._id,new.TITLE,new.CAPTION,new.DESCRIPTION,new.MIME_TYPE); END",
+                "INSERT INTO MediaModelSearch(MediaModelSearch) VALUES('rebuild')"
+        )
     }
 
     constructor(context: Context) : super(context)
@@ -41,7 +90,7 @@ open class WellSqlConfig : DefaultWellConfig {
     annotation class AddOn
 
     override fun getDbVersion(): Int {
-        return 204
+        return 207
     }
 
     override fun getDbName(): String {
@@ -50,6 +99,7 @@ open class WellSqlConfig : DefaultWellConfig {
 
     override fun onCreate(db: SQLiteDatabase, helper: WellTableManager) {
         mTables.forEach { table -> helper.createTable(table) }
+        createIndexes(db)
     }
 
     @Suppress("CheckStyle", "LongMethod", "ComplexMethod", "MagicNumber")
@@ -2053,6 +2103,27 @@ open class WellSqlConfig : DefaultWellConfig {
                         )
                     """.trimIndent())
                 }
+
+                204 -> migrate(version) {
+                    db.execSQL("CREATE INDEX IF NOT EXISTS ListItemModel_LIST_ID ON ListItemModel(LIST_ID)")
+                }
+
+                205 -> migrate(version) {
+                    db.execSQL("CREATE INDEX IF NOT EXISTS MediaModel_LOCAL_SITE_ID_MEDIA_ID " +
+                            "ON MediaModel(LOCAL_SITE_ID,MEDIA_ID)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS MediaModel_LOCAL_POST_ID ON MediaModel(LOCAL_POST_ID)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS PostModel_LOCAL_SITE_ID_REMOTE_POST_ID " +
+                            "ON PostModel(LOCAL_SITE_ID,REMOTE_POST_ID)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS CommentModel_LOCAL_SITE_ID_REMOTE_COMMENT_ID " +
+                            "ON CommentModel(LOCAL_SITE_ID,REMOTE_COMMENT_ID)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS StatsBlock_LOCAL_SITE_ID_BLOCK_TYPE_STATS_TYPE_DATE " +
+                            "ON StatsBlock(LOCAL_SITE_ID,BLOCK_TYPE,STATS_TYPE,DATE)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS StatsRequest_LOCAL_SITE_ID_BLOCK_TYPE_STATS_TYPE " +
+                            "ON StatsRequest(LOCAL_SITE_ID,BLOCK_TYPE,STATS_TYPE)")
+                }
+                206 -> migrate(version) {
+                    MEDIA_SEARCH_TABLE_STATEMENTS.forEach { db.execSQL(it) }
+                }
             }
         }
         db.setTransactionSuccessful()
@@ -2077,13 +2148,20 @@ open class WellSqlConfig : DefaultWellConfig {
 
             AppLog.d(T.DB, "Database downgraded from version $oldVersion to $newVersion")
             helper?.let { reset(it) }
+            db?.let { createIndexes(it) }
         } else {
             super.onDowngrade(db, helper, oldVersion, newVersion)
         }
     }
 
+    /**
+     * Write-ahead logging lets the reads run on their own connections while a background sync writes to the
+     * database: `SQLiteDatabase` keeps a single connection for the writes and a small pool of connections for the
+     * reads outside of transactions, which see the last committed data instead of waiting for the writer.
+     */
     override fun onConfigure(db: SQLiteDatabase, helper: WellTableManager?) {
         db.setForeignKeyConstraintsEnabled(true)
+        db.enableWriteAheadLogging()
     }
 
     /**
@@ -2106,6 +2184,8 @@ open class WellSqlConfig : DefaultWellConfig {
             db.execSQL("DROP TABLE IF EXISTS ${table.tableName}")
             db.execSQL(table.createStatement())
         }
+        createIndexes(db)
+        ModelCache.invalidateAllCaches()
     }
 
     /**
@@ -2120,6 +2200,19 @@ open class WellSqlConfig : DefaultWellConfig {
             AppLog.d(T.DB, "creating table " + table.simpleName)
             helper.createTable(table)
         }
+        ModelCache.invalidateAllCaches()
+    }
+
+    private fun createIndexes(db: SQLiteDatabase) {
+        INDEXES.forEach { db.execSQL(it) }
+        createSearchTables(db)
+    }
+
+    /**
+     * Creates the full-text indexes, which have to be recreated after the tables they index
+     */
+    protected fun createSearchTables(db: SQLiteDatabase) {
+        MEDIA_SEARCH_TABLE_STATEMENTS.forEach { db.execSQL(it) }
     }
 
     private fun migrate(version: Int, script: () -> Unit) {
@@ -18,7 +18,6 @@ import org.wordpress.android.fluxc.action.ListAction.LIST_REQUIRES_REFRESH
 import org.wordpress.android.fluxc.action.ListAction.REMOVE_ALL_LISTS
 import org.wordpress.android.fluxc.action.ListAction.REMOVE_EXPIRED_LISTS
 import org.wordpress.android.fluxc.annotations.action.Action
-import org.wordpress.android.fluxc.model.LocalOrRemoteId.RemoteId
 import org.wordpress.android.fluxc.model.list.LIST_STATE_TIMEOUT
 import org.wordpress.android.fluxc.model.list.ListDescriptor
 import org.wordpress.android.fluxc.model.list.ListDescriptorTypeIdentifier
@@ -30,6 +29,7 @@ import org.wordpress.android.fluxc.model.list.PagedListFactory
 import org.wordpress.android.fluxc.model.list.PagedListWrapper
 import org.wordpress.android.fluxc.model.list.datasource.InternalPagedListDataSource
 import org.wordpress.android.fluxc.model.list.datasource.ListItemDataSourceInterface
+import org.wordpress.android.fluxc.model.list.datasource.ListItemIdRanges
 import org.wordpress.android.fluxc.persistence.ListItemSqlUtils
 import org.wordpress.android.fluxc.persistence.ListSqlUtils
 import org.wordpress.android.fluxc.store.ListStore.OnListChanged.CauseOfListChange
@@ -144,12 +144,16 @@ class ListStore @Inject constructor(
 
     /**
      * A helper function that creates a [PagedListFactory] for the given [LIST_DESCRIPTOR] and [dataSource].
+     *
+     * The data sources created by the factory share a [ListItemIdRanges], so the remote item ids read for one of
+     * them are reused by the next one unless the items were removed.
      */
     private fun <LIST_DESCRIPTOR : ListDescriptor, ITEM_IDENTIFIER, LIST_ITEM> createPagedListFactory(
         listDescriptor: LIST_DESCRIPTOR,
         dataSource: ListItemDataSourceInterface<LIST_DESCRIPTOR, ITEM_IDENTIFIER, LIST_ITEM>
     ): PagedListFactory<LIST_DESCRIPTOR, ITEM_IDENTIFIER, LIST_ITEM> {
-        val getRemoteItemIds = { getListItems(listDescriptor).map { RemoteId(value = it) } }
+        val listItemIdRanges = ListItemIdRanges(listItemSqlUtils)
+        val getRemoteItemIds = { listItemIdRanges.snapshot(listSqlUtils.getList(listDescriptor)?.id) }
         val getIsListFullyFetched = { getListState(listDescriptor) == FETCHED }
         return PagedListFactory(
                 createDataSource = {
@@ -162,16 +166,6 @@ class ListStore @Inject constructor(
                 })
     }
 
-    /**
-     * A helper function that returns the list items for the given [ListDescriptor].
-     */
-    private fun getListItems(listDescriptor: ListDescriptor): List<Long> {
-        val listModel = listSqlUtils.getList(listDescriptor)
-        return if (listModel != null) {
-            listItemSqlUtils.getListItems(listModel.id).map { it.remoteItemId }
-        } else emptyList()
-    }
-
     /**
      * A helper function that initiates the fetch from remote for the given [ListDescriptor].
      *
@@ -1,6 +1,7 @@
 package org.wordpress.android.fluxc.store;
 
 import android.text.TextUtils;
+import android.text.format.DateUtils;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -69,6 +70,8 @@ import javax.inject.Singleton;
 @Singleton
 public class PostStore extends Store {
     public static final int NUM_POSTS_PER_FETCH = 20;
+    // Changed posts of a post list page are fetched with a single request when there are at least this many of them
+    private static final int MIN_CHANGED_POSTS_PER_FETCH = 2;
 
     public static final List<PostStatus> DEFAULT_POST_STATUS_LIST = Collections.unmodifiableList(Arrays.asList(
             PostStatus.DRAFT,
@@ -121,6 +124,39 @@ public class PostStore extends Store {
         }
     }
 
+    public static class FetchChangedPostsPayload extends Payload<BaseNetworkError> {
+        @NonNull public PostListDescriptorForRestSite listDescriptor;
+        @NonNull public List<PostModel> changedPosts;
+        @NonNull public String modifiedAfter;
+
+        public FetchChangedPostsPayload(@NonNull PostListDescriptorForRestSite listDescriptor,
+                                        @NonNull List<PostModel> changedPosts,
+                                        @NonNull String modifiedAfter) {
+            this.listDescriptor = listDescriptor;
+            this.changedPosts = changedPosts;
+            this.modifiedAfter = modifiedAfter;
+        }
+    }
+
+    public static class FetchChangedPostsResponsePayload extends Payload<PostError> {
+        @NonNull public SiteModel site;
+        @NonNull public List<PostModel> changedPosts;
+        @NonNull public List<PostModel> fetchedPosts;
+        public long responseSize;
+
+        public FetchChangedPostsResponsePayload(@NonNull SiteModel site,
+                                                @NonNull List<PostModel> changedPosts,
+                                                @NonNull List<PostModel> fetchedPosts,
+                                                long responseSize,
+                                                @Nullable PostError error) {
+            this.site = site;
+            this.changedPosts = changedPosts;
+            this.fetchedPosts = fetchedPosts;
+            this.responseSize = responseSize;
+            this.error = error;
+        }
+    }
+
     public static class FetchPostsPayload extends Payload<BaseNetworkError> {
         public SiteModel site;
         public boolean loadMore;
@@ -409,6 +445,28 @@ public class PostStore extends Store {
         }
     }
 
+    /**
+     * Emitted once the posts of a list which changed in remote were fetched with a single request, to report the cost
+     * of the sync.
+     */
+    public static class OnChangedPostsFetched extends OnChanged<PostError> {
+        public final SiteModel site;
+        public final int changedPostCount;
+        public final long bytesTransferred;
+        public final int rowsWritten;
+        // the posts missing from the response, which are fetched one by one
+        public final int postsFetchedSeparately;
+
+        OnChangedPostsFetched(SiteModel site, int changedPostCount, long bytesTransferred, int rowsWritten,
+                              int postsFetchedSeparately) {
+            this.site = site;
+            this.changedPostCount = changedPostCount;
+            this.bytesTransferred = bytesTransferred;
+            this.rowsWritten = rowsWritten;
+            this.postsFetchedSeparately = postsFetchedSeparately;
+        }
+    }
+
     public enum PostDeleteActionType {
         TRASH,
         DELETE
@@ -594,15 +652,7 @@ public class PostStore extends Store {
      * Given a local ID for a post, returns that post as a {@link PostModel}.
      */
     public PostModel getPostByLocalPostId(int localId) {
-        List<PostModel> result = WellSql.select(PostModel.class)
-                                        .where().equals(PostModelTable.ID, localId).endWhere()
-                                        .getAsModel();
-
-        if (result.isEmpty()) {
-            return null;
-        } else {
-            return result.get(0);
-        }
+        return mPostSqlUtils.getPostByLocalId(localId);
     }
 
     public List<PostModel> getPostsByLocalOrRemotePostIds(List<? extends LocalOrRemoteId> localOrRemoteIds,
@@ -708,6 +758,12 @@ public class PostStore extends Store {
             case FETCHED_POST_LIST:
                 handleFetchedPostList((FetchPostListResponsePayload) action.getPayload());
                 break;
+            case FETCH_CHANGED_POSTS:
+                fetchChangedPosts((FetchChangedPostsPayload) action.getPayload());
+                break;
+            case FETCHED_CHANGED_POSTS:
+                handleFetchedChangedPosts((FetchChangedPostsResponsePayload) action.getPayload());
+                break;
             case FETCH_POSTS:
                 fetchPosts((FetchPostsPayload) action.getPayload(), false);
                 break;
@@ -888,6 +944,8 @@ public class PostStore extends Store {
                 postIds.add(item.remotePostId);
             }
             Map<Long, PostModel> posts = getPostsByRemotePostIds(postIds, site);
+            List<PostModel> changedPosts = new ArrayList<>();
+            List<String> changedPostsLastModified = new ArrayList<>();
             for (PostListItem item : payload.postListItems) {
                 PostModel post = posts.get(item.remotePostId);
                 if (post == null) {
@@ -925,7 +983,8 @@ public class PostStore extends Store {
                     // Dispatch a fetch action for the posts that are changed, but not for posts with local changes
                     // as we'd otherwise overwrite and lose these local changes forever
                     if (!post.isLocallyChanged()) {
-                        mDispatcher.dispatch(PostActionBuilder.newFetchPostAction(new RemotePostPayload(post, site)));
+                        changedPosts.add(post);
+                        changedPostsLastModified.add(item.lastModified);
                     } else if (isPostChanged) {
                         // at this point we know there's a potential version conflict (the post has been modified
                         // both locally and on the remote), so flag the local version of the Post so the
@@ -943,6 +1002,7 @@ public class PostStore extends Store {
                     }
                 }
             }
+            fetchChangedPosts(payload.listDescriptor, changedPosts, changedPostsLastModified);
         }
 
         FetchedListItemsPayload fetchedListItemsPayload =
@@ -951,6 +1011,84 @@ public class PostStore extends Store {
         mDispatcher.dispatch(ListActionBuilder.newFetchedListItemsAction(fetchedListItemsPayload));
     }
 
+    /**
+     * Fetches the full content of the posts of a list which changed in remote. On WP.com sites the changed posts are
+     * fetched with a single request for the posts modified after the earliest of the new modified dates, the other
+     * sites fetch them one by one.
+     */
+    private void fetchChangedPosts(PostListDescriptor listDescriptor, List<PostModel> changedPosts,
+                                   List<String> changedPostsLastModified) {
+        String modifiedAfter = null;
+        if (listDescriptor instanceof PostListDescriptorForRestSite
+            && changedPosts.size() >= MIN_CHANGED_POSTS_PER_FETCH) {
+            modifiedAfter = getModifiedAfter(changedPostsLastModified);
+        }
+        if (modifiedAfter == null) {
+            for (PostModel post : changedPosts) {
+                mDispatcher.dispatch(PostActionBuilder.newFetchPostAction(
+                        new RemotePostPayload(post, listDescriptor.getSite())));
+            }
+        } else {
+            mDispatcher.dispatch(PostActionBuilder.newFetchChangedPostsAction(new FetchChangedPostsPayload(
+                    (PostListDescriptorForRestSite) listDescriptor, changedPosts, modifiedAfter)));
+        }
+    }
+
+    @Nullable
+    private static String getModifiedAfter(List<String> lastModifiedDates) {
+        Date earliest = null;
+        for (String lastModified : lastModifiedDates) {
+            Date date = lastModified != null ? DateTimeUtils.dateUTCFromIso8601(lastModified) : null;
+            if (date == null) {
+                return null;
+            }
+            if (earliest == null || date.before(earliest)) {
+                earliest = date;
+            }
+        }
+        // Step back a second so the post modified at the earliest date is included
+        return earliest == null ? null
+                : DateTimeUtils.iso8601UTCFromDate(new Date(earliest.getTime() - DateUtils.SECOND_IN_MILLIS));
+    }
+
+    private void fetchChangedPosts(FetchChangedPostsPayload payload) {
+        mPostRestClient.fetchChangedPosts(payload.listDescriptor, payload.changedPosts, payload.modifiedAfter);
+    }
+
+    private void handleFetchedChangedPosts(FetchChangedPostsResponsePayload payload) {
+        Map<Long, PostModel> fetchedPosts = new HashMap<>(payload.fetchedPosts.size());
+        for (PostModel fetchedPost : payload.fetchedPosts) {
+            fetchedPosts.put(fetchedPost.getRemotePostId(), fetchedPost);
+        }
+
+        int rowsWritten = 0;
+        int postsFetchedSeparately = 0;
+        for (PostModel post : payload.changedPosts) {
+            PostModel fetchedPost = fetchedPosts.get(post.getRemotePostId());
+            if (fetchedPost == null) {
+                // The request failed, or the post was outside of the fetched page (e.g. only its status changed)
+                mDispatcher.dispatch(PostActionBuilder.newFetchPostAction(new RemotePostPayload(post, payload.site)));
+                postsFetchedSeparately++;
+                continue;
+            }
+            fetchedPost.setId(post.getId());
+            fetchedPost.setLocalSiteId(payload.site.getId());
+            int rowsAffected = mPostSqlUtils.insertOrUpdatePostOverwritingLocalChanges(fetchedPost);
+            rowsWritten += rowsAffected;
+            emitChange(new OnPostChanged(new CauseOfOnPostChanged.UpdatePost(fetchedPost.getId(),
+                    fetchedPost.getRemotePostId(), false), rowsAffected));
+        }
+
+        if (rowsWritten > 0) {
+            mDispatcher.dispatch(ListActionBuilder.newListDataInvalidatedAction(
+                    PostListDescriptor.calculateTypeIdentifier(payload.site.getId())));
+        }
+        OnChangedPostsFetched event = new OnChangedPostsFetched(payload.site, payload.changedPosts.size(),
+                payload.responseSize, rowsWritten, postsFetchedSeparately);
+        event.error = payload.error;
+        emitChange(event);
+    }
+
     private void fetchPosts(FetchPostsPayload payload, boolean pages) {
         int offset = 0;
         if (payload.loadMore) {
@@ -70,6 +70,7 @@ import org.wordpress.android.fluxc.action.SiteAction.UPDATE_SITES
 import org.wordpress.android.fluxc.annotations.action.Action
 import org.wordpress.android.fluxc.model.DomainModel
 import org.wordpress.android.fluxc.model.JetpackCapability
+import org.wordpress.android.fluxc.model.LocalOrRemoteId.LocalId
 import org.wordpress.android.fluxc.model.PlanModel
 import org.wordpress.android.fluxc.model.PostFormatModel
 import org.wordpress.android.fluxc.model.RoleModel
@@ -1134,10 +1135,7 @@ open class SiteStore @Inject constructor(
      */
     @Suppress("ForbiddenComment")
     open fun getSiteByLocalId(id: Int): SiteModel? {
-        val result = siteSqlUtils.getSitesWithLocalId(id)
-        return if (result.isNotEmpty()) {
-            result[0]
-        } else null
+        return siteSqlUtils.getSiteWithLocalId(LocalId(id))
     }
 
     /**
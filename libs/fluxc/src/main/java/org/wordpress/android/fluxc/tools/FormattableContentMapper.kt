@@ -3,11 +3,54 @@ package org.wordpress.android.fluxc.tools
 import com.google.gson.Gson
 import com.google.gson.annotations.SerializedName
 import com.google.gson.reflect.TypeToken
+import org.json.JSONArray
+import org.json.JSONObject
 import javax.inject.Inject
 
 class FormattableContentMapper @Inject constructor(val gson: Gson) {
     fun mapToFormattableContent(json: String): FormattableContent = gson.fromJson(json, FormattableContent::class.java)
 
+    /**
+     * Maps a block the caller already parsed (e.g. the blocks of a notification) without serializing it to a string
+     * and parsing it again. Values are converted like Gson does, e.g. numeric ids to strings, and values which can't
+     * be converted are ignored.
+     */
+    fun mapToFormattableContent(json: JSONObject): FormattableContent = FormattableContent(
+            actions = json.optJSONObject("actions")?.let { actions ->
+                actions.keys().asSequence()
+                        .mapNotNull { key -> actions.optBooleanValue(key)?.let { key to it } }
+                        .toMap()
+            },
+            media = json.optJSONArray("media")?.mapObjects { media ->
+                FormattableMedia(
+                        height = media.optStringValue("height"),
+                        width = media.optStringValue("width"),
+                        type = media.optStringValue("type"),
+                        url = media.optStringValue("url"),
+                        indices = media.optJSONArray("indices")?.toIntList()
+                )
+            },
+            meta = json.optJSONObject("meta")?.let { mapToFormattableMeta(json, it) },
+            text = json.optStringValue("text"),
+            type = json.optStringValue("type"),
+            nestLevel = json.optLongValue("nest_level")?.toInt(),
+            ranges = json.optJSONArray("ranges")?.mapObjects { range ->
+                FormattableRange(
+                        stringId = range.optStringValue("id"),
+                        siteId = range.optLongValue("site_id"),
+                        postId = range.optLongValue("post_id"),
+                        rootId = range.optLongValue("root_id"),
+                        type = range.optStringValue("type"),
+                        url = range.optStringValue("url"),
+                        section = range.optStringValue("section"),
+                        intent = range.optStringValue("intent"),
+                        context = range.optStringValue("context"),
+                        value = range.optStringValue("value"),
+                        indices = range.optJSONArray("indices")?.toIntList()
+                )
+            }
+    )
+
     fun mapToFormattableContentList(json: String): List<FormattableContent> =
             gson.fromJson(json, object : TypeToken<List<FormattableContent>>() {}.type)
 
@@ -19,6 +62,72 @@ class FormattableContentMapper @Inject constructor(val gson: Gson) {
             gson.toJson(formattableList)
 
     fun mapFormattableMetaToJson(formattableMeta: FormattableMeta): String = gson.toJson(formattableMeta)
+
+    private fun mapToFormattableMeta(block: JSONObject, meta: JSONObject) = FormattableMeta(
+            ids = META_IDS.getJSONObject(block)?.let { ids ->
+                FormattableMeta.Ids(
+                        site = ids.optLongValue("site"),
+                        user = ids.optLongValue("user"),
+                        comment = ids.optLongValue("comment"),
+                        post = ids.optLongValue("post"),
+                        order = ids.optLongValue("order"),
+                        campaignId = ids.optLongValue("campaign_id")
+                )
+            },
+            links = META_LINKS.getJSONObject(block)?.let { links ->
+                FormattableMeta.Links(
+                        site = links.optStringValue("site"),
+                        user = links.optStringValue("user"),
+                        comment = links.optStringValue("comment"),
+                        post = links.optStringValue("post"),
+                        email = links.optStringValue("email"),
+                        home = links.optStringValue("home"),
+                        order = links.optStringValue("order")
+                )
+            },
+            titles = META_TITLES.getJSONObject(block)?.let { titles ->
+                FormattableMeta.Titles(
+                        home = titles.optStringValue("home"),
+                        tagline = titles.optStringValue("tagline")
+                )
+            },
+            isMobileButton = meta.optBooleanValue("is_mobile_button")
+    )
+
+    private fun JSONObject.optStringValue(key: String): String? = when (val value = opt(key)) {
+        is String -> value
+        is Number, is Boolean -> value.toString()
+        else -> null
+    }
+
+    private fun JSONObject.optLongValue(key: String): Long? = when (val value = opt(key)) {
+        is Number -> value.toLong()
+        is String -> value.toLongOrNull()
+        else -> null
+    }
+
+    private fun JSONObject.optBooleanValue(key: String): Boolean? = when (val value = opt(key)) {
+        is Boolean -> value
+        is String -> value.toBoolean()
+        else -> null
+    }
+
+    private fun JSONArray.toIntList(): List<Int> = (0 until length()).mapNotNull { index ->
+        when (val value = opt(index)) {
+            is Number -> value.toInt()
+            is String -> value.toIntOrNull()
+            else -> null
+        }
+    }
+
+    private fun <T> JSONArray.mapObjects(transform: (JSONObject) -> T): List<T> =
+            (0 until length()).mapNotNull { index -> optJSONObject(index)?.let(transform) }
+
+    companion object {
+        private val META_IDS = JsonPath.compile("meta.ids")
+        private val META_LINKS = JsonPath.compile("meta.links")
+        private val META_TITLES = JsonPath.compile("meta.titles")
+    }
 }
 
 data class FormattableContent(
@@ -0,0 +1,119 @@
+package org.wordpress.android.fluxc.tools
+
+import org.json.JSONArray
+import org.json.JSONObject
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * A path into a JSON tree, e.g. `meta.ids.site` or `body[last].text`, parsed once so resolving it only walks the
+ * tree instead of tokenizing the path again on every query like `JSONUtils.queryJSON` does. Indexes can be numbers,
+ * `first` or `last`, negative numbers count from the end of the array.
+ *
+ * Like `JSONUtils.queryJSON`, a missing value or a value of another type resolves to the default value: e.g.
+ * [getInt] doesn't convert strings or longs. The primitive accessors return unboxed values.
+ */
+class JsonPath private constructor(
+    val path: String,
+    // the key of every object segment, null for the array index segments
+    private val keys: Array<String?>,
+    // the index of every array index segment
+    private val indexes: IntArray
+) {
+    // queries on arrays start at the first index, e.g. `[1].text` of `subject[1].text`
+    private val firstIndexSegment = keys.indexOfFirst { it == null }
+
+    fun getString(source: JSONObject?): String? = resolve(source, 0) as? String
+
+    fun getString(source: JSONArray?): String? = resolveInArray(source) as? String
+
+    fun getInt(source: JSONObject?, default: Int): Int {
+        val value = resolve(source, 0)
+        return if (value is Int) value else default
+    }
+
+    fun getLong(source: JSONObject?, default: Long): Long {
+        return when (val value = resolve(source, 0)) {
+            is Long -> value
+            is Int -> value.toLong()
+            else -> default
+        }
+    }
+
+    fun getBoolean(source: JSONObject?, default: Boolean): Boolean {
+        val value = resolve(source, 0)
+        return if (value is Boolean) value else default
+    }
+
+    fun getJSONObject(source: JSONObject?): JSONObject? = resolve(source, 0) as? JSONObject
+
+    fun getJSONArray(source: JSONObject?): JSONArray? = resolve(source, 0) as? JSONArray
+
+    private fun resolveInArray(source: JSONArray?): Any? =
+            if (firstIndexSegment == -1) null else resolve(source, firstIndexSegment)
+
+    private fun resolve(source: Any?, fromSegment: Int): Any? {
+        var node = source
+        for (segment in fromSegment until keys.size) {
+            val key = keys[segment]
+            node = if (key != null) {
+                (node as? JSONObject)?.opt(key)
+            } else {
+                (node as? JSONArray)?.let { array ->
+                    val index = indexes[segment]
+                    array.opt(if (index < 0) array.length() + index else index)
+                }
+            }
+            if (node == null) return null
+        }
+        return node
+    }
+
+    override fun toString() = path
+
+    companion object {
+        private const val INDEX_FIRST = "first"
+        private const val INDEX_LAST = "last"
+
+        private val compiledPaths = ConcurrentHashMap<String, JsonPath>()
+
+        /**
+         * Returns the compiled path, paths are only parsed the first time they're compiled. The compiled paths are
+         * kept for the lifetime of the process, so only compile a fixed set of paths - not paths built from data.
+         */
+        @JvmStatic
+        fun compile(path: String): JsonPath = compiledPaths.getOrPut(path) { parse(path) }
+
+        private fun parse(path: String): JsonPath {
+            val keys = ArrayList<String?>()
+            val indexes = ArrayList<Int>()
+            var start = 0
+            var position = 0
+            while (position <= path.length) {
+                val ch = if (position < path.length) path[position] else '.'
+                if (ch == '.' || ch == '[') {
+                    if (position > start) {
+                        keys.add(path.substring(start, position))
+                        indexes.add(0)
+                    }
+                    if (ch == '[') {
+                        val end = path.indexOf(']', position)
+                        require(end != -1) { "Unclosed index in JSON path: $path" }
+                        keys.add(null)
+                        indexes.add(parseIndex(path, path.substring(position + 1, end)))
+                        position = end
+                    }
+                    start = position + 1
+                }
+                position++
+            }
+            require(keys.isNotEmpty()) { "Empty JSON path" }
+            return JsonPath(path, keys.toTypedArray(), indexes.toIntArray())
+        }
+
+        private fun parseIndex(path: String, index: String): Int = when (index) {
+            INDEX_FIRST -> 0
+            INDEX_LAST -> -1
+            else -> requireNotNull(index.toIntOrNull()) { "Invalid index '$index' in JSON path: $path" }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.wordpress.android.fluxc
+
+import org.greenrobot.eventbus.Subscribe
+import org.greenrobot.eventbus.ThreadMode
+import org.junit.Test
+import org.wordpress.android.fluxc.action.AccountAction
+import org.wordpress.android.fluxc.annotations.DispatchLane
+import org.wordpress.android.fluxc.annotations.action.Action
+import org.wordpress.android.fluxc.generated.AccountActionBuilder
+import org.wordpress.android.fluxc.store.Store
+import java.util.Optional
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class DispatcherLanesTest {
+    private class RecordingStore(dispatcher: Dispatcher, private val latch: CountDownLatch) : Store(dispatcher) {
+        val threadNames = ConcurrentHashMap<String, String>()
+
+        @Subscribe(threadMode = ThreadMode.ASYNC)
+        override fun onAction(action: Action<*>) {
+            threadNames[action.type.toString()] = Thread.currentThread().name
+            latch.countDown()
+        }
+
+        override fun onRegister() = Unit
+    }
+
+    private class ActionListener(private val latch: CountDownLatch) {
+        @Volatile var threadName: String? = null
+
+        @Subscribe(threadMode = ThreadMode.ASYNC)
+        fun onAction(action: Action<*>) {
+            threadName = Thread.currentThread().name
+            latch.countDown()
+        }
+    }
+
+    @Test
+    fun `lanes are enabled by the injected config`() {
+        assertTrue(Dispatcher(Optional.of(DispatcherConfig(1, 2))).usesPriorityLanes())
+        assertFalse(Dispatcher(Optional.empty()).usesPriorityLanes())
+    }
+
+    @Test
+    fun `actions are delivered on their lane to the subscribers which aren't stores`() {
+        val dispatcher = Dispatcher(1, 1)
+        val latch = CountDownLatch(2)
+        RecordingStore(dispatcher, latch)
+        val listener = ActionListener(latch)
+        dispatcher.register(listener)
+
+        dispatcher.dispatch(AccountActionBuilder.newFetchAccountAction())
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS))
+        assertTrue(listener.threadName!!.startsWith("FluxC-UI-"))
+    }
+
+    @Test
+    fun `actions are delivered to stores on the lane declared in their annotation`() {
+        val dispatcher = Dispatcher(1, 2)
+        val latch = CountDownLatch(2)
+        val store = RecordingStore(dispatcher, latch)
+
+        dispatcher.dispatch(AccountActionBuilder.newFetchAccountAction())
+        dispatcher.dispatch(AccountActionBuilder.newSendVerificationEmailAction())
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS))
+        assertTrue(store.threadNames.getValue(AccountAction.FETCH_ACCOUNT.name).startsWith("FluxC-UI-"))
+        assertTrue(store.threadNames.getValue(AccountAction.SEND_VERIFICATION_EMAIL.name)
+                .startsWith("FluxC-BACKGROUND-"))
+    }
+
+    @Test
+    fun `dispatched actions are counted per action type`() {
+        val dispatcher = Dispatcher(1, 1)
+        val latch = CountDownLatch(3)
+        RecordingStore(dispatcher, latch)
+
+        repeat(3) { dispatcher.dispatch(AccountActionBuilder.newFetchAccountAction()) }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS))
+        // Stats are recorded once the stores are done with the action
+        val deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5)
+        while (dispatcher.metrics.actionStats["AccountAction-FETCH_ACCOUNT"]?.count != 3L &&
+                System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assertEquals(3L, dispatcher.metrics.actionStats.getValue("AccountAction-FETCH_ACCOUNT").count)
+        assertEquals(0, dispatcher.metrics.getQueueDepth(DispatchLane.UI))
+    }
+}
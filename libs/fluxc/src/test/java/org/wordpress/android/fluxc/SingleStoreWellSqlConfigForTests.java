@@ -8,6 +8,8 @@ import com.yarolegovich.wellsql.WellTableManager;
 import com.yarolegovich.wellsql.core.Identifiable;
 import com.yarolegovich.wellsql.core.TableClass;
 
+import org.wordpress.android.fluxc.model.MediaModel;
+import org.wordpress.android.fluxc.persistence.ModelCache;
 import org.wordpress.android.fluxc.persistence.WellSqlConfig;
 
 import java.util.ArrayList;
@@ -45,6 +47,9 @@ public class SingleStoreWellSqlConfigForTests extends WellSqlConfig {
         for (Class<? extends Identifiable> clazz : mStoreClassList) {
             helper.createTable(clazz);
         }
+        if (mStoreClassList.contains(MediaModel.class)) {
+            createSearchTables(db);
+        }
     }
 
     /**
@@ -58,5 +63,9 @@ public class SingleStoreWellSqlConfigForTests extends WellSqlConfig {
             db.execSQL("DROP TABLE " + table.getTableName());
             db.execSQL(table.createStatement());
         }
+        if (mStoreClassList.contains(MediaModel.class)) {
+            createSearchTables(db);
+        }
+        ModelCache.invalidateAllCaches();
     }
 }
@@ -0,0 +1,116 @@
+package org.wordpress.android.fluxc.list
+
+import com.yarolegovich.wellsql.WellSql
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.any
+import org.mockito.kotlin.clearInvocations
+import org.mockito.kotlin.spy
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.wordpress.android.fluxc.model.LocalOrRemoteId.RemoteId
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.model.list.ListItemModel
+import org.wordpress.android.fluxc.model.list.PostListDescriptor.PostListDescriptorForRestSite
+import org.wordpress.android.fluxc.model.list.datasource.ListItemIdRanges
+import org.wordpress.android.fluxc.model.list.datasource.ListItemsChangedException
+import org.wordpress.android.fluxc.persistence.ListItemSqlUtils
+import org.wordpress.android.fluxc.persistence.ListSqlUtils
+import org.wordpress.android.fluxc.persistence.WellSqlConfig
+import kotlin.test.assertFailsWith
+
+@RunWith(RobolectricTestRunner::class)
+class ListItemIdRangesTest {
+    private lateinit var listItemSqlUtils: ListItemSqlUtils
+    private lateinit var listItemIdRanges: ListItemIdRanges
+    private var listId = 0
+
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+        val config = WellSqlConfig(appContext)
+        WellSql.init(config)
+        config.reset()
+
+        val listSqlUtils = ListSqlUtils()
+        val listDescriptor = PostListDescriptorForRestSite(SiteModel().apply { id = 111 })
+        listSqlUtils.insertOrUpdateList(listDescriptor)
+        listId = requireNotNull(listSqlUtils.getList(listDescriptor)).id
+        listItemSqlUtils = spy(ListItemSqlUtils())
+        listItemIdRanges = ListItemIdRanges(listItemSqlUtils)
+    }
+
+    @Test
+    fun `reads the ids of the list in ranges as they are requested`() {
+        insertItems(1..250L)
+
+        val remoteItemIds = listItemIdRanges.snapshot(listId)
+
+        assertThat(remoteItemIds).hasSize(250)
+        verifyRangesRead(0)
+        assertThat(remoteItemIds[0]).isEqualTo(RemoteId(1))
+        verifyRangesRead(1)
+        assertThat(remoteItemIds[249]).isEqualTo(RemoteId(250))
+        verifyRangesRead(3)
+        assertThat(remoteItemIds).isEqualTo((1..250L).map { RemoteId(it) })
+        verifyRangesRead(3)
+    }
+
+    @Test
+    fun `only reads the ranges again from the first one an item was removed from`() {
+        insertItems(1..250L)
+        listItemIdRanges.snapshot(listId).toList()
+        clearInvocations(listItemSqlUtils)
+
+        // The ids didn't change, only the last range which isn't complete is read again
+        assertThat(listItemIdRanges.snapshot(listId)).isEqualTo((1..250L).map { RemoteId(it) })
+        verifyRangesRead(1)
+
+        listItemSqlUtils.deleteItemsFromLists(listOf(listId), listOf(150L))
+        clearInvocations(listItemSqlUtils)
+        val remoteItemIds = listItemIdRanges.snapshot(listId)
+
+        assertThat(remoteItemIds.subList(0, 100)).isEqualTo((1..100L).map { RemoteId(it) })
+        verifyRangesRead(0)
+        assertThat(remoteItemIds).isEqualTo((1..250L).filter { it != 150L }.map { RemoteId(it) })
+        verifyRangesRead(2)
+    }
+
+    @Test
+    fun `doesn't include the items added after the snapshot`() {
+        insertItems(1..50L)
+        val remoteItemIds = listItemIdRanges.snapshot(listId)
+
+        insertItems(51..80L)
+
+        assertThat(remoteItemIds).isEqualTo((1..50L).map { RemoteId(it) })
+        assertThat(listItemIdRanges.snapshot(listId)).isEqualTo((1..80L).map { RemoteId(it) })
+    }
+
+    @Test
+    fun `throws when the items are removed while the snapshot is in use`() {
+        insertItems(1..250L)
+        val remoteItemIds = listItemIdRanges.snapshot(listId)
+
+        listItemSqlUtils.deleteItemsFromLists(listOf(listId), (1..100L).toList())
+
+        assertFailsWith<ListItemsChangedException> { remoteItemIds[200] }
+    }
+
+    @Test
+    fun `returns an empty list for a list which doesn't exist`() {
+        assertThat(listItemIdRanges.snapshot(null)).isEmpty()
+    }
+
+    private fun insertItems(remoteItemIds: LongRange) {
+        listItemSqlUtils.insertItemList(remoteItemIds.map { ListItemModel(listId, it) })
+    }
+
+    private fun verifyRangesRead(count: Int) {
+        verify(listItemSqlUtils, times(count)).getListItemsAfter(any(), any(), any(), any())
+    }
+}
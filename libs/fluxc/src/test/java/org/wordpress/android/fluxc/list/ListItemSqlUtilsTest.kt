@@ -52,6 +52,31 @@ class ListItemSqlUtilsTest {
         assertEquals(count.toLong(), listItemSqlUtils.getListItemsCount(testList.id))
     }
 
+    @Test
+    fun testGetListItemsAfter() {
+        /**
+         * 1. Insert a test list with 50 items and another list with 50 items in between
+         * 2. Read the items of the test list in ranges of 20 items, using the last item of a range as the key of the
+         * next one, up to the 45th item
+         * 3. Verify that the ranges only contain the items of the test list, in order
+         */
+        val testList = insertTestList(PostListDescriptorForRestSite(testSite(123)))
+        val otherList = insertTestList(PostListDescriptorForXmlRpcSite(testSite(124)))
+        listItemSqlUtils.insertItemList(generateItemList(testList, 25))
+        listItemSqlUtils.insertItemList(generateItemList(otherList, 50))
+        listItemSqlUtils.insertItemList((26..50).map { ListItemModel(testList.id, it.toLong()) })
+        val lastItemId = listItemSqlUtils.getListItems(testList.id)[44].id
+
+        val ranges = generateSequence(listItemSqlUtils.getListItemsAfter(testList.id, 0, lastItemId, 20)) { range ->
+            listItemSqlUtils.getListItemsAfter(testList.id, range.last().id, lastItemId, 20).takeIf { it.isNotEmpty() }
+        }.toList()
+
+        assertEquals(listOf(20, 20, 5), ranges.map { it.size })
+        assertEquals((1..45L).toList(), ranges.flatten().map { it.remoteItemId })
+        assertEquals(lastItemId, listItemSqlUtils.getLastListItemId(testList.id) - 5)
+        assertEquals(45, listItemSqlUtils.getListItemsCount(testList.id, lastItemId))
+    }
+
     @Test
     fun testListIdForeignKeyCascadeDelete() {
         val listDescriptor = PostListDescriptorForRestSite(testSite())
@@ -503,13 +503,13 @@ public class MediaStoreTest {
         insertMediaIntoDatabase(audioMedia2);
         insertMediaIntoDatabase(documentMedia);
 
-        // verify the correct media is returned (just audio)
+        // verify the correct media is returned (just audio), the match in the title first
         final List<MediaModel> storeAudio = mMediaStore
                 .searchSiteAudio(getTestSiteWithLocalId(testSiteId), "test");
         assertNotNull(storeAudio);
         assertEquals(2, storeAudio.size());
-        assertEquals(testAudioId1, storeAudio.get(0).getMediaId());
-        assertEquals(testAudioId2, storeAudio.get(1).getMediaId());
+        assertEquals(testAudioId2, storeAudio.get(0).getMediaId());
+        assertEquals(testAudioId1, storeAudio.get(1).getMediaId());
 
         assertTrue(MediaUtils.isAudioMimeType(storeAudio.get(0).getMimeType()));
         assertTrue(MediaUtils.isAudioMimeType(storeAudio.get(1).getMimeType()));
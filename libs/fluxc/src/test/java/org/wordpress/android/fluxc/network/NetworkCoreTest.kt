@@ -0,0 +1,140 @@
+package org.wordpress.android.fluxc.network
+
+import com.android.volley.Cache
+import com.android.volley.Network
+import com.android.volley.NetworkResponse
+import com.android.volley.Request
+import com.android.volley.RequestQueue
+import com.android.volley.Response
+import com.android.volley.toolbox.HttpHeaderParser
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@RunWith(RobolectricTestRunner::class)
+class NetworkCoreTest {
+    private val cache = MapCache()
+    private val queues = mutableListOf<RequestQueue>()
+
+    @After
+    fun tearDown() {
+        queues.forEach { it.stop() }
+    }
+
+    @Test
+    fun `limits the requests running at the same time across all the queues`() {
+        val networkCore = NetworkCore(cache, 1)
+        val running = AtomicInteger()
+        val maxRunning = AtomicInteger()
+        val started = Semaphore(0)
+        val release = CountDownLatch(1)
+        val network = Network {
+            maxRunning.accumulateAndGet(running.incrementAndGet()) { a, b -> maxOf(a, b) }
+            started.release()
+            release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            running.decrementAndGet()
+            NetworkResponse(ByteArray(0))
+        }
+        val firstQueue = newQueue(networkCore, "first", network)
+        val secondQueue = newQueue(networkCore, "second", network)
+
+        firstQueue.add(TestRequest("https://example.com/1"))
+        secondQueue.add(TestRequest("https://example.com/2"))
+
+        assertThat(started.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+        assertThat(started.tryAcquire(BLOCKED_MS, TimeUnit.MILLISECONDS)).isFalse
+        assertThat(networkCore.metrics.sumOf { it.inFlightRequests }).isEqualTo(1)
+
+        release.countDown()
+        assertThat(started.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue
+        assertThat(maxRunning.get()).isEqualTo(1)
+        assertThat(networkCore.metrics.map { it.queueName }).containsExactly("first", "second")
+    }
+
+    @Test
+    fun `counts fresh cache entries and validated responses as hits`() {
+        val cachedData = ByteArray(100)
+        cache.put("fresh", cacheEntry(cachedData, ttl = System.currentTimeMillis() + TTL_MS))
+        cache.put("expired", cacheEntry(cachedData, ttl = 0))
+        val networkCore = NetworkCore(cache, 1)
+        val notModifiedResponse = NetworkResponse(304, cachedData, true, 0, emptyList())
+        val queue = newQueue(networkCore, "queue", Network { notModifiedResponse })
+        val metrics = networkCore.metrics.single()
+
+        queue.cache.initialize()
+        queue.cache.get("fresh")
+        queue.cache.get("expired")
+        queue.cache.get("missing")
+        assertThat(metrics.cacheHitRate).isEqualTo(1f / 3)
+        assertThat(metrics.bytesSaved).isEqualTo(100)
+
+        queue.add(TestRequest("https://example.com/expired"))
+        waitFor { metrics.networkRequests == 1L && metrics.inFlightRequests == 0 }
+        assertThat(metrics.bytesSaved).isEqualTo(200)
+    }
+
+    private fun newQueue(networkCore: NetworkCore, name: String, network: Network) =
+            networkCore.newRequestQueue(name, network).also { queues.add(it) }
+
+    private fun cacheEntry(data: ByteArray, ttl: Long) = Cache.Entry().apply {
+        this.data = data
+        this.ttl = ttl
+        this.softTtl = ttl
+        this.responseHeaders = emptyMap()
+    }
+
+    private fun waitFor(condition: () -> Boolean) {
+        val deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS)
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL_MS)
+        }
+        assertThat(condition()).isTrue
+    }
+
+    private class TestRequest(url: String) : Request<String>(Method.GET, url, null) {
+        init {
+            setShouldCache(false)
+        }
+
+        override fun parseNetworkResponse(response: NetworkResponse): Response<String> =
+                Response.success("", HttpHeaderParser.parseCacheHeaders(response))
+
+        override fun deliverResponse(response: String) {}
+    }
+
+    private class MapCache : Cache {
+        private val entries = ConcurrentHashMap<String, Cache.Entry>()
+
+        override fun get(key: String): Cache.Entry? = entries[key]
+
+        override fun put(key: String, entry: Cache.Entry) {
+            entries[key] = entry
+        }
+
+        override fun initialize() {}
+
+        override fun invalidate(key: String, fullExpire: Boolean) {}
+
+        override fun remove(key: String) {
+            entries.remove(key)
+        }
+
+        override fun clear() {
+            entries.clear()
+        }
+    }
+
+    private companion object {
+        const val TIMEOUT_SECONDS = 5L
+        const val BLOCKED_MS = 300L
+        const val POLL_MS = 10L
+        const val TTL_MS = 60_000L
+    }
+}
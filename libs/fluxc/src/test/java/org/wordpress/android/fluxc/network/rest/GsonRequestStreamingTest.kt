@@ -0,0 +1,143 @@
+package org.wordpress.android.fluxc.network.rest
+
+import com.android.volley.NetworkResponse
+import com.android.volley.ParseError
+import com.android.volley.toolbox.HttpResponse
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.OkHttpClient
+import okhttp3.Protocol
+import okhttp3.ResponseBody.Companion.toResponseBody
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.generated.endpoint.WPCOMREST
+import org.wordpress.android.fluxc.network.OkHttpStack
+import org.wordpress.android.fluxc.network.rest.wpcom.WPComGsonRequest
+import org.wordpress.android.fluxc.network.rest.wpcom.site.SiteWPComRestResponse.SitesResponse
+import java.lang.management.ManagementFactory
+import com.sun.management.ThreadMXBean as SunThreadMXBean
+
+@RunWith(RobolectricTestRunner::class)
+class GsonRequestStreamingTest {
+    @Test
+    fun `parses the body of a successful response while reading it`() {
+        val request = buildSitesRequest(streaming = true)
+
+        val httpResponse = executeRequest(request, 200, buildSitesJson(SITE_COUNT))
+
+        assertThat(httpResponse.content).isNull()
+        val response = request.parseNetworkResponse(toNetworkResponse(httpResponse))
+        assertThat(response.isSuccess).isTrue
+        assertThat(response.result.sites).hasSize(SITE_COUNT)
+        assertThat(response.result.sites.last().ID).isEqualTo(SITE_COUNT.toLong())
+        assertThat(response.result.sites.last().name).isEqualTo("Site $SITE_COUNT")
+    }
+
+    @Test
+    fun `buffers the body of an error response`() {
+        val request = buildSitesRequest(streaming = true)
+
+        val httpResponse = executeRequest(request, 403, "{\"error\":\"unauthorized\"}")
+
+        assertThat(httpResponse.content).isNotNull
+    }
+
+    @Test
+    fun `delivers a parse error for a malformed body`() {
+        val request = buildSitesRequest(streaming = true)
+
+        val httpResponse = executeRequest(request, 200, "{\"sites\":[{\"ID\":")
+
+        val response = request.parseNetworkResponse(toNetworkResponse(httpResponse))
+        assertThat(response.error).isInstanceOf(ParseError::class.java)
+    }
+
+    @Test
+    fun `doesn't stream the responses of cached requests`() {
+        val request = buildSitesRequest(streaming = true)
+        request.enableCaching(CACHE_LIFETIME)
+
+        assertThat(request.shouldStreamResponse()).isFalse
+    }
+
+    @Test
+    fun `allocates less than the buffered parsing for a 5MB sites response`() {
+        val threadMXBean = getAllocationCountingThreadMXBean()
+        assumeTrue("Counting the allocated bytes of a thread requires a HotSpot JVM", threadMXBean != null)
+        val json = buildSitesJson(LARGE_SITE_COUNT)
+        assertThat(json.length).isGreaterThan(LARGE_RESPONSE_SIZE)
+        // warm up Gson so both measures only include the parsing
+        parseSites(streaming = false, json = json)
+        parseSites(streaming = true, json = json)
+
+        val bufferedBytes = measureAllocatedBytes(threadMXBean!!) { parseSites(streaming = false, json = json) }
+        val streamedBytes = measureAllocatedBytes(threadMXBean) { parseSites(streaming = true, json = json) }
+
+        // the buffered parsing copies the body to a byte array and a String before parsing it
+        assertThat(bufferedBytes - streamedBytes).isGreaterThan(json.length.toLong())
+    }
+
+    private fun parseSites(streaming: Boolean, json: String): SitesResponse {
+        val request = buildSitesRequest(streaming)
+        val httpResponse = executeRequest(request, 200, json)
+        // same as BasicNetwork, which reads the whole body of a response which isn't streamed
+        val data = httpResponse.content?.use { it.readBytes() } ?: ByteArray(0)
+        return request.parseNetworkResponse(toNetworkResponse(httpResponse, data)).result
+    }
+
+    private fun buildSitesRequest(streaming: Boolean) = WPComGsonRequest.buildGetRequest(
+            WPCOMREST.me.sites.urlV1_1, null, SitesResponse::class.java, {}, {}
+    ).apply {
+        if (streaming) enableResponseStreaming()
+    }
+
+    private fun executeRequest(request: WPComGsonRequest<*>, code: Int, json: String): HttpResponse {
+        val okHttpClient = OkHttpClient.Builder().addInterceptor { chain ->
+            okhttp3.Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(code)
+                    .message("")
+                    .body(json.toByteArray().toResponseBody("application/json".toMediaType()))
+                    .build()
+        }.build()
+        return OkHttpStack(okHttpClient).executeRequest(request, emptyMap())
+    }
+
+    private fun toNetworkResponse(httpResponse: HttpResponse, data: ByteArray = ByteArray(0)) =
+            NetworkResponse(httpResponse.statusCode, data, false, 0, httpResponse.headers)
+
+    private fun buildSitesJson(count: Int) = (1..count).joinToString(",", "{\"sites\":[", "]}") { id ->
+        "{\"ID\":$id,\"name\":\"Site $id\",\"URL\":\"https://site$id.wordpress.com\"," +
+                "\"description\":\"${"A site description. ".repeat(DESCRIPTION_REPEAT)}\"," +
+                "\"options\":{\"admin_url\":\"https://site$id.wordpress.com/wp-admin/\"," +
+                "\"active_modules\":[\"stats\",\"publicize\",\"sharedaddy\"]},\"visible\":true}"
+    }
+
+    /**
+     * Returns the HotSpot specific ThreadMXBean, or null when the JVM can't count the bytes allocated by a thread.
+     */
+    private fun getAllocationCountingThreadMXBean(): SunThreadMXBean? = try {
+        (ManagementFactory.getThreadMXBean() as? SunThreadMXBean)
+                ?.takeIf { it.isThreadAllocatedMemorySupported && it.isThreadAllocatedMemoryEnabled }
+    } catch (e: NoClassDefFoundError) {
+        null
+    }
+
+    private fun measureAllocatedBytes(threadMXBean: SunThreadMXBean, block: () -> Unit): Long {
+        val threadId = Thread.currentThread().id
+        val start = threadMXBean.getThreadAllocatedBytes(threadId)
+        block()
+        return threadMXBean.getThreadAllocatedBytes(threadId) - start
+    }
+
+    private companion object {
+        const val SITE_COUNT = 50
+        const val LARGE_SITE_COUNT = 12_000
+        const val LARGE_RESPONSE_SIZE = 5 * 1024 * 1024
+        const val DESCRIPTION_REPEAT = 16
+        const val CACHE_LIFETIME = 60_000
+    }
+}
@@ -621,7 +621,16 @@ class SiteRestClientTest {
         data: SitesResponse? = null,
         error: WPComGsonNetworkError? = null
     ): Response<SitesResponse> {
-        return initGetResponse(SitesResponse::class.java, data ?: mock(), error)
+        val response = if (error != null) Response.Error(error) else Success(data ?: mock())
+        whenever(
+                wpComGsonRequestBuilder.syncGetStreamingRequest(
+                        eq(restClient),
+                        urlCaptor.capture(),
+                        paramsCaptor.capture(),
+                        eq(SitesResponse::class.java)
+                )
+        ).thenReturn(response)
+        return response
     }
 
     private suspend fun initNewSiteResponse(
@@ -0,0 +1,77 @@
+package org.wordpress.android.fluxc.persistance.stats
+
+import com.yarolegovich.wellsql.WellSql
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.wordpress.android.fluxc.SingleStoreWellSqlConfigForTests
+import org.wordpress.android.fluxc.model.SiteModel
+import org.wordpress.android.fluxc.persistence.StatsSqlUtils
+import org.wordpress.android.fluxc.persistence.StatsSqlUtils.BlockType.CLICKS
+import org.wordpress.android.fluxc.persistence.StatsSqlUtils.StatsBlockBuilder
+import org.wordpress.android.fluxc.persistence.StatsSqlUtils.StatsType.DAY
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+import kotlin.test.assertNotSame
+
+private const val DATE_VALUE = "2018-10-10"
+
+@RunWith(RobolectricTestRunner::class)
+class StatsSqlUtilsTest {
+    private data class Block(var views: Int)
+
+    private lateinit var statsSqlUtils: StatsSqlUtils
+    private val site = SiteModel().apply { id = 1 }
+
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+        val config = SingleStoreWellSqlConfigForTests(appContext, StatsBlockBuilder::class.java)
+        WellSql.init(config)
+        config.reset()
+
+        statsSqlUtils = StatsSqlUtils()
+    }
+
+    @Test
+    fun `replacing a block updates the existing row in place`() {
+        statsSqlUtils.insert(site, CLICKS, DAY, Block(1), true, DATE_VALUE)
+        statsSqlUtils.insert(site, CLICKS, DAY, Block(2), true, DATE_VALUE)
+
+        assertEquals(1, WellSql.select(StatsBlockBuilder::class.java).asModel.size)
+        assertEquals(Block(2), statsSqlUtils.select(site, CLICKS, DAY, Block::class.java, DATE_VALUE))
+    }
+
+    @Test
+    fun `repeated selects are served from the decoded blocks cache`() {
+        statsSqlUtils.insert(site, CLICKS, DAY, Block(1), true, DATE_VALUE)
+
+        val first = statsSqlUtils.select(site, CLICKS, DAY, Block::class.java, DATE_VALUE)
+        val second = statsSqlUtils.select(site, CLICKS, DAY, Block::class.java, DATE_VALUE)
+
+        assertEquals(Block(1), second)
+        assertEquals(1, statsSqlUtils.cacheHitCount)
+        assertNotSame(first, second)
+    }
+
+    @Test
+    fun `changes to a selected block aren't visible to the other callers`() {
+        statsSqlUtils.insert(site, CLICKS, DAY, Block(1), true, DATE_VALUE)
+
+        statsSqlUtils.select(site, CLICKS, DAY, Block::class.java, DATE_VALUE)?.views = 2
+
+        assertEquals(Block(1), statsSqlUtils.select(site, CLICKS, DAY, Block::class.java, DATE_VALUE))
+    }
+
+    @Test
+    fun `deleting site stats invalidates the cache`() {
+        statsSqlUtils.insert(site, CLICKS, DAY, Block(1), true, DATE_VALUE)
+        statsSqlUtils.select(site, CLICKS, DAY, Block::class.java, DATE_VALUE)
+
+        statsSqlUtils.deleteSiteStats(site)
+
+        assertNull(statsSqlUtils.select(site, CLICKS, DAY, Block::class.java, DATE_VALUE))
+    }
+}
@@ -0,0 +1,166 @@
+package org.wordpress.android.fluxc.persistence
+
+import com.yarolegovich.wellsql.WellSql
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import org.wordpress.android.fluxc.model.MediaModel
+import org.wordpress.android.fluxc.model.SiteModel
+
+@Config(manifest = Config.NONE)
+@RunWith(RobolectricTestRunner::class)
+class MediaSqlUtilsSearchTest {
+    private val site = SiteModel().apply { id = SITE_ID }
+    private var nextMediaId = 1L
+
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+        val config = WellSqlConfig(appContext)
+        WellSql.init(config)
+        config.reset()
+    }
+
+    @Test
+    fun `finds the media by the start of the words of its text`() {
+        val media = insertMedia(title = "Sunset on the beach", caption = "Taken in Lisbon")
+
+        assertThat(search("sun")).containsExactly(media.mediaId)
+        assertThat(search("SUNSET lisb")).containsExactly(media.mediaId)
+        assertThat(search("jpeg")).containsExactly(media.mediaId)
+        assertThat(search("set")).isEmpty()
+        assertThat(search("sunset porto")).isEmpty()
+    }
+
+    @Test
+    fun `keeps the index in sync with the media table`() {
+        val media = insertMedia(title = "Sunset")
+        val otherMedia = insertMedia(title = "Sunrise")
+
+        media.title = "Mountains"
+        MediaSqlUtils.insertOrUpdateMedia(media)
+        assertThat(search("sun")).containsExactly(otherMedia.mediaId)
+        assertThat(search("mountain")).containsExactly(media.mediaId)
+
+        MediaSqlUtils.deleteMedia(otherMedia)
+        assertThat(search("sun")).isEmpty()
+
+        MediaSqlUtils.deleteAllSiteMedia(site)
+        assertThat(search("mountain")).isEmpty()
+    }
+
+    @Test
+    fun `sorts the media by relevance and then by upload date`() {
+        val olderDescriptionMatch = insertMedia(description = "A cat", uploadDate = "2024-01-01T00:00:00+00:00")
+        val newerDescriptionMatch = insertMedia(description = "A cat", uploadDate = "2024-02-01T00:00:00+00:00")
+        val titleMatch = insertMedia(title = "Cat", uploadDate = "2023-01-01T00:00:00+00:00")
+        insertMedia(title = "Dog")
+
+        assertThat(search("cat")).containsExactly(
+                titleMatch.mediaId,
+                newerDescriptionMatch.mediaId,
+                olderDescriptionMatch.mediaId
+        )
+    }
+
+    @Test
+    fun `searches the media of a type without matching the MIME type`() {
+        val image = insertMedia(title = "Holidays")
+        insertMedia(title = "Holidays", mimeType = "video/mp4")
+        insertMedia(title = "Other", mimeType = "image/png")
+
+        assertThat(MediaSqlUtils.searchSiteImages(site, "holi").map { it.mediaId }).containsExactly(image.mediaId)
+        assertThat(MediaSqlUtils.searchSiteImages(site, "image")).isEmpty()
+    }
+
+    @Test
+    fun `doesn't find the media of other sites`() {
+        insertMedia(title = "Sunset", siteId = OTHER_SITE_ID)
+
+        assertThat(search("sunset")).isEmpty()
+    }
+
+    @Test
+    fun `falls back to the text columns when the search term has no word`() {
+        val media = insertMedia(title = "before - after")
+
+        assertThat(search("-")).containsExactly(media.mediaId)
+    }
+
+    @Test
+    fun `builds a prefix query from the words of the search term`() {
+        assertThat(MediaSqlUtils.buildSearchMatchQuery("Sunset  beach")).isEqualTo("\"Sunset*\" \"beach*\"")
+        assertThat(MediaSqlUtils.buildSearchMatchQuery("title:cat OR \"dog")).isEqualTo(
+                "\"title*\" \"cat*\" \"OR*\" \"dog*\""
+        )
+        assertThat(MediaSqlUtils.buildSearchMatchQuery(" - ")).isNull()
+    }
+
+    @Test
+    fun `searches tens of thousands of media items`() {
+        insertMediaRows(count = MEDIA_COUNT)
+
+        // half the rows belong to the site: a rare word, a prefix matching a fifth of the media of the site (the
+        // site only has the even rows, so only the even tags) and the word of a MIME type matching all its media
+        assertThat(search("word${MEDIA_COUNT / 2}")).containsExactly(MEDIA_COUNT / 2L)
+        assertThat(search("tag2")).hasSize(MEDIA_COUNT / TAG_COUNT)
+        assertThat(search("image")).hasSize(MEDIA_COUNT / 2)
+    }
+
+    private fun search(term: String) = MediaSqlUtils.searchSiteMedia(site, term).map { it.mediaId }
+
+    @Suppress("LongParameterList")
+    private fun insertMedia(
+        title: String = "",
+        caption: String = "",
+        description: String = "",
+        mimeType: String = "image/jpeg",
+        uploadDate: String = "2024-01-01T00:00:00+00:00",
+        siteId: Int = SITE_ID
+    ): MediaModel {
+        val media = MediaModel(siteId, nextMediaId++).apply {
+            this.title = title
+            this.caption = caption
+            this.description = description
+            this.mimeType = mimeType
+            this.uploadDate = uploadDate
+        }
+        MediaSqlUtils.insertOrUpdateMedia(media)
+        return media
+    }
+
+    private fun insertMediaRows(count: Int) {
+        val db = WellSql.giveMeWritableDb()
+        db.beginTransaction()
+        try {
+            val statement = db.compileStatement(
+                    "INSERT INTO MediaModel (LOCAL_SITE_ID,MEDIA_ID,TITLE,DESCRIPTION,MIME_TYPE,UPLOAD_DATE) " +
+                            "VALUES (?,?,?,?,?,?)"
+            )
+            repeat(count) { index ->
+                statement.clearBindings()
+                statement.bindLong(1, if (index % 2 == 0) SITE_ID.toLong() else OTHER_SITE_ID.toLong())
+                statement.bindLong(2, index.toLong())
+                statement.bindString(3, "Photo word$index")
+                statement.bindString(4, "tag${index % TAG_COUNT} from the media library")
+                statement.bindString(5, "image/jpeg")
+                statement.bindString(6, "2024-01-01T00:00:00+00:00")
+                statement.executeInsert()
+            }
+            db.setTransactionSuccessful()
+        } finally {
+            db.endTransaction()
+        }
+    }
+
+    private companion object {
+        const val SITE_ID = 1
+        const val OTHER_SITE_ID = 2
+        const val MEDIA_COUNT = 50_000
+        const val TAG_COUNT = 10
+    }
+}
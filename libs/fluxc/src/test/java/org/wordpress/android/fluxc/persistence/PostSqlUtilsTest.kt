@@ -188,6 +188,36 @@ class PostSqlUtilsTest {
         }
     }
 
+    @Test
+    fun `getPostByLocalId returns a copy of the cached post`() {
+        val post = postSqlUtils.insertPostForResult(createPost(localSiteId = 100, localId = 1, remoteId = 10))
+        val cache = postSqlUtils.postCache
+        val hitCount = cache.hitCount
+        val missCount = cache.missCount
+
+        val first = postSqlUtils.getPostByLocalId(post.id)!!
+        first.setTitle("unsaved title")
+        val second = postSqlUtils.getPostByLocalId(post.id)!!
+
+        assertThat(second).isNotSameAs(first)
+        assertThat(second.title).isEmpty()
+        assertThat(cache.missCount - missCount).isEqualTo(1)
+        assertThat(cache.hitCount - hitCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `writes invalidate the cached post`() {
+        val post = postSqlUtils.insertPostForResult(createPost(localSiteId = 100, localId = 1, remoteId = 10))
+        postSqlUtils.getPostByLocalId(post.id)
+
+        post.setTitle("new title")
+        postSqlUtils.insertOrUpdatePostOverwritingLocalChanges(post)
+        assertThat(postSqlUtils.getPostByLocalId(post.id)!!.title).isEqualTo("new title")
+
+        postSqlUtils.deletePost(post)
+        assertThat(postSqlUtils.getPostByLocalId(post.id)).isNull()
+    }
+
     private fun createPost(localSiteId: Int, localId: Int, remoteId: Long) = PostModel().apply {
         setId(localId)
         setRemotePostId(remoteId)
@@ -0,0 +1,35 @@
+package org.wordpress.android.fluxc.persistence
+
+import com.yarolegovich.wellsql.WellSql
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+
+@Config(manifest = Config.NONE)
+@RunWith(RobolectricTestRunner::class)
+class WellSqlConfigTest {
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+        val config = WellSqlConfig(appContext)
+        WellSql.init(config)
+        config.reset()
+    }
+
+    @Test
+    fun `opens the database with write-ahead logging`() {
+        assertThat(WellSql.giveMeWritableDb().isWriteAheadLoggingEnabled).isTrue
+    }
+
+    @Test
+    fun `keeps the foreign key constraints enabled`() {
+        WellSql.giveMeWritableDb().rawQuery("PRAGMA foreign_keys", null).use { cursor ->
+            assertThat(cursor.moveToFirst()).isTrue
+            assertThat(cursor.getInt(0)).isEqualTo(1)
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.wordpress.android.fluxc.persistence
+
+import android.database.sqlite.SQLiteDatabase
+import android.database.sqlite.SQLiteStatement
+import com.yarolegovich.wellsql.WellSql
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import org.wordpress.android.fluxc.model.SiteModel
+
+/**
+ * Runs `EXPLAIN QUERY PLAN` on the lookups the stores issue most often and fails when SQLite has to scan a whole
+ * table to answer one of them, e.g. because an index was dropped by a migration or a query stopped matching it.
+ *
+ * WellSql doesn't expose the statements it builds, so the lookups are listed here with the same WHERE and ORDER BY
+ * clauses as the `SqlUtils` building them. Add a lookup here when adding an index to `WellSqlConfig`.
+ */
+@Config(manifest = Config.NONE)
+@RunWith(RobolectricTestRunner::class)
+class WellSqlQueryPlanTest {
+    private lateinit var db: SQLiteDatabase
+
+    @Before
+    fun setUp() {
+        val appContext = RuntimeEnvironment.application.applicationContext
+        val config = WellSqlConfig(appContext)
+        WellSql.init(config)
+        config.reset()
+        db = WellSql.giveMeWritableDb()
+    }
+
+    @Test
+    fun `the lookups of the stores don't scan whole tables`() {
+        STORE_LOOKUPS.forEach { (lookup, sql) ->
+            assertThat(fullScans(sql)).describedAs("$lookup: $sql").isEmpty()
+        }
+    }
+
+    @Test
+    fun `detects the full scans of a lookup without index`() {
+        db.execSQL("DROP INDEX MediaModel_LOCAL_SITE_ID_MEDIA_ID")
+
+        assertThat(fullScans(STORE_LOOKUPS.getValue("MediaSqlUtils.getSiteMediaWithId")))
+                .containsExactly("MediaModel")
+    }
+
+    @Test
+    fun `finds a media item and a post by id among tens of thousands of rows`() {
+        insertMedia(count = MEDIA_COUNT)
+        insertPosts(count = POST_COUNT)
+        val site = SiteModel().apply { id = SITE_ID }
+
+        val media = MediaSqlUtils.getSiteMediaWithId(site, MEDIA_COUNT / 2L)
+        val posts = PostSqlUtils().getPostsByRemoteIds(listOf(POST_COUNT / 2L), SITE_ID)
+
+        assertThat(media.map { it.mediaId }).containsExactly(MEDIA_COUNT / 2L)
+        assertThat(posts.map { it.remotePostId }).containsExactly(POST_COUNT / 2L)
+    }
+
+    /**
+     * Returns the tables the [sql] statement scans entirely
+     */
+    private fun fullScans(sql: String): List<String> {
+        return db.rawQuery("EXPLAIN QUERY PLAN $sql", null).use { cursor ->
+            val detailColumn = cursor.getColumnIndexOrThrow("detail")
+            generateSequence { if (cursor.moveToNext()) cursor.getString(detailColumn) else null }
+                    .mapNotNull { FULL_SCAN.matchEntire(it)?.groupValues?.get(1) }
+                    .toList()
+        }
+    }
+
+    private fun insertMedia(count: Int) {
+        insertRows(
+                "INSERT INTO MediaModel (LOCAL_SITE_ID,MEDIA_ID,LOCAL_POST_ID,UPLOAD_DATE) VALUES (?,?,?,?)",
+                count
+        ) { statement, index ->
+            // the media of two sites, spread over a few hundred posts
+            statement.bindLong(1, if (index % 2 == 0) SITE_ID.toLong() else OTHER_SITE_ID.toLong())
+            statement.bindLong(2, index.toLong())
+            statement.bindLong(3, (index % MEDIA_PER_POST).toLong())
+            statement.bindString(4, "2024-01-01T00:00:00+00:00")
+        }
+    }
+
+    private fun insertPosts(count: Int) {
+        insertRows(
+                "INSERT INTO PostModel (LOCAL_SITE_ID,REMOTE_POST_ID,IS_PAGE) VALUES (?,?,?)",
+                count
+        ) { statement, index ->
+            statement.bindLong(1, if (index % 2 == 0) SITE_ID.toLong() else OTHER_SITE_ID.toLong())
+            statement.bindLong(2, index.toLong())
+            statement.bindLong(3, 0)
+        }
+    }
+
+    private fun insertRows(
+        sql: String,
+        count: Int,
+        bind: (statement: SQLiteStatement, index: Int) -> Unit
+    ) {
+        db.beginTransaction()
+        try {
+            val statement = db.compileStatement(sql)
+            repeat(count) { index ->
+                statement.clearBindings()
+                bind(statement, index)
+                statement.executeInsert()
+            }
+            db.setTransactionSuccessful()
+        } finally {
+            db.endTransaction()
+        }
+    }
+
+    private companion object {
+        const val SITE_ID = 1
+        const val OTHER_SITE_ID = 2
+        const val MEDIA_COUNT = 50_000
+        const val POST_COUNT = 20_000
+        const val MEDIA_PER_POST = 500
+
+        // "SCAN TABLE MediaModel" before SQLite 3.36, "SCAN MediaModel" since, but not a scan of an index
+        val FULL_SCAN = Regex("SCAN (?:TABLE )?(\\w+)(?: AS \\w+)?")
+
+        val STORE_LOOKUPS = mapOf(
+                "MediaSqlUtils.getSiteMediaWithId" to
+                        "SELECT * FROM MediaModel WHERE (LOCAL_SITE_ID = 1 AND MEDIA_ID = 2) ORDER BY UPLOAD_DATE DESC",
+                "MediaSqlUtils.getAllSiteMedia" to
+                        "SELECT * FROM MediaModel WHERE (LOCAL_SITE_ID = 1) ORDER BY UPLOAD_DATE DESC",
+                "MediaSqlUtils.matchPostMedia" to
+                        "SELECT * FROM MediaModel WHERE (LOCAL_POST_ID = 1) ORDER BY UPLOAD_DATE DESC",
+                "MediaSqlUtils.searchSiteMedia" to
+                        "SELECT MediaModelSearch.docid, matchinfo(MediaModelSearch, 'pcnx') FROM MediaModelSearch " +
+                        "JOIN MediaModel ON MediaModel._id = MediaModelSearch.docid " +
+                        "WHERE MediaModelSearch MATCH '\"a*\"' AND MediaModel.LOCAL_SITE_ID = 1",
+                "MediaSqlUtils.insertOrUpdateMedia" to
+                        "SELECT * FROM MediaModel WHERE (_id = 1 OR (LOCAL_SITE_ID = 1 AND MEDIA_ID = 2))",
+                "PostSqlUtils.insertOrUpdatePost" to
+                        "SELECT * FROM PostModel WHERE (_id = 1 OR (REMOTE_POST_ID = 2 AND LOCAL_SITE_ID = 1))",
+                "PostSqlUtils.getPostsForSite" to
+                        "SELECT * FROM PostModel WHERE (LOCAL_SITE_ID = 1 AND IS_PAGE = 0) " +
+                        "ORDER BY IS_LOCAL_DRAFT DESC, DATE_CREATED DESC",
+                "PostSqlUtils.getPostsByRemoteIds" to
+                        "SELECT * FROM PostModel WHERE REMOTE_POST_ID IN (1,2,3) AND LOCAL_SITE_ID = 1",
+                "ListItemSqlUtils.getListItemsAfter" to
+                        "SELECT * FROM ListItemModel WHERE LIST_ID = 1 AND _id > 2 AND _id <= 3 ORDER BY _id LIMIT 100",
+                "CommentSqlUtils.insertOrUpdateComment" to
+                        "SELECT * FROM CommentModel WHERE (REMOTE_COMMENT_ID = 2 AND LOCAL_SITE_ID = 1)",
+                "StatsSqlUtils.select" to
+                        "SELECT * FROM StatsBlock WHERE LOCAL_SITE_ID = 1 AND BLOCK_TYPE = 'A' " +
+                        "AND STATS_TYPE = 'B' AND DATE = '2024-01-01'",
+                "StatsRequestSqlUtils.hasFreshRequest" to
+                        "SELECT * FROM StatsRequest WHERE LOCAL_SITE_ID = 1 AND BLOCK_TYPE = 'A' " +
+                        "AND STATS_TYPE = 'B' AND TIME_STAMP > 0"
+        )
+    }
+}
@@ -19,6 +19,7 @@ import org.wordpress.android.fluxc.generated.PostActionBuilder
 import org.wordpress.android.fluxc.model.PostModel
 import org.wordpress.android.fluxc.model.SiteModel
 import org.wordpress.android.fluxc.model.list.PostListDescriptor
+import org.wordpress.android.fluxc.model.list.PostListDescriptor.PostListDescriptorForRestSite
 import org.wordpress.android.fluxc.model.post.PostStatus
 import org.wordpress.android.fluxc.model.post.PostStatus.PUBLISHED
 import org.wordpress.android.fluxc.model.revisions.LocalDiffModel
@@ -27,9 +28,13 @@ import org.wordpress.android.fluxc.model.revisions.RevisionModel
 import org.wordpress.android.fluxc.persistence.PostSqlUtils
 import org.wordpress.android.fluxc.store.ListStore.FetchedListItemsPayload
 import org.wordpress.android.fluxc.store.PostStore
+import org.wordpress.android.fluxc.store.PostStore.FetchChangedPostsPayload
+import org.wordpress.android.fluxc.store.PostStore.FetchChangedPostsResponsePayload
+import org.wordpress.android.fluxc.store.PostStore.OnChangedPostsFetched
 import org.wordpress.android.fluxc.store.PostStore.PostError
 import org.wordpress.android.fluxc.store.PostStore.PostErrorType.GENERIC_ERROR
 import org.wordpress.android.fluxc.store.PostStore.PostListItem
+import org.wordpress.android.fluxc.store.PostStore.RemotePostPayload
 
 @RunWith(MockitoJUnitRunner::class)
 class PostStoreTest {
@@ -295,6 +300,63 @@ class PostStoreTest {
         verifyNoMoreInteractions(dispatcher)
     }
 
+    @Test
+    fun `handleFetchedPostList emits FetchChangedPostsAction when several posts changed on a WP com site`() {
+        // Arrange
+        val postsInLocalDb = listOf(createPostModel(remotePostId = 1), createPostModel(remotePostId = 2))
+        whenever(postSqlUtils.getPostsByRemoteIds(any(), any())).thenReturn(postsInLocalDb)
+
+        val remotePostListItems = listOf(
+                createRemotePostListItem(postsInLocalDb[0], lastModified = "2024-03-02T10:00:00+00:00"),
+                createRemotePostListItem(postsInLocalDb[1], lastModified = "2024-03-01T10:00:00+00:00")
+        )
+        val action = createFetchedPostListAction(
+                postListItems = remotePostListItems,
+                listDescriptor = PostListDescriptorForRestSite(site)
+        )
+
+        // Act
+        store.onAction(action)
+
+        // Assert
+        verify(dispatcher).dispatch(argThat {
+            this.type == PostAction.FETCH_CHANGED_POSTS && (this.payload as FetchChangedPostsPayload).let {
+                it.changedPosts == postsInLocalDb && it.modifiedAfter.startsWith("2024-03-01T09:59:59")
+            }
+        })
+        verify(dispatcher).dispatch(argThat {
+            (this.type == ListAction.FETCHED_LIST_ITEMS)
+        })
+        verifyNoMoreInteractions(dispatcher)
+    }
+
+    @Test
+    fun `handleFetchedChangedPosts saves the fetched posts and fetches the missing ones separately`() {
+        // Arrange
+        val changedPosts = listOf(createPostModel(remotePostId = 1), createPostModel(remotePostId = 2))
+        val fetchedPost = createPostModel(remotePostId = 1)
+        whenever(postSqlUtils.insertOrUpdatePostOverwritingLocalChanges(fetchedPost)).thenReturn(1)
+        val action = PostActionBuilder.newFetchedChangedPostsAction(
+                FetchChangedPostsResponsePayload(site, changedPosts, listOf(fetchedPost), RESPONSE_SIZE, null)
+        )
+
+        // Act
+        store.onAction(action)
+
+        // Assert
+        verify(postSqlUtils).insertOrUpdatePostOverwritingLocalChanges(fetchedPost)
+        verify(dispatcher).dispatch(argThat {
+            this.type == PostAction.FETCH_POST && (this.payload as RemotePostPayload).post.remotePostId == 2L
+        })
+        verify(dispatcher).dispatch(argThat {
+            (this.type == ListAction.LIST_DATA_INVALIDATED)
+        })
+        verify(dispatcher).emitChange(argThat {
+            this is OnChangedPostsFetched && bytesTransferred == RESPONSE_SIZE && rowsWritten == 1 &&
+                    postsFetchedSeparately == 1
+        })
+    }
+
     @Test
     fun `Should return mapped RevisionModel when getRevisionById is called`() {
         // Arrange
@@ -375,9 +437,13 @@ class PostStoreTest {
         )
     )
 
-    private fun createPostModel(isLocallyChanged: Boolean = false, postStatus: PostStatus = PUBLISHED): PostModel {
+    private fun createPostModel(
+        isLocallyChanged: Boolean = false,
+        postStatus: PostStatus = PUBLISHED,
+        remotePostId: Long = 1
+    ): PostModel {
         val post = PostModel()
-        post.setRemotePostId(1)
+        post.setRemotePostId(remotePostId)
         post.setStatus(postStatus.toString())
         post.setIsLocallyChanged(isLocallyChanged)
         post.setAutoSaveModified("1955-11-05T14:15:00Z")
@@ -390,4 +456,8 @@ class PostStoreTest {
         lastModified: String = post.lastModified,
         autoSaveModified: String? = post.autoSaveModified
     ) = PostListItem(post.remotePostId, lastModified, status, autoSaveModified)
+
+    private companion object {
+        const val RESPONSE_SIZE = 1234L
+    }
 }
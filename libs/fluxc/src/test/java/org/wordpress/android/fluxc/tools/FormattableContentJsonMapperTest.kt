@@ -0,0 +1,37 @@
+package org.wordpress.android.fluxc.tools
+
+import org.assertj.core.api.Assertions.assertThat
+import org.json.JSONObject
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.wordpress.android.fluxc.UnitTestUtils
+import org.wordpress.android.fluxc.module.ReleaseNetworkModule
+
+@RunWith(RobolectricTestRunner::class)
+class FormattableContentJsonMapperTest {
+    private lateinit var formattableContentMapper: FormattableContentMapper
+
+    @Before
+    fun setUp() {
+        formattableContentMapper = FormattableContentMapper(ReleaseNetworkModule().provideGson())
+    }
+
+    @Test
+    fun `maps parsed blocks like the blocks parsed by Gson`() {
+        listOf(
+                "notifications/subject-response.json",
+                "notifications/body-response.json",
+                "notifications/comment-response.json",
+                "notifications/rewind-download-ready.json",
+                "activitylog/body-response.json"
+        ).forEach { file ->
+            val json = UnitTestUtils.getStringFromResourceFile(this.javaClass, file)
+
+            assertThat(formattableContentMapper.mapToFormattableContent(JSONObject(json)))
+                    .describedAs(file)
+                    .isEqualTo(formattableContentMapper.mapToFormattableContent(json))
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.wordpress.android.fluxc.tools
+
+import org.assertj.core.api.Assertions.assertThat
+import org.json.JSONArray
+import org.json.JSONObject
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class JsonPathTest {
+    private val note = JSONObject(
+            """
+            {
+              "type": "comment",
+              "read": 1,
+              "meta": {"ids": {"site": 123, "comment": 3000000000}},
+              "body": [
+                {"text": "first", "media": [{"url": "https://example.com/a.png"}]},
+                {"text": "last"}
+              ]
+            }
+            """
+    )
+
+    @Test
+    fun `resolves keys and indexes`() {
+        assertThat(JsonPath.compile("type").getString(note)).isEqualTo("comment")
+        assertThat(JsonPath.compile("body[0].media[0].url").getString(note)).isEqualTo("https://example.com/a.png")
+        assertThat(JsonPath.compile("body[first].text").getString(note)).isEqualTo("first")
+        assertThat(JsonPath.compile("body[last].text").getString(note)).isEqualTo("last")
+        assertThat(JsonPath.compile("body[-2].text").getString(note)).isEqualTo("first")
+        assertThat(JsonPath.compile("meta.ids").getJSONObject(note)?.length()).isEqualTo(2)
+        assertThat(JsonPath.compile("body").getJSONArray(note)?.length()).isEqualTo(2)
+    }
+
+    @Test
+    fun `resolves paths in arrays from their first index`() {
+        val subject = JSONArray("""[{"text": "note"}, {"text": "comment"}]""")
+
+        assertThat(JsonPath.compile("subject[1].text").getString(subject)).isEqualTo("comment")
+        assertThat(JsonPath.compile("[0].text").getString(subject)).isEqualTo("note")
+        assertThat(JsonPath.compile("subject.text").getString(subject)).isNull()
+    }
+
+    @Test
+    fun `returns the default value for missing values and values of another type`() {
+        assertThat(JsonPath.compile("meta.ids.site").getInt(note, 0)).isEqualTo(123)
+        assertThat(JsonPath.compile("meta.ids.post").getInt(note, 0)).isEqualTo(0)
+        assertThat(JsonPath.compile("meta.ids.comment").getInt(note, -1)).isEqualTo(-1)
+        assertThat(JsonPath.compile("meta.ids.comment").getLong(note, -1L)).isEqualTo(3000000000L)
+        assertThat(JsonPath.compile("meta.ids.site").getLong(note, -1L)).isEqualTo(123L)
+        assertThat(JsonPath.compile("type").getInt(note, 0)).isEqualTo(0)
+        assertThat(JsonPath.compile("read.value").getInt(note, 0)).isEqualTo(0)
+        assertThat(JsonPath.compile("body[5].text").getString(note)).isNull()
+        assertThat(JsonPath.compile("type[0]").getString(note)).isNull()
+        assertThat(JsonPath.compile("type").getString(null)).isNull()
+    }
+
+    @Test
+    fun `caches compiled paths`() {
+        assertThat(JsonPath.compile("meta.ids.site")).isSameAs(JsonPath.compile("meta.ids.site"))
+    }
+
+    @Test(expected = IllegalArgumentException::class)
+    fun `rejects invalid indexes`() {
+        JsonPath.compile("body[middle].text")
+    }
+}
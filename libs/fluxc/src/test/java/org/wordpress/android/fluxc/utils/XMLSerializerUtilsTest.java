@@ -1,15 +1,27 @@
 package org.wordpress.android.fluxc.utils;
 
+import android.util.Xml;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
+import org.xmlpull.v1.XmlPullParserException;
+import org.wordpress.android.fluxc.generated.endpoint.XMLRPC;
+import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCException;
 import org.wordpress.android.fluxc.network.xmlrpc.XMLRPCSerializer;
 import org.wordpress.android.fluxc.network.xmlrpc.XMLSerializerUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import okio.Buffer;
 
 @RunWith(RobolectricTestRunner.class)
 public class XMLSerializerUtilsTest {
@@ -66,4 +78,70 @@ public class XMLSerializerUtilsTest {
         // If the input wasn't modified, it will fail during the XMLRPC serialization step
         Assert.assertNotEquals(inputString, serializeThis);
     }
+
+    @Test
+    public void testXMLRPCSerializer_makeValidInputString_validStringIsReturnedAsIs() throws IOException {
+        String inputString = "Valid string with an emoji \uD83D\uDE00, tabs\tand\nnew lines";
+        Assert.assertSame(inputString, XMLRPCSerializer.makeValidInputString(inputString));
+    }
+
+    @Test
+    public void testXMLRPCSerializer_makeValidInputString_controlCharactersAreStripped() throws IOException {
+        String inputString = "Control\u0001Character";
+        Assert.assertEquals("ControlCharacter", XMLRPCSerializer.makeValidInputString(inputString));
+    }
+
+    @Test
+    public void testStreamingSerializationMatchesStringSerialization() throws IOException {
+        Map<String, Object> struct = new HashMap<>();
+        struct.put("post_title", "A title <with> markup & \uD83D\uDE00");
+        struct.put("post_date", new Date(1500000000000L));
+        struct.put("sticky", true);
+        struct.put("terms", Arrays.asList(1, 2, 3));
+        byte[] bits = new byte[10000];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = (byte) i;
+        }
+        struct.put("bits", bits);
+        Object[] params = new Object[]{1, "username", "password", struct};
+
+        String expected = XMLSerializerUtils.serialize(Xml.newSerializer(), XMLRPC.EDIT_POST, params).toString();
+
+        Buffer buffer = new Buffer();
+        XMLSerializerUtils.serialize(XMLRPC.EDIT_POST, params, buffer);
+        // The streamed document declares its encoding in the prolog, compare everything that follows it
+        Assert.assertEquals(stripProlog(expected), stripProlog(buffer.readUtf8()));
+    }
+
+    private String stripProlog(String xml) {
+        return xml.substring(xml.indexOf("?>") + 2);
+    }
+
+    @Test
+    public void testDeserializeWithMemberFilterSkipsUnknownMembers()
+            throws IOException, XmlPullParserException, XMLRPCException {
+        final String xml = "<?xml version=\"1.0\"?><methodResponse><params><param><value><array><data>"
+                           + "<value><struct>"
+                           + "<member><name>post_id</name><value><string>42</string></value></member>"
+                           + "<member><name>post_meta</name><value><struct>"
+                           + "<member><name>post_id</name><value><int>1</int></value></member>"
+                           + "</struct></value></member>"
+                           + "<member><name>terms</name><value><array><data><value><struct>"
+                           + "<member><name>name</name><value><string>tag</string></value></member>"
+                           + "<member><name>count</name><value><int>3</int></value></member>"
+                           + "</struct></value></data></array></value></member>"
+                           + "</struct></value>"
+                           + "</data></array></value></param></params></methodResponse>";
+        Object[] response = (Object[]) XMLSerializerUtils.deserialize(
+                new ByteArrayInputStream(xml.getBytes("UTF-8")),
+                new HashSet<>(Arrays.asList("post_id", "terms", "name")));
+
+        Assert.assertEquals(1, response.length);
+        Map<?, ?> post = (Map<?, ?>) response[0];
+        Assert.assertEquals(2, post.size());
+        Assert.assertEquals("42", post.get("post_id"));
+        Map<?, ?> term = (Map<?, ?>) ((Object[]) post.get("terms"))[0];
+        Assert.assertEquals(1, term.size());
+        Assert.assertEquals("tag", term.get("name"));
+    }
 }